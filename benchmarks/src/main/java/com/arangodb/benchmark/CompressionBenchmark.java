@@ -0,0 +1,116 @@
+package com.arangodb.benchmark;
+
+import com.arangodb.Compression;
+import com.arangodb.ContentType;
+import com.arangodb.http.compression.Encoder;
+import com.arangodb.serde.jackson.JacksonSerde;
+import io.netty.buffer.ByteBuf;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compression of request bodies holding batches of JSON documents, as sent for multi-document inserts.
+ * <p>
+ * The documents have mixed content (keys, uuids, timestamps, free text, numbers and nested objects), so that the
+ * compression ratio, printed at setup, is close to the one of real data. {@link Compression#ZSTD} and
+ * {@link Compression#BROTLI} use the codec libraries declared in the benchmarks dependencies.
+ *
+ * @author Michele Rastelli
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CompressionBenchmark {
+
+    private static final String[] WORDS = {
+            "graph", "vertex", "edge", "document", "collection", "index", "query", "shard", "replica", "leader",
+            "follower", "cluster", "server", "database", "transaction", "cursor", "batch", "view", "search", "analyzer"
+    };
+    private static final String[] COUNTRIES = {"DE", "IT", "US", "FR", "ES", "JP", "BR", "IN"};
+
+    @Param({"GZIP", "DEFLATE", "ZSTD", "BROTLI"})
+    public Compression compression;
+
+    @Param({"1", "6"})
+    public int level;
+
+    /**
+     * number of documents in each request body
+     */
+    @Param({"10", "1000"})
+    public int batchSize;
+
+    private Encoder encoder;
+    private byte[] body;
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(batchSize);
+        List<Map<String, Object>> docs = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            docs.add(createDocument(rnd, i));
+        }
+        body = JacksonSerde.of(ContentType.JSON).serialize(docs);
+        encoder = Encoder.of(compression, level);
+        ByteBuf encoded = encoder.encode(body);
+        System.out.printf("%n%s level %d: %d -> %d bytes (ratio %.3f)%n", compression, level, body.length,
+                encoded.readableBytes(), (double) encoded.readableBytes() / body.length);
+        encoded.release();
+    }
+
+    private static Map<String, Object> createDocument(final Random rnd, final int i) {
+        Map<String, Object> doc = new LinkedHashMap<>();
+        doc.put("_key", "user-" + i);
+        doc.put("uuid", new UUID(rnd.nextLong(), rnd.nextLong()).toString());
+        doc.put("createdAt", Instant.ofEpochMilli(1_600_000_000_000L + rnd.nextInt(Integer.MAX_VALUE)).toString());
+        doc.put("score", rnd.nextDouble() * 100);
+        doc.put("visits", rnd.nextInt(10_000));
+        doc.put("active", rnd.nextBoolean());
+        StringBuilder text = new StringBuilder();
+        for (int w = 5 + rnd.nextInt(20); w > 0; w--) {
+            text.append(WORDS[rnd.nextInt(WORDS.length)]).append(' ');
+        }
+        doc.put("description", text.toString().trim());
+        Map<String, Object> address = new LinkedHashMap<>();
+        address.put("street", WORDS[rnd.nextInt(WORDS.length)] + " street " + rnd.nextInt(200));
+        address.put("zip", String.format("%05d", rnd.nextInt(100_000)));
+        address.put("country", COUNTRIES[rnd.nextInt(COUNTRIES.length)]);
+        doc.put("address", address);
+        List<Integer> ratings = new ArrayList<>();
+        for (int r = rnd.nextInt(8); r > 0; r--) {
+            ratings.add(1 + rnd.nextInt(5));
+        }
+        doc.put("ratings", ratings);
+        return doc;
+    }
+
+    @Benchmark
+    public int encode() {
+        ByteBuf encoded = encoder.encode(body);
+        int size = encoded.readableBytes();
+        encoded.release();
+        return size;
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.arangodb.benchmark;
+
+import com.arangodb.entity.CursorEntity;
+import com.arangodb.internal.cursor.RawCursorBatch;
+import com.arangodb.internal.serde.SerdeUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding of cursor batches, as returned by the server for {@code POST /_api/cursor}.
+ *
+ * @author Michele Rastelli
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CursorBenchmark {
+
+    private static final Type CURSOR_ENTITY = SerdeUtils.constructParametricType(CursorEntity.class, Map.class);
+
+    @Benchmark
+    public CursorEntity<Map<String, Object>> decodeCursorEntity(final SerdeState s) {
+        return SerdeState.withCtx(() -> s.internalSerde.deserialize(s.cursorBatch, CURSOR_ENTITY));
+    }
+
+    /**
+     * batch kept serialized, as when spooling the remaining batches of a cursor
+     */
+    @Benchmark
+    public RawCursorBatch decodeRawCursorBatch(final SerdeState s) {
+        return s.internalSerde.deserialize(s.cursorBatch, RawCursorBatch.class);
+    }
+
+}
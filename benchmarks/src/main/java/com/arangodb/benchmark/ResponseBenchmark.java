@@ -0,0 +1,64 @@
+package com.arangodb.benchmark;
+
+import com.arangodb.entity.DocumentCreateEntity;
+import com.arangodb.entity.MultiDocumentEntity;
+import com.arangodb.internal.serde.SerdeUtils;
+import com.arangodb.util.RawBytes;
+import com.arangodb.util.RawJson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deserialization of server responses into driver entities, and of raw values.
+ *
+ * @author Michele Rastelli
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseBenchmark {
+
+    private static final Type DOCUMENT_CREATE_ENTITY = SerdeUtils.constructParametricType(DocumentCreateEntity.class, Map.class);
+
+    @Benchmark
+    public DocumentCreateEntity<Map<String, Object>> deserializeDocumentCreateEntity(final SerdeState s) {
+        return SerdeState.withCtx(() -> s.internalSerde.deserialize(s.documentResponse, DOCUMENT_CREATE_ENTITY));
+    }
+
+    @Benchmark
+    public MultiDocumentEntity<Map> deserializeUserDataMultiDocument(final SerdeState s) {
+        return SerdeState.withCtx(() -> s.internalSerde.deserializeUserDataMultiDocument(s.multiDocumentResponse, Map.class));
+    }
+
+    @Benchmark
+    public RawJson deserializeRawJson(final SerdeState s) {
+        return s.internalSerde.deserialize(s.documentsBytes, RawJson.class);
+    }
+
+    @Benchmark
+    public RawBytes deserializeRawBytes(final SerdeState s) {
+        return s.internalSerde.deserialize(s.documentsBytes, RawBytes.class);
+    }
+
+    @Benchmark
+    public byte[] serializeRawJson(final SerdeState s) {
+        return s.internalSerde.serializeUserData(s.rawJson);
+    }
+
+    @Benchmark
+    public byte[] serializeRawBytes(final SerdeState s) {
+        return s.internalSerde.serializeUserData(s.rawBytes);
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.arangodb.benchmark;
+
+import com.arangodb.RequestContext;
+import com.arangodb.internal.RequestContextHolder;
+import com.arangodb.internal.serde.InternalSerde;
+import com.arangodb.util.RawBytes;
+import com.arangodb.util.RawJson;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Documents and serialized server responses shared by the benchmarks.
+ * <p>
+ * Each batch of documents (collection user data, multi-document responses and cursor batches) holds about 1 MB of
+ * data, i.e. {@code 1 MB / docSize} documents.
+ *
+ * @author Michele Rastelli
+ */
+@State(Scope.Benchmark)
+public class SerdeState {
+
+    private static final int BATCH_BYTES = 1_000_000;
+
+    @Param
+    public UserSerde serde;
+
+    /**
+     * approximate size in bytes of each document, serialized as JSON
+     */
+    @Param({"100", "1000", "10000", "100000", "1000000"})
+    public int docSize;
+
+    InternalSerde internalSerde;
+    Map<String, Object> document;
+    List<Map<String, Object>> documents;
+
+    byte[] documentBytes;
+    byte[] documentsBytes;
+    byte[] documentResponse;
+    byte[] multiDocumentResponse;
+    byte[] cursorBatch;
+    RawJson rawJson;
+    RawBytes rawBytes;
+
+    @Setup
+    public void setup() {
+        internalSerde = serde.create();
+        document = createDocument("doc", docSize);
+        int count = Math.max(1, BATCH_BYTES / docSize);
+        documents = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            documents.add(createDocument("doc-" + i, docSize));
+        }
+
+        documentBytes = internalSerde.serializeUserData(document);
+        documentsBytes = internalSerde.serializeCollectionUserData(documents);
+
+        Map<String, Object> created = new LinkedHashMap<>();
+        created.put("_id", "c/doc");
+        created.put("_key", "doc");
+        created.put("_rev", "_hV2Bx--_");
+        created.put("new", document);
+        documentResponse = internalSerde.serialize(created);
+
+        List<Object> multi = new ArrayList<>(documents);
+        Map<String, Object> error = new HashMap<>();
+        error.put("error", true);
+        error.put("errorNum", 1202);
+        error.put("errorMessage", "document not found");
+        multi.add(error);
+        multiDocumentResponse = internalSerde.serialize(multi);
+
+        Map<String, Object> cursor = new LinkedHashMap<>();
+        cursor.put("result", documents);
+        cursor.put("hasMore", true);
+        cursor.put("id", "12345");
+        cursor.put("nextBatchId", "2");
+        cursor.put("count", documents.size());
+        cursor.put("cached", false);
+        cursor.put("error", false);
+        cursor.put("code", 201);
+        cursorBatch = internalSerde.serialize(cursor);
+
+        rawJson = RawJson.of(internalSerde.toJsonString(documentsBytes));
+        rawBytes = RawBytes.of(documentsBytes);
+    }
+
+    /**
+     * Deserialization of user data requires a request context, like within the driver.
+     */
+    static <T> T withCtx(final Supplier<T> fun) {
+        return RequestContextHolder.INSTANCE.runWithCtx(RequestContext.EMPTY, fun);
+    }
+
+    private static Map<String, Object> createDocument(final String key, final int size) {
+        Map<String, Object> doc = new LinkedHashMap<>();
+        doc.put("_key", key);
+        doc.put("name", "name-" + key);
+        doc.put("value", size);
+        doc.put("active", true);
+        doc.put("tags", new String[]{"a", "b", "c"});
+        // each attribute is about 32 bytes in JSON: "attr-000000":"value-0000000000",
+        for (int i = 0; i < (size - 80) / 32; i++) {
+            doc.put(String.format("attr-%06d", i), String.format("value-%010d", i));
+        }
+        return doc;
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.arangodb.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization and deserialization of user data: request bodies and documents read from the server.
+ *
+ * @author Michele Rastelli
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserDataBenchmark {
+
+    @Benchmark
+    public byte[] serializeUserData(final SerdeState s) {
+        return s.internalSerde.serializeUserData(s.document);
+    }
+
+    @Benchmark
+    public Object deserializeUserData(final SerdeState s) {
+        return SerdeState.withCtx(() -> s.internalSerde.deserializeUserData(s.documentBytes, Map.class));
+    }
+
+    @Benchmark
+    public byte[] serializeCollectionUserData(final SerdeState s) {
+        return s.internalSerde.serializeCollectionUserData(s.documents);
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.arangodb.benchmark;
+
+import com.arangodb.ContentType;
+import com.arangodb.internal.serde.InternalSerde;
+import com.arangodb.internal.serde.InternalSerdeProvider;
+import com.arangodb.serde.jackson.JacksonSerde;
+import com.arangodb.serde.jsonb.JsonbSerde;
+
+/**
+ * User serdes compared by the benchmarks, each one paired with the content type it is used with.
+ *
+ * @author Michele Rastelli
+ */
+public enum UserSerde {
+    JACKSON_JSON {
+        @Override
+        InternalSerde create() {
+            return new InternalSerdeProvider(ContentType.JSON).create(JacksonSerde.of(ContentType.JSON), null);
+        }
+    },
+    JACKSON_VPACK {
+        @Override
+        InternalSerde create() {
+            return new InternalSerdeProvider(ContentType.VPACK).create(JacksonSerde.of(ContentType.VPACK), null);
+        }
+    },
+    JSONB {
+        @Override
+        InternalSerde create() {
+            return new InternalSerdeProvider(ContentType.JSON).create(new JsonbSerde(), null);
+        }
+    };
+
+    abstract InternalSerde create();
+}
@@ -0,0 +1,93 @@
+package com.arangodb.benchmark;
+
+import com.arangodb.vst.internal.ChunkDecoder;
+import com.arangodb.vst.internal.ChunkEncoder;
+import com.arangodb.vst.internal.ChunkStore;
+import com.arangodb.vst.internal.Message;
+import com.arangodb.vst.internal.MessageStore;
+import io.netty.buffer.CompositeByteBuf;
+import io.vertx.core.buffer.Buffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding of messages into VST chunks and decoding of the received chunks into messages, without any I/O.
+ *
+ * @author Michele Rastelli
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class VstCodecBenchmark {
+
+    // VelocyPack empty object, used as message head
+    private static final byte[] HEAD = new byte[]{0x0a};
+
+    /**
+     * message body size in bytes
+     */
+    @Param({"100", "10000", "1000000"})
+    public int bodySize;
+
+    @Param({"30000"})
+    public int chunkSize;
+
+    private Message message;
+    private Buffer encoded;
+    private MessageStore messageStore;
+    private ChunkDecoder decoder;
+
+    @Setup
+    public void setup() {
+        // VelocyPack binary blob of bodySize bytes
+        byte[] body = new byte[bodySize + 9];
+        body[0] = (byte) 0xc7;
+        for (int i = 0; i < 8; i++) {
+            body[i + 1] = (byte) ((long) bodySize >>> (8 * i));
+        }
+        message = new Message(1L, HEAD, body);
+        CompositeByteBuf buffer = ChunkEncoder.encode(message, ChunkEncoder.buildChunks(message, chunkSize));
+        encoded = Buffer.buffer(copy(buffer));
+        buffer.release();
+        messageStore = new MessageStore();
+        decoder = new ChunkDecoder(new ChunkStore(messageStore));
+    }
+
+    private static byte[] copy(final CompositeByteBuf buffer) {
+        byte[] bytes = new byte[buffer.readableBytes()];
+        buffer.getBytes(buffer.readerIndex(), bytes);
+        return bytes;
+    }
+
+    @Benchmark
+    public int encode() {
+        CompositeByteBuf buffer = ChunkEncoder.encode(message, ChunkEncoder.buildChunks(message, chunkSize));
+        int size = buffer.readableBytes();
+        buffer.release();
+        return size;
+    }
+
+    @Benchmark
+    public Message decode() {
+        CompletableFuture<Message> future = new CompletableFuture<>();
+        messageStore.storeMessage(1L, future, 0L);
+        decoder.decode(encoded);
+        return future.getNow(null);
+    }
+
+}
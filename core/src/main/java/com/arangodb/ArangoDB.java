@@ -498,7 +498,9 @@ public interface ArangoDB extends ArangoSerdeAccessor {
         }
 
         /**
-         * Sets the chunk size when {@link Protocol#VST} is used.
+         * Sets the maximum chunk size when {@link Protocol#VST} is used. Large messages are split into chunks of
+         * similar size, which can be smaller than this value on connections with low throughput, so that the chunks
+         * of concurrent requests are interleaved fairly.
          *
          * @param chunkSize size of a chunk in bytes
          * @return {@link ArangoDB.Builder}
@@ -509,14 +511,16 @@ public interface ArangoDB extends ArangoSerdeAccessor {
         }
 
         /**
-         * Sets the maximum number of connections the built in connection pool will open per host.
+         * Sets the maximum number of connections the built in connection pool will open per host. New connections
+         * are opened only when all the existing ones have pending requests, otherwise the connection with the least
+         * pending requests is used.
          *
          * <p>
          * Defaults:
          * </p>
          *
          * <pre>
-         * {@link Protocol#VST} == 1
+         * {@link Protocol#VST} == 4
          * {@link Protocol#HTTP_JSON} == 20
          * {@link Protocol#HTTP_VPACK} == 20
          * </pre>
@@ -645,6 +649,9 @@ public interface ArangoDB extends ArangoSerdeAccessor {
         /**
          * Sets the {@code content-encoding} and {@code accept-encoding} to use for HTTP requests and the related
          * algorithm to encode and decode the transferred data. (default: {@link Compression#NONE})
+         * <p>
+         * {@link Compression#ZSTD} and {@link Compression#BROTLI} require the related codec library on the classpath,
+         * as documented in {@link Compression}.
          *
          * @param compression format
          * @return {@link ArangoDB.Builder}
@@ -671,7 +678,8 @@ public interface ArangoDB extends ArangoSerdeAccessor {
         /**
          * Sets the compression level. (default: {@code 6})
          *
-         * @param level compression level between 0 and 9
+         * @param level compression level between 0 and 9, up to 22 for {@link Compression#ZSTD} and 11 for
+         *              {@link Compression#BROTLI}
          * @return {@link ArangoDB.Builder}
          * @since ArangoDB 3.12
          */
@@ -680,6 +688,28 @@ public interface ArangoDB extends ArangoSerdeAccessor {
             return this;
         }
 
+        /**
+         * Enables adaptive compression. (default: {@code false})
+         * <p>
+         * The compression ratio and the encoding time are sampled for each host and endpoint, so that:
+         * <ul>
+         *     <li>payloads that do not compress well (e.g. already compressed binary data) are sent uncompressed,
+         *     sampling them again from time to time</li>
+         *     <li>the compression level is raised when the payloads compress well and there is spare CPU, and lowered
+         *     otherwise, between 1 and the configured {@link #compressionLevel(Integer)}</li>
+         *     <li>requests to loopback hosts are not compressed</li>
+         * </ul>
+         * The decisions are exposed by {@link ArangoMetrics#getCompression()}.
+         *
+         * @param adaptive whether to enable adaptive compression
+         * @return {@link ArangoDB.Builder}
+         * @since ArangoDB 3.12
+         */
+        public Builder compressionAdaptive(Boolean adaptive) {
+            config.setCompressionAdaptive(adaptive);
+            return this;
+        }
+
         @UnstableApi
         protected ProtocolProvider protocolProvider(Protocol protocol) {
             ServiceLoader<ProtocolProvider> loader = ServiceLoader.load(ProtocolProvider.class);
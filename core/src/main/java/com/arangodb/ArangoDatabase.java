@@ -302,6 +302,23 @@ public interface ArangoDatabase extends ArangoSerdeAccessor {
      */
     <T> ArangoCursor<T> query(String query, Class<T> type);
 
+    /**
+     * Performs a database query using the given {@code query} and {@code bindVars}, then returns a new
+     * {@code ArangoCursor} instance returning every batch of the result decoded in columnar layout: numbers into
+     * primitive arrays and strings into dictionary encoded arrays, without allocating an object per value. This is
+     * meant for homogeneous projections, e.g. {@code FOR d IN c RETURN [d.ts, d.value]}.
+     *
+     * @param query    An AQL query string
+     * @param bindVars key/value pairs defining the variables to bind the query to
+     * @param options  Additional options that will be passed to the query API, can be null
+     * @return cursor of the result batches
+     * @see ColumnarBatch
+     * @see
+     * <a href="https://docs.arangodb.com/stable/develop/http-api/queries/aql-queries/#create-a-cursor">API
+     * Documentation</a>
+     */
+    ArangoCursor<ColumnarBatch> queryColumnar(String query, Map<String, Object> bindVars, AqlQueryOptions options);
+
     /**
      * Return an cursor from the given cursor-ID if still existing
      *
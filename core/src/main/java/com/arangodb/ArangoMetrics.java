@@ -34,4 +34,10 @@ public interface ArangoMetrics {
      * @return queue time metrics
      */
     QueueTimeMetrics getQueueTime();
+
+    /**
+     * @return request compression metrics
+     * @since ArangoDB 3.12
+     */
+    CompressionMetrics getCompression();
 }
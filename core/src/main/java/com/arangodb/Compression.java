@@ -3,5 +3,15 @@ package com.arangodb;
 public enum Compression {
     NONE,
     DEFLATE,
-    GZIP
+    GZIP,
+    /**
+     * Zstandard, requires {@code com.github.luben:zstd-jni} on the classpath and a server accepting zstd encoded
+     * requests. Responses are accepted in gzip or deflate encoding.
+     */
+    ZSTD,
+    /**
+     * Brotli, requires {@code com.aayushatharva.brotli4j:brotli4j} on the classpath and a server accepting brotli
+     * encoded requests.
+     */
+    BROTLI
 }
@@ -0,0 +1,67 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+
+package com.arangodb;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Map;
+
+/**
+ * Interface for accessing request compression metrics, see
+ * {@link ArangoDB.Builder#compression(Compression)} and {@link ArangoDB.Builder#compressionAdaptive(Boolean)}.
+ *
+ * @author Michele Rastelli
+ * @since ArangoDB 3.12
+ */
+@ThreadSafe
+public interface CompressionMetrics {
+
+    /**
+     * @return number of requests sent with compressed body
+     */
+    long getCompressedRequests();
+
+    /**
+     * @return number of requests with body larger than the compression threshold, which adaptive compression decided
+     * to send uncompressed
+     */
+    long getSkippedRequests();
+
+    /**
+     * @return total size of the compressed request bodies, before compression
+     */
+    long getUncompressedBytes();
+
+    /**
+     * @return total size of the compressed request bodies, after compression
+     */
+    long getCompressedBytes();
+
+    /**
+     * @return total time spent compressing request bodies, in nanoseconds
+     */
+    long getEncodeTimeNanos();
+
+    /**
+     * @return the current compression level for each host (in the format {@code host:port})
+     */
+    Map<String, Integer> getLevels();
+}
@@ -21,13 +21,13 @@
 package com.arangodb.entity;
 
 import com.arangodb.internal.DocumentFields;
+import com.arangodb.internal.util.AttributeMap;
 import com.fasterxml.jackson.annotation.JsonAnyGetter;
 import com.fasterxml.jackson.annotation.JsonAnySetter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 
@@ -42,10 +42,10 @@ abstract class AbstractBaseDocument {
             DocumentFields.KEY,
             DocumentFields.REV
     };
-    private final HashMap<String, Object> properties;
+    private final AttributeMap properties;
 
     AbstractBaseDocument() {
-        properties = new HashMap<>();
+        properties = new AttributeMap();
     }
 
     AbstractBaseDocument(final String key) {
@@ -54,8 +54,16 @@ abstract class AbstractBaseDocument {
     }
 
     AbstractBaseDocument(final Map<String, Object> properties) {
-        this();
-        setProperties(properties);
+        if (properties instanceof AttributeMap) {
+            // built by the deserializer, possibly sharing the attribute names with the other deserialized documents
+            for (String f : getMetaProps()) {
+                requireString(f, properties.get(f));
+            }
+            this.properties = (AttributeMap) properties;
+        } else {
+            this.properties = new AttributeMap();
+            setProperties(properties);
+        }
     }
 
     @JsonIgnore
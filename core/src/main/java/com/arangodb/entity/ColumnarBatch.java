@@ -0,0 +1,216 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.entity;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One batch of a query result decoded in columnar layout, see
+ * {@link com.arangodb.ArangoDatabase#queryColumnar(String, java.util.Map, com.arangodb.model.AqlQueryOptions)}.
+ * <p>
+ * Each row of the query result can be:
+ * <ul>
+ *     <li>a scalar value, decoded into a single column</li>
+ *     <li>an array, whose elements are decoded into the columns with the same index</li>
+ *     <li>an object, whose attributes are decoded into the columns with the same name</li>
+ * </ul>
+ * Values missing in some rows are decoded as {@code null}.
+ *
+ * @author Michele Rastelli
+ */
+public final class ColumnarBatch {
+
+    private final int size;
+    private final List<Column> columns;
+
+    public ColumnarBatch(final int size, final List<Column> columns) {
+        this.size = size;
+        this.columns = Collections.unmodifiableList(columns);
+    }
+
+    /**
+     * @return the number of rows in this batch
+     */
+    public int size() {
+        return size;
+    }
+
+    public List<Column> getColumns() {
+        return columns;
+    }
+
+    public Column getColumn(final int index) {
+        return columns.get(index);
+    }
+
+    /**
+     * @param name attribute name
+     * @return the column holding the attribute with the given name, or {@code null} if there is no such column
+     */
+    public Column getColumn(final String name) {
+        for (Column column : columns) {
+            if (name.equals(column.getName())) {
+                return column;
+            }
+        }
+        return null;
+    }
+
+    public enum ColumnType {
+        /**
+         * column containing only {@code null} values
+         */
+        NULL,
+        /**
+         * integral numbers, stored in a {@code long[]}
+         */
+        LONG,
+        /**
+         * numbers with at least one non-integral value, stored in a {@code double[]}
+         */
+        DOUBLE,
+        /**
+         * strings, dictionary encoded
+         */
+        STRING
+    }
+
+    public static final class Column {
+        private final String name;
+        private final ColumnType type;
+        private final int size;
+        private final long[] longs;
+        private final double[] doubles;
+        private final int[] codes;
+        private final List<String> dictionary;
+        private final BitSet nulls;
+
+        public Column(final String name, final ColumnType type, final int size, final long[] longs,
+                      final double[] doubles, final int[] codes, final List<String> dictionary, final BitSet nulls) {
+            this.name = name;
+            this.type = type;
+            this.size = size;
+            this.longs = longs;
+            this.doubles = doubles;
+            this.codes = codes;
+            this.dictionary = dictionary != null ? Collections.unmodifiableList(dictionary) : null;
+            this.nulls = nulls;
+        }
+
+        /**
+         * @return the attribute name for object rows, {@code null} for array and scalar rows
+         */
+        public String getName() {
+            return name;
+        }
+
+        public ColumnType getType() {
+            return type;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public boolean isNull(final int row) {
+            checkRow(row);
+            return nulls.get(row);
+        }
+
+        /**
+         * @return the value at the given row, {@code 0} if null
+         */
+        public long getLong(final int row) {
+            checkType(ColumnType.LONG);
+            checkRow(row);
+            return longs[row];
+        }
+
+        /**
+         * @return the value at the given row, {@code 0} if null
+         */
+        public double getDouble(final int row) {
+            checkRow(row);
+            if (type == ColumnType.LONG) {
+                return longs[row];
+            }
+            checkType(ColumnType.DOUBLE);
+            return doubles[row];
+        }
+
+        /**
+         * @return the value at the given row, {@code null} if null
+         */
+        public String getString(final int row) {
+            checkType(ColumnType.STRING);
+            checkRow(row);
+            return nulls.get(row) ? null : dictionary.get(codes[row]);
+        }
+
+        /**
+         * @return the values of a {@link ColumnType#LONG} column, null values are stored as {@code 0}
+         */
+        public long[] getLongs() {
+            checkType(ColumnType.LONG);
+            return longs;
+        }
+
+        /**
+         * @return the values of a {@link ColumnType#DOUBLE} column, null values are stored as {@code 0}
+         */
+        public double[] getDoubles() {
+            checkType(ColumnType.DOUBLE);
+            return doubles;
+        }
+
+        /**
+         * @return the dictionary codes of a {@link ColumnType#STRING} column, i.e. the indexes of the values in
+         * {@link #getDictionary()}, null values are stored as {@code -1}
+         */
+        public int[] getCodes() {
+            checkType(ColumnType.STRING);
+            return codes;
+        }
+
+        /**
+         * @return the distinct values of a {@link ColumnType#STRING} column
+         */
+        public List<String> getDictionary() {
+            checkType(ColumnType.STRING);
+            return dictionary;
+        }
+
+        private void checkType(final ColumnType expected) {
+            if (type != expected) {
+                throw new IllegalStateException("Column type is " + type + ", expected " + expected);
+            }
+        }
+
+        private void checkRow(final int row) {
+            if (row < 0 || row >= size) {
+                throw new IndexOutOfBoundsException("Row: " + row + ", size: " + size);
+            }
+        }
+    }
+
+}
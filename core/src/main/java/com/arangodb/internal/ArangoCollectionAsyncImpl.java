@@ -136,7 +136,7 @@ public class ArangoCollectionAsyncImpl extends InternalArangoCollection implemen
 
     @Override
     public <T> CompletableFuture<T> getDocument(final String key, final Class<T> type, final DocumentReadOptions options) {
-        return executorAsync().execute(() -> getDocumentRequest(key, options), getDocumentResponseDeserializer(type))
+        return executorAsync().execute(() -> getDocumentRequest(key, options), getDocumentResponseDeserializer(type, options))
                 .exceptionally(err -> {
                     Throwable e = err instanceof CompletionException ? err.getCause() : err;
                     if (e instanceof ArangoDBException) {
@@ -160,7 +160,7 @@ public class ArangoCollectionAsyncImpl extends InternalArangoCollection implemen
     @Override
     public <T> CompletableFuture<MultiDocumentEntity<T>> getDocuments(
             final Iterable<String> keys, final Class<T> type, final DocumentReadOptions options) {
-        return executorAsync().execute(() -> getDocumentsRequest(keys, options), getDocumentsResponseDeserializer(type));
+        return executorAsync().execute(() -> getDocumentsRequest(keys, options), getDocumentsResponseDeserializer(type, options));
     }
 
     @Override
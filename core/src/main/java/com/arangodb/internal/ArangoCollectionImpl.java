@@ -134,7 +134,7 @@ public class ArangoCollectionImpl extends InternalArangoCollection implements Ar
     @Override
     public <T> T getDocument(final String key, final Class<T> type, final DocumentReadOptions options) {
         try {
-            return executorSync().execute(getDocumentRequest(key, options), getDocumentResponseDeserializer(type));
+            return executorSync().execute(getDocumentRequest(key, options), getDocumentResponseDeserializer(type, options));
         } catch (final ArangoDBException e) {
             if (matches(e, 304)
                     || matches(e, 404, ERROR_ARANGO_DOCUMENT_NOT_FOUND)
@@ -154,7 +154,7 @@ public class ArangoCollectionImpl extends InternalArangoCollection implements Ar
     @Override
     public <T> MultiDocumentEntity<T> getDocuments(
             final Iterable<String> keys, final Class<T> type, final DocumentReadOptions options) {
-        return executorSync().execute(getDocumentsRequest(keys, options), getDocumentsResponseDeserializer(type));
+        return executorSync().execute(getDocumentsRequest(keys, options), getDocumentsResponseDeserializer(type, options));
     }
 
     @Override
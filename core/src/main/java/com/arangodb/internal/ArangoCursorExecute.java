@@ -21,6 +21,7 @@
 package com.arangodb.internal;
 
 import com.arangodb.entity.CursorEntity;
+import com.arangodb.internal.cursor.RawCursorBatch;
 
 
 /**
@@ -30,6 +31,16 @@ public interface ArangoCursorExecute<T> {
 
     CursorEntity<T> next(String id, String nextBatchId);
 
+    /**
+     * Fetches the next batch without deserializing its result.
+     */
+    RawCursorBatch nextRaw(String id, String nextBatchId);
+
+    /**
+     * Deserializes a batch previously fetched with {@link #nextRaw(String, String)}.
+     */
+    CursorEntity<T> deserialize(byte[] batch);
+
     void close(String id);
 
 }
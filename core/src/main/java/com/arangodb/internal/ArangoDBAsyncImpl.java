@@ -64,7 +64,7 @@ public class ArangoDBAsyncImpl extends InternalArangoDB implements ArangoDBAsync
 
     @Override
     public ArangoMetrics metrics() {
-        return new ArangoMetricsImpl(executorAsync().getQueueTimeMetrics());
+        return new ArangoMetricsImpl(executorAsync().getQueueTimeMetrics(), executorAsync().getCompressionMetrics());
     }
 
     @Override
@@ -78,7 +78,7 @@ public class ArangoDBImpl extends InternalArangoDB implements ArangoDB {
 
     @Override
     public ArangoMetrics metrics() {
-        return new ArangoMetricsImpl(executorSync().getQueueTimeMetrics());
+        return new ArangoMetricsImpl(executorSync().getQueueTimeMetrics(), executorSync().getCompressionMetrics());
     }
 
     @Override
@@ -172,8 +172,10 @@ public class ArangoDatabaseAsyncImpl extends InternalArangoDatabase implements A
             final String query, final Class<T> type, final Map<String, Object> bindVars, final AqlQueryOptions options) {
         final InternalRequest request = queryRequest(query, bindVars, options);
         final HostHandle hostHandle = new HostHandle();
-        return executorAsync().execute(() -> request, cursorEntityDeserializer(type), hostHandle)
-                .thenApply(res -> new ArangoCursorAsyncImpl<>(this, res, type, hostHandle, options.getAllowRetry()));
+        final Collection<String> projection = projection(options);
+        return executorAsync().execute(() -> request, cursorEntityDeserializer(type, projection), hostHandle)
+                .thenApply(res -> new ArangoCursorAsyncImpl<>(this, res, type, hostHandle, options.getAllowRetry(),
+                        projection));
     }
 
     @Override
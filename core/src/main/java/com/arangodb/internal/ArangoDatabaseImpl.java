@@ -24,6 +24,9 @@ import com.arangodb.*;
 import com.arangodb.entity.*;
 import com.arangodb.entity.arangosearch.analyzer.SearchAnalyzer;
 import com.arangodb.internal.cursor.ArangoCursorImpl;
+import com.arangodb.internal.cursor.ColumnarCursorEntity;
+import com.arangodb.internal.cursor.ColumnarCursorImpl;
+import com.arangodb.internal.cursor.RawCursorBatch;
 import com.arangodb.internal.net.HostHandle;
 import com.arangodb.model.*;
 import com.arangodb.model.arangosearch.AnalyzerDeleteOptions;
@@ -35,6 +38,7 @@ import java.util.Map;
 
 import static com.arangodb.internal.ArangoErrors.*;
 import static com.arangodb.internal.serde.SerdeUtils.constructListType;
+import static com.arangodb.internal.serde.SerdeUtils.constructParametricType;
 
 /**
  * @author Mark Vollmary
@@ -165,7 +169,8 @@ public class ArangoDatabaseImpl extends InternalArangoDatabase implements Arango
             final String query, final Class<T> type, final Map<String, Object> bindVars, final AqlQueryOptions options) {
         final InternalRequest request = queryRequest(query, bindVars, options);
         final HostHandle hostHandle = new HostHandle();
-        final CursorEntity<T> result = executorSync().execute(request, cursorEntityDeserializer(type), hostHandle);
+        final CursorEntity<T> result = executorSync().execute(request,
+                cursorEntityDeserializer(type, projection(options)), hostHandle);
         return createCursor(result, type, options, hostHandle);
     }
 
@@ -184,6 +189,35 @@ public class ArangoDatabaseImpl extends InternalArangoDatabase implements Arango
         return query(query, type, null, new AqlQueryOptions());
     }
 
+    @Override
+    public ArangoCursor<ColumnarBatch> queryColumnar(
+            final String query, final Map<String, Object> bindVars, final AqlQueryOptions opts) {
+        final AqlQueryOptions options = opts != null ? opts : new AqlQueryOptions();
+        final HostHandle hostHandle = new HostHandle();
+        final ColumnarCursorEntity result = executorSync().execute(queryRequest(query, bindVars, options),
+                columnarCursorEntityDeserializer(), hostHandle);
+        final ColumnarCursorImpl.Execute execute = new ColumnarCursorImpl.Execute() {
+            @Override
+            public ColumnarCursorEntity next(final String id, final String nextBatchId) {
+                return executorSync().execute(queryNextRequest(id, options, nextBatchId),
+                        columnarCursorEntityDeserializer(), hostHandle);
+            }
+
+            @Override
+            public void close(final String id) {
+                try {
+                    executorSync().execute(queryCloseRequest(id, options), Void.class, hostHandle);
+                } catch (final ArangoDBException e) {
+                    // ignore errors Response: 404, Error: 1600 - cursor not found
+                    if (!matches(e, 404, 1600)) {
+                        throw e;
+                    }
+                }
+            }
+        };
+        return new ColumnarCursorImpl(execute, result, options.getAllowRetry());
+    }
+
     @Override
     public <T> ArangoCursor<T> cursor(final String cursorId, final Class<T> type) {
         return cursor(cursorId, type, null);
@@ -205,11 +239,23 @@ public class ArangoDatabaseImpl extends InternalArangoDatabase implements Arango
             final AqlQueryOptions opts,
             final HostHandle hostHandle) {
         AqlQueryOptions options = opts != null ? opts : new AqlQueryOptions();
+        final Collection<String> projection = projection(options);
 
         final ArangoCursorExecute<T> execute = new ArangoCursorExecute<T>() {
             @Override
             public CursorEntity<T> next(final String id, final String nextBatchId) {
-                return executorSync().execute(queryNextRequest(id, options, nextBatchId), cursorEntityDeserializer(type), hostHandle);
+                return executorSync().execute(queryNextRequest(id, options, nextBatchId),
+                        cursorEntityDeserializer(type, projection), hostHandle);
+            }
+
+            @Override
+            public RawCursorBatch nextRaw(final String id, final String nextBatchId) {
+                return executorSync().execute(queryNextRequest(id, options, nextBatchId), rawCursorBatchDeserializer(), hostHandle);
+            }
+
+            @Override
+            public CursorEntity<T> deserialize(final byte[] batch) {
+                return getSerde().deserialize(batch, constructParametricType(CursorEntity.class, type), projection);
             }
 
             @Override
@@ -224,7 +270,7 @@ public class ArangoDatabaseImpl extends InternalArangoDatabase implements Arango
                 }
             }
         };
-        return new ArangoCursorImpl<>(execute, type, result, options.getAllowRetry());
+        return new ArangoCursorImpl<>(execute, type, result, options.getAllowRetry(), options.getSpillThreshold());
     }
 
     @Override
@@ -37,7 +37,7 @@ public final class ArangoDefaults {
     public static final int LONG_BYTES = Long.SIZE / Byte.SIZE;
     public static final int CHUNK_MIN_HEADER_SIZE = INTEGER_BYTES + INTEGER_BYTES + LONG_BYTES;
     public static final int CHUNK_MAX_HEADER_SIZE = CHUNK_MIN_HEADER_SIZE + LONG_BYTES;
-    public static final int MAX_CONNECTIONS_VST_DEFAULT = 1;
+    public static final int MAX_CONNECTIONS_VST_DEFAULT = 4;
     public static final int MAX_CONNECTIONS_HTTP_DEFAULT = 20;
     public static final int MAX_CONNECTIONS_HTTP2_DEFAULT = 1;
 
@@ -59,6 +59,7 @@ public final class ArangoDefaults {
     public static final Compression DEFAULT_COMPRESSION = Compression.NONE;
     public static final Integer DEFAULT_COMPRESSION_THRESHOLD = 1024;
     public static final Integer DEFAULT_COMPRESSION_LEVEL = 6;
+    public static final Boolean DEFAULT_COMPRESSION_ADAPTIVE = false;
     // endregion
 
     private ArangoDefaults() {
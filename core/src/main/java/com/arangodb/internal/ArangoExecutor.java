@@ -21,6 +21,7 @@
 package com.arangodb.internal;
 
 import com.arangodb.ArangoDBException;
+import com.arangodb.CompressionMetrics;
 import com.arangodb.QueueTimeMetrics;
 import com.arangodb.internal.config.ArangoConfig;
 import com.arangodb.internal.net.CommunicationProtocol;
@@ -36,12 +37,14 @@ public abstract class ArangoExecutor {
 
     protected final CommunicationProtocol protocol;
     private final QueueTimeMetricsImpl qtMetrics;
+    private final CompressionMetrics compressionMetrics;
     private final InternalSerde serde;
     private final String timeoutS;
 
     protected ArangoExecutor(final CommunicationProtocol protocol, final ArangoConfig config ) {
         this.protocol = protocol;
         qtMetrics = new QueueTimeMetricsImpl(config.getResponseQueueTimeSamples());
+        compressionMetrics = config.getCompressionMetrics();
         serde = config.getInternalSerde();
         timeoutS = config.getTimeout() >= 1000 ? Integer.toString(config.getTimeout() / 1000) : null;
     }
@@ -63,7 +66,7 @@ public abstract class ArangoExecutor {
     }
 
     protected final void interceptResponse(InternalResponse response) {
-        String queueTime = response.getMeta("X-Arango-Queue-Time-Seconds");
+        String queueTime = response.getMeta(InternalResponse.META_QUEUE_TIME_SECONDS);
         if (queueTime != null) {
             qtMetrics.add(Double.parseDouble(queueTime));
         }
@@ -78,6 +81,10 @@ public abstract class ArangoExecutor {
         return qtMetrics;
     }
 
+    public CompressionMetrics getCompressionMetrics() {
+        return compressionMetrics;
+    }
+
     public interface ResponseDeserializer<T> {
         T deserialize(InternalResponse response);
     }
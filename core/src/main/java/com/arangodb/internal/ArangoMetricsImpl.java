@@ -21,6 +21,7 @@
 package com.arangodb.internal;
 
 import com.arangodb.ArangoMetrics;
+import com.arangodb.CompressionMetrics;
 import com.arangodb.QueueTimeMetrics;
 
 /**
@@ -29,9 +30,11 @@ import com.arangodb.QueueTimeMetrics;
 public class ArangoMetricsImpl implements ArangoMetrics {
 
     private final QueueTimeMetrics queueTimeMetrics;
+    private final CompressionMetrics compressionMetrics;
 
-    public ArangoMetricsImpl(QueueTimeMetrics queueTimeMetrics) {
+    public ArangoMetricsImpl(QueueTimeMetrics queueTimeMetrics, CompressionMetrics compressionMetrics) {
         this.queueTimeMetrics = queueTimeMetrics;
+        this.compressionMetrics = compressionMetrics;
     }
 
     @Override
@@ -39,4 +42,9 @@ public class ArangoMetricsImpl implements ArangoMetrics {
         return queueTimeMetrics;
     }
 
+    @Override
+    public CompressionMetrics getCompression() {
+        return compressionMetrics;
+    }
+
 }
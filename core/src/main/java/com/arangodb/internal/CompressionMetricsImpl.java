@@ -0,0 +1,86 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+
+package com.arangodb.internal;
+
+import com.arangodb.CompressionMetrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author Michele Rastelli
+ */
+public class CompressionMetricsImpl implements CompressionMetrics {
+    private final LongAdder compressedRequests = new LongAdder();
+    private final LongAdder skippedRequests = new LongAdder();
+    private final LongAdder uncompressedBytes = new LongAdder();
+    private final LongAdder compressedBytes = new LongAdder();
+    private final LongAdder encodeTimeNanos = new LongAdder();
+    private final Map<String, Integer> levels = new ConcurrentHashMap<>();
+
+    @Override
+    public long getCompressedRequests() {
+        return compressedRequests.sum();
+    }
+
+    @Override
+    public long getSkippedRequests() {
+        return skippedRequests.sum();
+    }
+
+    @Override
+    public long getUncompressedBytes() {
+        return uncompressedBytes.sum();
+    }
+
+    @Override
+    public long getCompressedBytes() {
+        return compressedBytes.sum();
+    }
+
+    @Override
+    public long getEncodeTimeNanos() {
+        return encodeTimeNanos.sum();
+    }
+
+    @Override
+    public Map<String, Integer> getLevels() {
+        return Collections.unmodifiableMap(levels);
+    }
+
+    public void compressed(final int uncompressed, final int compressed, final long nanos) {
+        compressedRequests.increment();
+        uncompressedBytes.add(uncompressed);
+        compressedBytes.add(compressed);
+        encodeTimeNanos.add(nanos);
+    }
+
+    public void skipped() {
+        skippedRequests.increment();
+    }
+
+    public void level(final String host, final int level) {
+        levels.put(host, level);
+    }
+}
@@ -23,6 +23,8 @@ package com.arangodb.internal;
 import com.arangodb.entity.*;
 import com.arangodb.entity.arangosearch.analyzer.SearchAnalyzer;
 import com.arangodb.internal.ArangoExecutor.ResponseDeserializer;
+import com.arangodb.internal.cursor.ColumnarCursorEntity;
+import com.arangodb.internal.cursor.RawCursorBatch;
 import com.arangodb.internal.util.RequestUtils;
 import com.arangodb.model.*;
 import com.arangodb.model.arangosearch.*;
@@ -232,14 +234,52 @@ public abstract class InternalArangoDatabase extends ArangoExecuteable {
     }
 
     public <T> ResponseDeserializer<CursorEntity<T>> cursorEntityDeserializer(final Class<T> type) {
+        return cursorEntityDeserializer(type, null);
+    }
+
+    /**
+     * @param projection top level attributes of the result documents to deserialize, or {@code null} to deserialize
+     *                   all of them
+     */
+    public <T> ResponseDeserializer<CursorEntity<T>> cursorEntityDeserializer(final Class<T> type,
+                                                                              final Collection<String> projection) {
         return (response) -> {
-            CursorEntity<T> e = getSerde().deserialize(response.getBody(), constructParametricType(CursorEntity.class, type));
-            boolean potentialDirtyRead = Boolean.parseBoolean(response.getMeta("X-Arango-Potential-Dirty-Read"));
+            CursorEntity<T> e = getSerde().deserialize(response.getBody(),
+                    constructParametricType(CursorEntity.class, type), projection);
+            boolean potentialDirtyRead = Boolean.parseBoolean(response.getMeta(InternalResponse.META_POTENTIAL_DIRTY_READ));
             e.setPotentialDirtyRead(potentialDirtyRead);
             return e;
         };
     }
 
+    /**
+     * @return the client side projection of the query results, see {@link AqlQueryOptions#projection(Collection)}
+     */
+    protected Collection<String> projection(final AqlQueryOptions options) {
+        if (options == null) {
+            return null;
+        }
+        return options.getProjectionType() != null ? getSerde().getProjection(options.getProjectionType())
+                : options.getProjection();
+    }
+
+    protected ResponseDeserializer<ColumnarCursorEntity> columnarCursorEntityDeserializer() {
+        return (response) -> {
+            ColumnarCursorEntity e = getSerde().deserialize(response.getBody(), ColumnarCursorEntity.class);
+            boolean potentialDirtyRead = Boolean.parseBoolean(response.getMeta(InternalResponse.META_POTENTIAL_DIRTY_READ));
+            e.setPotentialDirtyRead(potentialDirtyRead);
+            return e;
+        };
+    }
+
+    protected ResponseDeserializer<RawCursorBatch> rawCursorBatchDeserializer() {
+        return (response) -> {
+            RawCursorBatch batch = getSerde().deserialize(response.getBody(), RawCursorBatch.class);
+            batch.setBody(response.getBody());
+            return batch;
+        };
+    }
+
     protected ResponseDeserializer<Integer> deleteAqlFunctionResponseDeserializer() {
         return (response) -> getSerde().deserialize(response.getBody(), "/deletedCount", Integer.class);
     }
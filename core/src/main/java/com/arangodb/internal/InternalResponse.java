@@ -33,10 +33,18 @@ import java.util.Map;
 @UsedInApi
 public class InternalResponse {
 
+    /*
+     * Well-known metadata keys, already lower case so that lookups do not allocate.
+     */
+    public static final String META_QUEUE_TIME_SECONDS = "x-arango-queue-time-seconds";
+    public static final String META_POTENTIAL_DIRTY_READ = "x-arango-potential-dirty-read";
+    public static final String META_ENDPOINT = "x-arango-endpoint";
+
     private int version = 1;
     private int type = 2;
     private int responseCode;
-    private final Map<String, String> meta;
+    private Map<String, String> meta;
+    private boolean caseInsensitiveMeta = false;
     private byte[] body = null;
 
     public InternalResponse() {
@@ -73,14 +81,28 @@ public class InternalResponse {
     }
 
     public String getMeta(final String key) {
-        return meta.get(key.toLowerCase(Locale.ROOT));
+        return meta.get(caseInsensitiveMeta ? key : key.toLowerCase(Locale.ROOT));
     }
 
     public boolean containsMeta(final String key) {
-        return meta.containsKey(key.toLowerCase(Locale.ROOT));
+        return meta.containsKey(caseInsensitiveMeta ? key : key.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Sets the metadata to a view over the transport headers, which is used as is instead of being copied.
+     *
+     * @param meta map with case-insensitive lookups, iterating it must return lower case keys
+     */
+    public void setMeta(final Map<String, String> meta) {
+        this.meta = meta;
+        caseInsensitiveMeta = true;
     }
 
     public void putMeta(final String key, final String value) {
+        if (caseInsensitiveMeta) {
+            meta = new HashMap<>(meta);
+            caseInsensitiveMeta = false;
+        }
         this.meta.put(key.toLowerCase(Locale.ROOT), value);
     }
 
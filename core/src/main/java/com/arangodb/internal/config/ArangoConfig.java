@@ -9,6 +9,7 @@ import com.arangodb.config.ArangoConfigProperties;
 import com.arangodb.config.HostDescription;
 import com.arangodb.entity.LoadBalancingStrategy;
 import com.arangodb.internal.ArangoDefaults;
+import com.arangodb.internal.CompressionMetricsImpl;
 import com.arangodb.internal.serde.ContentTypeFactory;
 import com.arangodb.internal.serde.InternalSerde;
 import com.arangodb.internal.serde.InternalSerdeProvider;
@@ -49,6 +50,8 @@ public class ArangoConfig {
     private Compression compression;
     private Integer compressionThreshold;
     private Integer compressionLevel;
+    private Boolean compressionAdaptive;
+    private final CompressionMetricsImpl compressionMetrics = new CompressionMetricsImpl();
 
     private static final Logger LOG = LoggerFactory.getLogger(ArangoConfig.class);
 
@@ -112,6 +115,7 @@ public class ArangoConfig {
         compression = properties.getCompression().orElse(ArangoDefaults.DEFAULT_COMPRESSION);
         compressionThreshold = properties.getCompressionThreshold().orElse(ArangoDefaults.DEFAULT_COMPRESSION_THRESHOLD);
         compressionLevel = properties.getCompressionLevel().orElse(ArangoDefaults.DEFAULT_COMPRESSION_LEVEL);
+        compressionAdaptive = properties.getCompressionAdaptive().orElse(ArangoDefaults.DEFAULT_COMPRESSION_ADAPTIVE);
     }
 
     public List<HostDescription> getHosts() {
@@ -329,4 +333,16 @@ public class ArangoConfig {
     public void setCompressionLevel(Integer compressionLevel) {
         this.compressionLevel = compressionLevel;
     }
+
+    public Boolean getCompressionAdaptive() {
+        return compressionAdaptive;
+    }
+
+    public void setCompressionAdaptive(Boolean compressionAdaptive) {
+        this.compressionAdaptive = compressionAdaptive;
+    }
+
+    public CompressionMetricsImpl getCompressionMetrics() {
+        return compressionMetrics;
+    }
 }
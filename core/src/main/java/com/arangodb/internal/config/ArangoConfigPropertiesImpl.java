@@ -161,4 +161,9 @@ public final class ArangoConfigPropertiesImpl implements ArangoConfigProperties
         return Optional.ofNullable(getProperty("compressionLevel")).map(Integer::valueOf);
     }
 
+    @Override
+    public Optional<Boolean> getCompressionAdaptive() {
+        return Optional.ofNullable(getProperty("compressionAdaptive")).map(Boolean::valueOf);
+    }
+
 }
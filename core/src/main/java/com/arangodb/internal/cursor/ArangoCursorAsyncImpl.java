@@ -7,6 +7,7 @@ import com.arangodb.internal.ArangoDatabaseAsyncImpl;
 import com.arangodb.internal.InternalArangoCursor;
 import com.arangodb.internal.net.HostHandle;
 
+import java.util.Collection;
 import java.util.NoSuchElementException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
@@ -17,6 +18,7 @@ public class ArangoCursorAsyncImpl<T> extends InternalArangoCursor<T> implements
 
     private final ArangoDatabaseAsyncImpl db;
     private final HostHandle hostHandle;
+    private final Collection<String> projection;
 
     public ArangoCursorAsyncImpl(
             final ArangoDatabaseAsyncImpl db,
@@ -24,17 +26,31 @@ public class ArangoCursorAsyncImpl<T> extends InternalArangoCursor<T> implements
             final Class<T> type,
             final HostHandle hostHandle,
             final Boolean allowRetry
+    ) {
+        this(db, entity, type, hostHandle, allowRetry, null);
+    }
+
+    public ArangoCursorAsyncImpl(
+            final ArangoDatabaseAsyncImpl db,
+            final CursorEntity<T> entity,
+            final Class<T> type,
+            final HostHandle hostHandle,
+            final Boolean allowRetry,
+            final Collection<String> projection
     ) {
         super(db, db.name(), entity, type, allowRetry);
         this.db = db;
         this.hostHandle = hostHandle;
+        this.projection = projection;
     }
 
     @Override
     public CompletableFuture<ArangoCursorAsync<T>> nextBatch() {
         if (Boolean.TRUE.equals(hasMore())) {
-            return executorAsync().execute(this::queryNextRequest, db.cursorEntityDeserializer(getType()), hostHandle)
-                    .thenApply(r -> new ArangoCursorAsyncImpl<>(db, r, getType(), hostHandle, allowRetry()));
+            return executorAsync().execute(this::queryNextRequest, db.cursorEntityDeserializer(getType(), projection),
+                            hostHandle)
+                    .thenApply(r -> new ArangoCursorAsyncImpl<>(db, r, getType(), hostHandle, allowRetry(),
+                            projection));
         } else {
             CompletableFuture<ArangoCursorAsync<T>> cf = new CompletableFuture<>();
             cf.completeExceptionally(new NoSuchElementException());
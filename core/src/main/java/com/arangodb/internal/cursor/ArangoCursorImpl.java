@@ -45,6 +45,12 @@ public class ArangoCursorImpl<T> implements ArangoCursor<T> {
 
     public ArangoCursorImpl(final ArangoCursorExecute<T> execute,
                             final Class<T> type, final CursorEntity<T> result, final Boolean allowRetry) {
+        this(execute, type, result, allowRetry, null);
+    }
+
+    public ArangoCursorImpl(final ArangoCursorExecute<T> execute,
+                            final Class<T> type, final CursorEntity<T> result, final Boolean allowRetry,
+                            final Long spillThreshold) {
         super();
         this.execute = execute;
         this.type = type;
@@ -52,11 +58,25 @@ public class ArangoCursorImpl<T> implements ArangoCursor<T> {
         pontentialDirtyRead = result.isPotentialDirtyRead();
         iterator = new ArangoCursorIterator<>(id, execute, result);
         this.allowRetry = Boolean.TRUE.equals(allowRetry);
+        if (spillThreshold != null && Boolean.TRUE.equals(result.getHasMore())) {
+            try {
+                iterator.drain(spillThreshold);
+            } catch (RuntimeException e) {
+                // the caller gets no cursor to close
+                try {
+                    execute.close(id);
+                } catch (RuntimeException closeException) {
+                    e.addSuppressed(closeException);
+                }
+                throw e;
+            }
+        }
     }
 
     @Override
     public void close() {
-        if (getId() != null && (allowRetry || iterator.result.getHasMore())) {
+        iterator.close();
+        if (getId() != null && (allowRetry || iterator.hasMoreOnServer())) {
             getExecute().close(getId());
         }
     }
@@ -128,6 +148,7 @@ public class ArangoCursorImpl<T> implements ArangoCursor<T> {
         private final ArangoCursorExecute<T> execute;
         private CursorEntity<T> result;
         private Iterator<T> arrayIterator;
+        private CursorBatchSpool spool;
 
         protected ArangoCursorIterator(final String cursorId, final ArangoCursorExecute<T> execute,
                                        final CursorEntity<T> result) {
@@ -139,20 +160,63 @@ public class ArangoCursorImpl<T> implements ArangoCursor<T> {
 
         @Override
         public boolean hasNext() {
+            if (spool != null) {
+                return arrayIterator.hasNext() || !spool.isEmpty();
+            }
             return arrayIterator.hasNext() || result.getHasMore();
         }
 
         @Override
         public T next() {
-            if (!arrayIterator.hasNext() && Boolean.TRUE.equals(result.getHasMore())) {
-                result = execute.next(cursorId, result.getNextBatchId());
-                arrayIterator = result.getResult().iterator();
+            if (!arrayIterator.hasNext()) {
+                if (spool != null) {
+                    if (!spool.isEmpty()) {
+                        result = execute.deserialize(spool.poll());
+                        arrayIterator = result.getResult().iterator();
+                        if (spool.isEmpty()) {
+                            spool.close();
+                        }
+                    }
+                } else if (Boolean.TRUE.equals(result.getHasMore())) {
+                    result = execute.next(cursorId, result.getNextBatchId());
+                    arrayIterator = result.getResult().iterator();
+                }
             }
             if (!hasNext()) {
                 throw new NoSuchElementException();
             }
             return arrayIterator.next();
         }
+
+        /**
+         * Fetches all the remaining batches from the server, keeping them serialized in a {@link CursorBatchSpool}.
+         */
+        void drain(final long heapBudget) {
+            spool = new CursorBatchSpool(heapBudget);
+            String nextBatchId = result.getNextBatchId();
+            boolean hasMore = true;
+            try {
+                while (hasMore) {
+                    final RawCursorBatch batch = execute.nextRaw(cursorId, nextBatchId);
+                    spool.add(batch.getBody());
+                    hasMore = Boolean.TRUE.equals(batch.getHasMore());
+                    nextBatchId = batch.getNextBatchId();
+                }
+            } catch (RuntimeException e) {
+                spool.close();
+                throw e;
+            }
+        }
+
+        boolean hasMoreOnServer() {
+            return spool == null && Boolean.TRUE.equals(result.getHasMore());
+        }
+
+        void close() {
+            if (spool != null) {
+                spool.close();
+            }
+        }
     }
 
 }
@@ -0,0 +1,76 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.cursor;
+
+import com.arangodb.entity.ColumnarBatch;
+import com.arangodb.entity.CursorEntity;
+
+/**
+ * Cursor batch with the result decoded as {@link ColumnarBatch}.
+ *
+ * @author Michele Rastelli
+ */
+public final class ColumnarCursorEntity {
+    private String id;
+    private Integer count;
+    private Boolean cached;
+    private Boolean hasMore;
+    private ColumnarBatch result;
+    private Boolean potentialDirtyRead;
+    private String nextBatchId;
+    private final CursorEntity.Extras extra = new CursorEntity.Extras();
+
+    public String getId() {
+        return id;
+    }
+
+    public Integer getCount() {
+        return count;
+    }
+
+    public CursorEntity.Extras getExtra() {
+        return extra;
+    }
+
+    public Boolean getCached() {
+        return cached;
+    }
+
+    public Boolean getHasMore() {
+        return hasMore;
+    }
+
+    public ColumnarBatch getResult() {
+        return result;
+    }
+
+    public Boolean isPotentialDirtyRead() {
+        return potentialDirtyRead;
+    }
+
+    public void setPotentialDirtyRead(final Boolean potentialDirtyRead) {
+        this.potentialDirtyRead = potentialDirtyRead;
+    }
+
+    public String getNextBatchId() {
+        return nextBatchId;
+    }
+}
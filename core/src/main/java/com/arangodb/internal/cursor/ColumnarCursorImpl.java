@@ -0,0 +1,155 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.cursor;
+
+import com.arangodb.ArangoCursor;
+import com.arangodb.ArangoIterator;
+import com.arangodb.entity.ColumnarBatch;
+import com.arangodb.entity.CursorEntity;
+import com.arangodb.entity.CursorStats;
+import com.arangodb.entity.CursorWarning;
+
+import java.util.Collection;
+import java.util.NoSuchElementException;
+
+/**
+ * Cursor returning every batch of the query result as a single {@link ColumnarBatch}.
+ *
+ * @author Michele Rastelli
+ */
+public class ColumnarCursorImpl implements ArangoCursor<ColumnarBatch> {
+
+    private final ColumnarCursorIterator iterator;
+    private final String id;
+    private final Execute execute;
+    private final boolean pontentialDirtyRead;
+    private final boolean allowRetry;
+
+    public ColumnarCursorImpl(final Execute execute, final ColumnarCursorEntity result, final Boolean allowRetry) {
+        super();
+        this.execute = execute;
+        id = result.getId();
+        pontentialDirtyRead = Boolean.TRUE.equals(result.isPotentialDirtyRead());
+        iterator = new ColumnarCursorIterator(id, execute, result);
+        this.allowRetry = Boolean.TRUE.equals(allowRetry);
+    }
+
+    @Override
+    public void close() {
+        if (id != null && (allowRetry || Boolean.TRUE.equals(iterator.result.getHasMore()))) {
+            execute.close(id);
+        }
+    }
+
+    @Override
+    public ColumnarBatch next() {
+        return iterator.next();
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public Class<ColumnarBatch> getType() {
+        return ColumnarBatch.class;
+    }
+
+    @Override
+    public Integer getCount() {
+        return iterator.result.getCount();
+    }
+
+    @Override
+    public CursorStats getStats() {
+        final CursorEntity.Extras extra = iterator.result.getExtra();
+        return extra != null ? extra.getStats() : null;
+    }
+
+    @Override
+    public Collection<CursorWarning> getWarnings() {
+        final CursorEntity.Extras extra = iterator.result.getExtra();
+        return extra != null ? extra.getWarnings() : null;
+    }
+
+    @Override
+    public boolean isCached() {
+        return Boolean.TRUE.equals(iterator.result.getCached());
+    }
+
+    @Override
+    public boolean hasNext() {
+        return iterator.hasNext();
+    }
+
+    @Override
+    public boolean isPotentialDirtyRead() {
+        return pontentialDirtyRead;
+    }
+
+    @Override
+    public ArangoIterator<ColumnarBatch> iterator() {
+        return iterator;
+    }
+
+    @Override
+    public String getNextBatchId() {
+        return iterator.result.getNextBatchId();
+    }
+
+    public interface Execute {
+        ColumnarCursorEntity next(String id, String nextBatchId);
+
+        void close(String id);
+    }
+
+    private static class ColumnarCursorIterator implements ArangoIterator<ColumnarBatch> {
+        private final String cursorId;
+        private final Execute execute;
+        private ColumnarCursorEntity result;
+        private boolean consumed;
+
+        private ColumnarCursorIterator(final String cursorId, final Execute execute, final ColumnarCursorEntity result) {
+            this.cursorId = cursorId;
+            this.execute = execute;
+            this.result = result;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !consumed || Boolean.TRUE.equals(result.getHasMore());
+        }
+
+        @Override
+        public ColumnarBatch next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (consumed) {
+                result = execute.next(cursorId, result.getNextBatchId());
+            }
+            consumed = true;
+            return result.getResult();
+        }
+    }
+
+}
@@ -0,0 +1,158 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.cursor;
+
+import com.arangodb.ArangoDBException;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * FIFO queue of raw (serialized) cursor batches. Batches are kept on heap as long as their total size does not exceed
+ * the configured budget, further batches are appended to a temporary file and read back with positional reads. The
+ * temporary file is deleted on {@link #close()}.
+ *
+ * @author Michele Rastelli
+ */
+final class CursorBatchSpool implements Closeable {
+
+    private final long heapBudget;
+    private final Deque<Object> batches = new ArrayDeque<>();
+    private long heapBytes;
+    private FileChannel channel;
+    private long fileSize;
+
+    CursorBatchSpool(final long heapBudget) {
+        this.heapBudget = heapBudget;
+    }
+
+    void add(final byte[] batch) {
+        if (heapBytes + batch.length <= heapBudget) {
+            heapBytes += batch.length;
+            batches.add(batch);
+        } else {
+            batches.add(spill(batch));
+        }
+    }
+
+    byte[] poll() {
+        final Object batch = batches.poll();
+        if (batch == null) {
+            return null;
+        }
+        if (batch instanceof byte[]) {
+            final byte[] bytes = (byte[]) batch;
+            heapBytes -= bytes.length;
+            return bytes;
+        }
+        return read((SpilledBatch) batch);
+    }
+
+    boolean isEmpty() {
+        return batches.isEmpty();
+    }
+
+    /**
+     * @return the number of bytes currently held on heap
+     */
+    long getHeapBytes() {
+        return heapBytes;
+    }
+
+    /**
+     * @return the number of bytes written to the temporary file
+     */
+    long getSpilledBytes() {
+        return fileSize;
+    }
+
+    @Override
+    public void close() {
+        batches.clear();
+        heapBytes = 0;
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw ArangoDBException.of(e);
+            } finally {
+                channel = null;
+            }
+        }
+    }
+
+    private SpilledBatch spill(final byte[] batch) {
+        try {
+            if (channel == null) {
+                final Path file = Files.createTempFile("arangodb-cursor-", ".spill");
+                channel = FileChannel.open(file, READ, WRITE, DELETE_ON_CLOSE);
+            }
+            final SpilledBatch spilled = new SpilledBatch(fileSize, batch.length);
+            final ByteBuffer buffer = ByteBuffer.wrap(batch);
+            long position = fileSize;
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            fileSize = position;
+            return spilled;
+        } catch (IOException e) {
+            throw ArangoDBException.of(e);
+        }
+    }
+
+    private byte[] read(final SpilledBatch batch) {
+        try {
+            final byte[] bytes = new byte[batch.size];
+            final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            long position = batch.position;
+            while (buffer.hasRemaining()) {
+                final int read = channel.read(buffer, position);
+                if (read < 0) {
+                    throw new EOFException("Spilled cursor batch truncated at position " + position);
+                }
+                position += read;
+            }
+            return bytes;
+        } catch (IOException e) {
+            throw ArangoDBException.of(e);
+        }
+    }
+
+    private static final class SpilledBatch {
+        private final long position;
+        private final int size;
+
+        private SpilledBatch(final long position, final int size) {
+            this.position = position;
+            this.size = size;
+        }
+    }
+
+}
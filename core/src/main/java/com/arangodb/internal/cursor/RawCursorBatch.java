@@ -0,0 +1,49 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.cursor;
+
+/**
+ * Cursor batch whose result has not been deserialized yet. Only the fields needed to fetch the following batch are
+ * read, the {@code result} array is skipped by the parser.
+ *
+ * @author Michele Rastelli
+ */
+public final class RawCursorBatch {
+    private Boolean hasMore;
+    private String nextBatchId;
+    private byte[] body;
+
+    public Boolean getHasMore() {
+        return hasMore;
+    }
+
+    public String getNextBatchId() {
+        return nextBatchId;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public void setBody(final byte[] body) {
+        this.body = body;
+    }
+}
@@ -37,7 +37,13 @@ public abstract class Communication implements Closeable {
         reqCount = new AtomicLong();
     }
 
-    protected abstract void connect(final Connection conn) throws IOException;
+    /**
+     * Opens the connection if needed, without blocking the calling thread, which can be an event loop thread.
+     *
+     * @return future completed once the connection can be used, completed exceptionally with an {@link IOException}
+     * if the host could not be connected
+     */
+    protected abstract CompletableFuture<Void> connect(final Connection conn);
 
     @Override
     public void close() throws IOException {
@@ -61,13 +67,22 @@ public abstract class Communication implements Closeable {
             LOGGER.debug("Send Request [id={}]: {} {}", reqId, request, body);
         }
         final CompletableFuture<InternalResponse> rfuture = new CompletableFuture<>();
-        try {
-            connect(connection);
-        } catch (IOException e) {
-            handleException(true, e, hostHandle, request, host, reqId, attemptCount, rfuture);
-            return rfuture;
-        }
+        connect(connection).whenComplete((v, ex) -> {
+            final Throwable e = ex instanceof CompletionException ? ex.getCause() : ex;
+            if (e instanceof IOException) {
+                handleException(true, e, hostHandle, request, host, reqId, attemptCount, rfuture);
+            } else if (e != null) {
+                rfuture.completeExceptionally(e);
+            } else {
+                send(request, hostHandle, host, attemptCount, connection, reqId, rfuture);
+            }
+        });
+        return rfuture;
+    }
 
+    private void send(final InternalRequest request, final HostHandle hostHandle, final Host host,
+                      final int attemptCount, final Connection connection, final long reqId,
+                      final CompletableFuture<InternalResponse> rfuture) {
         connection.executeAsync(request)
                 .whenComplete((response, e) -> {
                     try {
@@ -113,7 +128,6 @@ public abstract class Communication implements Closeable {
                         rfuture.completeExceptionally(ArangoDBException.of(ex, reqId));
                     }
                 });
-        return rfuture;
     }
 
     private void handleException(boolean isSafe, Throwable e, HostHandle hostHandle, InternalRequest request, Host host,
@@ -35,4 +35,12 @@ public interface Connection extends Closeable {
     void setJwt(String jwt);
 
     CompletableFuture<InternalResponse> executeAsync(InternalRequest request);
+
+    /**
+     * @return the number of requests sent and not yet completed, used by the connection pool to pick the least loaded
+     * connection
+     */
+    default int pendingRequests() {
+        return 0;
+    }
 }
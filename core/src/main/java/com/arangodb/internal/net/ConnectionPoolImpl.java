@@ -28,6 +28,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 /**
+ * Connection pool opening the connections lazily: a new connection is created only if all the existing ones have
+ * pending requests, otherwise the connection with the least pending requests is returned.
+ *
  * @author Mark Vollmary
  */
 public class ConnectionPoolImpl implements ConnectionPool {
@@ -64,15 +67,23 @@ public class ConnectionPoolImpl implements ConnectionPool {
             throw new ArangoDBException("Connection pool already closed!");
         }
 
-        final Connection connection;
+        // least pending requests, starting from the round-robin position to break ties
+        Connection connection = null;
+        int minPending = Integer.MAX_VALUE;
+        final int size = connections.size();
+        for (int i = 0; i < size && minPending > 0; i++) {
+            final Connection c = connections.get(Math.floorMod(current + i, size));
+            final int pending = c.pendingRequests();
+            if (pending < minPending) {
+                minPending = pending;
+                connection = c;
+            }
+        }
+        current++;
 
-        if (connections.size() < maxConnections) {
+        if (connection == null || (minPending > 0 && size < maxConnections)) {
             connection = createConnection(host);
             connections.add(connection);
-            current++;
-        } else {
-            final int index = Math.floorMod(current++, connections.size());
-            connection = connections.get(index);
         }
 
         return connection;
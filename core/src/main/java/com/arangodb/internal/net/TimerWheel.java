@@ -0,0 +1,222 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+
+package com.arangodb.internal.net;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Driver-wide timer, shared by the VST connections for keep-alive probes, connection ttl expiry and request timeouts.
+ * HTTP connections keep request timeouts and idle eviction in Vert.x.
+ * <p>
+ * Tasks are hashed into the buckets of a wheel, which a single daemon thread advances every {@link #TICK_MILLIS}, so
+ * that scheduling and cancelling take constant time and no thread is created per connection. Tasks run on the timer
+ * thread, therefore they must not block: they should rather hand over to the event loop of the connection.
+ * <p>
+ * The thread is started by the first scheduled task, and exits as soon as no task is pending, e.g. after the last VST
+ * connection has been closed. It is started again by the next scheduled task.
+ *
+ * @author Michele Rastelli
+ */
+public final class TimerWheel {
+
+    public static final TimerWheel INSTANCE = new TimerWheel();
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TimerWheel.class);
+    private static final long TICK_MILLIS = 10L;
+    private static final int WHEEL_SIZE = 512;
+    private static final int MASK = WHEEL_SIZE - 1;
+
+    private final long tickNanos = TimeUnit.MILLISECONDS.toNanos(TICK_MILLIS);
+    private final long startTime = System.nanoTime();
+    private final Queue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+    // tasks neither completed nor cancelled
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    // accessed only by the timer thread
+    private final List<List<Timeout>> wheel = new ArrayList<>(WHEEL_SIZE);
+    private long tick;
+
+    TimerWheel() {
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Runs the task once, after the given delay.
+     */
+    public Timeout schedule(final Runnable task, final long delay, final TimeUnit unit) {
+        return add(new Timeout(this, task, deadline(unit.toNanos(delay)), 0L));
+    }
+
+    /**
+     * Runs the task after the initial delay and then periodically, until the returned timeout is cancelled.
+     */
+    public Timeout schedulePeriodic(final Runnable task, final long initialDelay, final long period, final TimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("period must be positive");
+        }
+        return add(new Timeout(this, task, deadline(unit.toNanos(initialDelay)), unit.toNanos(period)));
+    }
+
+    /**
+     * @return whether the timer thread is running
+     */
+    boolean isRunning() {
+        return running.get();
+    }
+
+    private long deadline(final long delayNanos) {
+        return System.nanoTime() - startTime + Math.max(0L, delayNanos);
+    }
+
+    private Timeout add(final Timeout timeout) {
+        pending.incrementAndGet();
+        scheduled.add(timeout);
+        if (running.compareAndSet(false, true)) {
+            final Thread thread = new Thread(this::run, "adb-timer");
+            thread.setDaemon(true);
+            thread.start();
+        }
+        return timeout;
+    }
+
+    private void run() {
+        tick = (System.nanoTime() - startTime) / tickNanos;
+        while (true) {
+            if (pending.get() == 0) {
+                // only completed or cancelled tasks are left, the queued ones are dropped by the next thread
+                for (List<Timeout> bucket : wheel) {
+                    bucket.clear();
+                }
+                running.set(false);
+                // a task scheduled meanwhile either started a new thread or is left to this one
+                if (pending.get() == 0 || !running.compareAndSet(false, true)) {
+                    return;
+                }
+            }
+            final long tickDeadline = (tick + 1) * tickNanos;
+            long sleep;
+            while ((sleep = tickDeadline - (System.nanoTime() - startTime)) > 0) {
+                LockSupport.parkNanos(this, sleep);
+            }
+            Timeout timeout;
+            while ((timeout = scheduled.poll()) != null) {
+                if (!timeout.isCancelled()) {
+                    place(timeout);
+                }
+            }
+            expire(wheel.get((int) (tick & MASK)), tickDeadline);
+            tick++;
+        }
+    }
+    private void place(final Timeout timeout) {
+        final long ticks = Math.max(timeout.deadline / tickNanos, tick);
+        timeout.remainingRounds = (ticks - tick) / WHEEL_SIZE;
+        wheel.get((int) (ticks & MASK)).add(timeout);
+    }
+
+    private void expire(final List<Timeout> bucket, final long tickDeadline) {
+        final int size = bucket.size();
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            final Timeout timeout = bucket.get(i);
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            if (timeout.remainingRounds > 0) {
+                timeout.remainingRounds--;
+                bucket.set(kept++, timeout);
+                continue;
+            }
+            if (timeout.period == 0 && !timeout.complete()) {
+                continue;
+            }
+            try {
+                timeout.task.run();
+            } catch (final Throwable e) {
+                LOGGER.warn("Exception thrown by timer task", e);
+            }
+            if (timeout.period > 0 && !timeout.isCancelled()) {
+                // skip the executions missed by a late timer thread
+                timeout.deadline = Math.max(timeout.deadline + timeout.period, tickDeadline);
+                scheduled.add(timeout);
+            }
+        }
+        bucket.subList(kept, size).clear();
+    }
+
+    /**
+     * Handle of a scheduled task.
+     */
+    public static final class Timeout {
+        private final TimerWheel timer;
+        private final Runnable task;
+        private final long period;
+        private final AtomicBoolean done = new AtomicBoolean();
+        private volatile boolean cancelled;
+        private long deadline;
+        private long remainingRounds;
+
+        private Timeout(final TimerWheel timer, final Runnable task, final long deadline, final long period) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+            this.period = period;
+        }
+
+        /**
+         * Prevents the next executions of the task.
+         */
+        public void cancel() {
+            cancelled = true;
+            complete();
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * @return whether this call completed the task, i.e. it was neither completed nor cancelled before
+         */
+        private boolean complete() {
+            if (done.compareAndSet(false, true)) {
+                timer.pending.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    }
+
+}
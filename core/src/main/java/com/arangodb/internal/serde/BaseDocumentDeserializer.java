@@ -0,0 +1,76 @@
+package com.arangodb.internal.serde;
+
+import com.arangodb.entity.BaseDocument;
+import com.arangodb.internal.util.AttributeMap;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Deserializes {@link BaseDocument}s into {@link AttributeMap}s, sharing the attribute names through a
+ * {@link AttributeMap.Shapes} table held by the {@link DeserializationContext}, i.e. scoped to the current
+ * deserialization, e.g. of a cursor batch.
+ *
+ * @author Michele Rastelli
+ */
+final class BaseDocumentDeserializer<T extends BaseDocument> extends JsonDeserializer<T>
+        implements ContextualDeserializer {
+
+    private final Class<T> type;
+    private final Function<Map<String, Object>, T> constructor;
+    private final JsonDeserializer<Object> valueDeserializer;
+
+    BaseDocumentDeserializer(final Class<T> type, final Function<Map<String, Object>, T> constructor) {
+        this(type, constructor, null);
+    }
+
+    private BaseDocumentDeserializer(final Class<T> type, final Function<Map<String, Object>, T> constructor,
+                                     final JsonDeserializer<Object> valueDeserializer) {
+        this.type = type;
+        this.constructor = constructor;
+        this.valueDeserializer = valueDeserializer;
+    }
+
+    @Override
+    public JsonDeserializer<?> createContextual(final DeserializationContext ctxt, final BeanProperty property)
+            throws JsonMappingException {
+        return new BaseDocumentDeserializer<>(type, constructor,
+                ctxt.findContextualValueDeserializer(ctxt.constructType(Object.class), property));
+    }
+
+    @Override
+    public Class<?> handledType() {
+        return type;
+    }
+
+    @Override
+    public T deserialize(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+        if (!p.isExpectedStartObjectToken()) {
+            return type.cast(ctxt.handleUnexpectedToken(type, p));
+        }
+        AttributeMap.Shapes shapes = (AttributeMap.Shapes) ctxt.getAttribute(AttributeMap.Shapes.class);
+        if (shapes == null) {
+            shapes = new AttributeMap.Shapes();
+            ctxt.setAttribute(AttributeMap.Shapes.class, shapes);
+        }
+        final AttributeMap properties = new AttributeMap();
+        for (String name = p.nextFieldName(); name != null; name = p.nextFieldName()) {
+            final JsonToken t = p.nextToken();
+            properties.put(shapes, name, t == JsonToken.VALUE_NULL ? null : valueDeserializer.deserialize(p, ctxt));
+        }
+        try {
+            return constructor.apply(properties);
+        } catch (IllegalArgumentException e) {
+            throw JsonMappingException.from(p, e.getMessage(), e);
+        }
+    }
+
+}
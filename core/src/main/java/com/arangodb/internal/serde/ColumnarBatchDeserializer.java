@@ -0,0 +1,230 @@
+package com.arangodb.internal.serde;
+
+import com.arangodb.entity.ColumnarBatch;
+import com.arangodb.entity.ColumnarBatch.ColumnType;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Decodes an array of rows into a {@link ColumnarBatch}, reading the parser tokens directly into primitive arrays.
+ *
+ * @author Michele Rastelli
+ */
+final class ColumnarBatchDeserializer extends JsonDeserializer<ColumnarBatch> {
+
+    private enum RowShape {
+        SCALAR, ARRAY, OBJECT
+    }
+
+    @Override
+    public ColumnarBatch deserialize(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+        if (!p.isExpectedStartArrayToken()) {
+            return (ColumnarBatch) ctxt.handleUnexpectedToken(ColumnarBatch.class, p);
+        }
+        final List<ColumnBuilder> columns = new ArrayList<>();
+        final Map<String, ColumnBuilder> columnsByName = new HashMap<>();
+        RowShape shape = null;
+        int row = 0;
+        for (JsonToken t = p.nextToken(); t != JsonToken.END_ARRAY; t = p.nextToken(), row++) {
+            if (t == JsonToken.START_ARRAY) {
+                shape = checkShape(p, ctxt, shape, RowShape.ARRAY);
+                int i = 0;
+                for (JsonToken e = p.nextToken(); e != JsonToken.END_ARRAY; e = p.nextToken(), i++) {
+                    if (i == columns.size()) {
+                        columns.add(new ColumnBuilder(null));
+                    }
+                    columns.get(i).append(p, ctxt, e, row);
+                }
+            } else if (t == JsonToken.START_OBJECT) {
+                shape = checkShape(p, ctxt, shape, RowShape.OBJECT);
+                for (JsonToken e = p.nextToken(); e == JsonToken.FIELD_NAME; e = p.nextToken()) {
+                    final String name = p.currentName();
+                    ColumnBuilder column = columnsByName.get(name);
+                    if (column == null) {
+                        column = new ColumnBuilder(name);
+                        columns.add(column);
+                        columnsByName.put(name, column);
+                    }
+                    if (column.size > row) {
+                        ctxt.reportInputMismatch(ColumnarBatch.class,
+                                "Duplicate attribute '%s' in row %s of columnar result", name, row);
+                    }
+                    column.append(p, ctxt, p.nextToken(), row);
+                }
+            } else if (t != JsonToken.VALUE_NULL) {
+                shape = checkShape(p, ctxt, shape, RowShape.SCALAR);
+                if (columns.isEmpty()) {
+                    columns.add(new ColumnBuilder(null));
+                }
+                columns.get(0).append(p, ctxt, t, row);
+            }
+            // null rows do not decide the shape, they are filled with nulls in all the columns when padding
+        }
+        if (shape == null && row > 0) {
+            // only null rows
+            columns.add(new ColumnBuilder(null));
+        }
+        final List<ColumnarBatch.Column> built = new ArrayList<>(columns.size());
+        for (ColumnBuilder column : columns) {
+            built.add(column.build(row));
+        }
+        return new ColumnarBatch(row, built);
+    }
+
+    private static RowShape checkShape(final JsonParser p, final DeserializationContext ctxt,
+                                       final RowShape current, final RowShape next) throws IOException {
+        if (current != null && current != next) {
+            ctxt.reportInputMismatch(ColumnarBatch.class,
+                    "Cannot mix %s and %s rows in columnar result (token: %s)", current, next, p.currentToken());
+        }
+        return next;
+    }
+
+    private static final class ColumnBuilder {
+        private static final int INITIAL_CAPACITY = 16;
+
+        private final String name;
+        private final BitSet nulls = new BitSet();
+        private ColumnType type = ColumnType.NULL;
+        private int size;
+        private long[] longs;
+        private double[] doubles;
+        private int[] codes;
+        private Map<String, Integer> dictionaryCodes;
+        private List<String> dictionary;
+
+        private ColumnBuilder(final String name) {
+            this.name = name;
+        }
+
+        void append(final JsonParser p, final DeserializationContext ctxt, final JsonToken t, final int row) throws IOException {
+            padTo(row);
+            switch (t) {
+                case VALUE_NULL:
+                    appendNull();
+                    break;
+                case VALUE_NUMBER_INT:
+                    if (p.getNumberType() == JsonParser.NumberType.BIG_INTEGER) {
+                        appendDouble(p, ctxt, p.getDoubleValue());
+                    } else {
+                        appendLong(p, ctxt, p.getLongValue());
+                    }
+                    break;
+                case VALUE_NUMBER_FLOAT:
+                    appendDouble(p, ctxt, p.getDoubleValue());
+                    break;
+                case VALUE_STRING:
+                    appendString(p, ctxt, p.getText());
+                    break;
+                default:
+                    mismatch(p, ctxt);
+            }
+        }
+
+        ColumnarBatch.Column build(final int rows) {
+            padTo(rows);
+            return new ColumnarBatch.Column(name, type, size,
+                    longs != null ? Arrays.copyOf(longs, size) : null,
+                    doubles != null ? Arrays.copyOf(doubles, size) : null,
+                    codes != null ? Arrays.copyOf(codes, size) : null,
+                    dictionary, nulls);
+        }
+
+        private void padTo(final int row) {
+            while (size < row) {
+                appendNull();
+            }
+        }
+
+        private void appendNull() {
+            ensureCapacity();
+            nulls.set(size);
+            if (type == ColumnType.STRING) {
+                codes[size] = -1;
+            }
+            size++;
+        }
+
+        private void appendLong(final JsonParser p, final DeserializationContext ctxt, final long value) throws IOException {
+            if (type == ColumnType.NULL) {
+                type = ColumnType.LONG;
+                longs = new long[capacity()];
+            }
+            if (type == ColumnType.LONG) {
+                ensureCapacity();
+                longs[size++] = value;
+            } else if (type == ColumnType.DOUBLE) {
+                ensureCapacity();
+                doubles[size++] = value;
+            } else {
+                mismatch(p, ctxt);
+            }
+        }
+
+        private void appendDouble(final JsonParser p, final DeserializationContext ctxt, final double value) throws IOException {
+            if (type == ColumnType.NULL) {
+                type = ColumnType.DOUBLE;
+                doubles = new double[capacity()];
+            } else if (type == ColumnType.LONG) {
+                type = ColumnType.DOUBLE;
+                doubles = new double[longs.length];
+                for (int i = 0; i < size; i++) {
+                    doubles[i] = longs[i];
+                }
+                longs = null;
+            }
+            if (type == ColumnType.DOUBLE) {
+                ensureCapacity();
+                doubles[size++] = value;
+            } else {
+                mismatch(p, ctxt);
+            }
+        }
+
+        private void appendString(final JsonParser p, final DeserializationContext ctxt, final String value) throws IOException {
+            if (type == ColumnType.NULL) {
+                type = ColumnType.STRING;
+                codes = new int[capacity()];
+                Arrays.fill(codes, 0, size, -1);
+                dictionaryCodes = new HashMap<>();
+                dictionary = new ArrayList<>();
+            }
+            if (type != ColumnType.STRING) {
+                mismatch(p, ctxt);
+            }
+            Integer code = dictionaryCodes.get(value);
+            if (code == null) {
+                code = dictionary.size();
+                dictionary.add(value);
+                dictionaryCodes.put(value, code);
+            }
+            ensureCapacity();
+            codes[size++] = code;
+        }
+
+        private int capacity() {
+            return Math.max(INITIAL_CAPACITY, size * 2);
+        }
+
+        private void ensureCapacity() {
+            if (longs != null && size == longs.length) {
+                longs = Arrays.copyOf(longs, size * 2);
+            } else if (doubles != null && size == doubles.length) {
+                doubles = Arrays.copyOf(doubles, size * 2);
+            } else if (codes != null && size == codes.length) {
+                codes = Arrays.copyOf(codes, size * 2);
+            }
+        }
+
+        private void mismatch(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+            ctxt.reportInputMismatch(ColumnarBatch.class, "Cannot decode %s into %s column%s", p.currentToken(), type,
+                    name != null ? " '" + name + "'" : "");
+        }
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.arangodb.internal.serde;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Base class of the serializers generated at build time for the request options, see {@link GeneratedSerializers}.
+ * Generated serializers write the same properties as the Jackson bean serializer with the configuration of
+ * {@link InternalSerdeImpl}, calling the getters directly instead of through reflection.
+ *
+ * @author Michele Rastelli
+ */
+abstract class GeneratedSerializer<T> extends StdSerializer<T> {
+
+    protected GeneratedSerializer(final Class<T> type) {
+        super(type);
+    }
+
+    @SuppressWarnings("unchecked")
+    static JsonSerializer<Object> using(final JsonSerializer<?> serializer) {
+        return (JsonSerializer<Object>) serializer;
+    }
+
+    @Override
+    public final void serialize(final T value, final JsonGenerator gen, final SerializerProvider provider)
+            throws IOException {
+        gen.writeStartObject(value);
+        serializeFields(value, gen, provider);
+        gen.writeEndObject();
+    }
+
+    protected abstract void serializeFields(T value, JsonGenerator gen, SerializerProvider provider)
+            throws IOException;
+
+    /**
+     * Rethrows the failure of the serialization of {@code property}, with its path as Jackson does.
+     */
+    void failed(final SerializerProvider provider, final Exception e, final T value,
+                final SerializedString property) throws IOException {
+        wrapAndThrow(provider, e, value, property.getValue());
+    }
+
+    /**
+     * Serializes a non-null value with the serializer of its runtime class, as Jackson does for properties of non
+     * final types.
+     */
+    static void writeValue(final Object value, final JsonGenerator gen, final SerializerProvider provider)
+            throws IOException {
+        provider.findTypedValueSerializer(value.getClass(), true, null).serialize(value, gen, provider);
+    }
+
+    /**
+     * {@link UserData} property
+     */
+    static void writeUserData(final Object value, final JsonGenerator gen, final SerializerProvider provider)
+            throws IOException {
+        userDataSerializer(provider).serialize(value, gen, provider);
+    }
+
+    /**
+     * {@link UserDataInside} map property, with {@code String} keys
+     */
+    static void writeUserDataMap(final Map<?, ?> value, final JsonGenerator gen, final SerializerProvider provider)
+            throws IOException {
+        final JsonSerializer<Object> serializer = userDataSerializer(provider);
+        gen.writeStartObject(value);
+        for (Map.Entry<?, ?> entry : value.entrySet()) {
+            if (entry.getKey() == null) {
+                throw JsonMappingException.from(gen,
+                        "Null key for a Map not allowed in JSON (use a converting NullKeySerializer?)");
+            }
+            gen.writeFieldName((String) entry.getKey());
+            final Object v = entry.getValue();
+            if (v == null) {
+                provider.defaultSerializeNull(gen);
+            } else {
+                serializer.serialize(v, gen, provider);
+            }
+        }
+        gen.writeEndObject();
+    }
+
+    /**
+     * {@link UserDataInside} collection property
+     */
+    static void writeUserDataCollection(final Collection<?> value, final JsonGenerator gen,
+                                        final SerializerProvider provider) throws IOException {
+        final JsonSerializer<Object> serializer = userDataSerializer(provider);
+        gen.writeStartArray();
+        for (Object v : value) {
+            if (v == null) {
+                provider.defaultSerializeNull(gen);
+            } else {
+                serializer.serialize(v, gen, provider);
+            }
+        }
+        gen.writeEndArray();
+    }
+
+    private static JsonSerializer<Object> userDataSerializer(final SerializerProvider provider) {
+        return ((InternalAnnotationIntrospector) provider.getAnnotationIntrospector()).getUserDataSerializer();
+    }
+
+}
@@ -20,6 +20,10 @@ class InternalAnnotationIntrospector extends JacksonAnnotationIntrospector {
         this.userDataDeserializer = userDataDeserializer;
     }
 
+    UserDataSerializer getUserDataSerializer() {
+        return userDataSerializer;
+    }
+
     @Override
     public Object findSerializer(Annotated a) {
         if (a.getAnnotation(UserData.class) != null) {
@@ -1,7 +1,10 @@
 package com.arangodb.internal.serde;
 
+import com.arangodb.entity.BaseDocument;
+import com.arangodb.entity.BaseEdgeDocument;
 import com.arangodb.entity.CollectionStatus;
 import com.arangodb.entity.CollectionType;
+import com.arangodb.entity.ColumnarBatch;
 import com.arangodb.entity.InvertedIndexPrimarySort;
 import com.arangodb.entity.ReplicationFactor;
 import com.arangodb.entity.arangosearch.CollectionLink;
@@ -9,15 +12,14 @@ import com.arangodb.entity.arangosearch.FieldLink;
 import com.arangodb.util.RawBytes;
 import com.arangodb.util.RawJson;
 import com.arangodb.internal.InternalResponse;
-import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.TreeNode;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.*;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -29,20 +31,14 @@ public final class InternalDeserializers {
     static final JsonDeserializer<RawJson> RAW_JSON_DESERIALIZER = new JsonDeserializer<RawJson>() {
         @Override
         public RawJson deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
-            // TODO: find a way to access raw bytes directly
-            return RawJson.of(SerdeUtils.INSTANCE.writeJson(p.readValueAsTree()));
+            return RawJson.of(RawValueUtils.readRawJson(p));
         }
     };
 
     static final JsonDeserializer<RawBytes> RAW_BYTES_DESERIALIZER = new JsonDeserializer<RawBytes>() {
         @Override
         public RawBytes deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
-            // TODO: find a way to access raw bytes directly
-            ByteArrayOutputStream os = new ByteArrayOutputStream();
-            try (JsonGenerator g = p.getCodec().getFactory().createGenerator(os)) {
-                g.writeTree(p.readValueAsTree());
-            }
-            return RawBytes.of(os.toByteArray());
+            return RawBytes.of(RawValueUtils.readRaw(p));
         }
     };
 
@@ -72,17 +68,32 @@ public final class InternalDeserializers {
         }
     };
 
-    @SuppressWarnings("unchecked")
     static final JsonDeserializer<InternalResponse> RESPONSE = new JsonDeserializer<InternalResponse>() {
         @Override
         public InternalResponse deserialize(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+            if (!p.isExpectedStartArrayToken()) {
+                return (InternalResponse) ctxt.handleUnexpectedToken(InternalResponse.class, p);
+            }
             final InternalResponse response = new InternalResponse();
-            Iterator<JsonNode> it = ((ArrayNode) p.readValueAsTree()).iterator();
-            response.setVersion(it.next().intValue());
-            response.setType(it.next().intValue());
-            response.setResponseCode(it.next().intValue());
-            if (it.hasNext()) {
-                response.putMetas(readTreeAsValue(p, ctxt, it.next(), Map.class));
+            p.nextToken();
+            response.setVersion(p.getIntValue());
+            p.nextToken();
+            response.setType(p.getIntValue());
+            p.nextToken();
+            response.setResponseCode(p.getIntValue());
+            // read the meta attributes straight from the parser, without building an intermediate tree and map
+            JsonToken t = p.nextToken();
+            if (t == JsonToken.START_OBJECT) {
+                for (t = p.nextToken(); t == JsonToken.FIELD_NAME; t = p.nextToken()) {
+                    final String key = p.currentName();
+                    p.nextToken();
+                    response.putMeta(key, p.getValueAsString());
+                    p.skipChildren();
+                }
+                t = p.nextToken();
+            }
+            for (; t != JsonToken.END_ARRAY; t = p.nextToken()) {
+                p.skipChildren();
             }
             return response;
         }
@@ -99,6 +110,14 @@ public final class InternalDeserializers {
         }
     };
 
+    static final JsonDeserializer<ColumnarBatch> COLUMNAR_BATCH = new ColumnarBatchDeserializer();
+
+    static final JsonDeserializer<BaseDocument> BASE_DOCUMENT =
+            new BaseDocumentDeserializer<>(BaseDocument.class, BaseDocument::new);
+
+    static final JsonDeserializer<BaseEdgeDocument> BASE_EDGE_DOCUMENT =
+            new BaseDocumentDeserializer<>(BaseEdgeDocument.class, BaseEdgeDocument::new);
+
     private InternalDeserializers() {
     }
 
@@ -1,25 +1,39 @@
 package com.arangodb.internal.serde;
 
+import com.arangodb.entity.BaseDocument;
+import com.arangodb.entity.BaseEdgeDocument;
 import com.arangodb.entity.CollectionStatus;
 import com.arangodb.entity.CollectionType;
+import com.arangodb.entity.ColumnarBatch;
 import com.arangodb.entity.InvertedIndexPrimarySort;
 import com.arangodb.entity.ReplicationFactor;
 import com.arangodb.util.RawBytes;
 import com.arangodb.util.RawJson;
 import com.arangodb.internal.InternalRequest;
 import com.arangodb.internal.InternalResponse;
+import com.arangodb.internal.serde.processor.GenerateSerializers;
 import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 
 import java.util.function.Supplier;
 
+@GenerateSerializers(
+        packages = {"com.arangodb.model", "com.arangodb.model.arangosearch"},
+        className = "GeneratedSerializers"
+)
 enum InternalModule implements Supplier<Module> {
     INSTANCE;
 
     private final SimpleModule module;
 
     InternalModule() {
-        module = new SimpleModule();
+        module = new SimpleModule() {
+            @Override
+            public void setupModule(SetupContext context) {
+                super.setupModule(context);
+                context.addSerializers(new GeneratedSerializers());
+            }
+        };
 
         module.addSerializer(RawJson.class, InternalSerializers.RAW_JSON_SERIALIZER);
         module.addSerializer(RawBytes.class, InternalSerializers.RAW_BYTES_SERIALIZER);
@@ -33,6 +47,9 @@ enum InternalModule implements Supplier<Module> {
         module.addDeserializer(ReplicationFactor.class, InternalDeserializers.REPLICATION_FACTOR);
         module.addDeserializer(InternalResponse.class, InternalDeserializers.RESPONSE);
         module.addDeserializer(InvertedIndexPrimarySort.Field.class, InternalDeserializers.INVERTED_INDEX_PRIMARY_SORT_FIELD);
+        module.addDeserializer(ColumnarBatch.class, InternalDeserializers.COLUMNAR_BATCH);
+        module.addDeserializer(BaseDocument.class, InternalDeserializers.BASE_DOCUMENT);
+        module.addDeserializer(BaseEdgeDocument.class, InternalDeserializers.BASE_EDGE_DOCUMENT);
     }
 
     @Override
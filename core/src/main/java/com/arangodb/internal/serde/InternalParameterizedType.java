@@ -2,6 +2,7 @@ package com.arangodb.internal.serde;
 
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.Arrays;
 
 class InternalParameterizedType implements ParameterizedType {
 
@@ -28,4 +29,32 @@ class InternalParameterizedType implements ParameterizedType {
         return null;
     }
 
+    /**
+     * Compatible with the JDK implementation of {@link ParameterizedType}, so that instances can be used as cache keys.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ParameterizedType)) return false;
+        ParameterizedType that = (ParameterizedType) o;
+        return that.getOwnerType() == null &&
+                rawType.equals(that.getRawType()) &&
+                Arrays.equals(actualRawArguments, that.getActualTypeArguments());
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(actualRawArguments) ^ rawType.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(rawType.getName()).append('<');
+        for (int i = 0; i < actualRawArguments.length; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(actualRawArguments[i].getTypeName());
+        }
+        return sb.append('>').toString();
+    }
+
 }
@@ -3,9 +3,12 @@ package com.arangodb.internal.serde;
 import com.arangodb.arch.UsedInApi;
 import com.arangodb.serde.ArangoSerde;
 import com.arangodb.ContentType;
+import com.arangodb.entity.ErrorEntity;
+import com.arangodb.entity.MultiDocumentEntity;
 import com.fasterxml.jackson.databind.JsonNode;
 
 import java.lang.reflect.Type;
+import java.util.Collection;
 
 @UsedInApi
 public interface InternalSerde extends ArangoSerde {
@@ -38,6 +41,26 @@ public interface InternalSerde extends ArangoSerde {
      */
     <T> T deserialize(byte[] content, Type type);
 
+    /**
+     * Like {@link #deserialize(byte[], Type)}, deserializing only the given top level attributes of the user data
+     * contained in the content, e.g. of the documents of a cursor batch. The other attributes are skipped without
+     * being decoded.
+     *
+     * @param content    byte array to deserialize
+     * @param type       target data type
+     * @param projection top level attributes of the user data to deserialize, or {@code null} to deserialize all of
+     *                   them
+     * @return deserialized object
+     */
+    <T> T deserialize(byte[] content, Type type, Collection<String> projection);
+
+    /**
+     * @param type projection type
+     * @return the top level attributes deserialized into the given type, i.e. its properties according to Jackson
+     * bean introspection
+     */
+    Collection<String> getProjection(Class<?> type);
+
     /**
      * Deserializes the parsed json node and binds it to the target data type.
      *
@@ -135,6 +158,17 @@ public interface InternalSerde extends ArangoSerde {
      */
     <T> T deserializeUserData(byte[] content, Type type);
 
+    /**
+     * Deserializes the content and binds it to the target data type, using the user serde. Only the given top level
+     * attributes are passed to the user serde, the other ones are skipped without being decoded.
+     *
+     * @param content    byte array to deserialize
+     * @param clazz      class of target data type
+     * @param projection top level attributes to deserialize, or {@code null} to deserialize all of them
+     * @return deserialized object
+     */
+    <T> T deserializeUserData(byte[] content, Class<T> clazz, Collection<String> projection);
+
     /**
      * Deserializes the parsed json node and binds it to the target data type, using the user serde.
      *
@@ -155,6 +189,38 @@ public interface InternalSerde extends ArangoSerde {
      */
     <T> T deserializeUserData(JsonNode node, Type type);
 
+    /**
+     * Deserializes an array of multi-document operation results. Elements having {@code "error": true} are bound to
+     * {@link ErrorEntity}, the other ones to the given target data type.
+     *
+     * @param content byte array to deserialize
+     * @param type    target data type of the documents
+     * @return deserialized multi-document entity
+     */
+    <T> MultiDocumentEntity<T> deserializeMultiDocument(byte[] content, Type type);
+
+    /**
+     * Deserializes an array of multi-document operation results. Elements having {@code "error": true} are bound to
+     * {@link ErrorEntity}, the other ones are deserialized using the user serde.
+     *
+     * @param content byte array to deserialize
+     * @param clazz   class of target data type of the documents
+     * @return deserialized multi-document entity
+     */
+    <T> MultiDocumentEntity<T> deserializeUserDataMultiDocument(byte[] content, Class<T> clazz);
+
+    /**
+     * Like {@link #deserializeUserDataMultiDocument(byte[], Class)}, deserializing only the given top level attributes
+     * of the documents.
+     *
+     * @param content    byte array to deserialize
+     * @param clazz      class of target data type of the documents
+     * @param projection top level attributes to deserialize, or {@code null} to deserialize all of them
+     * @return deserialized multi-document entity
+     */
+    <T> MultiDocumentEntity<T> deserializeUserDataMultiDocument(byte[] content, Class<T> clazz,
+                                                                Collection<String> projection);
+
     /**
      * @return the user serde
      */
@@ -3,22 +3,40 @@ package com.arangodb.internal.serde;
 import com.arangodb.ArangoDBException;
 import com.arangodb.entity.BaseDocument;
 import com.arangodb.entity.BaseEdgeDocument;
+import com.arangodb.entity.ErrorEntity;
+import com.arangodb.entity.MultiDocumentEntity;
+import com.arangodb.internal.ArangoResponseField;
 import com.arangodb.internal.RequestContextHolder;
 import com.arangodb.serde.ArangoSerde;
 import com.arangodb.util.RawBytes;
 import com.arangodb.util.RawJson;
 import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.DeserializationConfig;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
 
 import java.io.IOException;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static com.arangodb.internal.serde.SerdeUtils.checkSupportedJacksonVersion;
 
@@ -29,11 +47,21 @@ final class InternalSerdeImpl implements InternalSerde {
     }
 
     private final ArangoSerde userSerde;
+    /**
+     * max number of cached readers, writers and projections, further types are not cached
+     */
+    private static final int MAX_CACHED_TYPES = 1_024;
+
     private final ObjectMapper mapper;
+    private final boolean json;
+    private final ConcurrentMap<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, Collection<String>> projections = new ConcurrentHashMap<>();
 
     InternalSerdeImpl(final ObjectMapper mapper, final ArangoSerde userSerde, final Module protocolModule) {
         this.mapper = mapper;
         this.userSerde = userSerde;
+        json = JsonFactory.FORMAT_NAME_JSON.equals(mapper.getFactory().getFormatName());
         mapper.deactivateDefaultTyping();
         mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
         mapper.registerModule(InternalModule.INSTANCE.get());
@@ -50,8 +78,9 @@ final class InternalSerdeImpl implements InternalSerde {
     @Override
     public byte[] serialize(final Object value) {
         try {
-            return mapper.writeValueAsBytes(value);
-        } catch (JsonProcessingException e) {
+            final ObjectWriter writer = value == null ? mapper.writer() : writerFor(value.getClass());
+            return writer.writeValueAsBytes(value);
+        } catch (IOException e) {
             throw ArangoDBException.of(e);
         }
     }
@@ -113,11 +142,23 @@ final class InternalSerdeImpl implements InternalSerde {
 
     @Override
     public byte[] serializeCollectionUserData(Iterable<?> value) {
-        List<JsonNode> jsonNodeCollection = StreamSupport.stream(value.spliterator(), false)
-                .map(this::serializeUserData)
-                .map(this::parse)
-                .collect(Collectors.toList());
-        return serialize(jsonNodeCollection);
+        return write(gen -> {
+            gen.writeStartArray();
+            for (Object e : value) {
+                writeUserData(gen, e);
+            }
+            gen.writeEndArray();
+        });
+    }
+
+    private void writeUserData(JsonGenerator gen, Object value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else if (isManagedClass(value.getClass())) {
+            writerFor(value.getClass()).writeValue(gen, value);
+        } else {
+            RawValueUtils.writeRaw(gen, userSerde.serialize(value));
+        }
     }
 
     @Override
@@ -129,13 +170,21 @@ final class InternalSerdeImpl implements InternalSerde {
         }
     }
 
+    @Override
+    public <T> T deserializeUserData(byte[] content, Class<T> clazz, Collection<String> projection) {
+        if (projection == null || content == null) {
+            return deserializeUserData(content, clazz);
+        }
+        return deserializeUserData(project(content, 0, content.length, new HashSet<>(projection)), clazz);
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public <T> T deserializeUserData(byte[] content, Type type) {
         if (type instanceof Class) {
             return deserializeUserData(content, (Class<T>) type);
         } else {
-            throw new UnsupportedOperationException();
+            return userSerde.deserialize(content, type, RequestContextHolder.INSTANCE.getCtx());
         }
     }
 
@@ -144,6 +193,128 @@ final class InternalSerdeImpl implements InternalSerde {
         return deserializeUserData(serialize(node), type);
     }
 
+    @Override
+    public <T> MultiDocumentEntity<T> deserializeMultiDocument(byte[] content, Type type) {
+        ObjectReader reader = readerFor(type);
+        return deserializeMultiDocument(content, (bytes, offset, length) -> {
+            try (JsonParser p = createParser(bytes, offset, length)) {
+                return reader.readValue(p);
+            }
+        });
+    }
+
+    @Override
+    public <T> MultiDocumentEntity<T> deserializeUserDataMultiDocument(byte[] content, Class<T> clazz) {
+        if (isManagedClass(clazz)) {
+            return deserializeMultiDocument(content, clazz);
+        }
+        return deserializeMultiDocument(content, (bytes, offset, length) -> userSerde.deserialize(
+                Arrays.copyOfRange(bytes, offset, offset + length), clazz, RequestContextHolder.INSTANCE.getCtx()));
+    }
+
+    @Override
+    public <T> MultiDocumentEntity<T> deserializeUserDataMultiDocument(byte[] content, Class<T> clazz,
+                                                                       Collection<String> projection) {
+        if (projection == null) {
+            return deserializeUserDataMultiDocument(content, clazz);
+        }
+        Set<String> attributes = new HashSet<>(projection);
+        return deserializeMultiDocument(content, (bytes, offset, length) ->
+                deserializeUserData(project(bytes, offset, length, attributes), clazz));
+    }
+
+    /**
+     * Copies the given top level attributes of the object in the byte range, skipping the other ones at token level.
+     * Values other than objects are copied as they are.
+     */
+    private byte[] project(byte[] content, int offset, int length, Set<String> attributes) {
+        return write(g -> {
+            try (JsonParser p = mapper.getFactory().createParser(content, offset, length)) {
+                p.nextToken();
+                RawValueUtils.copyProjected(p, g, attributes);
+            }
+        });
+    }
+
+    /**
+     * Writes with a new generator into the recycled buffers of the factory, like
+     * {@link ObjectMapper#writeValueAsBytes(Object)} does.
+     */
+    private byte[] write(GeneratorWriter writer) {
+        final JsonFactory factory = mapper.getFactory();
+        try (ByteArrayBuilder out = new ByteArrayBuilder(factory._getBufferRecycler())) {
+            try (JsonGenerator gen = factory.createGenerator(out)) {
+                writer.write(gen);
+            }
+            final byte[] result = out.toByteArray();
+            out.release();
+            return result;
+        } catch (IOException e) {
+            throw ArangoDBException.of(e);
+        }
+    }
+
+    /**
+     * Walks the array elements once, checking the top level {@code error} field and recording the element byte range,
+     * which is then deserialized as {@link ErrorEntity} or as document.
+     * Uses the parser location methods deprecated in Jackson 2.17, since their replacements require Jackson 2.13.
+     */
+    @SuppressWarnings("deprecation")
+    private <T> MultiDocumentEntity<T> deserializeMultiDocument(byte[] content, RangeDeserializer<T> docDeserializer) {
+        final MultiDocumentEntity<T> multiDocument = new MultiDocumentEntity<>();
+        final List<T> docs = new ArrayList<>();
+        final List<ErrorEntity> errors = new ArrayList<>();
+        final List<Object> documentsAndErrors = new ArrayList<>();
+        final ObjectReader errorReader = readerFor(ErrorEntity.class);
+        try (JsonParser p = mapper.getFactory().createParser(content)) {
+            if (p.nextToken() != JsonToken.START_ARRAY) {
+                throw new ArangoDBException("Expected array, got: " + p.currentToken());
+            }
+            final boolean vpack = VPackUtils.isAvailable() && VPackUtils.isVPackParser(p);
+            for (JsonToken t = p.nextToken(); t != JsonToken.END_ARRAY; t = p.nextToken()) {
+                final int start;
+                int length = 0;
+                if (vpack) {
+                    start = VPackUtils.currentValueStart(p);
+                    length = VPackUtils.currentValueSize(p);
+                } else {
+                    start = (int) p.getTokenLocation().getByteOffset();
+                }
+                boolean isError = false;
+                if (t == JsonToken.START_OBJECT) {
+                    for (JsonToken f = p.nextToken(); f == JsonToken.FIELD_NAME; f = p.nextToken()) {
+                        final String fieldName = p.currentName();
+                        if (p.nextToken() == JsonToken.VALUE_TRUE && ArangoResponseField.ERROR_FIELD_NAME.equals(fieldName)) {
+                            isError = true;
+                        }
+                        p.skipChildren();
+                    }
+                } else {
+                    p.skipChildren();
+                    p.finishToken();
+                }
+                if (!vpack) {
+                    length = (int) p.getCurrentLocation().getByteOffset() - start;
+                }
+                if (isError) {
+                    final ErrorEntity error = errorReader.readValue(content, start, length);
+                    errors.add(error);
+                    documentsAndErrors.add(error);
+                } else {
+                    final T doc = docDeserializer.deserialize(content, start, length);
+                    docs.add(doc);
+                    documentsAndErrors.add(doc);
+                }
+            }
+        } catch (IOException e) {
+            throw ArangoDBException.of(e);
+        }
+        multiDocument.setDocuments(docs);
+        multiDocument.setErrors(errors);
+        multiDocument.setDocumentsAndErrors(documentsAndErrors);
+        return multiDocument;
+    }
+
     @Override
     public ArangoSerde getUserSerde() {
         return userSerde;
@@ -152,7 +323,7 @@ final class InternalSerdeImpl implements InternalSerde {
     @Override
     public <T> T deserialize(final JsonNode node, final Type type) {
         try {
-            return mapper.readerFor(mapper.constructType(type)).readValue(node);
+            return readerFor(type).readValue(node);
         } catch (IOException e) {
             throw ArangoDBException.of(e);
         }
@@ -163,13 +334,86 @@ final class InternalSerdeImpl implements InternalSerde {
         if (content == null) {
             return null;
         }
-        try {
-            return mapper.readerFor(mapper.constructType(type)).readValue(content);
+        try (JsonParser p = createParser(content, 0, content.length)) {
+            return readerFor(type).readValue(p);
         } catch (IOException e) {
             throw ArangoDBException.of(e);
         }
     }
 
+    @Override
+    public <T> T deserialize(final byte[] content, final Type type, final Collection<String> projection) {
+        if (projection == null || content == null) {
+            return deserialize(content, type);
+        }
+        try (JsonParser p = createParser(content, 0, content.length)) {
+            return readerFor(type)
+                    .withAttribute(UserDataDeserializer.PROJECTION, new HashSet<>(projection))
+                    .readValue(p);
+        } catch (IOException e) {
+            throw ArangoDBException.of(e);
+        }
+    }
+
+    @Override
+    public Collection<String> getProjection(final Class<?> type) {
+        Collection<String> projection = projections.get(type);
+        if (projection == null) {
+            final DeserializationConfig config = mapper.getDeserializationConfig();
+            final List<String> names = new ArrayList<>();
+            for (BeanPropertyDefinition property :
+                    config.introspect(mapper.constructType(type)).findProperties()) {
+                names.add(property.getName());
+            }
+            projection = Collections.unmodifiableList(names);
+            if (projections.size() < MAX_CACHED_TYPES) {
+                projections.putIfAbsent(type, projection);
+            }
+        }
+        return projection;
+    }
+
+    private ObjectReader readerFor(Type type) {
+        ObjectReader reader = readers.get(type);
+        if (reader == null) {
+            reader = mapper.readerFor(mapper.constructType(type));
+            if (readers.size() < MAX_CACHED_TYPES) {
+                readers.putIfAbsent(type, reader);
+            }
+        }
+        return reader;
+    }
+
+    private ObjectWriter writerFor(Class<?> clazz) {
+        ObjectWriter writer = writers.get(clazz);
+        if (writer == null) {
+            // writing into an enclosing generator must not flush it after each value
+            writer = mapper.writerFor(clazz).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            if (writers.size() < MAX_CACHED_TYPES) {
+                writers.putIfAbsent(clazz, writer);
+            }
+        }
+        return writer;
+    }
+
+    /**
+     * JSON parsers are wrapped into {@link RawContentParser}, so that raw values can be sliced from the input.
+     */
+    private JsonParser createParser(byte[] content, int offset, int length) throws IOException {
+        JsonParser p = mapper.getFactory().createParser(content, offset, length);
+        return json ? new RawContentParser(p, content, offset) : p;
+    }
+
+    @FunctionalInterface
+    private interface GeneratorWriter {
+        void write(JsonGenerator gen) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface RangeDeserializer<T> {
+        T deserialize(byte[] content, int offset, int length) throws IOException;
+    }
+
     private boolean isManagedClass(Class<?> clazz) {
         return JsonNode.class.isAssignableFrom(clazz) ||
                 RawJson.class.equals(clazz) ||
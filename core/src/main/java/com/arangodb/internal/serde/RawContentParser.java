@@ -0,0 +1,61 @@
+package com.arangodb.internal.serde;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * JSON parser keeping a reference to its input buffer, so that the bytes of the current value can be sliced from it
+ * instead of being decoded and encoded again.
+ */
+final class RawContentParser extends JsonParserDelegate {
+
+    private final byte[] content;
+    private final int offset;
+
+    RawContentParser(final JsonParser p, final byte[] content, final int offset) {
+        super(p);
+        this.content = content;
+        this.offset = offset;
+    }
+
+    /**
+     * Skips the current value.
+     *
+     * @return the bytes of the skipped value
+     */
+    byte[] readValueAsBytes() throws IOException {
+        int start = valueStart();
+        return Arrays.copyOfRange(content, start, skipValue());
+    }
+
+    /**
+     * Skips the current value.
+     *
+     * @return the JSON text of the skipped value
+     */
+    String readValueAsString() throws IOException {
+        int start = valueStart();
+        return new String(content, start, skipValue() - start, StandardCharsets.UTF_8);
+    }
+
+    // getTokenLocation() and getCurrentLocation() are deprecated since Jackson 2.17, their replacements require 2.13
+    @SuppressWarnings("deprecation")
+    private int valueStart() {
+        return offset + (int) delegate.getTokenLocation().getByteOffset();
+    }
+
+    /**
+     * @return the end offset of the skipped value
+     */
+    @SuppressWarnings("deprecation")
+    private int skipValue() throws IOException {
+        delegate.skipChildren();
+        delegate.finishToken();
+        return offset + (int) delegate.getCurrentLocation().getByteOffset();
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.arangodb.internal.serde;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link SerializableString} backed by a range of UTF-8 encoded bytes, so that already serialized JSON can be
+ * appended via {@link com.fasterxml.jackson.core.JsonGenerator#writeRawValue(SerializableString)} without decoding
+ * it. The String value is only created if requested, e.g. by char based generators.
+ */
+final class RawUtf8String implements SerializableString {
+
+    private final byte[] bytes;
+    private final int offset;
+    private final int length;
+    private String value;
+
+    RawUtf8String(final byte[] bytes, final int offset, final int length) {
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public String getValue() {
+        if (value == null) {
+            value = new String(bytes, offset, length, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+
+    @Override
+    public int charLength() {
+        return getValue().length();
+    }
+
+    @Override
+    public char[] asQuotedChars() {
+        return JsonStringEncoder.getInstance().quoteAsString(getValue());
+    }
+
+    @Override
+    public byte[] asUnquotedUTF8() {
+        if (offset == 0 && length == bytes.length) {
+            return bytes;
+        }
+        byte[] copy = new byte[length];
+        System.arraycopy(bytes, offset, copy, 0, length);
+        return copy;
+    }
+
+    @Override
+    public byte[] asQuotedUTF8() {
+        return JsonStringEncoder.getInstance().quoteAsUTF8(getValue());
+    }
+
+    @Override
+    public int appendQuotedUTF8(final byte[] buffer, final int offset) {
+        return append(asQuotedUTF8(), buffer, offset);
+    }
+
+    @Override
+    public int appendQuoted(final char[] buffer, final int offset) {
+        char[] quoted = asQuotedChars();
+        if (offset + quoted.length > buffer.length) {
+            return -1;
+        }
+        System.arraycopy(quoted, 0, buffer, offset, quoted.length);
+        return quoted.length;
+    }
+
+    @Override
+    public int appendUnquotedUTF8(final byte[] buffer, final int offset) {
+        if (offset + length > buffer.length) {
+            return -1;
+        }
+        System.arraycopy(bytes, this.offset, buffer, offset, length);
+        return length;
+    }
+
+    @Override
+    public int appendUnquoted(final char[] buffer, final int offset) {
+        String str = getValue();
+        if (offset + str.length() > buffer.length) {
+            return -1;
+        }
+        str.getChars(0, str.length(), buffer, offset);
+        return str.length();
+    }
+
+    @Override
+    public int writeQuotedUTF8(final OutputStream out) throws IOException {
+        byte[] quoted = asQuotedUTF8();
+        out.write(quoted);
+        return quoted.length;
+    }
+
+    @Override
+    public int writeUnquotedUTF8(final OutputStream out) throws IOException {
+        out.write(bytes, offset, length);
+        return length;
+    }
+
+    @Override
+    public int putQuotedUTF8(final ByteBuffer buffer) {
+        byte[] quoted = asQuotedUTF8();
+        if (quoted.length > buffer.remaining()) {
+            return -1;
+        }
+        buffer.put(quoted);
+        return quoted.length;
+    }
+
+    @Override
+    public int putUnquotedUTF8(final ByteBuffer buffer) {
+        if (length > buffer.remaining()) {
+            return -1;
+        }
+        buffer.put(bytes, offset, length);
+        return length;
+    }
+
+    @Override
+    public String toString() {
+        return getValue();
+    }
+
+    private static int append(final byte[] src, final byte[] buffer, final int offset) {
+        if (offset + src.length > buffer.length) {
+            return -1;
+        }
+        System.arraycopy(src, 0, buffer, offset, src.length);
+        return src.length;
+    }
+
+}
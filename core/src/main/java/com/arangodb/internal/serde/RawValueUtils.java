@@ -0,0 +1,158 @@
+package com.arangodb.internal.serde;
+
+import com.arangodb.ArangoDBException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.json.JsonGeneratorImpl;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Set;
+
+/**
+ * Helpers to append already serialized values to a {@link JsonGenerator} and to read serialized values from a
+ * {@link JsonParser}, avoiding to decode them into an intermediate tree.
+ */
+final class RawValueUtils {
+
+    private static final String EMPTY_VALUE = "Empty serialized value: the user serde, RawJson or RawBytes "
+            + "must contain a single value";
+
+    private RawValueUtils() {
+    }
+
+    /**
+     * Appends the value serialized in {@code bytes}, which must be encoded in the same format of the generator.
+     * JSON values are copied verbatim, VelocyPack values are appended as {@code VPackSlice}. For other generators
+     * (e.g. {@link com.fasterxml.jackson.databind.util.TokenBuffer}) the value is streamed token by token.
+     * <p>
+     * JSON and VelocyPack values are not validated, except for rejecting empty ones: invalid content results in an
+     * invalid request payload, rejected by the server.
+     *
+     * @throws ArangoDBException if the value is empty
+     */
+    static void writeRaw(final JsonGenerator gen, final byte[] bytes) throws IOException {
+        writeRaw(gen, bytes, 0, bytes.length);
+    }
+
+    static void writeRaw(final JsonGenerator gen, final byte[] bytes, final int offset, final int length) throws IOException {
+        if (gen instanceof JsonGeneratorImpl) {
+            int i = offset;
+            while (i < offset + length && isJsonWhitespace(bytes[i])) {
+                i++;
+            }
+            if (i == offset + length) {
+                throw new ArangoDBException(EMPTY_VALUE);
+            }
+            gen.writeRawValue(new RawUtf8String(bytes, offset, length));
+        } else if (VPackUtils.isAvailable() && VPackUtils.isVPackGenerator(gen)) {
+            if (length == 0) {
+                throw new ArangoDBException(EMPTY_VALUE);
+            }
+            VPackUtils.writeVPack(gen, bytes, offset);
+        } else {
+            try (JsonParser parser = gen.getCodec().getFactory().createParser(bytes, offset, length)) {
+                parser.nextToken();
+                gen.copyCurrentStructure(parser);
+            }
+        }
+    }
+
+    /**
+     * Reads the current value as raw bytes, encoded in the parser format, and advances the parser to the end of it.
+     * When possible the bytes are sliced from the parser input, otherwise the value is streamed into a new generator.
+     */
+    static byte[] readRaw(final JsonParser p) throws IOException {
+        if (p instanceof RawContentParser) {
+            return ((RawContentParser) p).readValueAsBytes();
+        } else if (VPackUtils.isAvailable() && VPackUtils.isVPackParser(p)) {
+            return VPackUtils.readValueAsBytes(p);
+        }
+        ByteArrayBuilder out = new ByteArrayBuilder();
+        try (JsonGenerator g = p.getCodec().getFactory().createGenerator(out)) {
+            g.copyCurrentStructure(p);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Like {@link #readRaw(JsonParser)}, copying only the given top level attributes of objects and skipping the other
+     * ones at token level. Values other than objects are copied as they are.
+     */
+    static byte[] readProjected(final JsonParser p, final Set<String> attributes) throws IOException {
+        ByteArrayBuilder out = new ByteArrayBuilder();
+        try (JsonGenerator g = p.getCodec().getFactory().createGenerator(out)) {
+            copyProjected(p, g, attributes);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Copies the current value, as {@link #readProjected(JsonParser, Set)} does, and advances the parser to the end of
+     * it.
+     */
+    static void copyProjected(final JsonParser p, final JsonGenerator g, final Set<String> attributes)
+            throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            g.copyCurrentStructure(p);
+            return;
+        }
+        g.writeStartObject();
+        for (JsonToken t = p.nextToken(); t == JsonToken.FIELD_NAME; t = p.nextToken()) {
+            final String name = p.currentName();
+            p.nextToken();
+            if (attributes.contains(name)) {
+                g.writeFieldName(name);
+                g.copyCurrentStructure(p);
+            } else {
+                p.skipChildren();
+            }
+        }
+        g.writeEndObject();
+    }
+
+    /**
+     * Reads the current value as JSON string and advances the parser to the end of it.
+     */
+    static String readRawJson(final JsonParser p) throws IOException {
+        if (p instanceof RawContentParser) {
+            return ((RawContentParser) p).readValueAsString();
+        }
+        StringWriter out = new StringWriter();
+        try (JsonGenerator g = SerdeUtils.INSTANCE.createJsonGenerator(out)) {
+            g.copyCurrentStructure(p);
+        }
+        return out.toString();
+    }
+
+    private static boolean isJsonWhitespace(final int c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r';
+    }
+
+    /**
+     * Appends the given JSON string, to a generator of any format. As in {@link #writeRaw(JsonGenerator, byte[])}, the
+     * JSON string is not validated when appended to a JSON generator, except for rejecting empty ones.
+     *
+     * @throws ArangoDBException if the JSON string is empty
+     */
+    static void writeRawJson(final JsonGenerator gen, final String json) throws IOException {
+        if (gen instanceof JsonGeneratorImpl) {
+            int i = 0;
+            while (i < json.length() && isJsonWhitespace(json.charAt(i))) {
+                i++;
+            }
+            if (i == json.length()) {
+                throw new ArangoDBException(EMPTY_VALUE);
+            }
+            gen.writeRawValue(json);
+        } else {
+            try (JsonParser parser = SerdeUtils.INSTANCE.createJsonParser(json)) {
+                parser.nextToken();
+                gen.copyCurrentStructure(parser);
+            }
+        }
+    }
+
+}
@@ -1,6 +1,8 @@
 package com.arangodb.internal.serde;
 
 import com.arangodb.ArangoDBException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -9,6 +11,8 @@ import com.fasterxml.jackson.databind.type.TypeFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -69,6 +73,22 @@ public enum SerdeUtils {
         }
     }
 
+    /**
+     * @param json JSON string
+     * @return parser over the given JSON string
+     */
+    public JsonParser createJsonParser(final String json) throws IOException {
+        return jsonMapper.getFactory().createParser(json);
+    }
+
+    /**
+     * @param out target writer
+     * @return JSON generator writing to the given writer
+     */
+    public JsonGenerator createJsonGenerator(final Writer out) throws IOException {
+        return jsonMapper.getFactory().createGenerator(out);
+    }
+
     /**
      * @param data JsonNode
      * @return JSON string
@@ -1,35 +1,56 @@
 package com.arangodb.internal.serde;
 
+import com.arangodb.entity.BaseDocument;
+import com.arangodb.entity.BaseEdgeDocument;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.BeanProperty;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
 import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
 
 import java.io.IOException;
 import java.lang.reflect.Type;
+import java.util.Set;
 
 import static com.arangodb.internal.serde.SerdeUtils.convertToType;
 
 class UserDataDeserializer extends JsonDeserializer<Object> implements ContextualDeserializer {
+    /**
+     * Deserialization attribute holding the top level attributes to deserialize, see
+     * {@link InternalSerde#deserialize(byte[], Type, java.util.Collection)}
+     */
+    static final Object PROJECTION = new Object();
+
     private final Type targetType;
     private final InternalSerde serde;
+    private final JsonDeserializer<Object> inPlace;
 
     UserDataDeserializer(final InternalSerde serde) {
         targetType = null;
         this.serde = serde;
+        inPlace = null;
     }
 
-    private UserDataDeserializer(final JavaType targetType, final InternalSerde serde) {
+    private UserDataDeserializer(final JavaType targetType, final InternalSerde serde,
+                                 final JsonDeserializer<Object> inPlace) {
         this.targetType = convertToType(targetType);
         this.serde = serde;
+        this.inPlace = inPlace;
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public Object deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
-        return serde.deserializeUserData(p.readValueAsTree(), targetType);
+        final Set<String> projection = (Set<String>) ctxt.getAttribute(PROJECTION);
+        if (projection != null) {
+            return serde.deserializeUserData(RawValueUtils.readProjected(p, projection), targetType);
+        } else if (inPlace != null) {
+            return inPlace.deserialize(p, ctxt);
+        }
+        return serde.deserializeUserData(RawValueUtils.readRaw(p), targetType);
     }
 
     @Override
@@ -38,7 +59,12 @@ class UserDataDeserializer extends JsonDeserializer<Object> implements Contextua
     }
 
     @Override
-    public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property) {
-        return new UserDataDeserializer(ctxt.getContextualType(), serde);
+    public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property) throws JsonMappingException {
+        JavaType type = ctxt.getContextualType();
+        if (type != null && (type.hasRawClass(BaseDocument.class) || type.hasRawClass(BaseEdgeDocument.class))) {
+            // deserialized in place, so that e.g. the documents of a cursor batch share their attribute names
+            return new UserDataDeserializer(type, serde, ctxt.findContextualValueDeserializer(type, property));
+        }
+        return new UserDataDeserializer(type, serde, null);
     }
 }
@@ -0,0 +1,77 @@
+package com.arangodb.internal.serde;
+
+import com.arangodb.jackson.dataformat.velocypack.internal.VPackGenerator;
+import com.arangodb.jackson.dataformat.velocypack.internal.VPackParser;
+import com.arangodb.velocypack.VPackSlice;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Access to VelocyPack specific features of the Jackson dataformat, which is an optional dependency: all the methods
+ * must only be invoked if {@link #isAvailable()} returns {@code true}.
+ */
+final class VPackUtils {
+
+    private static final boolean AVAILABLE = checkAvailable();
+
+    private VPackUtils() {
+    }
+
+    private static boolean checkAvailable() {
+        try {
+            return VPackGenerator.class != null && VPackSlice.class != null;
+        } catch (NoClassDefFoundError e) {
+            return false;
+        }
+    }
+
+    static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    static boolean isVPackGenerator(final JsonGenerator gen) {
+        return gen instanceof VPackGenerator;
+    }
+
+    static boolean isVPackParser(final JsonParser p) {
+        return p instanceof VPackParser;
+    }
+
+    /**
+     * @return the offset, in the parser input buffer, of the value at the current token
+     */
+    static int currentValueStart(final JsonParser p) {
+        return ((VPackParser) p).getVPack().getStart();
+    }
+
+    /**
+     * @return the size in bytes of the value at the current token
+     */
+    static int currentValueSize(final JsonParser p) {
+        return ((VPackParser) p).getVPack().getByteSize();
+    }
+
+    /**
+     * Skips the current value.
+     *
+     * @return a copy of the bytes of the skipped value
+     */
+    static byte[] readValueAsBytes(final JsonParser p) throws IOException {
+        VPackSlice slice = ((VPackParser) p).getVPack();
+        int start = slice.getStart();
+        byte[] bytes = Arrays.copyOfRange(slice.getBuffer(), start, start + slice.getByteSize());
+        p.skipChildren();
+        return bytes;
+    }
+
+    /**
+     * Appends the VelocyPack value starting at the given offset, without decoding it.
+     */
+    static void writeVPack(final JsonGenerator gen, final byte[] bytes, final int offset) throws IOException {
+        ((VPackGenerator) gen).writeVPack(new VPackSlice(bytes, offset));
+    }
+
+}
@@ -0,0 +1,320 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.util;
+
+import java.util.*;
+
+/**
+ * Compact insertion-ordered map of document attributes, storing the values in an array. The maps deserialized
+ * together, e.g. the documents of a cursor batch, can share their attribute names through the {@link Shape}s of a
+ * {@link Shapes} table, which is scoped to that deserialization. The other maps, and the maps modified after being
+ * deserialized, own their attribute names array.
+ *
+ * @author Michele Rastelli
+ */
+public final class AttributeMap extends AbstractMap<String, Object> {
+
+    private static final int INITIAL_CAPACITY = 8;
+    private static final String[] NO_KEYS = new String[0];
+
+    private Shape shape;
+    private String[] keys = NO_KEYS;
+    private Object[] values = new Object[INITIAL_CAPACITY];
+    private int size;
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public Object get(final Object key) {
+        final int i = indexOf(key);
+        return i >= 0 ? values[i] : null;
+    }
+
+    @Override
+    public Object put(final String key, final Object value) {
+        return put(null, key, value);
+    }
+
+    /**
+     * Like {@link #put(Object, Object)}, appending new attributes to the shape shared through the given table.
+     *
+     * @param shapes table of the current deserialization, or {@code null} to not share the attribute names
+     */
+    public Object put(final Shapes shapes, final String key, final Object value) {
+        final int i = indexOf(key);
+        if (i >= 0) {
+            final Object old = values[i];
+            values[i] = value;
+            return old;
+        }
+        append(shapes, key, value);
+        return null;
+    }
+
+    @Override
+    public Object remove(final Object key) {
+        final int i = indexOf(key);
+        if (i < 0) {
+            return null;
+        }
+        final Object old = values[i];
+        removeAt(i);
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        shape = null;
+        keys = NO_KEYS;
+        values = new Object[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new EntrySet();
+    }
+
+    /**
+     * @return the shared shape, or {@code null} if this map owns its attribute names
+     */
+    Shape shape() {
+        return shape;
+    }
+
+    private int indexOf(final Object key) {
+        if (shape != null) {
+            return shape.indexOf(key);
+        }
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(keys[i], key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void append(final Shapes shapes, final String key, final Object value) {
+        Shape next = null;
+        if (shapes != null && key != null) {
+            if (size == 0) {
+                next = shapes.root.with(key);
+            } else if (shape != null && shape.shapes == shapes) {
+                next = shape.with(key);
+            }
+        }
+        if (next != null) {
+            shape = next;
+            keys = next.names.keys;
+        } else {
+            if (shape != null) {
+                shape = null;
+                keys = Arrays.copyOf(keys, Math.max(INITIAL_CAPACITY, size * 2));
+            } else if (size == keys.length) {
+                keys = Arrays.copyOf(keys, Math.max(INITIAL_CAPACITY, size * 2));
+            }
+            keys[size] = key;
+        }
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = value;
+    }
+
+    private void removeAt(final int i) {
+        if (shape != null) {
+            shape = null;
+            keys = Arrays.copyOf(keys, Math.max(INITIAL_CAPACITY, size));
+        }
+        final int moved = size - i - 1;
+        System.arraycopy(keys, i + 1, keys, i, moved);
+        System.arraycopy(values, i + 1, values, i, moved);
+        size--;
+        keys[size] = null;
+        values[size] = null;
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<String, Object>> {
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<Entry<String, Object>> iterator() {
+            return new Iterator<Entry<String, Object>>() {
+                private int next;
+                private int last = -1;
+
+                @Override
+                public boolean hasNext() {
+                    return next < size;
+                }
+
+                @Override
+                public Entry<String, Object> next() {
+                    if (next >= size) {
+                        throw new NoSuchElementException();
+                    }
+                    last = next++;
+                    return new AttributeEntry(last);
+                }
+
+                @Override
+                public void remove() {
+                    if (last < 0) {
+                        throw new IllegalStateException();
+                    }
+                    removeAt(last);
+                    next = last;
+                    last = -1;
+                }
+            };
+        }
+    }
+
+    private final class AttributeEntry extends SimpleEntry<String, Object> {
+        private final int index;
+
+        private AttributeEntry(final int index) {
+            super(keys[index], values[index]);
+            this.index = index;
+        }
+
+        @Override
+        public Object setValue(final Object value) {
+            values[index] = value;
+            return super.setValue(value);
+        }
+    }
+
+    /**
+     * Table of the shapes shared by the maps of a single deserialization. It is not thread safe and must only be used
+     * by the deserializing thread; the shapes are not modified once the deserialization is completed.
+     */
+    public static final class Shapes {
+        static final int MAX_SHAPES = 4_096;
+
+        private final Shape root = new Shape(this, new Names(), 0);
+        private int count;
+    }
+
+    /**
+     * Attribute names array, shared by a sequence of shapes each one extending the previous one.
+     */
+    private static final class Names {
+        private static final int MAX_LINEAR_SCAN = 8;
+
+        private String[] keys = new String[INITIAL_CAPACITY];
+        private int size;
+        private Map<String, Integer> index;
+
+        private void add(final String key) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+            keys[size] = key;
+            if (index != null) {
+                index.put(key, size);
+            } else if (size == MAX_LINEAR_SCAN) {
+                index = new HashMap<>(size * 4);
+                for (int i = 0; i <= size; i++) {
+                    index.put(keys[i], i);
+                }
+            }
+            size++;
+        }
+    }
+
+    /**
+     * Immutable sequence of attribute names, i.e. the first {@code length} names of its {@link Names}. Shapes are
+     * linked by transitions, i.e. the shape obtained adding a further attribute, so that within a {@link Shapes} table
+     * the same sequence of attributes always leads to the same shape.
+     */
+    static final class Shape {
+        private final Shapes shapes;
+        private final Names names;
+        private final int length;
+        private Map<String, Shape> transitions;
+
+        private Shape(final Shapes shapes, final Names names, final int length) {
+            this.shapes = shapes;
+            this.names = names;
+            this.length = length;
+        }
+
+        int indexOf(final Object key) {
+            if (names.index == null) {
+                final String[] keys = names.keys;
+                for (int i = 0; i < length; i++) {
+                    if (keys[i].equals(key)) {
+                        return i;
+                    }
+                }
+                return -1;
+            }
+            final Integer i = names.index.get(key);
+            return i != null && i < length ? i : -1;
+        }
+
+        /**
+         * @return the shape with the given attribute appended, or {@code null} if the limit of shapes of the table is
+         * reached
+         */
+        Shape with(final String key) {
+            Shape next = transitions != null ? transitions.get(key) : null;
+            if (next != null) {
+                return next;
+            }
+            if (shapes.count >= Shapes.MAX_SHAPES) {
+                return null;
+            }
+            if (names.size == length) {
+                // the names array ends with this shape, the new shape extends it
+                names.add(key);
+                next = new Shape(shapes, names, length + 1);
+            } else {
+                // the names array has been extended by another shape already
+                final Names copy = new Names();
+                for (int i = 0; i < length; i++) {
+                    copy.add(names.keys[i]);
+                }
+                copy.add(key);
+                next = new Shape(shapes, copy, length + 1);
+            }
+            if (transitions == null) {
+                transitions = new HashMap<>(4);
+            }
+            transitions.put(key, next);
+            shapes.count++;
+            return next;
+        }
+    }
+
+}
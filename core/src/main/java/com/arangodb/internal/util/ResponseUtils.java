@@ -37,7 +37,6 @@ public final class ResponseUtils {
 
     private static final int ERROR_STATUS = 300;
     private static final int ERROR_INTERNAL = 503;
-    private static final String HEADER_ENDPOINT = "x-arango-endpoint";
 
     private ResponseUtils() {
         super();
@@ -48,9 +47,9 @@ public final class ResponseUtils {
         if (responseCode < ERROR_STATUS) {
             return null;
         }
-        if (responseCode == ERROR_INTERNAL && response.containsMeta(HEADER_ENDPOINT)) {
+        if (responseCode == ERROR_INTERNAL && response.containsMeta(InternalResponse.META_ENDPOINT)) {
             return new ArangoDBRedirectException(String.format("Response Code: %s", responseCode),
-                    response.getMeta(HEADER_ENDPOINT));
+                    response.getMeta(InternalResponse.META_ENDPOINT));
         }
         if (response.getBody() != null) {
             final ErrorEntity errorEntity = util.deserialize(response.getBody(), ErrorEntity.class);
@@ -0,0 +1,45 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * @author Michele Rastelli
+ */
+public final class TimeUtils {
+
+    private static final double JITTER = 0.1;
+
+    private TimeUtils() {
+        super();
+    }
+
+    /**
+     * @param millis duration
+     * @return the duration reduced by a random amount up to 10%, to spread the expiration of timers scheduled at the
+     * same time, e.g. the ttl of the connections opened together
+     */
+    public static long withJitter(final long millis) {
+        return millis - (long) (ThreadLocalRandom.current().nextDouble() * JITTER * millis);
+    }
+
+}
@@ -21,6 +21,7 @@
 package com.arangodb.model;
 
 import com.arangodb.internal.serde.UserDataInside;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import java.util.*;
 
@@ -39,6 +40,12 @@ public final class AqlQueryOptions extends TransactionalOptions<AqlQueryOptions>
     private String query;
     private Options options;
     private Boolean allowDirtyRead;
+    @JsonIgnore
+    private Long spillThreshold;
+    @JsonIgnore
+    private Collection<String> projection;
+    @JsonIgnore
+    private Class<?> projectionType;
 
     @Override
     AqlQueryOptions getThis() {
@@ -500,6 +507,66 @@ public final class AqlQueryOptions extends TransactionalOptions<AqlQueryOptions>
         return this;
     }
 
+    public Long getSpillThreshold() {
+        return spillThreshold;
+    }
+
+    /**
+     * Client side option, not sent to the server.
+     *
+     * @param spillThreshold If set, the cursor fetches all the remaining batches from the server as soon as it is
+     *                       created, so that the server can release the query without waiting for the results to be
+     *                       consumed. The raw fetched batches are kept in memory up to the given size (in bytes), the
+     *                       exceeding ones are written to a temporary file, which is deleted once the cursor is
+     *                       exhausted or closed. Batches are deserialized only when they are consumed. The first batch
+     *                       is not accounted for, since it is already deserialized when the cursor is created.
+     *                       <p/>
+     *                       Only supported by synchronous cursors, it is ignored by {@link com.arangodb.ArangoDatabaseAsync}.
+     * @return options
+     */
+    public AqlQueryOptions spillThreshold(final Long spillThreshold) {
+        this.spillThreshold = spillThreshold;
+        return this;
+    }
+
+    public Collection<String> getProjection() {
+        return projection;
+    }
+
+    /**
+     * Client side option, not sent to the server.
+     *
+     * @param projection Only the given top level attributes of the result documents are deserialized, the other ones
+     *                   are skipped by the parser without being decoded. The documents are still transferred entirely:
+     *                   to reduce the transferred data, use {@code KEEP()} or return only the needed attributes in the
+     *                   query.
+     * @return options
+     */
+    public AqlQueryOptions projection(final Collection<String> projection) {
+        this.projection = projection;
+        projectionType = null;
+        return this;
+    }
+
+    public Class<?> getProjectionType() {
+        return projectionType;
+    }
+
+    /**
+     * Client side option, not sent to the server.
+     *
+     * @param projectionType Like {@link #projection(Collection)}, deserializing the properties of the given type,
+     *                       according to Jackson bean introspection. With user serdes other than Jackson, or with a
+     *                       Jackson configuration changing the property names, use {@link #projection(Collection)}
+     *                       instead.
+     * @return options
+     */
+    public AqlQueryOptions projection(final Class<?> projectionType) {
+        this.projectionType = projectionType;
+        projection = null;
+        return this;
+    }
+
     @Override
     public AqlQueryOptions clone() {
         try {
@@ -20,6 +20,8 @@
 
 package com.arangodb.model;
 
+import java.util.Collection;
+
 /**
  * @author Mark Vollmary
  * @author Michele Rastelli
@@ -29,6 +31,8 @@ public final class DocumentReadOptions extends TransactionalOptions<DocumentRead
     private String ifNoneMatch;
     private String ifMatch;
     private Boolean allowDirtyRead;
+    private Collection<String> projection;
+    private Class<?> projectionType;
 
     @Override
     DocumentReadOptions getThis() {
@@ -77,4 +81,40 @@ public final class DocumentReadOptions extends TransactionalOptions<DocumentRead
         return allowDirtyRead;
     }
 
+    public Collection<String> getProjection() {
+        return projection;
+    }
+
+    /**
+     * Client side projection: only the given top level attributes of the returned documents are deserialized, the
+     * other ones are skipped by the parser without being decoded. The documents are still transferred entirely, since
+     * the document API does not support projections. For queries, see {@link AqlQueryOptions#projection(Collection)}.
+     *
+     * @param projection top level attributes to deserialize
+     * @return options
+     */
+    public DocumentReadOptions projection(final Collection<String> projection) {
+        this.projection = projection;
+        projectionType = null;
+        return this;
+    }
+
+    public Class<?> getProjectionType() {
+        return projectionType;
+    }
+
+    /**
+     * Like {@link #projection(Collection)}, deserializing the properties of the given type, according to Jackson bean
+     * introspection. With user serdes other than Jackson, or with a Jackson configuration changing the property
+     * names, use {@link #projection(Collection)} instead.
+     *
+     * @param projectionType type whose properties are deserialized, usually the target type of the read
+     * @return options
+     */
+    public DocumentReadOptions projection(final Class<?> projectionType) {
+        this.projectionType = projectionType;
+        projection = null;
+        return this;
+    }
+
 }
@@ -3,6 +3,7 @@ package com.arangodb.serde;
 import com.arangodb.ContentType;
 import com.arangodb.RequestContext;
 
+import java.lang.reflect.Type;
 import java.util.Objects;
 
 /**
@@ -19,6 +20,8 @@ public interface ArangoSerde {
     /**
      * Serializes the object into the target data type. For data type {@link ContentType#JSON}, the serialized JSON string
      * must be encoded into a byte array using the UTF-8 charset.
+     * The driver appends the returned bytes to the request payloads without validating them, so they must contain a
+     * single valid value.
      *
      * @param value object to serialize
      * @return serialized byte array
@@ -48,4 +51,42 @@ public interface ArangoSerde {
         Objects.requireNonNull(ctx);
         return deserialize(content, clazz);
     }
+
+    /**
+     * Deserializes the content and binds it to the target data type, which can be a parameterized type.
+     * For data type {@link ContentType#JSON}, the byte array is the JSON string encoded using the UTF-8 charset.
+     * The default implementation only supports classes, implementations supporting parameterized types should
+     * override it.
+     *
+     * @param content byte array to deserialize
+     * @param type    target data type
+     * @return deserialized object
+     * @throws UnsupportedOperationException if the type is not supported
+     */
+    @SuppressWarnings("unchecked")
+    default <T> T deserialize(byte[] content, Type type) {
+        if (type instanceof Class) {
+            return deserialize(content, (Class<T>) type);
+        }
+        throw new UnsupportedOperationException("Unsupported target type: " + type);
+    }
+
+    /**
+     * Deserializes the content and binds it to the target data type, which can be a parameterized type.
+     * For data type {@link ContentType#JSON}, the byte array is the JSON string encoded using the UTF-8 charset.
+     *
+     * @param content byte array to deserialize
+     * @param type    target data type
+     * @param ctx     serde context, cannot be null
+     * @return deserialized object
+     * @throws UnsupportedOperationException if the type is not supported
+     */
+    @SuppressWarnings("unchecked")
+    default <T> T deserialize(byte[] content, Type type, RequestContext ctx) {
+        Objects.requireNonNull(ctx);
+        if (type instanceof Class) {
+            return deserialize(content, (Class<T>) type, ctx);
+        }
+        return deserialize(content, type);
+    }
 }
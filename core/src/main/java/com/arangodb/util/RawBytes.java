@@ -11,6 +11,7 @@ import java.util.Arrays;
  * - in deserialization as target wrapper type for the raw value
  * <p>
  * No validation is performed, the user is responsible for providing a valid byte array for the used content type.
+ * Empty byte arrays are rejected.
  * <p>
  * The raw value byte array can represent either:
  * - a valid VPack
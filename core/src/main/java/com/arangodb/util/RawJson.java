@@ -10,6 +10,9 @@ import java.util.Objects;
  * - in serialization to append a raw JSON node
  * - in deserialization as target wrapper type for the raw JSON string
  * <p>
+ * No validation is performed when serializing to JSON: the JSON string is appended as is, so the user is responsible
+ * for providing a single valid JSON value. Empty strings are rejected.
+ * <p>
  * The driver's {@link InternalSerde} supports serializing and deserializing to and from
  * {@code RawJson}.
  */
@@ -755,6 +755,40 @@ class ArangoCollectionTest extends BaseJunit5 {
         }
     }
 
+    @ParameterizedTest
+    @MethodSource("cols")
+    void getDocumentsWithProjection(ArangoCollection collection) {
+        final Collection<BaseDocument> values = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            BaseDocument doc = new BaseDocument(UUID.randomUUID().toString());
+            doc.addAttribute("a", i);
+            doc.addAttribute("b", Collections.singletonMap("c", i));
+            values.add(doc);
+        }
+        collection.insertDocuments(values);
+        List<String> keys = values.stream().map(BaseDocument::getKey).collect(Collectors.toList());
+        DocumentReadOptions options = new DocumentReadOptions().projection(Arrays.asList("_key", "a"));
+
+        final MultiDocumentEntity<BaseDocument> documents = collection.getDocuments(keys, BaseDocument.class, options);
+        assertThat(documents.getDocuments()).hasSize(3);
+        for (final BaseDocument document : documents.getDocuments()) {
+            assertThat(document.getKey()).isIn(keys);
+            assertThat(document.getId()).isNull();
+            assertThat(document.getProperties()).containsOnlyKeys("_key", "a");
+        }
+
+        final Map<String, Object> document = collection.getDocument(keys.get(0), Map.class, options);
+        assertThat(document).containsOnlyKeys("_key", "a");
+
+        final Map<String, Object> typed = collection.getDocument(keys.get(0), Map.class,
+                new DocumentReadOptions().projection(ProjectedDocument.class));
+        assertThat(typed).containsOnlyKeys("a");
+    }
+
+    static class ProjectedDocument {
+        public Integer a;
+    }
+
     @ParameterizedTest
     @MethodSource("cols")
     void getDocumentsWithCustomShardingKey(ArangoCollection c) {
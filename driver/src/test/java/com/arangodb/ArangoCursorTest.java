@@ -32,6 +32,7 @@ import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
 
 /**
  * @author Mark Vollmary
@@ -63,6 +64,28 @@ class ArangoCursorTest extends BaseJunit5 {
         }
     }
 
+    @ParameterizedTest
+    @MethodSource("dbs")
+    void nextWithSpill(ArangoDatabase db) {
+        final ArangoCursor<JsonNode> cursor = db.query("FOR i IN 0..99 RETURN i", JsonNode.class,
+                new AqlQueryOptions().batchSize(5).spillThreshold(64L));
+        long i = 0L;
+        while (cursor.hasNext()) {
+            assertThat(cursor.next().asLong()).isEqualTo(i++);
+        }
+        assertThat(i).isEqualTo(100L);
+        assertThatCode(cursor::close).doesNotThrowAnyException();
+    }
+
+    @ParameterizedTest
+    @MethodSource("dbs")
+    void closeWithSpill(ArangoDatabase db) {
+        final ArangoCursor<JsonNode> cursor = db.query("FOR i IN 0..99 RETURN i", JsonNode.class,
+                new AqlQueryOptions().batchSize(5).spillThreshold(0L));
+        assertThat(cursor.next().asLong()).isZero();
+        assertThatCode(cursor::close).doesNotThrowAnyException();
+    }
+
     @ParameterizedTest
     @MethodSource("dbs")
     void mapFilterCountStream(ArangoDatabase db) {
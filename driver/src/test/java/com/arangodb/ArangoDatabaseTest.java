@@ -583,6 +583,27 @@ class ArangoDatabaseTest extends BaseJunit5 {
         }
     }
 
+    @ParameterizedTest
+    @MethodSource("dbs")
+    void queryWithProjection(ArangoDatabase db) {
+        final String query = "for i in 1..5 return {_key: to_string(i), a: i, b: {c: i}}";
+        final ArangoCursor<BaseDocument> cursor = db.query(query, BaseDocument.class,
+                new AqlQueryOptions().batchSize(2).projection(Arrays.asList("_key", "a")));
+        final List<BaseDocument> docs = cursor.asListRemaining();
+        assertThat(docs).hasSize(5);
+        for (BaseDocument doc : docs) {
+            assertThat(doc.getProperties()).containsOnlyKeys("_key", "a");
+        }
+
+        final ArangoCursor<Map> typed = db.query(query, Map.class,
+                new AqlQueryOptions().batchSize(2).projection(ProjectedResult.class));
+        assertThat(typed.asListRemaining()).hasSize(5).allSatisfy(r -> assertThat(r).containsOnlyKeys("b"));
+    }
+
+    static class ProjectedResult {
+        public Map<String, Object> b;
+    }
+
     @ParameterizedTest
     @MethodSource("dbs")
     void queryWithNullBindVar(ArangoDatabase db) {
@@ -970,6 +991,25 @@ class ArangoDatabaseTest extends BaseJunit5 {
         assertThat(c2.hasNext()).isFalse();
     }
 
+    @ParameterizedTest
+    @MethodSource("dbs")
+    void queryColumnar(ArangoDatabase db) {
+        final ArangoCursor<ColumnarBatch> cursor = db.queryColumnar(
+                "FOR i IN 1..10 RETURN [i, i / 4, CONCAT('v', i % 2)]", null, new AqlQueryOptions().batchSize(4));
+        long rows = 0;
+        for (ColumnarBatch batch : cursor) {
+            assertThat(batch.getColumn(0).getType()).isEqualTo(ColumnarBatch.ColumnType.LONG);
+            assertThat(batch.getColumn(2).getType()).isEqualTo(ColumnarBatch.ColumnType.STRING);
+            for (int i = 0; i < batch.size(); i++) {
+                rows++;
+                assertThat(batch.getColumn(0).getLong(i)).isEqualTo(rows);
+                assertThat(batch.getColumn(1).getDouble(i)).isEqualTo(rows / 4.0);
+                assertThat(batch.getColumn(2).getString(i)).isEqualTo("v" + rows % 2);
+            }
+        }
+        assertThat(rows).isEqualTo(10L);
+    }
+
     @ParameterizedTest
     @MethodSource("arangos")
     void queryClose(ArangoDB arangoDB) throws IOException {
@@ -0,0 +1,103 @@
+package com.arangodb.http;
+
+import com.arangodb.Compression;
+import com.arangodb.config.HostDescription;
+import com.arangodb.internal.CompressionMetricsImpl;
+import com.arangodb.internal.InternalRequest;
+import com.arangodb.internal.RequestType;
+import com.arangodb.internal.config.ArangoConfig;
+import io.netty.buffer.ByteBuf;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestCompressorTest {
+
+    private final InternalRequest attachments = new InternalRequest("db", RequestType.POST, "/_api/document/attachments");
+    private final InternalRequest docs = new InternalRequest("db", RequestType.POST, "/_api/document/docs");
+
+    @Test
+    void endpoint() {
+        assertThat(RequestCompressor.endpoint(new InternalRequest("db", RequestType.PUT, "/_api/document/docs/key")))
+                .isEqualTo("db/_api/document/docs");
+        assertThat(RequestCompressor.endpoint(new InternalRequest("db", RequestType.POST, "/_api/cursor")))
+                .isEqualTo("db/_api/cursor");
+    }
+
+    @Test
+    void compressAlways() {
+        ArangoConfig config = config(false);
+        RequestCompressor compressor = new RequestCompressor(config, new HostDescription("127.0.0.1", 8529));
+        assertThat(compressor.getFormat()).isEqualTo("gzip");
+        for (int i = 0; i < 10; i++) {
+            ByteBuf encoded = compressor.encode(attachments, randomBytes());
+            assertThat(encoded).isNotNull();
+            encoded.release();
+        }
+        CompressionMetricsImpl metrics = config.getCompressionMetrics();
+        assertThat(metrics.getCompressedRequests()).isEqualTo(10);
+        assertThat(metrics.getSkippedRequests()).isZero();
+        assertThat(metrics.getLevels()).containsEntry("127.0.0.1:8529", 6);
+    }
+
+    @Test
+    void skipIncompressible() {
+        ArangoConfig config = config(true);
+        RequestCompressor compressor = new RequestCompressor(config, new HostDescription("10.0.0.1", 8529));
+
+        int compressed = 0;
+        for (int i = 0; i < 1 + 2 * RequestCompressor.PROBE_INTERVAL; i++) {
+            ByteBuf encoded = compressor.encode(attachments, randomBytes());
+            if (encoded != null) {
+                compressed++;
+                encoded.release();
+            }
+        }
+        // first sample and probes
+        assertThat(compressed).isEqualTo(3);
+
+        // other endpoints are not affected
+        ByteBuf encoded = compressor.encode(docs, jsonBytes());
+        assertThat(encoded).isNotNull();
+        assertThat(encoded.readableBytes()).isLessThan(jsonBytes().length / 2);
+        encoded.release();
+
+        CompressionMetricsImpl metrics = config.getCompressionMetrics();
+        assertThat(metrics.getCompressedRequests()).isEqualTo(4);
+        assertThat(metrics.getSkippedRequests()).isEqualTo(2 * RequestCompressor.PROBE_INTERVAL - 2);
+        assertThat(metrics.getUncompressedBytes()).isGreaterThan(metrics.getCompressedBytes());
+    }
+
+    @Test
+    void skipLoopback() {
+        ArangoConfig config = config(true);
+        RequestCompressor compressor = new RequestCompressor(config, new HostDescription("127.0.0.1", 8529));
+        assertThat(compressor.encode(docs, jsonBytes())).isNull();
+        assertThat(config.getCompressionMetrics().getSkippedRequests()).isEqualTo(1);
+    }
+
+    private static ArangoConfig config(boolean adaptive) {
+        ArangoConfig config = new ArangoConfig();
+        config.setCompression(Compression.GZIP);
+        config.setCompressionAdaptive(adaptive);
+        return config;
+    }
+
+    private static byte[] randomBytes() {
+        byte[] bytes = new byte[10_000];
+        new Random().nextBytes(bytes);
+        return bytes;
+    }
+
+    private static byte[] jsonBytes() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < 500; i++) {
+            sb.append("{\"name\":\"name-").append(i % 10).append("\",\"value\":").append(i % 7).append("},");
+        }
+        return sb.append("{}]").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+}
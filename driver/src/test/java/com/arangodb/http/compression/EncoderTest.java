@@ -0,0 +1,58 @@
+package com.arangodb.http.compression;
+
+import com.arangodb.Compression;
+import io.netty.handler.codec.compression.Brotli;
+import io.netty.handler.codec.compression.Zstd;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+class EncoderTest {
+
+    @ParameterizedTest
+    @EnumSource(Compression.class)
+    void levelRange(Compression compression) {
+        int maxLevel = Encoder.maxLevel(compression);
+        assertThatThrownBy(() -> Encoder.of(compression, -1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("expected: 0-" + maxLevel);
+        assertThatThrownBy(() -> Encoder.of(compression, maxLevel + 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("expected: 0-" + maxLevel);
+    }
+
+    @Test
+    void maxLevel() {
+        assertThat(Encoder.maxLevel(Compression.GZIP)).isEqualTo(9);
+        assertThat(Encoder.maxLevel(Compression.DEFLATE)).isEqualTo(9);
+        assertThat(Encoder.maxLevel(Compression.ZSTD)).isEqualTo(22);
+        assertThat(Encoder.maxLevel(Compression.BROTLI)).isEqualTo(11);
+    }
+
+    @Test
+    void acceptEncoding() {
+        assertThat(Encoder.of(Compression.GZIP, 6).getAcceptEncoding()).isEqualTo("gzip");
+        assertThat(Encoder.of(Compression.NONE, 6).getAcceptEncoding()).isNull();
+    }
+
+    @Test
+    void zstdUnavailable() {
+        assumeFalse(Zstd.isAvailable());
+        assertThatThrownBy(() -> Encoder.of(Compression.ZSTD, 3))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("zstd-jni");
+    }
+
+    @Test
+    void brotliUnavailable() {
+        assumeFalse(Brotli.isAvailable());
+        assertThatThrownBy(() -> Encoder.of(Compression.BROTLI, 4))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("brotli4j");
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.arangodb.http.compression;
+
+import com.arangodb.Compression;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ZlibEncoderTest {
+
+    @ParameterizedTest
+    @EnumSource(value = Compression.class, names = {"GZIP", "DEFLATE"})
+    void encodeReusingDeflater(Compression compression) throws IOException {
+        Encoder encoder = Encoder.of(compression, 6);
+        assertThat(Encoder.of(compression, 6)).isSameAs(encoder);
+
+        Random rnd = new Random(0);
+        for (int size : new int[]{10, 100_000, 1_000, 1_000_000, 10}) {
+            StringBuilder sb = new StringBuilder();
+            while (sb.length() < size) {
+                sb.append("{\"value\":").append(rnd.nextInt(100)).append("},");
+            }
+            byte[] data = sb.toString().getBytes(StandardCharsets.UTF_8);
+            ByteBuf encoded = encoder.encode(data);
+            try {
+                assertThat(decode(compression, encoded)).isEqualTo(data);
+            } finally {
+                assertThat(encoded.release()).isTrue();
+            }
+        }
+    }
+
+    private static byte[] decode(Compression compression, ByteBuf encoded) throws IOException {
+        InputStream in = new ByteBufInputStream(encoded.duplicate());
+        in = compression == Compression.GZIP ? new GZIPInputStream(in) : new InflaterInputStream(in);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buf = new byte[8192];
+        for (int n; (n = in.read(buf)) > 0; ) {
+            out.write(buf, 0, n);
+        }
+        return out.toByteArray();
+    }
+
+}
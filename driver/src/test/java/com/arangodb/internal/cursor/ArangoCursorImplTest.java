@@ -0,0 +1,60 @@
+package com.arangodb.internal.cursor;
+
+import com.arangodb.ArangoDBException;
+import com.arangodb.ContentType;
+import com.arangodb.entity.CursorEntity;
+import com.arangodb.internal.ArangoCursorExecute;
+import com.arangodb.internal.serde.InternalSerde;
+import com.arangodb.internal.serde.InternalSerdeProvider;
+import com.arangodb.serde.jackson.JacksonSerde;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.arangodb.internal.serde.SerdeUtils.constructParametricType;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ArangoCursorImplTest {
+
+    private final InternalSerde serde = new InternalSerdeProvider(ContentType.JSON)
+            .create(JacksonSerde.of(ContentType.JSON), null);
+
+    @Test
+    void failedDrainClosesServerCursor() {
+        List<String> closed = new ArrayList<>();
+        ArangoCursorExecute<Integer> execute = new ArangoCursorExecute<Integer>() {
+            @Override
+            public CursorEntity<Integer> next(String id, String nextBatchId) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public RawCursorBatch nextRaw(String id, String nextBatchId) {
+                throw new ArangoDBException("batch not found");
+            }
+
+            @Override
+            public CursorEntity<Integer> deserialize(byte[] batch) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void close(String id) {
+                closed.add(id);
+            }
+        };
+        CursorEntity<Integer> first = serde.deserialize(
+                "{\"id\":\"123\",\"hasMore\":true,\"result\":[]}".getBytes(StandardCharsets.UTF_8),
+                constructParametricType(CursorEntity.class, Integer.class));
+        first.setPotentialDirtyRead(false);
+
+        assertThatThrownBy(() -> new ArangoCursorImpl<>(execute, Integer.class, first, false, 0L))
+                .isInstanceOf(ArangoDBException.class)
+                .hasMessageContaining("batch not found");
+        assertThat(closed).containsExactly("123");
+    }
+
+}
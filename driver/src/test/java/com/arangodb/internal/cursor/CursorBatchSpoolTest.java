@@ -0,0 +1,60 @@
+package com.arangodb.internal.cursor;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+class CursorBatchSpoolTest {
+
+    private static byte[] batch(int i) {
+        return ("{\"result\":[" + i + "]}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void heapOnly() {
+        try (CursorBatchSpool spool = new CursorBatchSpool(Long.MAX_VALUE)) {
+            for (int i = 0; i < 10; i++) {
+                spool.add(batch(i));
+            }
+            assertThat(spool.getSpilledBytes()).isZero();
+            for (int i = 0; i < 10; i++) {
+                assertThat(spool.poll()).isEqualTo(batch(i));
+            }
+            assertThat(spool.isEmpty()).isTrue();
+            assertThat(spool.getHeapBytes()).isZero();
+            assertThat(spool.poll()).isNull();
+        }
+    }
+
+    @Test
+    void spillPreservesOrder() {
+        int budget = 3 * batch(0).length;
+        try (CursorBatchSpool spool = new CursorBatchSpool(budget)) {
+            for (int i = 0; i < 10; i++) {
+                spool.add(batch(i));
+            }
+            assertThat(spool.getHeapBytes()).isLessThanOrEqualTo(budget);
+            assertThat(spool.getSpilledBytes()).isPositive();
+            for (int i = 0; i < 10; i++) {
+                assertThat(spool.isEmpty()).isFalse();
+                assertThat(spool.poll()).isEqualTo(batch(i));
+            }
+            assertThat(spool.isEmpty()).isTrue();
+        }
+    }
+
+    @Test
+    void zeroBudget() {
+        try (CursorBatchSpool spool = new CursorBatchSpool(0)) {
+            spool.add(batch(1));
+            spool.add(batch(2));
+            assertThat(spool.getHeapBytes()).isZero();
+            assertThat(spool.poll()).isEqualTo(batch(1));
+            assertThat(spool.poll()).isEqualTo(batch(2));
+        }
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.arangodb.internal.net;
+
+import com.arangodb.config.HostDescription;
+import com.arangodb.internal.InternalRequest;
+import com.arangodb.internal.InternalResponse;
+import com.arangodb.internal.config.ArangoConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConnectionPoolImplTest {
+
+    @Test
+    void leastPendingConnection() {
+        ArangoConfig config = new ArangoConfig();
+        config.setMaxConnections(3);
+        ConnectionPoolImpl pool = new ConnectionPoolImpl(new HostDescription("127.0.0.1", 8529), config,
+                (cfg, host) -> new PendingConnection());
+
+        PendingConnection first = (PendingConnection) pool.connection();
+        // idle connections are reused
+        assertThat(pool.connection()).isSameAs(first);
+
+        first.pending = 2;
+        PendingConnection second = (PendingConnection) pool.connection();
+        assertThat(second).isNotSameAs(first);
+        second.pending = 1;
+        PendingConnection third = (PendingConnection) pool.connection();
+        assertThat(third).isNotSameAs(first).isNotSameAs(second);
+        third.pending = 3;
+
+        // max connections reached
+        assertThat(pool.connection()).isSameAs(second);
+        second.pending = 5;
+        assertThat(pool.connection()).isSameAs(first);
+    }
+
+    private static class PendingConnection implements Connection {
+        private int pending;
+
+        @Override
+        public void setJwt(String jwt) {
+        }
+
+        @Override
+        public CompletableFuture<InternalResponse> executeAsync(InternalRequest request) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int pendingRequests() {
+            return pending;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+}
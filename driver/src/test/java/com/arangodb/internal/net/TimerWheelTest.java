@@ -0,0 +1,63 @@
+package com.arangodb.internal.net;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimerWheelTest {
+
+    @Test
+    void schedule() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+        TimerWheel.INSTANCE.schedule(latch::countDown, 50, TimeUnit.MILLISECONDS);
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    @Test
+    void cancel() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        TimerWheel.Timeout timeout = TimerWheel.INSTANCE.schedule(runs::incrementAndGet, 20, TimeUnit.MILLISECONDS);
+        timeout.cancel();
+        Thread.sleep(100);
+        assertThat(timeout.isCancelled()).isTrue();
+        assertThat(runs.get()).isZero();
+    }
+
+    @Test
+    void schedulePeriodic() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(3);
+        TimerWheel.Timeout timeout = TimerWheel.INSTANCE.schedulePeriodic(latch::countDown, 0, 20, TimeUnit.MILLISECONDS);
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        timeout.cancel();
+    }
+
+    @Test
+    void threadStartedOnDemand() throws InterruptedException {
+        TimerWheel timer = new TimerWheel();
+        assertThat(timer.isRunning()).isFalse();
+        TimerWheel.Timeout timeout = timer.schedulePeriodic(() -> {
+        }, 0, 20, TimeUnit.MILLISECONDS);
+        assertThat(timer.isRunning()).isTrue();
+        timeout.cancel();
+        awaitStopped(timer);
+
+        CountDownLatch latch = new CountDownLatch(1);
+        timer.schedule(latch::countDown, 20, TimeUnit.MILLISECONDS);
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        awaitStopped(timer);
+    }
+
+    private static void awaitStopped(TimerWheel timer) throws InterruptedException {
+        for (int i = 0; i < 500 && timer.isRunning(); i++) {
+            Thread.sleep(10);
+        }
+        assertThat(timer.isRunning()).isFalse();
+    }
+
+}
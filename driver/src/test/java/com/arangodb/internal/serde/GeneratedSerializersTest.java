@@ -0,0 +1,254 @@
+package com.arangodb.internal.serde;
+
+import com.arangodb.ArangoDBException;
+import com.arangodb.ContentType;
+import com.arangodb.entity.CollectionType;
+import com.arangodb.model.AqlQueryOptions;
+import com.arangodb.model.CollectionCreateOptions;
+import com.arangodb.model.OptionsBuilder;
+import com.arangodb.model.StreamTransactionOptions;
+import com.arangodb.model.TransactionOptions;
+import com.arangodb.model.VertexCollectionRemoveOptions;
+import com.arangodb.model.arangosearch.ArangoSearchCreateOptions;
+import com.arangodb.serde.jackson.JacksonSerde;
+import com.arangodb.util.RawBytes;
+import com.arangodb.util.RawJson;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GeneratedSerializersTest {
+
+    private final ObjectMapper mapper = InternalMapperProvider.of(ContentType.JSON);
+    private final InternalSerde serde = new InternalSerdeImpl(mapper, JacksonSerde.of(ContentType.JSON), null);
+    private final ObjectMapper reference = referenceMapper(serde);
+
+    /**
+     * Jackson bean serialization with the configuration of {@link InternalSerdeImpl}, without generated serializers.
+     */
+    private static ObjectMapper referenceMapper(final InternalSerde serde) {
+        final ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new SimpleModule()
+                .addSerializer(RawJson.class, InternalSerializers.RAW_JSON_SERIALIZER)
+                .addSerializer(RawBytes.class, InternalSerializers.RAW_BYTES_SERIALIZER)
+                .addSerializer(CollectionType.class, InternalSerializers.COLLECTION_TYPE));
+        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        mapper.setAnnotationIntrospector(new InternalAnnotationIntrospector(
+                new UserDataSerializer(serde),
+                new UserDataDeserializer(serde)
+        ));
+        return mapper;
+    }
+
+    @Test
+    void usedByInternalSerde() throws Exception {
+        assertThat(mapper.getSerializerProviderInstance().findValueSerializer(AqlQueryOptions.class))
+                .isInstanceOf(GeneratedSerializer.class);
+        assertThat(mapper.getSerializerProviderInstance().findValueSerializer(
+                ArangoSearchCreateOptions.class)).isInstanceOf(GeneratedSerializer.class);
+    }
+
+    @Test
+    void subclassesLeftToJackson() throws Exception {
+        final VertexCollectionRemoveOptions options = new VertexCollectionRemoveOptions() {
+            @SuppressWarnings("unused")
+            public String getExtra() {
+                return "extra";
+            }
+        };
+        options.dropCollection(true);
+        assertThat(mapper.getSerializerProviderInstance().findValueSerializer(options.getClass()))
+                .isNotInstanceOf(GeneratedSerializer.class);
+        assertThat(tree(serde.serialize(options))).isEqualTo(tree(reference.writeValueAsBytes(options)));
+        assertThat(tree(serde.serialize(options)).get("extra").textValue()).isEqualTo("extra");
+    }
+
+    @Test
+    void sameAsJacksonForDefaultOptions() throws Exception {
+        for (Class<?> type : types()) {
+            final Object value = newInstance(type);
+            if (value != null) {
+                assertSameAsJackson(value);
+            }
+        }
+    }
+
+    @Test
+    void sameAsJacksonForPopulatedOptions() throws Exception {
+        for (Class<?> type : types()) {
+            final Object value = newInstance(type);
+            if (value != null) {
+                populate(value, 0);
+                assertSameAsJackson(value);
+            }
+        }
+    }
+
+    @Test
+    void userData() throws Exception {
+        final Map<String, Object> bindVars = new LinkedHashMap<>();
+        bindVars.put("a", Collections.singletonMap("b", 1));
+        bindVars.put("n", null);
+        bindVars.put("raw", RawJson.of("{\"c\":[1,2]}"));
+        final AqlQueryOptions aql = OptionsBuilder.build(new AqlQueryOptions(), "RETURN @a", bindVars);
+        final JsonNode node = assertSameAsJackson(aql);
+        assertThat(node.get("bindVars").toString()).isEqualTo("{\"a\":{\"b\":1},\"n\":null,\"raw\":{\"c\":[1,2]}}");
+
+        final TransactionOptions tx = new TransactionOptions().params(Arrays.asList("x", null));
+        assertThat(assertSameAsJackson(tx).get("params").toString()).isEqualTo("[\"x\",null]");
+    }
+
+    @Test
+    void ignoredAndCustomProperties() throws Exception {
+        final JsonNode stream = assertSameAsJackson(
+                new StreamTransactionOptions().allowDirtyRead(true).lockTimeout(3));
+        assertThat(stream.has("allowDirtyRead")).isFalse();
+        assertThat(stream.get("lockTimeout").intValue()).isEqualTo(3);
+
+        final JsonNode collection = assertSameAsJackson(new CollectionCreateOptions().type(CollectionType.EDGES));
+        assertThat(collection.get("type").intValue()).isEqualTo(3);
+    }
+
+    private JsonNode assertSameAsJackson(final Object value) throws Exception {
+        final byte[] expected;
+        try {
+            expected = reference.writeValueAsBytes(value);
+        } catch (JsonMappingException e) {
+            assertThatThrownBy(() -> serde.serialize(value)).as(value.getClass().getName())
+                    .isInstanceOf(ArangoDBException.class);
+            return null;
+        }
+        final JsonNode actual = tree(serde.serialize(value));
+        assertThat(actual).as(value.getClass().getName()).isEqualTo(tree(expected));
+        return actual;
+    }
+
+    private JsonNode tree(final byte[] bytes) throws Exception {
+        return reference.readTree(bytes);
+    }
+
+    private static List<Class<?>> types() {
+        final List<Class<?>> types = new ArrayList<>(new GeneratedSerializers().getTypes());
+        types.sort(Comparator.comparing(Class::getName));
+        assertThat(types).contains(AqlQueryOptions.class, AqlQueryOptions.Options.class,
+                ArangoSearchCreateOptions.class);
+        return types;
+    }
+
+    private static Object newInstance(final Class<?> type) throws Exception {
+        try {
+            return type.getConstructor().newInstance();
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Invokes the public single argument methods, i.e. the fluent setters, with sample values.
+     */
+    private static void populate(final Object value, final int depth) throws IllegalAccessException {
+        final List<Method> methods = new ArrayList<>(Arrays.asList(value.getClass().getMethods()));
+        methods.sort(Comparator.comparing(Method::toGenericString));
+        for (Method m : methods) {
+            if (Modifier.isStatic(m.getModifiers()) || m.getParameterCount() != 1
+                    || m.getDeclaringClass() == Object.class) {
+                continue;
+            }
+            try {
+                m.invoke(value, sample(m.getGenericParameterTypes()[0], depth));
+            } catch (InvocationTargetException | IllegalArgumentException e) {
+                // rejected by the options validation
+            }
+        }
+    }
+
+    private static Object sample(final Type type, final int depth) throws IllegalAccessException {
+        final Class<?> raw = raw(type);
+        if (raw == String.class || raw == Object.class) {
+            return "s";
+        } else if (raw == Boolean.class || raw == boolean.class) {
+            return true;
+        } else if (raw == Integer.class || raw == int.class) {
+            return 1;
+        } else if (raw == Long.class || raw == long.class) {
+            return 2L;
+        } else if (raw == Double.class || raw == double.class) {
+            return 0.5;
+        } else if (raw == Float.class || raw == float.class) {
+            return 1.5f;
+        } else if (raw == Short.class || raw == short.class) {
+            return (short) 3;
+        } else if (raw.isEnum()) {
+            return raw.getEnumConstants()[0];
+        } else if (raw.isArray()) {
+            final Object array = Array.newInstance(raw.getComponentType(), 1);
+            Array.set(array, 0, sample(raw.getComponentType(), depth));
+            return array;
+        } else if (Set.class.isAssignableFrom(raw)) {
+            return new LinkedHashSet<>(Collections.singleton(sample(typeArgument(type, 0), depth)));
+        } else if (Collection.class.isAssignableFrom(raw) || raw == Iterable.class) {
+            return new ArrayList<>(Collections.singleton(sample(typeArgument(type, 0), depth)));
+        } else if (Map.class.isAssignableFrom(raw)) {
+            final Map<Object, Object> map = new HashMap<>();
+            map.put("k", sample(typeArgument(type, 1), depth));
+            map.put("n", null);
+            return map;
+        } else if (depth < 3) {
+            try {
+                final Object value = newInstance(raw);
+                if (value != null) {
+                    populate(value, depth + 1);
+                }
+                return value;
+            } catch (Exception e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static Type typeArgument(final Type type, final int index) {
+        if (type instanceof ParameterizedType) {
+            final Type[] args = ((ParameterizedType) type).getActualTypeArguments();
+            return args.length > index ? args[index] : Object.class;
+        }
+        return Object.class;
+    }
+
+    private static Class<?> raw(final Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        } else if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        } else if (type instanceof WildcardType) {
+            return raw(((WildcardType) type).getUpperBounds()[0]);
+        }
+        return Object.class;
+    }
+
+}
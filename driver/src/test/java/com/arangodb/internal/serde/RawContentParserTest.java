@@ -0,0 +1,39 @@
+package com.arangodb.internal.serde;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonToken;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RawContentParserTest {
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    @Test
+    void readValuesOfSliceAtNonZeroOffset() throws IOException {
+        String prefix = "garbage[";
+        String json = "{\"a\":{\"b\":[1,2]},\"c\":\"é\",\"d\":3}";
+        byte[] content = (prefix + json + "]trailing").getBytes(StandardCharsets.UTF_8);
+        int offset = prefix.length();
+        int length = json.getBytes(StandardCharsets.UTF_8).length;
+
+        try (RawContentParser p = new RawContentParser(FACTORY.createParser(content, offset, length), content, offset)) {
+            assertThat(p.nextToken()).isEqualTo(JsonToken.START_OBJECT);
+            assertThat(p.nextFieldName()).isEqualTo("a");
+            p.nextToken();
+            assertThat(new String(p.readValueAsBytes(), StandardCharsets.UTF_8)).isEqualTo("{\"b\":[1,2]}");
+            assertThat(p.nextFieldName()).isEqualTo("c");
+            p.nextToken();
+            assertThat(p.readValueAsString()).isEqualTo("\"é\"");
+            assertThat(p.nextFieldName()).isEqualTo("d");
+            p.nextToken();
+            assertThat(p.readValueAsString()).isEqualTo("3");
+            assertThat(p.nextToken()).isEqualTo(JsonToken.END_OBJECT);
+        }
+    }
+
+}
@@ -0,0 +1,139 @@
+package com.arangodb.internal.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AttributeMapTest {
+
+    @Test
+    void mapContract() {
+        AttributeMap.Shapes shapes = new AttributeMap.Shapes();
+        AttributeMap map = new AttributeMap();
+        Map<String, Object> expected = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            map.put(shapes, "k" + i, i);
+            expected.put("k" + i, i);
+        }
+        assertThat(map.shape()).isNotNull();
+        assertThat(map.put("k3", "x")).isEqualTo(3);
+        expected.put("k3", "x");
+        assertThat(map.remove("k5")).isEqualTo(5);
+        expected.remove("k5");
+        map.put(null, "null");
+        expected.put(null, "null");
+        assertThat(map).isEqualTo(expected).hasSameHashCodeAs(expected);
+        assertThat(map.get("k5")).isNull();
+        assertThat(map.get(null)).isEqualTo("null");
+        assertThat(map.keySet()).startsWith("k0", "k1", "k2", "k3", "k4", "k6");
+
+        Iterator<Map.Entry<String, Object>> it = map.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Object> e = it.next();
+            if ("k0".equals(e.getKey())) {
+                e.setValue("y");
+            } else if (e.getValue() instanceof Integer && (Integer) e.getValue() % 2 == 0) {
+                it.remove();
+            }
+        }
+        assertThat(map.get("k0")).isEqualTo("y");
+        assertThat(map).containsOnlyKeys("k0", "k1", "k3", "k7", "k9", "k11", "k13", "k15", "k17", "k19", null);
+
+        map.clear();
+        assertThat(map).isEmpty();
+    }
+
+    @Test
+    void ownedNamesWithoutTable() {
+        AttributeMap map = new AttributeMap();
+        map.put("a", 1);
+        map.put("b", 2);
+        assertThat(map.shape()).isNull();
+        assertThat(map).containsEntry("a", 1).containsEntry("b", 2);
+    }
+
+    @Test
+    void sharedShapes() {
+        AttributeMap.Shapes shapes = new AttributeMap.Shapes();
+        AttributeMap a = new AttributeMap();
+        AttributeMap b = new AttributeMap();
+        for (AttributeMap m : new AttributeMap[]{a, b}) {
+            m.put(shapes, "_key", "k");
+            m.put(shapes, "name", "n");
+            m.put(shapes, "value", 1);
+        }
+        assertThat(a.shape()).isNotNull().isSameAs(b.shape());
+
+        b.remove("name");
+        assertThat(b.shape()).isNull();
+        assertThat(a).containsOnlyKeys("_key", "name", "value");
+        assertThat(b).containsOnlyKeys("_key", "value");
+
+        // modified after the deserialization, without the table
+        a.put("added", true);
+        assertThat(a.shape()).isNull();
+        assertThat(a.keySet()).containsExactly("_key", "name", "value", "added");
+    }
+
+    @Test
+    void tablesAreIndependent() {
+        AttributeMap a = new AttributeMap();
+        AttributeMap b = new AttributeMap();
+        a.put(new AttributeMap.Shapes(), "_key", "k");
+        b.put(new AttributeMap.Shapes(), "_key", "k");
+        assertThat(a.shape()).isNotNull();
+        assertThat(b.shape()).isNotNull().isNotSameAs(a.shape());
+    }
+
+    @Test
+    void branchingShapes() {
+        AttributeMap.Shapes shapes = new AttributeMap.Shapes();
+        AttributeMap a = new AttributeMap();
+        AttributeMap b = new AttributeMap();
+        AttributeMap c = new AttributeMap();
+        for (int i = 0; i < 20; i++) {
+            a.put(shapes, "k" + i, i);
+            b.put(shapes, i < 10 ? "k" + i : "x" + i, i);
+            c.put(shapes, "k" + i, i);
+        }
+        assertThat(a.shape()).isSameAs(c.shape());
+        assertThat(b.shape()).isNotNull().isNotSameAs(a.shape());
+        for (int i = 0; i < 20; i++) {
+            assertThat(a.get("k" + i)).isEqualTo(i);
+            assertThat(b.get(i < 10 ? "k" + i : "x" + i)).isEqualTo(i);
+        }
+        assertThat(a.containsKey("x15")).isFalse();
+        assertThat(b.containsKey("k15")).isFalse();
+
+        // prefix of a longer shape
+        AttributeMap d = new AttributeMap();
+        for (int i = 0; i < 12; i++) {
+            d.put(shapes, "k" + i, i);
+        }
+        assertThat(d.containsKey("k12")).isFalse();
+        assertThat(d).hasSize(12);
+    }
+
+    @Test
+    void boundedShapes() {
+        AttributeMap.Shapes shapes = new AttributeMap.Shapes();
+        for (int i = 0; i < AttributeMap.Shapes.MAX_SHAPES; i++) {
+            AttributeMap map = new AttributeMap();
+            map.put(shapes, "a" + i, i);
+            assertThat(map.shape()).isNotNull();
+        }
+        AttributeMap map = new AttributeMap();
+        map.put(shapes, "other", 1);
+        assertThat(map.shape()).isNull();
+        assertThat(map).containsEntry("other", 1);
+
+        AttributeMap existing = new AttributeMap();
+        existing.put(shapes, "a0", 0);
+        assertThat(existing.shape()).isNotNull();
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.arangodb.internal.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimeUtilsTest {
+
+    @Test
+    void withJitter() {
+        for (int i = 0; i < 100; i++) {
+            assertThat(TimeUtils.withJitter(30_000L)).isBetween(27_000L, 30_000L);
+        }
+    }
+
+}
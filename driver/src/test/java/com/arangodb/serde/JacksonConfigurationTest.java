@@ -2,11 +2,17 @@ package com.arangodb.serde;
 
 import com.arangodb.ContentType;
 import com.arangodb.internal.serde.InternalSerdeProvider;
+import com.arangodb.serde.jackson.JacksonMapperProvider;
 import com.arangodb.serde.jackson.JacksonSerde;
 import com.arangodb.util.SlowTest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -45,6 +51,16 @@ public class JacksonConfigurationTest {
         assertThat(out).isEqualTo(in);
     }
 
+    @ParameterizedTest
+    @EnumSource(ContentType.class)
+    void mapperChangedAfterFirstUse(ContentType type) {
+        ObjectMapper mapper = JacksonMapperProvider.of(type);
+        ArangoSerde s = JacksonSerde.create(mapper);
+        Map<String, Date> doc = Collections.singletonMap("date", new Date(0));
+        assertThat(s.deserialize(s.serialize(doc), Map.class).get("date")).isEqualTo(0);
 
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        assertThat(s.deserialize(s.serialize(doc), Map.class).get("date")).isInstanceOf(String.class);
+    }
 
 }
@@ -1,22 +1,46 @@
 package com.arangodb.serde;
 
+import com.arangodb.ArangoDBException;
 import com.arangodb.ContentType;
+import com.arangodb.RequestContext;
 import com.arangodb.entity.BaseDocument;
+import com.arangodb.entity.BaseEdgeDocument;
+import com.arangodb.entity.CursorEntity;
+import com.arangodb.entity.ColumnarBatch;
+import com.arangodb.entity.DocumentCreateEntity;
+import com.arangodb.entity.ErrorEntity;
+import com.arangodb.entity.MultiDocumentEntity;
+import com.arangodb.internal.InternalResponse;
+import com.arangodb.internal.RequestContextHolder;
 import com.arangodb.internal.serde.InternalSerde;
 import com.arangodb.internal.serde.InternalSerdeProvider;
 import com.arangodb.internal.serde.SerdeUtils;
+import com.arangodb.model.AqlQueryOptions;
+import com.arangodb.model.OptionsBuilder;
+import com.arangodb.serde.jackson.JacksonSerde;
 import com.arangodb.util.RawBytes;
 import com.arangodb.util.RawJson;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 
+import java.lang.reflect.Type;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.assertj.core.api.Assertions.entry;
 
 
 class SerdeTest {
@@ -43,6 +67,58 @@ class SerdeTest {
         assertThat(deserialized).isEqualTo(raw);
     }
 
+    @ParameterizedTest
+    @EnumSource(ContentType.class)
+    void serializeEmptyRawValues(ContentType type) {
+        InternalSerde s = new InternalSerdeProvider(type).create();
+        List<Object> values = Arrays.asList(RawBytes.of(new byte[0]), Collections.singletonMap("a", 1));
+        assertThat(catchThrowable(() -> s.serializeCollectionUserData(values)))
+                .isInstanceOf(ArangoDBException.class)
+                .hasMessageContaining("Empty serialized value");
+        assertThat(catchThrowable(() -> s.serialize(RawBytes.of(new byte[0]))))
+                .isInstanceOf(ArangoDBException.class)
+                .hasMessageContaining("Empty serialized value");
+        if (type == ContentType.JSON) {
+            assertThat(catchThrowable(() -> s.serialize(RawJson.of(" \n"))))
+                    .isInstanceOf(ArangoDBException.class)
+                    .hasMessageContaining("Empty serialized value");
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(ContentType.class)
+    void deserializeNestedRawValues(ContentType type) {
+        InternalSerde s = new InternalSerdeProvider(type).create();
+        RawJson json = RawJson.of("{\"a\":{\"b\":[1,\"x\",{\"c\":null}]},\"d\":\"é\",\"e\":1.5}");
+        byte[] serialized = s.serialize(json);
+
+        Map<String, RawJson> rawJsons = s.deserialize(serialized,
+                SerdeUtils.constructParametricType(Map.class, String.class, RawJson.class));
+        assertThat(rawJsons.get("a").get()).isEqualTo("{\"b\":[1,\"x\",{\"c\":null}]}");
+        assertThat(rawJsons.get("d").get()).isEqualTo("\"é\"");
+        assertThat(rawJsons.get("e").get()).isEqualTo("1.5");
+
+        Map<String, RawBytes> rawBytes = s.deserialize(serialized,
+                SerdeUtils.constructParametricType(Map.class, String.class, RawBytes.class));
+        assertThat(s.deserialize(rawBytes.get("a").get(), RawJson.class)).isEqualTo(rawJsons.get("a"));
+        assertThat(s.deserialize(rawBytes.get("d").get(), String.class)).isEqualTo("é");
+    }
+
+    @Test
+    void parametricTypeEquality() {
+        Type type = SerdeUtils.constructParametricType(List.class, String.class);
+        Type jdkType = new TypeReference<List<String>>() {
+        }.getType();
+        assertThat(type)
+                .isEqualTo(SerdeUtils.constructParametricType(List.class, String.class))
+                .hasSameHashCodeAs(SerdeUtils.constructParametricType(List.class, String.class))
+                .isEqualTo(jdkType)
+                .hasSameHashCodeAs(jdkType)
+                .isNotEqualTo(SerdeUtils.constructParametricType(List.class, Integer.class))
+                .hasToString(jdkType.toString());
+        assertThat(jdkType).isEqualTo(type);
+    }
+
     @ParameterizedTest
     @EnumSource(ContentType.class)
     void deserializeBaseDocumentWithNestedProperties(ContentType type) {
@@ -56,6 +132,39 @@ class SerdeTest {
                 .containsEntry("foo", "bbb");
     }
 
+    @ParameterizedTest
+    @EnumSource(ContentType.class)
+    void deserializeCursorBatchOfBaseDocuments(ContentType type) {
+        InternalSerde s = new InternalSerdeProvider(type).create();
+        RawJson json = RawJson.of("{\"hasMore\":false,\"result\":[" +
+                "{\"_key\":\"a\",\"_from\":\"v/1\",\"_to\":\"v/2\",\"n\":1}," +
+                "{\"_key\":\"b\",\"_from\":\"v/2\",\"_to\":\"v/3\",\"n\":null,\"x\":[1]}," +
+                "null]}");
+        CursorEntity<BaseEdgeDocument> entity = s.deserialize(s.serialize(json),
+                SerdeUtils.constructParametricType(CursorEntity.class, BaseEdgeDocument.class));
+        List<BaseEdgeDocument> docs = entity.getResult();
+        assertThat(docs).hasSize(3);
+        assertThat(docs.get(0).getKey()).isEqualTo("a");
+        assertThat(docs.get(0).getFrom()).isEqualTo("v/1");
+        assertThat(docs.get(0).getProperties()).containsOnlyKeys("_key", "_from", "_to", "n");
+        assertThat(docs.get(1).getTo()).isEqualTo("v/3");
+        assertThat(docs.get(1).getProperties()).containsEntry("n", null).containsKey("x");
+        assertThat(docs.get(2)).isNull();
+
+        docs.get(0).addAttribute("added", true);
+        assertThat(docs.get(0).getProperties()).containsEntry("added", true);
+        assertThat(docs.get(1).getProperties()).doesNotContainKey("added");
+    }
+
+    @ParameterizedTest
+    @EnumSource(ContentType.class)
+    void deserializeBaseDocumentWithInvalidKey(ContentType type) {
+        InternalSerde s = new InternalSerdeProvider(type).create();
+        RawJson json = RawJson.of("{\"_key\":1}");
+        Throwable thrown = catchThrowable(() -> s.deserialize(s.serialize(json), BaseDocument.class));
+        assertThat(thrown).isInstanceOf(ArangoDBException.class).hasMessageContaining("_key must be a String");
+    }
+
     @ParameterizedTest
     @EnumSource(ContentType.class)
     void serializeBaseDocumentWithNestedProperties(ContentType type) {
@@ -69,4 +178,324 @@ class SerdeTest {
         assertThat(on.get("properties").get("foo").textValue()).isEqualTo("bbb");
     }
 
+    @ParameterizedTest
+    @EnumSource(ContentType.class)
+    void serializeUserDataInside(ContentType type) {
+        InternalSerde s = new InternalSerdeProvider(type).create(JacksonSerde.of(type), null);
+        BaseDocument doc = new BaseDocument("k");
+        doc.addAttribute("foo", "bar");
+        Map<String, Object> bindVars = new HashMap<>();
+        bindVars.put("doc", doc);
+        bindVars.put("list", Arrays.asList(1, "two", null));
+        bindVars.put("raw", RawJson.of("{\"a\": [1, 2]}"));
+        bindVars.put("empty", Collections.emptyMap());
+        byte[] ser = s.serialize(OptionsBuilder.build(new AqlQueryOptions().count(true), "RETURN 1", bindVars));
+
+        JsonNode node = s.parse(ser);
+        assertThat(node.get("query").textValue()).isEqualTo("RETURN 1");
+        assertThat(node.get("count").booleanValue()).isTrue();
+        JsonNode vars = node.get("bindVars");
+        assertThat(vars.get("doc").get("_key").textValue()).isEqualTo("k");
+        assertThat(vars.get("doc").get("foo").textValue()).isEqualTo("bar");
+        assertThat(vars.get("list")).hasSize(3);
+        assertThat(vars.get("list").get(1).textValue()).isEqualTo("two");
+        assertThat(vars.get("list").get(2).isNull()).isTrue();
+        assertThat(vars.get("raw").get("a").get(1).intValue()).isEqualTo(2);
+        assertThat(vars.get("empty").isEmpty()).isTrue();
+    }
+
+    @ParameterizedTest
+    @EnumSource(ContentType.class)
+    void serializeCollectionUserData(ContentType type) {
+        InternalSerde s = new InternalSerdeProvider(type).create(JacksonSerde.of(type), null);
+        BaseDocument doc = new BaseDocument("k");
+        doc.addAttribute("foo", "bar");
+        byte[] ser = s.serializeCollectionUserData(Arrays.asList(
+                doc, Collections.singletonMap("a", 1), null, RawJson.of("[1,2]"), "x"));
+        JsonNode node = s.parse(ser);
+        assertThat(node.isArray()).isTrue();
+        assertThat(node).hasSize(5);
+        assertThat(node.get(0).get("_key").textValue()).isEqualTo("k");
+        assertThat(node.get(0).get("foo").textValue()).isEqualTo("bar");
+        assertThat(node.get(1).get("a").intValue()).isEqualTo(1);
+        assertThat(node.get(2).isNull()).isTrue();
+        assertThat(node.get(3).get(1).intValue()).isEqualTo(2);
+        assertThat(node.get(4).textValue()).isEqualTo("x");
+        assertThat(s.parse(s.serializeCollectionUserData(Collections.emptyList()))).isEmpty();
+    }
+
+    @ParameterizedTest
+    @EnumSource(ContentType.class)
+    void deserializeMultiDocument(ContentType type) {
+        InternalSerde s = new InternalSerdeProvider(type).create(JacksonSerde.of(type), null);
+        RawJson json = RawJson.of("[" +
+                "{\"_key\":\"a\",\"_id\":\"c/a\",\"_rev\":\"1\",\"new\":{\"_key\":\"a\",\"foo\":\"bar\"}}," +
+                "{\"errorNum\":1210,\"errorMessage\":\"unique constraint violated\",\"error\":true}," +
+                "{\"_key\":\"b\",\"error\":false,\"nested\":{\"error\":true}}" +
+                "]");
+        MultiDocumentEntity<DocumentCreateEntity<Map>> entity = RequestContextHolder.INSTANCE.runWithCtx(
+                RequestContext.EMPTY, () -> s.deserializeMultiDocument(s.serialize(json),
+                        SerdeUtils.constructParametricType(DocumentCreateEntity.class, Map.class)));
+        assertThat(entity.getDocuments()).hasSize(2);
+        assertThat(entity.getErrors()).hasSize(1);
+        assertThat(entity.getDocumentsAndErrors()).hasSize(3);
+        DocumentCreateEntity<Map> first = entity.getDocuments().get(0);
+        assertThat(first.getKey()).isEqualTo("a");
+        assertThat(first.getNew()).containsEntry("foo", "bar");
+        assertThat(entity.getDocuments().get(1).getKey()).isEqualTo("b");
+        assertThat(entity.getErrors().get(0).getErrorNum()).isEqualTo(1210);
+        assertThat(entity.getDocumentsAndErrors().get(1)).isInstanceOf(ErrorEntity.class);
+    }
+
+    @ParameterizedTest
+    @EnumSource(ContentType.class)
+    void deserializeUserDataMultiDocument(ContentType type) {
+        InternalSerde s = new InternalSerdeProvider(type).create(JacksonSerde.of(type), null);
+        RawJson json = RawJson.of("[{\"_key\":\"a\",\"foo\":\"bar\"},{\"error\":true,\"errorNum\":1202}," +
+                "{\"_key\":\"c\",\"foo\":\"baz\"}]");
+        MultiDocumentEntity<Map> entity = RequestContextHolder.INSTANCE.runWithCtx(RequestContext.EMPTY, () ->
+                s.deserializeUserDataMultiDocument(s.serialize(json), Map.class));
+        assertThat(entity.getDocuments()).hasSize(2);
+        assertThat(entity.getDocuments().get(0)).containsEntry("foo", "bar");
+        assertThat(entity.getDocuments().get(1)).containsEntry("_key", "c");
+        assertThat(entity.getErrors()).hasSize(1);
+        assertThat(entity.getErrors().get(0).getErrorNum()).isEqualTo(1202);
+
+        MultiDocumentEntity<BaseDocument> docs = s.deserializeUserDataMultiDocument(s.serialize(json), BaseDocument.class);
+        assertThat(docs.getDocuments()).extracting(BaseDocument::getKey).containsExactly("a", "c");
+        assertThat(docs.getDocuments().get(1).getAttribute("foo")).isEqualTo("baz");
+    }
+
+    @ParameterizedTest
+    @EnumSource(ContentType.class)
+    void deserializeUserDataWithProjection(ContentType type) {
+        InternalSerde s = new InternalSerdeProvider(type).create(JacksonSerde.of(type), null);
+        RawJson doc = RawJson.of("{\"_key\":\"a\",\"foo\":\"bar\",\"nested\":{\"x\":[1,2,{\"y\":3}]},\"n\":1}");
+        RawJson json = RawJson.of("[" + doc.get() + ",{\"error\":true,\"errorNum\":1202},\"notAnObject\"]");
+        RequestContextHolder.INSTANCE.runWithCtx(RequestContext.EMPTY, () -> {
+            Map<String, Object> single = s.deserializeUserData(s.serialize(doc), Map.class, Arrays.asList("_key", "nested"));
+            assertThat(single).containsOnlyKeys("_key", "nested");
+            assertThat(single.get("nested")).isEqualTo(Collections.singletonMap("x", Arrays.asList(1, 2,
+                    Collections.singletonMap("y", 3))));
+
+            MultiDocumentEntity<Object> multi = s.deserializeUserDataMultiDocument(s.serialize(json), Object.class,
+                    Collections.singletonList("n"));
+            assertThat(multi.getDocuments()).containsExactly(Collections.singletonMap("n", 1), "notAnObject");
+            assertThat(multi.getErrors()).hasSize(1);
+
+            BaseDocument baseDoc = s.deserializeUserData(s.serialize(doc), BaseDocument.class,
+                    Collections.singletonList("foo"));
+            assertThat(baseDoc.getKey()).isNull();
+            assertThat(baseDoc.getProperties()).containsOnlyKeys("foo");
+            return null;
+        });
+    }
+
+    @ParameterizedTest
+    @EnumSource(ContentType.class)
+    void deserializeUserDataOfParameterizedType(ContentType type) {
+        InternalSerde s = new InternalSerdeProvider(type).create(JacksonSerde.of(type), null);
+        byte[] bytes = s.serialize(RawJson.of("{\"a\":[1,2]}"));
+        Type target = SerdeUtils.constructParametricType(Map.class, String.class, List.class);
+        RequestContextHolder.INSTANCE.runWithCtx(RequestContext.EMPTY, () -> {
+            Map<String, List<Integer>> res = s.deserializeUserData(bytes, target);
+            assertThat(res).containsOnly(entry("a", Arrays.asList(1, 2)));
+
+            InternalSerde classOnly = new InternalSerdeProvider(type).create(new ArangoSerde() {
+                @Override
+                public byte[] serialize(Object value) {
+                    return s.serialize(value);
+                }
+
+                @Override
+                public <T> T deserialize(byte[] content, Class<T> clazz) {
+                    return s.deserialize(content, clazz);
+                }
+            }, null);
+            assertThat(classOnly.<Map<String, Object>>deserializeUserData(bytes, (Type) Map.class)).containsKey("a");
+            assertThat(catchThrowable(() -> classOnly.deserializeUserData(bytes, target)))
+                    .isInstanceOf(UnsupportedOperationException.class);
+            return null;
+        });
+    }
+
+    @ParameterizedTest
+    @EnumSource(ContentType.class)
+    void deserializeCursorBatchWithProjection(ContentType type) {
+        InternalSerde s = new InternalSerdeProvider(type).create(JacksonSerde.of(type), null);
+        RawJson json = RawJson.of("{\"hasMore\":false,\"result\":[{\"_key\":\"a\",\"foo\":\"bar\",\"nested\":{\"x\":1}}," +
+                "{\"_key\":\"b\",\"foo\":\"baz\"},null]}");
+        RequestContextHolder.INSTANCE.runWithCtx(RequestContext.EMPTY, () -> {
+            CursorEntity<Map<String, Object>> maps = s.deserialize(s.serialize(json),
+                    SerdeUtils.constructParametricType(CursorEntity.class, Map.class), Arrays.asList("_key", "nested"));
+            assertThat(maps.getResult()).hasSize(3);
+            assertThat(maps.getResult().get(0)).containsOnlyKeys("_key", "nested");
+            assertThat(maps.getResult().get(1)).containsOnlyKeys("_key");
+            assertThat(maps.getResult().get(2)).isNull();
+
+            CursorEntity<BaseDocument> docs = s.deserialize(s.serialize(json),
+                    SerdeUtils.constructParametricType(CursorEntity.class, BaseDocument.class),
+                    Collections.singletonList("foo"));
+            assertThat(docs.getResult()).hasSize(3);
+            assertThat(docs.getResult().get(0).getKey()).isNull();
+            assertThat(docs.getResult().get(2)).isNull();
+            assertThat(docs.getResult().get(0).getProperties()).containsOnly(entry("foo", "bar"));
+            assertThat(docs.getResult().get(1).getProperties()).containsOnly(entry("foo", "baz"));
+
+            CursorEntity<BaseDocument> all = s.deserialize(s.serialize(json),
+                    SerdeUtils.constructParametricType(CursorEntity.class, BaseDocument.class), (List<String>) null);
+            assertThat(all.getResult().get(0).getKey()).isEqualTo("a");
+            assertThat(all.getResult().get(0).getProperties()).containsOnlyKeys("_key", "foo", "nested");
+            return null;
+        });
+    }
+
+    @Test
+    void getProjection() {
+        InternalSerde s = new InternalSerdeProvider(ContentType.JSON).create();
+        assertThat(s.getProjection(ProjectedPojo.class)).containsExactlyInAnyOrder("_key", "name", "n");
+        assertThat(s.getProjection(ProjectedPojo.class)).isSameAs(s.getProjection(ProjectedPojo.class));
+    }
+
+    static class ProjectedPojo {
+        @JsonProperty("_key")
+        public String key;
+        public String name;
+        private int n;
+
+        public int getN() {
+            return n;
+        }
+
+        public void setN(int n) {
+            this.n = n;
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(ContentType.class)
+    void deserializeResponseMeta(ContentType type) {
+        InternalSerde s = new InternalSerdeProvider(type).create();
+        RawJson json = RawJson.of("[1,2,200,{\"X-Arango-Queue-Time-Seconds\":\"0.5\",\"Content-Type\":\"x\"}]");
+        InternalResponse response = s.deserialize(s.serialize(json), InternalResponse.class);
+        assertThat(response.getResponseCode()).isEqualTo(200);
+        assertThat(response.getMeta(InternalResponse.META_QUEUE_TIME_SECONDS)).isEqualTo("0.5");
+        assertThat(response.getMeta("content-TYPE")).isEqualTo("x");
+        assertThat(response.getMeta()).containsOnlyKeys("x-arango-queue-time-seconds", "content-type");
+
+        InternalResponse noMeta = s.deserialize(s.serialize(RawJson.of("[1,2,404]")), InternalResponse.class);
+        assertThat(noMeta.getResponseCode()).isEqualTo(404);
+        assertThat(noMeta.getMeta()).isEmpty();
+    }
+
+    @Test
+    void responseMetaView() {
+        InternalResponse response = new InternalResponse();
+        Map<String, String> view = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        view.put("x-arango-potential-dirty-read", "true");
+        response.setMeta(view);
+        assertThat(response.getMeta("X-Arango-Potential-Dirty-Read")).isEqualTo("true");
+        response.putMeta("X-Arango-Endpoint", "tcp://foo");
+        assertThat(response.containsMeta(InternalResponse.META_ENDPOINT)).isTrue();
+        assertThat(response.getMeta(InternalResponse.META_POTENTIAL_DIRTY_READ)).isEqualTo("true");
+        assertThat(view).hasSize(1);
+    }
+
+    @ParameterizedTest
+    @EnumSource(ContentType.class)
+    void deserializeColumnarBatchFromArrayRows(ContentType type) {
+        InternalSerde s = new InternalSerdeProvider(type).create();
+        RawJson json = RawJson.of("[[1,1.5,\"a\"],[2,2,\"b\"],[3,null,\"a\"],[4]]");
+        ColumnarBatch batch = s.deserialize(s.serialize(json), ColumnarBatch.class);
+        assertThat(batch.size()).isEqualTo(4);
+        assertThat(batch.getColumns()).hasSize(3);
+
+        ColumnarBatch.Column ts = batch.getColumn(0);
+        assertThat(ts.getType()).isEqualTo(ColumnarBatch.ColumnType.LONG);
+        assertThat(ts.getLongs()).containsExactly(1L, 2L, 3L, 4L);
+
+        ColumnarBatch.Column value = batch.getColumn(1);
+        assertThat(value.getType()).isEqualTo(ColumnarBatch.ColumnType.DOUBLE);
+        assertThat(value.getDoubles()).containsExactly(1.5, 2.0, 0.0, 0.0);
+        assertThat(value.isNull(2)).isTrue();
+        assertThat(value.isNull(3)).isTrue();
+
+        ColumnarBatch.Column tag = batch.getColumn(2);
+        assertThat(tag.getType()).isEqualTo(ColumnarBatch.ColumnType.STRING);
+        assertThat(tag.getDictionary()).containsExactly("a", "b");
+        assertThat(tag.getCodes()).containsExactly(0, 1, 0, -1);
+        assertThat(tag.getString(2)).isEqualTo("a");
+        assertThat(tag.getString(3)).isNull();
+    }
+
+    @ParameterizedTest
+    @EnumSource(ContentType.class)
+    void deserializeColumnarBatchFromObjectRows(ContentType type) {
+        InternalSerde s = new InternalSerdeProvider(type).create();
+        RawJson json = RawJson.of("[{\"a\":1,\"b\":\"x\"},{\"b\":\"y\",\"c\":2.5},null]");
+        ColumnarBatch batch = s.deserialize(s.serialize(json), ColumnarBatch.class);
+        assertThat(batch.size()).isEqualTo(3);
+        assertThat(batch.getColumn("a").getLongs()).containsExactly(1L, 0L, 0L);
+        assertThat(batch.getColumn("a").isNull(1)).isTrue();
+        assertThat(batch.getColumn("b").getString(1)).isEqualTo("y");
+        assertThat(batch.getColumn("c").getDouble(1)).isEqualTo(2.5);
+        assertThat(batch.getColumn("c").isNull(0)).isTrue();
+        assertThat(batch.getColumn("d")).isNull();
+    }
+
+    @ParameterizedTest
+    @EnumSource(ContentType.class)
+    void deserializeColumnarBatchFromScalarRows(ContentType type) {
+        InternalSerde s = new InternalSerdeProvider(type).create();
+        RawJson json = RawJson.of("[1,2,null,3]");
+        ColumnarBatch batch = s.deserialize(s.serialize(json), ColumnarBatch.class);
+        assertThat(batch.getColumns()).hasSize(1);
+        assertThat(batch.getColumn(0).getLongs()).containsExactly(1L, 2L, 0L, 3L);
+        assertThat(batch.getColumn(0).isNull(2)).isTrue();
+    }
+
+    @ParameterizedTest
+    @EnumSource(ContentType.class)
+    void deserializeColumnarBatchWithMixedTypes(ContentType type) {
+        InternalSerde s = new InternalSerdeProvider(type).create();
+        RawJson json = RawJson.of("[[1],[\"a\"]]");
+        Throwable thrown = catchThrowable(() -> s.deserialize(s.serialize(json), ColumnarBatch.class));
+        assertThat(thrown).isInstanceOf(ArangoDBException.class);
+    }
+
+    @ParameterizedTest
+    @EnumSource(ContentType.class)
+    void deserializeColumnarBatchWithLeadingNullRows(ContentType type) {
+        InternalSerde s = new InternalSerdeProvider(type).create();
+        ColumnarBatch arrays = s.deserialize(s.serialize(RawJson.of("[null,[1,2]]")), ColumnarBatch.class);
+        assertThat(arrays.size()).isEqualTo(2);
+        assertThat(arrays.getColumns()).hasSize(2);
+        assertThat(arrays.getColumn(0).isNull(0)).isTrue();
+        assertThat(arrays.getColumn(0).getLongs()).containsExactly(0L, 1L);
+        assertThat(arrays.getColumn(1).getLongs()).containsExactly(0L, 2L);
+
+        ColumnarBatch objects = s.deserialize(s.serialize(RawJson.of("[null,null,{\"a\":1}]")), ColumnarBatch.class);
+        assertThat(objects.size()).isEqualTo(3);
+        assertThat(objects.getColumn("a").getLongs()).containsExactly(0L, 0L, 1L);
+        assertThat(objects.getColumn("a").isNull(1)).isTrue();
+
+        ColumnarBatch scalars = s.deserialize(s.serialize(RawJson.of("[null,\"x\"]")), ColumnarBatch.class);
+        assertThat(scalars.getColumn(0).getCodes()).containsExactly(-1, 0);
+
+        ColumnarBatch nulls = s.deserialize(s.serialize(RawJson.of("[null,null]")), ColumnarBatch.class);
+        assertThat(nulls.size()).isEqualTo(2);
+        assertThat(nulls.getColumns()).hasSize(1);
+        assertThat(nulls.getColumn(0).getType()).isEqualTo(ColumnarBatch.ColumnType.NULL);
+    }
+
+    @ParameterizedTest
+    @EnumSource(ContentType.class)
+    void deserializeColumnarBatchWithDuplicateAttributes(ContentType type) {
+        InternalSerde s = new InternalSerdeProvider(type).create();
+        RawJson json = RawJson.of("[{\"a\":1,\"a\":2},{\"a\":3}]");
+        Throwable thrown = catchThrowable(() -> s.deserialize(s.serialize(json), ColumnarBatch.class));
+        assertThat(thrown).isInstanceOf(ArangoDBException.class);
+        assertThat(thrown.getCause()).hasMessageContaining("Duplicate attribute 'a'");
+    }
+
 }
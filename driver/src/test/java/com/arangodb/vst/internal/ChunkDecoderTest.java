@@ -0,0 +1,83 @@
+package com.arangodb.vst.internal;
+
+import com.arangodb.ContentType;
+import com.arangodb.internal.serde.InternalSerde;
+import com.arangodb.internal.serde.InternalSerdeProvider;
+import com.arangodb.util.RawJson;
+import io.netty.buffer.CompositeByteBuf;
+import io.vertx.core.buffer.Buffer;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChunkDecoderTest {
+
+    private final InternalSerde serde = new InternalSerdeProvider(ContentType.VPACK).create();
+    private final byte[] head = serde.serialize(RawJson.of("{\"version\":1,\"type\":2,\"responseCode\":200}"));
+    private final byte[] body = serde.serialize(RawJson.of("{\"foo\":\"bar\",\"baz\":[1,2,3]}"));
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 3, 7, 16, 24, 1000})
+    void decodeFragmentedStream(int fragmentSize) throws Exception {
+        MessageStore messageStore = new MessageStore();
+        CompletableFuture<Message> first = new CompletableFuture<>();
+        CompletableFuture<Message> second = new CompletableFuture<>();
+        messageStore.storeMessage(1L, first, 0L);
+        messageStore.storeMessage(2L, second, 0L);
+
+        Buffer stream = Buffer.buffer();
+        encode(stream, 1L, 10);
+        encode(stream, 2L, 1000);
+
+        ChunkDecoder decoder = new ChunkDecoder(new ChunkStore(messageStore));
+        for (int i = 0; i < stream.length(); i += fragmentSize) {
+            decoder.decode(stream.getBuffer(i, Math.min(i + fragmentSize, stream.length())));
+        }
+
+        for (CompletableFuture<Message> task : Arrays.asList(first, second)) {
+            assertThat(task.isDone()).isTrue();
+            Message message = task.get();
+            assertThat(message.getHead().toByteArray()).isEqualTo(head);
+            assertThat(message.getBody().toByteArray()).isEqualTo(body);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 16, 1000})
+    void decodeEncoded(int chunkSize) throws Exception {
+        MessageStore messageStore = new MessageStore();
+        CompletableFuture<Message> future = new CompletableFuture<>();
+        messageStore.storeMessage(3L, future, 0L);
+
+        Message message = new Message(3L, head, body);
+        CompositeByteBuf encoded = ChunkEncoder.encode(message, ChunkEncoder.buildChunks(message, chunkSize));
+        new ChunkDecoder(new ChunkStore(messageStore)).decode(Buffer.buffer(encoded));
+        assertThat(encoded.release()).isTrue();
+
+        assertThat(future.get().getHead().toByteArray()).isEqualTo(head);
+        assertThat(future.get().getBody().toByteArray()).isEqualTo(body);
+    }
+
+    private void encode(Buffer stream, long messageId, int chunkSize) {
+        Buffer content = Buffer.buffer().appendBytes(head).appendBytes(body);
+        int chunks = (content.length() + chunkSize - 1) / chunkSize;
+        for (int i = 0; i < chunks; i++) {
+            int offset = i * chunkSize;
+            int length = Math.min(chunkSize, content.length() - offset);
+            Chunk chunk = new Chunk(messageId, i, chunks, chunks > 1 && i == 0 ? content.length() : -1L, offset, length);
+            int headerSize = chunk.getMessageLength() > -1L ? 24 : 16;
+            stream.appendIntLE(headerSize + length)
+                    .appendIntLE(chunk.getChunkX())
+                    .appendLongLE(messageId);
+            if (chunk.getMessageLength() > -1L) {
+                stream.appendLongLE(chunk.getMessageLength());
+            }
+            stream.appendBuffer(content, offset, length);
+        }
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.arangodb.vst.internal;
+
+import com.arangodb.ContentType;
+import com.arangodb.internal.serde.InternalSerde;
+import com.arangodb.internal.serde.InternalSerdeProvider;
+import com.arangodb.util.RawJson;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChunkStoreTest {
+
+    private final InternalSerde serde = new InternalSerdeProvider(ContentType.VPACK).create();
+    private final byte[] head = serde.serialize(RawJson.of("{\"version\":1,\"type\":2,\"responseCode\":200}"));
+    private final byte[] body = serde.serialize(RawJson.of("{\"foo\":\"bar\",\"baz\":[1,2,3]}"));
+
+    @Test
+    void singleChunk() throws Exception {
+        Message message = receive(head.length + body.length);
+        assertThat(message.getHead().getBuffer()).isEqualTo(head);
+        assertThat(message.getBody().getBuffer()).isEqualTo(body);
+    }
+
+    @Test
+    void headSplitFromBody() throws Exception {
+        Message message = receive(head.length + 3);
+        assertThat(message.getHead().getBuffer()).isEqualTo(head);
+        assertThat(message.getBody().getStart()).isZero();
+        assertThat(message.getBody().getBuffer()).isEqualTo(body);
+    }
+
+    @Test
+    void headSpanningChunks() throws Exception {
+        Message message = receive(head.length - 2);
+        assertThat(message.getHead().toByteArray()).isEqualTo(head);
+        assertThat(message.getBody().toByteArray()).isEqualTo(body);
+    }
+
+    @Test
+    void headOnly() throws Exception {
+        MessageStore messageStore = new MessageStore();
+        CompletableFuture<Message> task = new CompletableFuture<>();
+        messageStore.storeMessage(1L, task, 0L);
+        ChunkStore chunkStore = new ChunkStore(messageStore);
+        chunkStore.storeChunk(new Chunk(1L, 0, 1, -1L, 0, head.length)).put(head);
+        chunkStore.checkCompleteness(1L);
+        Message message = task.get();
+        assertThat(message.getHead().getBuffer()).isEqualTo(head);
+        assertThat(message.getBody()).isNull();
+    }
+
+    private Message receive(int chunkSize) throws Exception {
+        byte[] content = new byte[head.length + body.length];
+        System.arraycopy(head, 0, content, 0, head.length);
+        System.arraycopy(body, 0, content, head.length, body.length);
+        int chunks = (content.length + chunkSize - 1) / chunkSize;
+
+        MessageStore messageStore = new MessageStore();
+        CompletableFuture<Message> task = new CompletableFuture<>();
+        messageStore.storeMessage(1L, task, 0L);
+        ChunkStore chunkStore = new ChunkStore(messageStore);
+        for (int i = 0; i < chunks; i++) {
+            int offset = i * chunkSize;
+            int length = Math.min(chunkSize, content.length - offset);
+            long messageLength = chunks > 1 && i == 0 ? content.length : -1L;
+            ByteBuffer buffer = chunkStore.storeChunk(new Chunk(1L, i, chunks, messageLength, offset, length));
+            buffer.put(content, offset, length);
+            chunkStore.checkCompleteness(1L);
+            assertThat(task.isDone()).isEqualTo(i == chunks - 1);
+        }
+        return task.get();
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.arangodb.vst.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class MessageStoreTest {
+
+    private final byte[] head = new byte[]{0x18};
+
+    @Test
+    void consume() throws Exception {
+        MessageStore store = new MessageStore();
+        CompletableFuture<Message> future = new CompletableFuture<>();
+        store.storeMessage(-1L, future, 0L);
+        assertThat(store.isEmpty()).isFalse();
+        store.consume(new Message(2L, head, null));
+        assertThat(future).isNotDone();
+        store.consume(new Message(-1L, head, null));
+        assertThat(future.get().getId()).isEqualTo(-1L);
+        assertThat(store.isEmpty()).isTrue();
+    }
+
+    @Test
+    void collidingIds() throws Exception {
+        MessageStore store = new MessageStore();
+        CompletableFuture<Message> first = new CompletableFuture<>();
+        CompletableFuture<Message> second = new CompletableFuture<>();
+        CompletableFuture<Message> third = new CompletableFuture<>();
+        store.storeMessage(1L, first, 0L);
+        store.storeMessage(1L + 1024, second, 0L);
+        store.storeMessage(1L + 2048, third, 0L);
+
+        store.consume(new Message(1L + 2048, head, null));
+        store.consume(new Message(1L, head, null));
+        assertThat(first.get().getId()).isEqualTo(1L);
+        assertThat(second).isNotDone();
+        assertThat(third.get().getId()).isEqualTo(1L + 2048);
+
+        store.clear(new IOException("closed"));
+        Throwable thrown = catchThrowable(second::get);
+        assertThat(thrown).isInstanceOf(ExecutionException.class).hasCauseInstanceOf(IOException.class);
+        assertThat(store.isEmpty()).isTrue();
+    }
+
+    @Test
+    void timeout() {
+        MessageStore store = new MessageStore();
+        CompletableFuture<Message> future = new CompletableFuture<>();
+        store.storeMessage(1L, future, 50L);
+        Throwable thrown = catchThrowable(future::get);
+        assertThat(thrown).isInstanceOf(ExecutionException.class).hasCauseInstanceOf(TimeoutException.class);
+        assertThat(store.isEmpty()).isTrue();
+
+        // late response is discarded
+        store.consume(new Message(1L, head, null));
+        assertThat(future).isCompletedExceptionally();
+    }
+
+    @Test
+    void timeoutCompletedByExecutor() {
+        AtomicReference<Thread> executorThread = new AtomicReference<>();
+        MessageStore store = new MessageStore(task -> new Thread(() -> {
+            executorThread.set(Thread.currentThread());
+            task.run();
+        }).start());
+        CompletableFuture<Thread> completingThread = new CompletableFuture<>();
+        CompletableFuture<Message> future = new CompletableFuture<>();
+        future.whenComplete((m, e) -> completingThread.complete(Thread.currentThread()));
+        store.storeMessage(1L, future, 50L);
+        assertThat(completingThread.join()).isSameAs(executorThread.get());
+        assertThat(future).isCompletedExceptionally();
+        assertThat(store.isEmpty()).isTrue();
+    }
+
+    @Test
+    void cancel() {
+        MessageStore store = new MessageStore();
+        CompletableFuture<Message> future = new CompletableFuture<>();
+        store.storeMessage(1L, future, 0L);
+        store.cancel(1L);
+        assertThat(future).isCancelled();
+        assertThat(store.isEmpty()).isTrue();
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.arangodb.vst.internal;
+
+import io.netty.buffer.ByteBuf;
+import io.vertx.core.buffer.Buffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WriteQueueTest {
+
+    private final byte[] head = new byte[]{0x0a};
+
+    @Test
+    void buildBalancedChunks() {
+        Message message = message(1L, 250);
+        List<Chunk> chunks = ChunkEncoder.buildChunks(message, 100);
+        assertThat(chunks).hasSize(3);
+        assertThat(chunks).extracting(Chunk::getContentLength).containsExactly(84, 84, 83);
+        assertThat(chunks.get(0).getMessageLength()).isEqualTo(251L);
+    }
+
+    @Test
+    void interleaveLargeMessages() {
+        MessageStore messageStore = new MessageStore();
+        CompletableFuture<Message> large = new CompletableFuture<>();
+        CompletableFuture<Message> small = new CompletableFuture<>();
+        messageStore.storeMessage(1L, large, 0L);
+        messageStore.storeMessage(2L, small, 0L);
+        ChunkDecoder decoder = new ChunkDecoder(new ChunkStore(messageStore));
+
+        WriteQueue queue = new WriteQueue(100);
+        Message largeMessage = message(1L, 10_000);
+        Message smallMessage = message(2L, 10);
+        assertThat(queue.add(largeMessage, ChunkEncoder.buildChunks(largeMessage, queue.chunkSize()))).isTrue();
+        assertThat(queue.add(smallMessage, ChunkEncoder.buildChunks(smallMessage, queue.chunkSize()))).isFalse();
+
+        ByteBuf batch = queue.nextBatch();
+        assertThat(queue.nextBatch()).isNull();
+        assertThat(batch.readableBytes()).isLessThan(100 * WriteQueue.CHUNKS_PER_BATCH + 100);
+        decoder.decode(Buffer.buffer(batch));
+        queue.written(batch.readableBytes(), 1L);
+        assertThat(batch.release()).isTrue();
+        assertThat(small).isDone();
+        assertThat(large).isNotDone();
+
+        int batches = 1;
+        while ((batch = queue.nextBatch()) != null) {
+            decoder.decode(Buffer.buffer(batch));
+            queue.written(batch.readableBytes(), 1L);
+            batch.release();
+            batches++;
+        }
+        assertThat(batches).isGreaterThan(1);
+        assertThat(large.join().getBody().getByteSize()).isEqualTo(10_000);
+    }
+
+    @Test
+    void adaptChunkSize() {
+        WriteQueue queue = new WriteQueue(30_000);
+        assertThat(queue.chunkSize()).isEqualTo(30_000);
+        // 10 MB/s
+        queue.written(100_000, 10_000_000L);
+        assertThat(queue.chunkSize()).isEqualTo(10_000);
+        // 1 MB/s
+        for (int i = 0; i < 100; i++) {
+            queue.written(100_000, 100_000_000L);
+        }
+        assertThat(queue.chunkSize()).isEqualTo(WriteQueue.MIN_CHUNK_SIZE);
+        // 1 GB/s
+        for (int i = 0; i < 100; i++) {
+            queue.written(100_000, 100_000L);
+        }
+        assertThat(queue.chunkSize()).isEqualTo(30_000);
+    }
+
+    private Message message(long id, int bodySize) {
+        // VPack binary blob: 0xc3 followed by 4 bytes length
+        byte[] body = new byte[bodySize];
+        body[0] = (byte) 0xc3;
+        int length = bodySize - 5;
+        for (int i = 0; i < 4; i++) {
+            body[1 + i] = (byte) (length >> (8 * i));
+        }
+        return new Message(id, head, body);
+    }
+
+}
@@ -0,0 +1,78 @@
+package perf;
+
+import com.arangodb.ContentType;
+import com.arangodb.entity.BaseDocument;
+import com.arangodb.entity.CursorEntity;
+import com.arangodb.internal.serde.InternalSerde;
+import com.arangodb.internal.serde.InternalSerdeProvider;
+import com.arangodb.internal.serde.SerdeUtils;
+import com.arangodb.serde.jackson.JacksonSerde;
+import com.arangodb.util.RawJson;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Disabled
+public class BaseDocumentMemoryTest {
+    private final int numberOfBatches = 100;
+    private final int batchSize = 1_000;
+
+    @ParameterizedTest
+    @EnumSource(ContentType.class)
+    void retainedCursorBatches(ContentType type) {
+        System.out.println("-----------------------------------------");
+        System.out.println("--- retainedCursorBatches(): " + type);
+        System.out.println("-----------------------------------------");
+
+        InternalSerde serde = new InternalSerdeProvider(type).create(JacksonSerde.of(type), null);
+        StringBuilder sb = new StringBuilder("{\"hasMore\":false,\"result\":[");
+        for (int i = 0; i < batchSize; i++) {
+            if (i > 0) sb.append(',');
+            sb.append("{\"_key\":\"key-").append(i).append("\",\"_id\":\"c/key-").append(i)
+                    .append("\",\"_rev\":\"_hV2X--").append(i).append("\",\"name\":\"name-").append(i)
+                    .append("\",\"age\":").append(i % 100)
+                    .append(",\"active\":").append(i % 2 == 0)
+                    .append(",\"score\":").append(i * 0.5)
+                    .append(",\"city\":\"city-").append(i % 10)
+                    .append("\",\"country\":\"country-").append(i % 5)
+                    .append("\",\"address\":{\"street\":\"street-").append(i).append("\",\"zip\":").append(i)
+                    .append("},\"tags\":[\"a\",\"b\"]}");
+        }
+        byte[] batch = serde.serialize(RawJson.of(sb.append("]}").toString()));
+
+        MemoryMXBean mx = ManagementFactory.getMemoryMXBean();
+        List<List<BaseDocument>> retained = new ArrayList<>();
+        gc();
+        long before = mx.getHeapMemoryUsage().getUsed();
+        for (int i = 0; i < numberOfBatches; i++) {
+            CursorEntity<BaseDocument> entity = serde.deserialize(batch,
+                    SerdeUtils.constructParametricType(CursorEntity.class, BaseDocument.class));
+            retained.add(entity.getResult());
+        }
+        gc();
+        long after = mx.getHeapMemoryUsage().getUsed();
+        System.out.println("documents: \t\t\t" + numberOfBatches * batchSize);
+        System.out.println("retained/doc [bytes]: \t" + (after - before) / (numberOfBatches * batchSize));
+        // keeps the batches reachable until the heap usage is read
+        assertThat(retained).hasSize(numberOfBatches);
+    }
+
+    private static void gc() {
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+}
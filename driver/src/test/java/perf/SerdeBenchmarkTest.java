@@ -0,0 +1,141 @@
+package perf;
+
+import com.arangodb.ContentType;
+import com.arangodb.RequestContext;
+import com.arangodb.entity.BaseDocument;
+import com.arangodb.entity.DocumentCreateEntity;
+import com.arangodb.internal.RequestContextHolder;
+import com.arangodb.internal.serde.InternalSerde;
+import com.arangodb.internal.serde.InternalSerdeProvider;
+import com.arangodb.internal.serde.SerdeUtils;
+import com.arangodb.serde.jackson.JacksonSerde;
+import com.arangodb.util.RawJson;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Disabled
+public class SerdeBenchmarkTest {
+    private final int warmupIterations = 20;
+    private final int iterations = 50;
+    private final int numberOfDocuments = 100_000;
+
+    @ParameterizedTest
+    @EnumSource(ContentType.class)
+    void serializeCollectionUserData(ContentType type) {
+        System.out.println("-----------------------------------------");
+        System.out.println("--- serializeCollectionUserData(): " + type);
+        System.out.println("-----------------------------------------");
+
+        InternalSerde serde = new InternalSerdeProvider(type).create(JacksonSerde.of(type), null);
+        List<BaseDocument> docs = new ArrayList<>(numberOfDocuments);
+        for (int i = 0; i < numberOfDocuments; i++) {
+            BaseDocument doc = new BaseDocument("key-" + i);
+            doc.addAttribute("name", "name-" + i);
+            doc.addAttribute("value", i);
+            doc.addAttribute("tags", new String[]{"a", "b", "c"});
+            docs.add(doc);
+        }
+        List<Object> userDocs = docs.stream().map(d -> (Object) d.getProperties()).collect(Collectors.toList());
+
+        measure("tree (previous implementation)", () -> {
+            List<JsonNode> nodes = userDocs.stream()
+                    .map(serde::serializeUserData)
+                    .map(serde::parse)
+                    .collect(Collectors.toList());
+            return serde.serialize(nodes);
+        });
+        measure("streaming", () -> serde.serializeCollectionUserData(userDocs));
+    }
+
+    @ParameterizedTest
+    @EnumSource(ContentType.class)
+    void deserializeUserDataMultiDocument(ContentType type) {
+        System.out.println("-----------------------------------------");
+        System.out.println("--- deserializeUserDataMultiDocument(): " + type);
+        System.out.println("-----------------------------------------");
+
+        InternalSerde serde = new InternalSerdeProvider(type).create(JacksonSerde.of(type), null);
+        List<Object> userDocs = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            Map<String, Object> doc = new HashMap<>();
+            doc.put("_key", "key-" + i);
+            doc.put("name", "name-" + i);
+            doc.put("value", i);
+            doc.put("tags", new String[]{"a", "b", "c"});
+            userDocs.add(doc);
+        }
+        byte[] body = serde.serializeCollectionUserData(userDocs);
+
+        RequestContextHolder.INSTANCE.runWithCtx(RequestContext.EMPTY, () -> {
+            measure("tree (previous implementation)", () -> {
+                List<Map> docs = new ArrayList<>();
+                for (JsonNode next : serde.parse(body)) {
+                    docs.add(serde.deserializeUserData(serde.serialize(next), Map.class));
+                }
+                return docs;
+            });
+            measure("streaming", () -> serde.deserializeUserDataMultiDocument(body, Map.class).getDocuments());
+            return null;
+        });
+    }
+
+    @ParameterizedTest
+    @EnumSource(ContentType.class)
+    void deserializeSmallEntities(ContentType type) {
+        System.out.println("-----------------------------------------");
+        System.out.println("--- deserializeSmallEntities(): " + type);
+        System.out.println("-----------------------------------------");
+
+        InternalSerde serde = new InternalSerdeProvider(type).create(JacksonSerde.of(type), null);
+        byte[] body = serde.serialize(RawJson.of("{\"_key\":\"a\",\"_id\":\"c/a\",\"_rev\":\"1\"}"));
+        byte[] userBody = serde.serialize(Collections.singletonMap("foo", "bar"));
+
+        RequestContextHolder.INSTANCE.runWithCtx(RequestContext.EMPTY, () -> {
+            measure("parameterized type", () -> {
+                Object res = null;
+                for (int i = 0; i < 10_000; i++) {
+                    res = serde.deserialize(body, SerdeUtils.constructParametricType(DocumentCreateEntity.class, Map.class));
+                }
+                return res;
+            });
+            measure("user data", () -> {
+                Object res = null;
+                for (int i = 0; i < 10_000; i++) {
+                    res = serde.deserializeUserData(userBody, Map.class);
+                }
+                return res;
+            });
+            return null;
+        });
+    }
+
+    private void measure(String name, Supplier<?> task) {
+        for (int i = 0; i < warmupIterations; i++) {
+            task.get();
+        }
+        com.sun.management.ThreadMXBean mx = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long tid = Thread.currentThread().getId();
+        long allocStart = mx.getThreadAllocatedBytes(tid);
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            task.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = mx.getThreadAllocatedBytes(tid) - allocStart;
+        System.out.println(name + ":");
+        System.out.println("  time/op [ms]: \t\t" + elapsed / iterations / 1_000_000.0);
+        System.out.println("  alloc/op [MB]: \t\t" + allocated / iterations / 1024.0 / 1024.0);
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2017 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+
+package com.arangodb.http;
+
+import io.vertx.core.MultiMap;
+
+import java.util.AbstractMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read-only view over the response headers, used as response metadata without copying them. Lookups are delegated to
+ * the case-insensitive {@link MultiMap}, the lower case copy of the headers is only created when the view is iterated.
+ *
+ * @author Michele Rastelli
+ */
+final class HeadersView extends AbstractMap<String, String> {
+
+    private final MultiMap headers;
+    private Map<String, String> lowerCaseCopy;
+
+    HeadersView(final MultiMap headers) {
+        this.headers = headers;
+    }
+
+    @Override
+    public String get(final Object key) {
+        return key instanceof String ? headers.get((String) key) : null;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return key instanceof String && headers.contains((String) key);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return headers.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return copy().size();
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        return copy().entrySet();
+    }
+
+    private Map<String, String> copy() {
+        if (lowerCaseCopy == null) {
+            final Map<String, String> m = new HashMap<>();
+            for (Entry<String, String> header : headers) {
+                m.put(header.getKey().toLowerCase(Locale.ROOT), header.getValue());
+            }
+            lowerCaseCopy = m;
+        }
+        return lowerCaseCopy;
+    }
+
+}
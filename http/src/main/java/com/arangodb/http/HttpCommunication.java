@@ -26,7 +26,7 @@ import com.arangodb.internal.net.Communication;
 import com.arangodb.internal.net.Connection;
 import com.arangodb.internal.net.HostHandler;
 
-import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @author Mark Vollmary
@@ -40,8 +40,9 @@ public class HttpCommunication extends Communication {
     }
 
     @Override
-    protected void connect(@UnstableApi Connection conn) throws IOException {
+    protected CompletableFuture<Void> connect(@UnstableApi Connection conn) {
         // no-op
+        return CompletableFuture.completedFuture(null);
     }
 
 }
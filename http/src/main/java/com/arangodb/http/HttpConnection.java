@@ -23,7 +23,6 @@ package com.arangodb.http;
 import com.arangodb.*;
 import com.arangodb.arch.UnstableApi;
 import com.arangodb.config.HostDescription;
-import com.arangodb.http.compression.Encoder;
 import com.arangodb.internal.InternalRequest;
 import com.arangodb.internal.InternalResponse;
 import com.arangodb.internal.RequestType;
@@ -31,13 +30,16 @@ import com.arangodb.internal.config.ArangoConfig;
 import com.arangodb.internal.net.Connection;
 import com.arangodb.internal.serde.ContentTypeFactory;
 import com.arangodb.internal.util.EncodeUtils;
+import com.arangodb.internal.util.TimeUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.handler.ssl.ApplicationProtocolConfig;
 import io.netty.handler.ssl.ClientAuth;
 import io.netty.handler.ssl.IdentityCipherSuiteFilter;
 import io.netty.handler.ssl.JdkSslContext;
+import io.vertx.core.Context;
 import io.vertx.core.MultiMap;
 import io.vertx.core.Vertx;
-import io.vertx.core.VertxOptions;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpMethod;
@@ -61,6 +63,7 @@ import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 
@@ -74,20 +77,26 @@ public class HttpConnection implements Connection {
     private static final String CONTENT_TYPE_APPLICATION_JSON_UTF8 = "application/json; charset=utf-8";
     private static final String CONTENT_TYPE_VPACK = "application/x-velocypack";
     private static final String USER_AGENT = getUserAgent();
-    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
     private String auth;
     private final int compressionThreshold;
-    private final Encoder encoder;
+    private final RequestCompressor compressor;
     private final WebClient client;
     private final Integer timeout;
     private final MultiMap commonHeaders = MultiMap.caseInsensitiveMultiMap();
     private final Vertx vertx;
+    private final Context context;
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final AtomicInteger pendingRequests = new AtomicInteger();
 
     private static String getUserAgent() {
         return "JavaDriver/" + PackageVersion.VERSION + " (JVM/" + System.getProperty("java.specification.version") + ")";
     }
 
     HttpConnection(final ArangoConfig config, final HostDescription host) {
+        this(config, host, new RequestCompressor(config, host));
+    }
+
+    HttpConnection(final ArangoConfig config, final HostDescription host, final RequestCompressor compressor) {
         super();
         Protocol protocol = config.getProtocol();
         ContentType contentType = ContentTypeFactory.of(protocol);
@@ -102,15 +111,16 @@ public class HttpConnection implements Connection {
         }
         compressionThreshold = config.getCompressionThreshold();
         Compression compression = config.getCompression();
-        encoder = Encoder.of(compression, config.getCompressionLevel());
-        if (encoder.getFormat() != null) {
-            commonHeaders.add(HttpHeaders.ACCEPT_ENCODING.toString(), encoder.getFormat());
+        this.compressor = compressor;
+        if (compressor.getAcceptEncoding() != null) {
+            commonHeaders.add(HttpHeaders.ACCEPT_ENCODING.toString(), compressor.getAcceptEncoding());
         }
         commonHeaders.add("x-arango-driver", USER_AGENT);
         timeout = config.getTimeout();
-        vertx = Vertx.vertx(new VertxOptions().setPreferNativeTransport(true).setEventLoopPoolSize(1));
-        vertx.runOnContext(e -> {
-            Thread.currentThread().setName("adb-http-" + THREAD_COUNT.getAndIncrement());
+        vertx = HttpVertx.acquire();
+        // event loop of this connection
+        context = vertx.getOrCreateContext();
+        context.runOnContext(e -> {
             auth = new UsernamePasswordCredentials(
                     config.getUser(), Optional.ofNullable(config.getPassword()).orElse("")
             ).toHttpAuthorization();
@@ -118,7 +128,9 @@ public class HttpConnection implements Connection {
         });
 
         int intTtl = Optional.ofNullable(config.getConnectionTtl())
-                .map(ttl -> Math.toIntExact(ttl / 1000))
+                .filter(ttl -> ttl >= 1000)
+                // jitter spreads the expiration of the connections opened together
+                .map(ttl -> Math.toIntExact(Math.max(1000L, TimeUtils.withJitter(ttl)) / 1000))
                 .orElse(0);
 
         HttpVersion httpVersion = protocol == Protocol.HTTP_JSON || protocol == Protocol.HTTP_VPACK ?
@@ -228,8 +240,10 @@ public class HttpConnection implements Connection {
 
     @Override
     public void close() {
-        client.close();
-        vertx.close();
+        if (closed.compareAndSet(false, true)) {
+            client.close();
+            HttpVertx.release();
+        }
     }
 
     private HttpMethod requestTypeToHttpMethod(RequestType requestType) {
@@ -254,10 +268,17 @@ public class HttpConnection implements Connection {
     @UnstableApi
     public CompletableFuture<InternalResponse> executeAsync(@UnstableApi final InternalRequest request) {
         CompletableFuture<InternalResponse> rfuture = new CompletableFuture<>();
-        vertx.runOnContext(e -> doExecute(request, rfuture));
+        pendingRequests.incrementAndGet();
+        rfuture.whenComplete((r, e) -> pendingRequests.decrementAndGet());
+        context.runOnContext(e -> doExecute(request, rfuture));
         return rfuture;
     }
 
+    @Override
+    public int pendingRequests() {
+        return pendingRequests.get();
+    }
+
     public void doExecute(@UnstableApi final InternalRequest request, @UnstableApi final CompletableFuture<InternalResponse> rfuture) {
         String path = buildUrl(request);
         HttpRequest<Buffer> httpRequest = client
@@ -268,27 +289,38 @@ public class HttpConnection implements Connection {
         addHeader(request, httpRequest);
         httpRequest.putHeader(HttpHeaders.AUTHORIZATION.toString(), auth);
 
-        byte[] reqBody = request.getBody();
-        Buffer buffer;
-        if (reqBody == null) {
-            buffer = Buffer.buffer();
-        } else if (reqBody.length > compressionThreshold) {
-            httpRequest.putHeader(HttpHeaders.CONTENT_ENCODING.toString(), encoder.getFormat());
-            buffer = encoder.encode(reqBody);
-        } else {
-            buffer = Buffer.buffer(reqBody);
-        }
-
+        final ByteBuf body = encodeBody(request, httpRequest);
+        // wraps the body without copying it
+        @SuppressWarnings("deprecation") final Buffer buffer = Buffer.buffer(body);
         try {
             httpRequest.sendBuffer(buffer)
+                    .onComplete(ar -> body.release())
                     .map(this::buildResponse)
                     .onSuccess(rfuture::complete)
                     .onFailure(rfuture::completeExceptionally);
         } catch (Exception e) {
+            body.release();
             rfuture.completeExceptionally(e);
         }
     }
 
+    private ByteBuf encodeBody(final InternalRequest request, final HttpRequest<Buffer> httpRequest) {
+        byte[] reqBody = request.getBody();
+        if (reqBody == null) {
+            return Unpooled.EMPTY_BUFFER;
+        }
+        if (reqBody.length > compressionThreshold) {
+            // pooled buffer, released once the request is completed
+            ByteBuf compressed = compressor.encode(request, reqBody);
+            if (compressed != null) {
+                httpRequest.putHeader(HttpHeaders.CONTENT_ENCODING.toString(), compressor.getFormat());
+                return compressed;
+            }
+        }
+        // wrapping the body does not copy it, unlike Buffer.buffer(byte[])
+        return Unpooled.wrappedBuffer(reqBody);
+    }
+
     private InternalResponse buildResponse(final HttpResponse<Buffer> httpResponse) {
         final InternalResponse response = new InternalResponse();
         response.setResponseCode(httpResponse.statusCode());
@@ -299,16 +331,14 @@ public class HttpConnection implements Connection {
                 response.setBody(bytes);
             }
         }
-        for (Entry<String, String> header : httpResponse.headers()) {
-            response.putMeta(header.getKey(), header.getValue());
-        }
+        response.setMeta(new HeadersView(httpResponse.headers()));
         return response;
     }
 
     @Override
     public void setJwt(String jwt) {
         if (jwt != null) {
-            vertx.runOnContext(e -> auth = new TokenCredentials(jwt).toHttpAuthorization());
+            context.runOnContext(e -> auth = new TokenCredentials(jwt).toHttpAuthorization());
         }
     }
 
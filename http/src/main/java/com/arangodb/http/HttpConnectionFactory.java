@@ -26,14 +26,20 @@ import com.arangodb.internal.config.ArangoConfig;
 import com.arangodb.internal.net.Connection;
 import com.arangodb.internal.net.ConnectionFactory;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * @author Mark Vollmary
  */
 @UnstableApi
 public class HttpConnectionFactory implements ConnectionFactory {
+    // compression statistics are shared by all the connections to the same host
+    private final Map<HostDescription, RequestCompressor> compressors = new ConcurrentHashMap<>();
+
     @Override
     @UnstableApi
     public Connection create(@UnstableApi final ArangoConfig config, final HostDescription host) {
-        return new HttpConnection(config, host);
+        return new HttpConnection(config, host, compressors.computeIfAbsent(host, h -> new RequestCompressor(config, h)));
     }
 }
@@ -0,0 +1,61 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+
+package com.arangodb.http;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+
+/**
+ * Holds the {@link Vertx} instance shared by all the HTTP connections, so that connections are multiplexed on a fixed
+ * number of event loop threads instead of having one each. The instance is created by the first connection and closed
+ * together with the last one.
+ *
+ * @author Michele Rastelli
+ */
+final class HttpVertx {
+
+    private static final int EVENT_LOOP_POOL_SIZE = Runtime.getRuntime().availableProcessors();
+
+    private static Vertx vertx;
+    private static int references;
+
+    private HttpVertx() {
+    }
+
+    static synchronized Vertx acquire() {
+        if (vertx == null) {
+            vertx = Vertx.vertx(new VertxOptions()
+                    .setPreferNativeTransport(true)
+                    .setEventLoopPoolSize(EVENT_LOOP_POOL_SIZE));
+        }
+        references++;
+        return vertx;
+    }
+
+    static synchronized void release() {
+        if (--references == 0) {
+            vertx.close();
+            vertx = null;
+        }
+    }
+
+}
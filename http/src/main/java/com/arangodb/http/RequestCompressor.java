@@ -0,0 +1,219 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+
+package com.arangodb.http;
+
+import com.arangodb.Compression;
+import com.arangodb.config.HostDescription;
+import com.arangodb.http.compression.Encoder;
+import com.arangodb.internal.CompressionMetricsImpl;
+import com.arangodb.internal.InternalRequest;
+import com.arangodb.internal.config.ArangoConfig;
+import io.netty.buffer.ByteBuf;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compresses the request bodies sent to a host, shared by all the connections to the host.
+ * <p>
+ * In adaptive mode, the compression ratio is sampled for each endpoint (database, API and collection), so that:
+ * <ul>
+ *     <li>payloads saving less than {@link #SKIP_RATIO} are sent uncompressed, compressing again one request every
+ *     {@link #PROBE_INTERVAL} to detect changes</li>
+ *     <li>every {@link #ADJUST_INTERVAL} compressed requests, the level is lowered if the system load is high or the
+ *     payloads do not compress well, and raised up to the configured level if there is spare CPU and the payloads
+ *     compress well</li>
+ *     <li>requests to loopback hosts are not compressed</li>
+ * </ul>
+ *
+ * @author Michele Rastelli
+ */
+final class RequestCompressor {
+
+    private static final double SKIP_RATIO = 0.9;
+    static final int PROBE_INTERVAL = 32;
+    private static final int ADJUST_INTERVAL = 64;
+    private static final int MAX_ENDPOINTS = 1024;
+    private static final double RATIO_WEIGHT = 0.1;
+    private static final double HIGH_LOAD = 0.75;
+    private static final double LOW_LOAD = 0.5;
+    private static final double GOOD_SAVING = 0.5;
+    private static final double POOR_SAVING = 0.2;
+    private static final OperatingSystemMXBean OS = ManagementFactory.getOperatingSystemMXBean();
+
+    private final Compression compression;
+    private final boolean adaptive;
+    private final boolean local;
+    private final String hostKey;
+    private final int maxLevel;
+    private final Encoder[] encoders;
+    private final CompressionMetricsImpl metrics;
+    private final ConcurrentMap<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private final EndpointStats otherEndpoints = new EndpointStats();
+    private final AtomicInteger compressedRequests = new AtomicInteger();
+    private volatile double hostRatio = 1.0;
+    private volatile int level;
+
+    RequestCompressor(final ArangoConfig config, final HostDescription host) {
+        compression = config.getCompression();
+        adaptive = Boolean.TRUE.equals(config.getCompressionAdaptive());
+        local = adaptive && isLoopback(host);
+        hostKey = host.getHost() + ":" + host.getPort();
+        maxLevel = config.getCompressionLevel();
+        level = maxLevel;
+        metrics = config.getCompressionMetrics();
+        // validates the configured level
+        Encoder.of(compression, maxLevel);
+        encoders = new Encoder[maxLevel + 1];
+        for (int i = 0; i <= maxLevel; i++) {
+            encoders[i] = Encoder.of(compression, i);
+        }
+        if (compression != Compression.NONE) {
+            metrics.level(hostKey, level);
+        }
+    }
+
+    /**
+     * @return the value of the {@code Content-Encoding} header, or {@code null} if compression is disabled
+     */
+    String getFormat() {
+        return encoders[0].getFormat();
+    }
+
+    /**
+     * @return the value of the {@code Accept-Encoding} header, or {@code null} if compression is disabled
+     */
+    String getAcceptEncoding() {
+        return encoders[0].getAcceptEncoding();
+    }
+
+    /**
+     * @return the compressed body, which has to be released once sent, or {@code null} if the body should be sent
+     * uncompressed
+     */
+    ByteBuf encode(final InternalRequest request, final byte[] body) {
+        if (compression == Compression.NONE) {
+            return null;
+        }
+        if (!adaptive) {
+            return compress(null, body);
+        }
+        if (local) {
+            metrics.skipped();
+            return null;
+        }
+        final EndpointStats stats = stats(endpoint(request));
+        if (stats.ratio > SKIP_RATIO && stats.skipped.incrementAndGet() % PROBE_INTERVAL != 0) {
+            metrics.skipped();
+            return null;
+        }
+        return compress(stats, body);
+    }
+
+    private ByteBuf compress(final EndpointStats stats, final byte[] body) {
+        final long start = System.nanoTime();
+        final ByteBuf out = encoders[level].encode(body);
+        metrics.compressed(body.length, out.readableBytes(), System.nanoTime() - start);
+        if (stats != null) {
+            final double ratio = (double) out.readableBytes() / body.length;
+            stats.ratio = stats.ratio < 0 ? ratio : stats.ratio + RATIO_WEIGHT * (ratio - stats.ratio);
+            hostRatio += RATIO_WEIGHT * (ratio - hostRatio);
+            if (compressedRequests.incrementAndGet() % ADJUST_INTERVAL == 0) {
+                adjustLevel();
+            }
+        }
+        return out;
+    }
+
+    private void adjustLevel() {
+        final double load = systemLoad();
+        final double saving = 1.0 - hostRatio;
+        final int current = level;
+        int next = current;
+        if (load > HIGH_LOAD || saving < POOR_SAVING) {
+            next = Math.max(Math.min(1, maxLevel), current - 1);
+        } else if (load < LOW_LOAD && saving > GOOD_SAVING) {
+            next = Math.min(maxLevel, current + 1);
+        }
+        if (next != current) {
+            level = next;
+            metrics.level(hostKey, next);
+        }
+    }
+
+    private EndpointStats stats(final String endpoint) {
+        final EndpointStats stats = endpoints.get(endpoint);
+        if (stats != null) {
+            return stats;
+        }
+        if (endpoints.size() >= MAX_ENDPOINTS) {
+            return otherEndpoints;
+        }
+        return endpoints.computeIfAbsent(endpoint, k -> new EndpointStats());
+    }
+
+    /**
+     * @return database and the first three path segments, e.g. {@code mydb/_api/document/mycollection}
+     */
+    static String endpoint(final InternalRequest request) {
+        final String path = request.getPath();
+        int end = 0;
+        for (int i = 0; i < 3 && end >= 0; i++) {
+            end = path.indexOf('/', end + 1);
+        }
+        return request.getDbName() + (end < 0 ? path : path.substring(0, end));
+    }
+
+    /**
+     * @return system load average per processor, or a value between {@link #LOW_LOAD} and {@link #HIGH_LOAD} if
+     * not available
+     */
+    private static double systemLoad() {
+        final double load = OS.getSystemLoadAverage();
+        if (load < 0) {
+            return (LOW_LOAD + HIGH_LOAD) / 2;
+        }
+        return load / OS.getAvailableProcessors();
+    }
+
+    private static boolean isLoopback(final HostDescription host) {
+        try {
+            return InetAddress.getByName(host.getHost()).isLoopbackAddress();
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+
+    private static final class EndpointStats {
+        private final AtomicInteger skipped = new AtomicInteger();
+        /**
+         * moving average of compressed size / uncompressed size, negative if not sampled yet
+         */
+        private volatile double ratio = -1.0;
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.arangodb.http.compression;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.compression.Brotli;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Compresses the request bodies with the Netty brotli codec, which requires {@code com.aayushatharva.brotli4j:brotli4j}
+ * on the classpath. The codec is shared by all the connections, while each request body is encoded as a separate
+ * brotli stream.
+ */
+class BrotliEncoder implements Encoder {
+    private static final ConcurrentMap<Integer, BrotliEncoder> ENCODERS = new ConcurrentHashMap<>();
+    private static final String PARAMETERS_CLASS = "com.aayushatharva.brotli4j.encoder.Encoder$Parameters";
+
+    private final ChannelHandler codec;
+
+    private BrotliEncoder(int level) {
+        codec = createCodec(level);
+    }
+
+    static BrotliEncoder of(int level) {
+        if (!Brotli.isAvailable()) {
+            throw new IllegalStateException("brotli compression requires com.aayushatharva.brotli4j:brotli4j on the " +
+                    "classpath", Brotli.cause());
+        }
+        return ENCODERS.computeIfAbsent(level, BrotliEncoder::new);
+    }
+
+    /**
+     * The brotli4j parameters are created reflectively, so that brotli4j is not required at compile time.
+     */
+    private static ChannelHandler createCodec(int level) {
+        try {
+            Class<?> parametersClass = Class.forName(PARAMETERS_CLASS);
+            Object parameters = parametersClass.getConstructor().newInstance();
+            parametersClass.getMethod("setQuality", int.class).invoke(parameters, level);
+            return io.netty.handler.codec.compression.BrotliEncoder.class
+                    .getConstructor(parametersClass, boolean.class)
+                    .newInstance(parameters, true);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create brotli encoder", e);
+        }
+    }
+
+    @Override
+    public ByteBuf encode(byte[] data) {
+        EmbeddedChannel channel = new EmbeddedChannel(codec);
+        try {
+            channel.writeOutbound(Unpooled.wrappedBuffer(data));
+            // closing the channel writes the end of the brotli stream
+            channel.finish();
+            return EmbeddedChannels.drain(channel);
+        } catch (RuntimeException e) {
+            channel.finishAndReleaseAll();
+            throw e;
+        }
+    }
+
+    @Override
+    public String getFormat() {
+        return "br";
+    }
+}
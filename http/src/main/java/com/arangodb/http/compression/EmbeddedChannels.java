@@ -0,0 +1,32 @@
+package com.arangodb.http.compression;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+final class EmbeddedChannels {
+    private EmbeddedChannels() {
+    }
+
+    /**
+     * @return the buffers written by the encoder, as a single buffer which has to be released once sent
+     */
+    static ByteBuf drain(EmbeddedChannel channel) {
+        ByteBuf first = channel.readOutbound();
+        if (first == null) {
+            return Unpooled.EMPTY_BUFFER;
+        }
+        ByteBuf next = channel.readOutbound();
+        if (next == null) {
+            return first;
+        }
+        CompositeByteBuf out = PooledByteBufAllocator.DEFAULT.compositeBuffer(Integer.MAX_VALUE);
+        out.addComponent(true, first);
+        for (; next != null; next = channel.readOutbound()) {
+            out.addComponent(true, next);
+        }
+        return out;
+    }
+}
@@ -1,28 +1,60 @@
 package com.arangodb.http.compression;
 
 import com.arangodb.Compression;
+import io.netty.buffer.ByteBuf;
 import io.netty.handler.codec.compression.ZlibWrapper;
-import io.vertx.core.buffer.Buffer;
 
 public interface Encoder {
-    Buffer encode(byte[] data);
+    /**
+     * @return the encoded data, which has to be released once sent
+     */
+    ByteBuf encode(byte[] data);
 
+    /**
+     * @return the value of the {@code Content-Encoding} header, or {@code null} if the data is not encoded
+     */
     String getFormat();
 
+    /**
+     * @return the value of the {@code Accept-Encoding} header, or {@code null} to use the default
+     */
+    default String getAcceptEncoding() {
+        return getFormat();
+    }
+
     static Encoder of(Compression compression, int level) {
-        if (level < 0 || level > 9) {
-            throw new IllegalArgumentException("compression level: " + level + " (expected: 0-9)");
+        int maxLevel = maxLevel(compression);
+        if (level < 0 || level > maxLevel) {
+            throw new IllegalArgumentException("compression level: " + level + " (expected: 0-" + maxLevel + ")");
         }
 
         switch (compression) {
             case GZIP:
-                return new ZlibEncoder(ZlibWrapper.GZIP, level, "gzip");
+                return ZlibEncoder.of(ZlibWrapper.GZIP, level, "gzip");
             case DEFLATE:
-                return new ZlibEncoder(ZlibWrapper.ZLIB, level, "deflate");
+                return ZlibEncoder.of(ZlibWrapper.ZLIB, level, "deflate");
+            case ZSTD:
+                return ZstdEncoder.of(level);
+            case BROTLI:
+                return BrotliEncoder.of(level);
             case NONE:
                 return new NoopEncoder();
             default:
                 throw new IllegalArgumentException("Unsupported compression: " + compression);
         }
     }
+
+    /**
+     * @return the highest compression level supported by the given compression
+     */
+    static int maxLevel(Compression compression) {
+        switch (compression) {
+            case ZSTD:
+                return 22;
+            case BROTLI:
+                return 11;
+            default:
+                return 9;
+        }
+    }
 }
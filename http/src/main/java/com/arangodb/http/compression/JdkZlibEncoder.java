@@ -18,35 +18,35 @@ package com.arangodb.http.compression;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.compression.CompressionException;
 import io.netty.handler.codec.compression.ZlibWrapper;
-import io.netty.util.internal.*;
-import io.netty.util.internal.logging.InternalLogger;
-import io.netty.util.internal.logging.InternalLoggerFactory;
+import io.netty.util.internal.ObjectUtil;
 
 import java.util.zip.CRC32;
 import java.util.zip.Deflater;
 
 /**
  * Compresses a {@link ByteBuf} using the deflate algorithm.
+ * <p>
+ * Instances are reused across requests, resetting the {@link Deflater} after each compression, and are not thread
+ * safe. The output is written into pooled buffers, whose initial size is estimated from the compression ratio of the
+ * previous requests.
  */
 class JdkZlibEncoder {
 
-    private static final InternalLogger logger = InternalLoggerFactory.getInstance(JdkZlibEncoder.class);
-
-    /**
-     * Maximum initial size for temporary heap buffers used for the compressed output. Buffer may still grow beyond
-     * this if necessary.
-     */
-    private static final int MAX_INITIAL_OUTPUT_BUFFER_SIZE;
-    /**
-     * Max size for temporary heap buffers used to copy input data to heap.
-     */
-    private static final int MAX_INPUT_BUFFER_SIZE;
-    private static final ByteBuf EMPTY_BUF;
+    private static final ByteBufAllocator ALLOCATOR = PooledByteBufAllocator.DEFAULT;
+    private static final double RATIO_WEIGHT = 0.2;
+    private static final double RATIO_MARGIN = 1.1;
+    private static final int GZIP_FOOTER_LENGTH = 8;
 
     private final ZlibWrapper wrapper;
     private final Deflater deflater;
+    /**
+     * moving average of compressed size / uncompressed size
+     */
+    private double ratio = 1.0;
 
     /*
      * GZIP support
@@ -54,31 +54,6 @@ class JdkZlibEncoder {
     private final CRC32 crc = new CRC32();
     private static final byte[] gzipHeader = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0};
 
-    static {
-        MAX_INITIAL_OUTPUT_BUFFER_SIZE = SystemPropertyUtil.getInt(
-                "io.netty.jdkzlib.encoder.maxInitialOutputBufferSize",
-                65536);
-        MAX_INPUT_BUFFER_SIZE = SystemPropertyUtil.getInt(
-                "io.netty.jdkzlib.encoder.maxInputBufferSize",
-                65536);
-
-        if (logger.isDebugEnabled()) {
-            logger.debug("-Dio.netty.jdkzlib.encoder.maxInitialOutputBufferSize={}", MAX_INITIAL_OUTPUT_BUFFER_SIZE);
-            logger.debug("-Dio.netty.jdkzlib.encoder.maxInputBufferSize={}", MAX_INPUT_BUFFER_SIZE);
-        }
-
-        EMPTY_BUF = allocateByteBuf(0);
-    }
-
-    private static ByteBuf allocateByteBuf(int len) {
-        return ByteBufAllocator.DEFAULT.heapBuffer(len);
-    }
-
-    private static ByteBuf allocateByteBuf() {
-        return ByteBufAllocator.DEFAULT.heapBuffer();
-    }
-
-
     /**
      * Creates a new zlib encoder with the specified {@code compressionLevel}
      * and the specified wrapper.
@@ -102,22 +77,32 @@ class JdkZlibEncoder {
         deflater = new Deflater(compressionLevel, wrapper != ZlibWrapper.ZLIB);
     }
 
+    /**
+     * @return the compressed data, which has to be released by the caller
+     */
     ByteBuf encode(byte[] in) {
         if (in.length == 0) {
-            return EMPTY_BUF;
+            return Unpooled.EMPTY_BUFFER;
         }
 
         ByteBuf out = allocateBuffer(in.length);
-        encodeSome(in, out);
-        finishEncode(out);
+        try {
+            encodeSome(in, out);
+            finishEncode(out);
+        } catch (RuntimeException e) {
+            out.release();
+            throw e;
+        } finally {
+            deflater.reset();
+            crc.reset();
+        }
+        ratio += RATIO_WEIGHT * ((double) out.readableBytes() / in.length - ratio);
         return out;
     }
 
     private void encodeSome(byte[] in, ByteBuf out) {
         if (wrapper == ZlibWrapper.GZIP) {
             out.writeBytes(gzipHeader);
-        }
-        if (wrapper == ZlibWrapper.GZIP) {
             crc.update(in, 0, in.length);
         }
 
@@ -133,10 +118,10 @@ class JdkZlibEncoder {
     }
 
     private ByteBuf allocateBuffer(int length) {
-        int sizeEstimate = (int) Math.ceil(length * 1.001) + 12;
+        int sizeEstimate = (int) Math.ceil(length * Math.min(ratio * RATIO_MARGIN, 1.001)) + 12;
         switch (wrapper) {
             case GZIP:
-                sizeEstimate += gzipHeader.length;
+                sizeEstimate += gzipHeader.length + GZIP_FOOTER_LENGTH;
                 break;
             case ZLIB:
                 sizeEstimate += 2; // first two magic bytes
@@ -144,35 +129,29 @@ class JdkZlibEncoder {
             default:
                 throw new IllegalArgumentException();
         }
-        // sizeEstimate might overflow if close to 2G
-        if (sizeEstimate < 0 || sizeEstimate > MAX_INITIAL_OUTPUT_BUFFER_SIZE) {
-            // can always expand later
-            return allocateByteBuf(MAX_INITIAL_OUTPUT_BUFFER_SIZE);
-        }
-        return allocateByteBuf(sizeEstimate);
+        // sizeEstimate might overflow if close to 2G, the buffer can always expand later
+        return ALLOCATOR.heapBuffer(sizeEstimate < 0 ? length : sizeEstimate);
     }
 
     private void finishEncode(ByteBuf out) {
-        ByteBuf footer = allocateByteBuf();
         deflater.finish();
         while (!deflater.finished()) {
-            deflate(footer);
+            out.ensureWritable(Math.max(out.writableBytes(), 64));
+            deflate(out);
         }
         if (wrapper == ZlibWrapper.GZIP) {
             int crcValue = (int) crc.getValue();
             int uncBytes = deflater.getTotalIn();
-            footer.writeByte(crcValue);
-            footer.writeByte(crcValue >>> 8);
-            footer.writeByte(crcValue >>> 16);
-            footer.writeByte(crcValue >>> 24);
-            footer.writeByte(uncBytes);
-            footer.writeByte(uncBytes >>> 8);
-            footer.writeByte(uncBytes >>> 16);
-            footer.writeByte(uncBytes >>> 24);
+            out.ensureWritable(GZIP_FOOTER_LENGTH);
+            out.writeByte(crcValue);
+            out.writeByte(crcValue >>> 8);
+            out.writeByte(crcValue >>> 16);
+            out.writeByte(crcValue >>> 24);
+            out.writeByte(uncBytes);
+            out.writeByte(uncBytes >>> 8);
+            out.writeByte(uncBytes >>> 16);
+            out.writeByte(uncBytes >>> 24);
         }
-        out.writeBytes(footer);
-        deflater.reset();
-        crc.reset();
     }
 
     private void deflate(ByteBuf out) {
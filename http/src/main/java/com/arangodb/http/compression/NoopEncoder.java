@@ -1,11 +1,12 @@
 package com.arangodb.http.compression;
 
-import io.vertx.core.buffer.Buffer;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 
 class NoopEncoder implements Encoder {
     @Override
-    public Buffer encode(byte[] data) {
-        return Buffer.buffer(data);
+    public ByteBuf encode(byte[] data) {
+        return Unpooled.wrappedBuffer(data);
     }
 
     @Override
@@ -2,26 +2,44 @@ package com.arangodb.http.compression;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.handler.codec.compression.ZlibWrapper;
-import io.vertx.core.buffer.Buffer;
+import io.netty.util.concurrent.FastThreadLocal;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Compresses the request bodies with a {@link JdkZlibEncoder} per thread, so that the {@link java.util.zip.Deflater}
+ * instances and their native memory are reused by all the requests sent from the same event loop. Encoders with the
+ * same format and level are shared by all the connections.
+ */
 class ZlibEncoder implements Encoder {
-    private final ZlibWrapper wrapper;
-    private final int level;
+    private static final ConcurrentMap<String, ZlibEncoder> ENCODERS = new ConcurrentHashMap<>();
+
     private final String format;
+    private final FastThreadLocal<JdkZlibEncoder> encoders;
 
-    ZlibEncoder(ZlibWrapper wrapper, int level, String format) {
-        this.wrapper = wrapper;
-        this.level = level;
+    private ZlibEncoder(ZlibWrapper wrapper, int level, String format) {
         this.format = format;
+        encoders = new FastThreadLocal<JdkZlibEncoder>() {
+            @Override
+            protected JdkZlibEncoder initialValue() {
+                return new JdkZlibEncoder(wrapper, level);
+            }
+
+            @Override
+            protected void onRemoval(JdkZlibEncoder encoder) {
+                encoder.close();
+            }
+        };
+    }
+
+    static ZlibEncoder of(ZlibWrapper wrapper, int level, String format) {
+        return ENCODERS.computeIfAbsent(format + "-" + level, k -> new ZlibEncoder(wrapper, level, format));
     }
 
     @Override
-    public Buffer encode(byte[] data) {
-        JdkZlibEncoder encoder = new JdkZlibEncoder(wrapper, level);
-        ByteBuf bb = encoder.encode(data);
-        Buffer out = Buffer.buffer(bb);
-        encoder.close();
-        return out;
+    public ByteBuf encode(byte[] data) {
+        return encoders.get().encode(data);
     }
 
     @Override
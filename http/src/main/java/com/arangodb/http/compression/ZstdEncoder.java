@@ -0,0 +1,75 @@
+package com.arangodb.http.compression;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.compression.Zstd;
+import io.netty.util.concurrent.FastThreadLocal;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Compresses the request bodies with the Netty zstd codec, which requires {@code com.github.luben:zstd-jni} on the
+ * classpath. Each thread reuses its own encoder channel, so that the native compression context is shared by all
+ * the requests sent from the same event loop.
+ * <p>
+ * The response decoder does not support zstd, therefore gzip and deflate are accepted for the responses.
+ */
+class ZstdEncoder implements Encoder {
+    private static final ConcurrentMap<Integer, ZstdEncoder> ENCODERS = new ConcurrentHashMap<>();
+
+    // large enough to compress a typical batch of documents in a single frame
+    private static final int BLOCK_SIZE = 1024 * 1024;
+
+    private final FastThreadLocal<EmbeddedChannel> channels;
+
+    private ZstdEncoder(int level) {
+        channels = new FastThreadLocal<EmbeddedChannel>() {
+            @Override
+            protected EmbeddedChannel initialValue() {
+                return new EmbeddedChannel(
+                        new io.netty.handler.codec.compression.ZstdEncoder(level, BLOCK_SIZE, Integer.MAX_VALUE));
+            }
+
+            @Override
+            protected void onRemoval(EmbeddedChannel channel) {
+                channel.finishAndReleaseAll();
+            }
+        };
+    }
+
+    static ZstdEncoder of(int level) {
+        if (!Zstd.isAvailable()) {
+            throw new IllegalStateException("zstd compression requires com.github.luben:zstd-jni on the classpath",
+                    Zstd.cause());
+        }
+        return ENCODERS.computeIfAbsent(level, ZstdEncoder::new);
+    }
+
+    @Override
+    public ByteBuf encode(byte[] data) {
+        if (data.length == 0) {
+            return Unpooled.EMPTY_BUFFER;
+        }
+        EmbeddedChannel channel = channels.get();
+        try {
+            channel.writeOutbound(Unpooled.wrappedBuffer(data));
+            return EmbeddedChannels.drain(channel);
+        } catch (RuntimeException e) {
+            // the channel could hold partially encoded data
+            channels.remove();
+            throw e;
+        }
+    }
+
+    @Override
+    public String getFormat() {
+        return "zstd";
+    }
+
+    @Override
+    public String getAcceptEncoding() {
+        return "gzip, deflate";
+    }
+}
@@ -0,0 +1,58 @@
+package arch;
+
+import com.arangodb.serde.jsonb.JsonbSerde;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonbSerdeTest {
+
+    private static final Type PERSON_LIST = new ParameterizedType() {
+        @Override
+        public Type[] getActualTypeArguments() {
+            return new Type[]{Person.class};
+        }
+
+        @Override
+        public Type getRawType() {
+            return List.class;
+        }
+
+        @Override
+        public Type getOwnerType() {
+            return null;
+        }
+    };
+
+    private final JsonbSerde serde = new JsonbSerde();
+
+    @Test
+    void serde() {
+        Person person = new Person("key", "Jim", 22);
+        byte[] bytes = serde.serialize(person);
+        assertThat(new String(bytes, StandardCharsets.UTF_8)).contains("\"firstName\":\"Jim\"");
+        assertThat(serde.deserialize(bytes, Person.class)).isEqualTo(person);
+    }
+
+    @Test
+    void parameterizedType() {
+        List<Person> people = people(3);
+        List<Person> res = serde.deserialize(serde.serialize(people), PERSON_LIST);
+        assertThat(res).isEqualTo(people);
+    }
+
+    private static List<Person> people(int size) {
+        List<Person> people = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            people.add(new Person("key-" + i, "name-" + i, i));
+        }
+        return people;
+    }
+
+}
@@ -17,17 +17,19 @@ import static com.arangodb.serde.jackson.internal.JacksonSerdeImpl.SERDE_CONTEXT
 public interface JacksonSerde extends ArangoSerde {
 
     /**
-     * Creates a new JacksonSerde with default settings for the specified data type.
+     * Creates a new JacksonSerde with default settings for the specified data type. The underlying ObjectMapper can
+     * only be changed via {@link #configure(Consumer)}, so readers and writers are cached per target type.
      *
      * @param contentType serialization target data type
      * @return the created JacksonSerde
      */
     static JacksonSerde of(final ContentType contentType) {
-        return create(JacksonMapperProvider.of(contentType));
+        return new JacksonSerdeImpl(JacksonMapperProvider.of(contentType), true);
     }
 
     /**
-     * Creates a new JacksonSerde using the provided ObjectMapper.
+     * Creates a new JacksonSerde using the provided ObjectMapper. Since the mapper can still be configured by the
+     * caller, readers and writers are created from it on every call and are not cached.
      *
      * @param mapper Jackson ObjectMapper to use
      * @return the created JacksonSerde
@@ -5,10 +5,15 @@ import com.arangodb.serde.jackson.JacksonSerde;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.cfg.ContextAttributes;
 
 import java.io.IOException;
+import java.lang.reflect.Type;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Consumer;
 
 
@@ -18,10 +23,29 @@ import java.util.function.Consumer;
 public final class JacksonSerdeImpl implements JacksonSerde {
     public static final String SERDE_CONTEXT_ATTRIBUTE_NAME = "arangoRequestContext";
 
+    /**
+     * max number of cached readers and writers, further types are not cached
+     */
+    private static final int MAX_CACHED_TYPES = 1_024;
+
     private final ObjectMapper mapper;
+    private final boolean cache;
+    private final ConcurrentMap<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
 
     public JacksonSerdeImpl(final ObjectMapper mapper) {
+        this(mapper, false);
+    }
+
+    /**
+     * @param mapper Jackson ObjectMapper to use
+     * @param cache  whether readers and writers can be cached per target type, only allowed if the mapper is not
+     *               reachable from outside this serde, since a cached reader or writer does not reflect later changes
+     *               to the mapper configuration, unless they are done via {@link #configure(Consumer)}
+     */
+    public JacksonSerdeImpl(final ObjectMapper mapper, final boolean cache) {
         this.mapper = mapper;
+        this.cache = cache;
         mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
         mapper.setAnnotationIntrospector(new ArangoSerdeAnnotationIntrospector());
     }
@@ -29,7 +53,10 @@ public final class JacksonSerdeImpl implements JacksonSerde {
     @Override
     public byte[] serialize(final Object value) {
         try {
-            return mapper.writeValueAsBytes(value);
+            if (value == null) {
+                return mapper.writeValueAsBytes(null);
+            }
+            return writerFor(value.getClass()).writeValueAsBytes(value);
         } catch (JsonProcessingException e) {
             throw new RuntimeException(e);
         }
@@ -42,6 +69,27 @@ public final class JacksonSerdeImpl implements JacksonSerde {
 
     @Override
     public <T> T deserialize(byte[] content, Class<T> type, RequestContext ctx) {
+        Objects.requireNonNull(ctx);
+        try {
+            return readerFor(type)
+                    .with(ContextAttributes.getEmpty().withPerCallAttribute(SERDE_CONTEXT_ATTRIBUTE_NAME, ctx))
+                    .readValue(content);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public <T> T deserialize(final byte[] content, final Type type) {
+        return deserialize(content, type, RequestContext.EMPTY);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T deserialize(byte[] content, Type type, RequestContext ctx) {
+        if (type instanceof Class) {
+            return deserialize(content, (Class<T>) type, ctx);
+        }
         Objects.requireNonNull(ctx);
         try {
             return mapper.readerFor(mapper.constructType(type))
@@ -55,7 +103,37 @@ public final class JacksonSerdeImpl implements JacksonSerde {
     @Override
     public JacksonSerde configure(Consumer<ObjectMapper> configureFunction) {
         configureFunction.accept(mapper);
+        readers.clear();
+        writers.clear();
         return this;
     }
 
+    private ObjectReader readerFor(Class<?> clazz) {
+        if (!cache) {
+            return mapper.readerFor(clazz);
+        }
+        ObjectReader reader = readers.get(clazz);
+        if (reader == null) {
+            reader = mapper.readerFor(clazz);
+            if (readers.size() < MAX_CACHED_TYPES) {
+                readers.putIfAbsent(clazz, reader);
+            }
+        }
+        return reader;
+    }
+
+    private ObjectWriter writerFor(Class<?> clazz) {
+        if (!cache) {
+            return mapper.writerFor(clazz);
+        }
+        ObjectWriter writer = writers.get(clazz);
+        if (writer == null) {
+            writer = mapper.writerFor(clazz);
+            if (writers.size() < MAX_CACHED_TYPES) {
+                writers.putIfAbsent(clazz, writer);
+            }
+        }
+        return writer;
+    }
+
 }
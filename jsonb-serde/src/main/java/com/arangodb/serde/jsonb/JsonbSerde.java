@@ -5,13 +5,24 @@ import jakarta.json.bind.Jsonb;
 import jakarta.json.bind.JsonbBuilder;
 import jakarta.json.bind.JsonbConfig;
 
-import java.nio.charset.StandardCharsets;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Type;
 
 /**
  * User data serde based on Jakarta JSON Binding (JSON-B).
+ * <p>
+ * Values are serialized into a reusable per-thread buffer and deserialized directly from the UTF-8 bytes, without
+ * intermediate {@link String}s.
  */
 public class JsonbSerde implements ArangoSerde {
 
+    /**
+     * buffers grown beyond this size are not retained after use
+     */
+    private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+    private static final ThreadLocal<OutputBuffer> BUFFER = ThreadLocal.withInitial(OutputBuffer::new);
+
     private final Jsonb jsonb;
 
     public JsonbSerde() {
@@ -24,12 +35,39 @@ public class JsonbSerde implements ArangoSerde {
 
     @Override
     public byte[] serialize(Object value) {
-        return jsonb.toJson(value).getBytes(StandardCharsets.UTF_8);
+        OutputBuffer out = BUFFER.get();
+        if (out.inUse) {
+            out = new OutputBuffer();
+        }
+        out.inUse = true;
+        try {
+            jsonb.toJson(value, out);
+            return out.toByteArray();
+        } finally {
+            out.release();
+        }
     }
 
     @Override
     public <T> T deserialize(byte[] content, Class<T> type) {
-        return jsonb.fromJson(new String(content, StandardCharsets.UTF_8), type);
+        return deserialize(content, (Type) type);
+    }
+
+    @Override
+    public <T> T deserialize(byte[] content, Type type) {
+        return jsonb.fromJson(new ByteArrayInputStream(content), type);
+    }
+
+    private static final class OutputBuffer extends ByteArrayOutputStream {
+        private boolean inUse;
+
+        private void release() {
+            inUse = false;
+            if (buf.length > MAX_RETAINED_BUFFER_SIZE) {
+                buf = new byte[32];
+            }
+            reset();
+        }
     }
 
 }
@@ -0,0 +1,44 @@
+package com.arangodb.loadtest;
+
+import com.arangodb.ArangoDatabase;
+import com.arangodb.ArangoDatabaseAsync;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Inserts a batch of documents with a single request, with keys generated by the server.
+ *
+ * @author Michele Rastelli
+ */
+final class BulkInsertWorkload implements Workload {
+
+    private final String collection;
+    private final List<Map<String, Object>> batch = new ArrayList<>();
+
+    BulkInsertWorkload(final LoadTestOptions options) {
+        collection = options.getCollection();
+        final String payload = Workloads.payload(options.getDocSize(), options.getSeed());
+        for (int i = 0; i < options.getBatchSize(); i++) {
+            batch.add(Workloads.document(null, i, payload));
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "bulk-insert";
+    }
+
+    @Override
+    public void execute(final ArangoDatabase db, final long n) {
+        db.collection(collection).insertDocuments(batch);
+    }
+
+    @Override
+    public CompletableFuture<?> executeAsync(final ArangoDatabaseAsync db, final long n) {
+        return db.collection(collection).insertDocuments(batch);
+    }
+
+}
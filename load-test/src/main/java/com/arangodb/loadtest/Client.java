@@ -0,0 +1,59 @@
+package com.arangodb.loadtest;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Driver API and threading model used to execute the operations.
+ *
+ * @author Michele Rastelli
+ */
+enum Client {
+
+    /**
+     * Synchronous API, on a fixed pool of platform threads. Operations wait in the pool queue when all the threads
+     * are busy, and the wait is part of the measured latency.
+     */
+    SYNC,
+
+    /**
+     * Asynchronous API, operations are started by the scheduler thread.
+     */
+    ASYNC,
+
+    /**
+     * Synchronous API, on a new virtual thread per operation. Requires Java 21 or later.
+     */
+    VIRTUAL;
+
+    /**
+     * @return the executor of the synchronous operations, {@code null} for {@link #ASYNC}
+     */
+    ExecutorService createExecutor(final int threads) {
+        switch (this) {
+            case SYNC:
+                final AtomicInteger count = new AtomicInteger();
+                return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                        r -> {
+                            final Thread t = new Thread(r, "load-test-" + count.incrementAndGet());
+                            t.setDaemon(true);
+                            return t;
+                        });
+            case VIRTUAL:
+                try {
+                    return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+                } catch (NoSuchMethodException e) {
+                    throw new IllegalStateException("Virtual threads require Java 21 or later", e);
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException(e);
+                }
+            default:
+                return null;
+        }
+    }
+
+}
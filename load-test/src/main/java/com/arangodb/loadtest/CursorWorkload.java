@@ -0,0 +1,63 @@
+package com.arangodb.loadtest;
+
+import com.arangodb.ArangoCursor;
+import com.arangodb.ArangoDatabase;
+import com.arangodb.ArangoDatabaseAsync;
+import com.arangodb.entity.BaseDocument;
+import com.arangodb.model.AqlQueryOptions;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs an AQL query over the preloaded documents and fetches all its batches.
+ *
+ * @author Michele Rastelli
+ */
+final class CursorWorkload implements Workload {
+
+    private static final String QUERY = "FOR d IN @@collection LIMIT @limit RETURN d";
+
+    private final LoadTestOptions options;
+    private final Map<String, Object> bindVars = new HashMap<>();
+
+    CursorWorkload(final LoadTestOptions options) {
+        this.options = options;
+        bindVars.put("@collection", options.getCollection());
+        bindVars.put("limit", options.getCursorSize());
+    }
+
+    @Override
+    public String getName() {
+        return "cursor";
+    }
+
+    @Override
+    public void setup(final ArangoDatabase db) {
+        Workloads.preload(db, options);
+    }
+
+    @Override
+    public void execute(final ArangoDatabase db, final long n) {
+        try (ArangoCursor<BaseDocument> cursor = db.query(QUERY, BaseDocument.class, bindVars, queryOptions())) {
+            while (cursor.hasNext()) {
+                cursor.next();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<?> executeAsync(final ArangoDatabaseAsync db, final long n) {
+        return db.query(QUERY, BaseDocument.class, bindVars, queryOptions()).thenCompose(Workloads::drain);
+    }
+
+    private AqlQueryOptions queryOptions() {
+        return new AqlQueryOptions().batchSize(options.getBatchSize());
+    }
+
+}
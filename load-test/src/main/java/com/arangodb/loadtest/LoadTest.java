@@ -0,0 +1,201 @@
+package com.arangodb.loadtest;
+
+import com.arangodb.ArangoCollection;
+import com.arangodb.ArangoDB;
+import com.arangodb.ArangoDatabase;
+import com.arangodb.ArangoDatabaseAsync;
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator: operations are started at a constant arrival rate, independently of the completion of
+ * the previous ones, so that a slow response does not delay the requests scheduled after it. The operation to
+ * start is picked among the workloads by weight, with a random generator with a fixed seed.
+ *
+ * @author Michele Rastelli
+ */
+final class LoadTest {
+
+    private static final long REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long DRAIN_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private final LoadTestOptions options;
+    private final ArangoDB adb;
+    private final List<Workload> workloads = new ArrayList<>();
+    private final List<OperationStats> stats = new ArrayList<>();
+    private final int[] cumulativeWeights;
+    private final ExecutorService executor;
+    private final AtomicLong inFlight = new AtomicLong();
+    private volatile long measureStart;
+
+    LoadTest(final LoadTestOptions options, final ArangoDB adb) {
+        this.options = options;
+        this.adb = adb;
+        cumulativeWeights = new int[options.getWorkloads().size()];
+        int total = 0;
+        for (Map.Entry<String, Integer> e : options.getWorkloads().entrySet()) {
+            final Workload workload = Workloads.create(e.getKey(), options);
+            total += e.getValue();
+            cumulativeWeights[workloads.size()] = total;
+            workloads.add(workload);
+            stats.add(new OperationStats(workload.getName()));
+        }
+        executor = options.getClient().createExecutor(options.getThreads());
+    }
+
+    /**
+     * Recreates the collection and prepares the data of the workloads.
+     */
+    void setup() {
+        final ArangoDatabase db = adb.db(options.getDatabase());
+        final ArangoCollection collection = db.collection(options.getCollection());
+        if (collection.exists()) {
+            collection.drop();
+        }
+        collection.create();
+        for (Workload workload : workloads) {
+            workload.setup(db);
+        }
+    }
+
+    /**
+     * Runs the warmup and the measured run, then waits for the operations in flight to complete.
+     *
+     * @return the results
+     */
+    Map<String, Object> run() {
+        final ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread t = new Thread(r, "load-test-reporter");
+            t.setDaemon(true);
+            return t;
+        });
+        final double periodNanos = 1e9 / options.getRate();
+        final long start = System.nanoTime();
+        measureStart = start + options.getWarmup().toNanos();
+        final long end = measureStart + options.getDuration().toNanos();
+        reporter.scheduleAtFixedRate(this::report, REPORT_INTERVAL_NANOS, REPORT_INTERVAL_NANOS, TimeUnit.NANOSECONDS);
+        try {
+            final SplittableRandom random = new SplittableRandom(options.getSeed());
+            final int totalWeight = cumulativeWeights[cumulativeWeights.length - 1];
+            for (long n = 0; ; n++) {
+                final long scheduled = start + (long) (n * periodNanos);
+                if (scheduled >= end) {
+                    break;
+                }
+                long now;
+                while ((now = System.nanoTime()) < scheduled) {
+                    LockSupport.parkNanos(scheduled - now);
+                }
+                final int w = select(random.nextInt(totalWeight));
+                dispatch(workloads.get(w), stats.get(w), n, scheduled);
+            }
+            final long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT_NANOS;
+            while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+            }
+        } finally {
+            reporter.shutdownNow();
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+            awaitTermination(reporter);
+        }
+        final long elapsed = end - measureStart;
+        final Map<String, Object> operations = new LinkedHashMap<>();
+        for (OperationStats s : stats) {
+            s.interval();
+            operations.put(s.getName(), s.toMap(elapsed));
+        }
+        final Map<String, Object> results = new LinkedHashMap<>();
+        results.put("operations", operations);
+        results.put("incomplete", inFlight.get());
+        return results;
+    }
+
+    private static void awaitTermination(final ExecutorService executor) {
+        try {
+            executor.awaitTermination(REPORT_INTERVAL_NANOS, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private int select(final int value) {
+        int i = 0;
+        while (value >= cumulativeWeights[i]) {
+            i++;
+        }
+        return i;
+    }
+
+    private void dispatch(final Workload workload, final OperationStats stats, final long n, final long scheduled) {
+        final boolean measured = scheduled >= measureStart;
+        inFlight.incrementAndGet();
+        if (executor == null) {
+            final long started = System.nanoTime();
+            CompletableFuture<?> future;
+            try {
+                final ArangoDatabaseAsync db = adb.async().db(options.getDatabase());
+                future = workload.executeAsync(db, n);
+            } catch (RuntimeException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            future.whenComplete((r, e) -> complete(stats, scheduled, started, e, measured));
+        } else {
+            executor.execute(() -> {
+                final long started = System.nanoTime();
+                Throwable error = null;
+                try {
+                    workload.execute(adb.db(options.getDatabase()), n);
+                } catch (RuntimeException e) {
+                    error = e;
+                }
+                complete(stats, scheduled, started, error, measured);
+            });
+        }
+    }
+
+    private void complete(final OperationStats stats, final long scheduled, final long started, final Throwable error,
+                          final boolean measured) {
+        stats.record(scheduled, started, System.nanoTime(), error, measured);
+        inFlight.decrementAndGet();
+    }
+
+    private void report() {
+        final long now = System.nanoTime();
+        final boolean warmup = now < measureStart;
+        for (OperationStats s : stats) {
+            final Histogram interval = s.interval();
+            if (warmup) {
+                continue;
+            }
+            System.out.printf(Locale.ROOT,
+                    "%7.1fs %-20s %9d ops/s  p50 %9.3f ms  p99 %9.3f ms  max %9.3f ms  errors %d  in flight %d%n",
+                    (now - measureStart) / 1e9,
+                    s.getName(),
+                    interval.getTotalCount(),
+                    interval.getValueAtPercentile(50) / 1e6,
+                    interval.getValueAtPercentile(99) / 1e6,
+                    interval.getMaxValue() / 1e6,
+                    s.getErrors(),
+                    inFlight.get());
+        }
+        if (warmup) {
+            System.out.printf(Locale.ROOT, "warmup, in flight %d%n", inFlight.get());
+        }
+    }
+
+}
@@ -0,0 +1,288 @@
+package com.arangodb.loadtest;
+
+import com.arangodb.Protocol;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Command line options of the load generator, in the form {@code --name=value}.
+ *
+ * @author Michele Rastelli
+ */
+final class LoadTestOptions {
+
+    static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: java -jar load-test.jar [--name=value ...]",
+            "",
+            "  --workload=<name[:weight],...>  operations to mix, by weight (default: point-read)",
+            "                                  version, point-read, bulk-insert, cursor, stream-transaction",
+            "  --client=<sync|async|virtual>   driver API and threading model (default: sync)",
+            "  --rate=<ops/s>                  constant arrival rate of the operations (default: 1000)",
+            "  --warmup=<duration>             warmup, not measured, e.g. 500ms, 10s, 1m (default: 10s)",
+            "  --duration=<duration>           measured run (default: 30s)",
+            "  --threads=<n>                   threads of the sync client (default: 64)",
+            "  --host=<host>                   ArangoDB host, if not set a stand-in server is started in process",
+            "  --port=<port>                   ArangoDB port (default: 8529)",
+            "  --protocol=<protocol>           VST, HTTP_JSON, HTTP_VPACK, HTTP2_JSON, HTTP2_VPACK (default: driver default)",
+            "  --user=<user>                   (default: root)",
+            "  --password=<password>           (default: none)",
+            "  --max-connections=<n>           connections per host (default: driver default)",
+            "  --database=<name>               (default: _system)",
+            "  --collection=<name>             collection used by the workloads, dropped and recreated (default: loadtest)",
+            "  --docs=<n>                      documents preloaded for point-read and cursor (default: 10000)",
+            "  --doc-size=<bytes>              size of the payload of the written documents (default: 100)",
+            "  --batch-size=<n>                documents per bulk insert and per cursor batch (default: 100)",
+            "  --cursor-size=<n>               documents read by each cursor (default: 1000)",
+            "  --server-latency=<duration>     latency of the stand-in server (default: 0ms)",
+            "  --seed=<n>                      seed of the operation mix and of the generated data (default: 0)",
+            "  --out=<file>                    JSON results (default: load-test-results.json)");
+
+    private final Map<String, Integer> workloads = new LinkedHashMap<>();
+    private Client client = Client.SYNC;
+    private double rate = 1000;
+    private Duration warmup = Duration.ofSeconds(10);
+    private Duration duration = Duration.ofSeconds(30);
+    private int threads = 64;
+    private String host;
+    private int port = 8529;
+    private Protocol protocol;
+    private String user = "root";
+    private String password;
+    private Integer maxConnections;
+    private String database = "_system";
+    private String collection = "loadtest";
+    private int docs = 10_000;
+    private int docSize = 100;
+    private int batchSize = 100;
+    private int cursorSize = 1000;
+    private Duration serverLatency = Duration.ZERO;
+    private long seed;
+    private Path out = Paths.get("load-test-results.json");
+
+    private LoadTestOptions() {
+    }
+
+    static LoadTestOptions parse(final String... args) {
+        final LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            final int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Invalid option: " + arg);
+            }
+            options.set(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        if (options.workloads.isEmpty()) {
+            options.workloads.put("point-read", 1);
+        }
+        return options;
+    }
+
+    private void set(final String name, final String value) {
+        switch (name) {
+            case "workload":
+                for (String w : value.split(",")) {
+                    final String[] parts = w.trim().split(":");
+                    final int weight = parts.length > 1 ? Integer.parseInt(parts[1]) : 1;
+                    if (weight < 1) {
+                        throw new IllegalArgumentException("Invalid weight: " + w);
+                    }
+                    workloads.put(parts[0], weight);
+                }
+                break;
+            case "client":
+                client = Client.valueOf(value.toUpperCase(Locale.ROOT));
+                break;
+            case "rate":
+                rate = Double.parseDouble(value);
+                if (rate <= 0) {
+                    throw new IllegalArgumentException("Invalid rate: " + value);
+                }
+                break;
+            case "warmup":
+                warmup = parseDuration(value);
+                break;
+            case "duration":
+                duration = parseDuration(value);
+                break;
+            case "threads":
+                threads = Integer.parseInt(value);
+                break;
+            case "host":
+                host = value;
+                break;
+            case "port":
+                port = Integer.parseInt(value);
+                break;
+            case "protocol":
+                protocol = Protocol.valueOf(value.toUpperCase(Locale.ROOT));
+                break;
+            case "user":
+                user = value;
+                break;
+            case "password":
+                password = value;
+                break;
+            case "max-connections":
+                maxConnections = Integer.parseInt(value);
+                break;
+            case "database":
+                database = value;
+                break;
+            case "collection":
+                collection = value;
+                break;
+            case "docs":
+                docs = Integer.parseInt(value);
+                break;
+            case "doc-size":
+                docSize = Integer.parseInt(value);
+                break;
+            case "batch-size":
+                batchSize = Integer.parseInt(value);
+                break;
+            case "cursor-size":
+                cursorSize = Integer.parseInt(value);
+                break;
+            case "server-latency":
+                serverLatency = parseDuration(value);
+                break;
+            case "seed":
+                seed = Long.parseLong(value);
+                break;
+            case "out":
+                out = Paths.get(value);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown option: --" + name);
+        }
+    }
+
+    static Duration parseDuration(final String value) {
+        final String v = value.trim().toLowerCase(Locale.ROOT);
+        if (v.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(v.substring(0, v.length() - 2)));
+        } else if (v.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(v.substring(0, v.length() - 1)));
+        } else if (v.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(v.substring(0, v.length() - 1)));
+        }
+        throw new IllegalArgumentException("Invalid duration: " + value + " (expected e.g. 500ms, 10s, 1m)");
+    }
+
+    /**
+     * @return the options as exported with the results
+     */
+    Map<String, Object> toMap() {
+        final Map<String, Object> map = new LinkedHashMap<>();
+        map.put("workload", workloads);
+        map.put("client", client.name().toLowerCase(Locale.ROOT));
+        map.put("rate", rate);
+        map.put("warmupSeconds", warmup.toMillis() / 1000.0);
+        map.put("durationSeconds", duration.toMillis() / 1000.0);
+        if (client == Client.SYNC) {
+            map.put("threads", threads);
+        }
+        map.put("server", host != null ? host + ":" + port : "stand-in");
+        if (host == null) {
+            map.put("serverLatencyMillis", serverLatency.toMillis());
+        }
+        map.put("protocol", protocol != null ? protocol.name() : "default");
+        map.put("maxConnections", maxConnections != null ? maxConnections : "default");
+        map.put("docs", docs);
+        map.put("docSize", docSize);
+        map.put("batchSize", batchSize);
+        map.put("cursorSize", cursorSize);
+        map.put("seed", seed);
+        return map;
+    }
+
+    Map<String, Integer> getWorkloads() {
+        return workloads;
+    }
+
+    Client getClient() {
+        return client;
+    }
+
+    double getRate() {
+        return rate;
+    }
+
+    Duration getWarmup() {
+        return warmup;
+    }
+
+    Duration getDuration() {
+        return duration;
+    }
+
+    int getThreads() {
+        return threads;
+    }
+
+    String getHost() {
+        return host;
+    }
+
+    int getPort() {
+        return port;
+    }
+
+    Protocol getProtocol() {
+        return protocol;
+    }
+
+    String getUser() {
+        return user;
+    }
+
+    String getPassword() {
+        return password;
+    }
+
+    Integer getMaxConnections() {
+        return maxConnections;
+    }
+
+    String getDatabase() {
+        return database;
+    }
+
+    String getCollection() {
+        return collection;
+    }
+
+    int getDocs() {
+        return docs;
+    }
+
+    int getDocSize() {
+        return docSize;
+    }
+
+    int getBatchSize() {
+        return batchSize;
+    }
+
+    int getCursorSize() {
+        return cursorSize;
+    }
+
+    Duration getServerLatency() {
+        return serverLatency;
+    }
+
+    long getSeed() {
+        return seed;
+    }
+
+    Path getOut() {
+        return out;
+    }
+
+}
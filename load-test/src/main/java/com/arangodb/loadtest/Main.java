@@ -0,0 +1,89 @@
+package com.arangodb.loadtest;
+
+import com.arangodb.ArangoDB;
+import com.arangodb.Protocol;
+import com.arangodb.testserver.StandInServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Runs the load test described by the command line options and writes the results as JSON. Without the
+ * {@code --host} option, the driver connects to an in-process {@link StandInServer}.
+ *
+ * @author Michele Rastelli
+ */
+public class Main {
+
+    public static void main(String[] args) throws Exception {
+        if (Arrays.asList(args).contains("--help")) {
+            System.out.println(LoadTestOptions.USAGE);
+            return;
+        }
+        final LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(LoadTestOptions.USAGE);
+            System.exit(1);
+            return;
+        }
+
+        StandInServer server = null;
+        final ArangoDB.Builder builder = new ArangoDB.Builder()
+                .user(options.getUser())
+                .password(options.getPassword())
+                .maxConnections(options.getMaxConnections());
+        if (options.getProtocol() != null) {
+            builder.protocol(options.getProtocol());
+        }
+        if (options.getHost() != null) {
+            builder.host(options.getHost(), options.getPort());
+        } else {
+            server = StandInServer.builder()
+                    .latency(options.getServerLatency())
+                    .seed(options.getSeed())
+                    .start();
+            builder.host(server.getHost(),
+                    options.getProtocol() == Protocol.VST ? server.getVstPort() : server.getHttpPort());
+        }
+
+        final ArangoDB adb = builder.build();
+        try {
+            final LoadTest loadTest = new LoadTest(options, adb);
+            loadTest.setup();
+            final Map<String, Object> results = new LinkedHashMap<>();
+            results.put("timestamp", Instant.now().toString());
+            results.put("driverVersion", driverVersion());
+            results.put("javaVersion", System.getProperty("java.version"));
+            results.put("options", options.toMap());
+            results.putAll(loadTest.run());
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(options.getOut().toFile(), results);
+            System.out.println("results written to " + options.getOut().toAbsolutePath());
+        } finally {
+            adb.shutdown();
+            if (server != null) {
+                server.close();
+            }
+        }
+    }
+
+    private static String driverVersion() throws IOException {
+        try (InputStream is = ArangoDB.class.getResourceAsStream("/META-INF/maven/com.arangodb/core/pom.properties")) {
+            if (is == null) {
+                return "unknown";
+            }
+            final Properties properties = new Properties();
+            properties.load(is);
+            return properties.getProperty("version", "unknown");
+        }
+    }
+
+}
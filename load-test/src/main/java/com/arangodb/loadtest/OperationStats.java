@@ -0,0 +1,134 @@
+package com.arangodb.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and service time histograms of an operation, in nanoseconds.
+ * <p>
+ * The latency is measured from the time at which the operation was scheduled to start, so that it includes the time
+ * spent waiting for a thread or a connection when the client falls behind the arrival rate, and it is not affected
+ * by coordinated omission. The service time is measured from the time at which the operation actually started.
+ *
+ * @author Michele Rastelli
+ */
+final class OperationStats {
+
+    private static final long HIGHEST_TRACKABLE_VALUE = TimeUnit.MINUTES.toNanos(10);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+    private final String name;
+    private final Recorder latencyRecorder = new Recorder(HIGHEST_TRACKABLE_VALUE, SIGNIFICANT_DIGITS);
+    private final Recorder serviceTimeRecorder = new Recorder(HIGHEST_TRACKABLE_VALUE, SIGNIFICANT_DIGITS);
+    private final Histogram latency = new Histogram(HIGHEST_TRACKABLE_VALUE, SIGNIFICANT_DIGITS);
+    private final Histogram serviceTime = new Histogram(HIGHEST_TRACKABLE_VALUE, SIGNIFICANT_DIGITS);
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final AtomicReference<String> firstError = new AtomicReference<>();
+    private Histogram intervalLatency;
+    private Histogram intervalServiceTime;
+
+    OperationStats(final String name) {
+        this.name = name;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    /**
+     * @param scheduled time at which the operation was scheduled to start, from {@link System#nanoTime()}
+     * @param started   time at which the operation started
+     * @param ended     time at which the operation completed
+     * @param error     the failure of the operation, or {@code null}
+     * @param measured  whether the operation was scheduled after the warmup
+     */
+    void record(final long scheduled, final long started, final long ended, final Throwable error,
+                final boolean measured) {
+        if (!measured) {
+            return;
+        }
+        completed.increment();
+        if (error != null) {
+            errors.increment();
+            firstError.compareAndSet(null, String.valueOf(error));
+            return;
+        }
+        latencyRecorder.recordValue(Math.min(ended - scheduled, HIGHEST_TRACKABLE_VALUE));
+        serviceTimeRecorder.recordValue(Math.min(ended - started, HIGHEST_TRACKABLE_VALUE));
+    }
+
+    /**
+     * Moves the values recorded since the previous call into the totals. Not thread safe, it must be called by a
+     * single thread.
+     *
+     * @return the latency histogram of the values recorded since the previous call
+     */
+    Histogram interval() {
+        intervalLatency = latencyRecorder.getIntervalHistogram(intervalLatency);
+        intervalServiceTime = serviceTimeRecorder.getIntervalHistogram(intervalServiceTime);
+        latency.add(intervalLatency);
+        serviceTime.add(intervalServiceTime);
+        return intervalLatency;
+    }
+
+    long getCompleted() {
+        return completed.sum();
+    }
+
+    long getErrors() {
+        return errors.sum();
+    }
+
+    Histogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * @param elapsedNanos duration of the measured run
+     * @return the summary exported with the results, with times in microseconds
+     */
+    Map<String, Object> toMap(final long elapsedNanos) {
+        final Map<String, Object> map = new LinkedHashMap<>();
+        map.put("count", getCompleted());
+        map.put("errors", getErrors());
+        if (firstError.get() != null) {
+            map.put("firstError", firstError.get());
+        }
+        map.put("throughput", getCompleted() * 1e9 / elapsedNanos);
+        map.put("latency", summary(latency));
+        map.put("serviceTime", summary(serviceTime));
+        return map;
+    }
+
+    private static Map<String, Object> summary(final Histogram histogram) {
+        final Map<String, Object> map = new LinkedHashMap<>();
+        map.put("unit", "us");
+        map.put("mean", micros(histogram.getMean()));
+        for (double p : PERCENTILES) {
+            map.put("p" + (p == Math.rint(p) ? String.valueOf((long) p) : String.valueOf(p)),
+                    micros(histogram.getValueAtPercentile(p)));
+        }
+        map.put("max", micros(histogram.getMaxValue()));
+        // full histogram, to compare runs with HdrHistogram tools
+        final ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        final int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        map.put("histogram", Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length)));
+        return map;
+    }
+
+    static double micros(final double nanos) {
+        return Math.round(nanos / 10.0) / 100.0;
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.arangodb.loadtest;
+
+import com.arangodb.ArangoDatabase;
+import com.arangodb.ArangoDatabaseAsync;
+import com.arangodb.entity.BaseDocument;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Reads a preloaded document by key.
+ *
+ * @author Michele Rastelli
+ */
+final class PointReadWorkload implements Workload {
+
+    private final LoadTestOptions options;
+
+    PointReadWorkload(final LoadTestOptions options) {
+        this.options = options;
+    }
+
+    @Override
+    public String getName() {
+        return "point-read";
+    }
+
+    @Override
+    public void setup(final ArangoDatabase db) {
+        Workloads.preload(db, options);
+    }
+
+    @Override
+    public void execute(final ArangoDatabase db, final long n) {
+        db.collection(options.getCollection()).getDocument(Workloads.key(n, options.getDocs()), BaseDocument.class);
+    }
+
+    @Override
+    public CompletableFuture<?> executeAsync(final ArangoDatabaseAsync db, final long n) {
+        return db.collection(options.getCollection())
+                .getDocument(Workloads.key(n, options.getDocs()), BaseDocument.class);
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.arangodb.loadtest;
+
+import com.arangodb.ArangoDatabase;
+import com.arangodb.ArangoDatabaseAsync;
+import com.arangodb.entity.StreamTransactionEntity;
+import com.arangodb.model.DocumentCreateOptions;
+import com.arangodb.model.StreamTransactionOptions;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Begins a stream transaction, inserts a document in it and commits it, with three sequential requests. The
+ * transaction is aborted if any of them fails.
+ *
+ * @author Michele Rastelli
+ */
+final class StreamTransactionWorkload implements Workload {
+
+    private final String collection;
+    private final String payload;
+
+    StreamTransactionWorkload(final LoadTestOptions options) {
+        collection = options.getCollection();
+        payload = Workloads.payload(options.getDocSize(), options.getSeed());
+    }
+
+    @Override
+    public String getName() {
+        return "stream-transaction";
+    }
+
+    @Override
+    public void execute(final ArangoDatabase db, final long n) {
+        final StreamTransactionEntity tx = db.beginStreamTransaction(transactionOptions());
+        try {
+            db.collection(collection).insertDocument(Workloads.document(null, n, payload),
+                    new DocumentCreateOptions().streamTransactionId(tx.getId()));
+            db.commitStreamTransaction(tx.getId());
+        } catch (RuntimeException e) {
+            try {
+                db.abortStreamTransaction(tx.getId());
+            } catch (RuntimeException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public CompletableFuture<?> executeAsync(final ArangoDatabaseAsync db, final long n) {
+        return db.beginStreamTransaction(transactionOptions()).thenCompose(tx -> db.collection(collection)
+                .insertDocument(Workloads.document(null, n, payload),
+                        new DocumentCreateOptions().streamTransactionId(tx.getId()))
+                .thenCompose(created -> db.commitStreamTransaction(tx.getId()))
+                .whenComplete((committed, e) -> {
+                    if (e != null) {
+                        db.abortStreamTransaction(tx.getId());
+                    }
+                }));
+    }
+
+    private StreamTransactionOptions transactionOptions() {
+        return new StreamTransactionOptions().writeCollections(collection);
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.arangodb.loadtest;
+
+import com.arangodb.ArangoDatabase;
+import com.arangodb.ArangoDatabaseAsync;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Requests the server version, measuring the driver and transport overhead on a minimal request.
+ *
+ * @author Michele Rastelli
+ */
+final class VersionWorkload implements Workload {
+
+    @Override
+    public String getName() {
+        return "version";
+    }
+
+    @Override
+    public void execute(final ArangoDatabase db, final long n) {
+        db.getVersion();
+    }
+
+    @Override
+    public CompletableFuture<?> executeAsync(final ArangoDatabaseAsync db, final long n) {
+        return db.getVersion();
+    }
+
+}
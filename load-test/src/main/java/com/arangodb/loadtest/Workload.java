@@ -0,0 +1,36 @@
+package com.arangodb.loadtest;
+
+import com.arangodb.ArangoDatabase;
+import com.arangodb.ArangoDatabaseAsync;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Operation executed by the load generator, whose latency is recorded under {@link #getName()}.
+ * <p>
+ * Implementations must be thread safe and derive the data of the {@code n}-th operation from {@code n} only, so that
+ * the same sequence of requests is sent by every client type.
+ *
+ * @author Michele Rastelli
+ */
+public interface Workload {
+
+    String getName();
+
+    /**
+     * Prepares the data required by the operations, before the run.
+     */
+    default void setup(ArangoDatabase db) {
+    }
+
+    /**
+     * Executes the {@code n}-th operation with the synchronous driver, blocking until it completes.
+     */
+    void execute(ArangoDatabase db, long n);
+
+    /**
+     * Executes the {@code n}-th operation with the asynchronous driver.
+     */
+    CompletableFuture<?> executeAsync(ArangoDatabaseAsync db, long n);
+
+}
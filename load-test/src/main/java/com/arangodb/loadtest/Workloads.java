@@ -0,0 +1,105 @@
+package com.arangodb.loadtest;
+
+import com.arangodb.ArangoCollection;
+import com.arangodb.ArangoCursorAsync;
+import com.arangodb.ArangoDatabase;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Factory of the built-in workloads and data generation shared among them.
+ *
+ * @author Michele Rastelli
+ */
+final class Workloads {
+
+    private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+
+    private Workloads() {
+    }
+
+    static Workload create(final String name, final LoadTestOptions options) {
+        switch (name) {
+            case "version":
+                return new VersionWorkload();
+            case "point-read":
+                return new PointReadWorkload(options);
+            case "bulk-insert":
+                return new BulkInsertWorkload(options);
+            case "cursor":
+                return new CursorWorkload(options);
+            case "stream-transaction":
+                return new StreamTransactionWorkload(options);
+            default:
+                throw new IllegalArgumentException("Unknown workload: " + name);
+        }
+    }
+
+    /**
+     * Inserts the documents with keys from {@code 0} to {@code docs - 1}, if not already there.
+     */
+    static void preload(final ArangoDatabase db, final LoadTestOptions options) {
+        final ArangoCollection collection = db.collection(options.getCollection());
+        if (collection.count().getCount() >= options.getDocs()) {
+            return;
+        }
+        final String payload = payload(options.getDocSize(), options.getSeed());
+        final List<Map<String, Object>> batch = new ArrayList<>();
+        for (int i = 0; i < options.getDocs(); i++) {
+            batch.add(document(String.valueOf(i), i, payload));
+            if (batch.size() == 1000 || i == options.getDocs() - 1) {
+                collection.importDocuments(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * @return a document with the given key, or with a key generated by the server if {@code null}
+     */
+    static Map<String, Object> document(final String key, final long value, final String payload) {
+        final Map<String, Object> doc = new LinkedHashMap<>();
+        if (key != null) {
+            doc.put("_key", key);
+        }
+        doc.put("value", value);
+        doc.put("payload", payload);
+        return doc;
+    }
+
+    static String payload(final int size, final long seed) {
+        final SplittableRandom random = new SplittableRandom(seed);
+        final StringBuilder sb = new StringBuilder(size);
+        for (int i = 0; i < size; i++) {
+            sb.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @return a uniformly distributed key among the preloaded documents, derived from the operation number
+     */
+    static String key(final long n, final int docs) {
+        // SplitMix64 finalizer
+        long z = n * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return String.valueOf(Math.floorMod(z ^ (z >>> 31), docs));
+    }
+
+    /**
+     * Fetches the remaining batches of the cursor.
+     */
+    static <T> CompletableFuture<Void> drain(final ArangoCursorAsync<T> cursor) {
+        if (Boolean.TRUE.equals(cursor.hasMore())) {
+            return cursor.nextBatch().thenCompose(Workloads::drain);
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+}
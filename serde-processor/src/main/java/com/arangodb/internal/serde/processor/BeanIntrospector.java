@@ -0,0 +1,449 @@
+package com.arangodb.internal.serde.processor;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Finds the serialized properties of a class with the rules of the Jackson bean introspection under the default
+ * configuration: public getters ({@code getX()}, and {@code isX()} returning a boolean), public fields, field order
+ * first, {@code @JsonIgnore} on any accessor of the property.
+ *
+ * @author Michele Rastelli
+ */
+final class BeanIntrospector {
+
+    private static final String JACKSON = "com.fasterxml.jackson.";
+    private static final String JSON_IGNORE = "com.fasterxml.jackson.annotation.JsonIgnore";
+    private static final String JSON_IGNORE_TYPE = "com.fasterxml.jackson.annotation.JsonIgnoreType";
+    private static final String JSON_SERIALIZE = "com.fasterxml.jackson.databind.annotation.JsonSerialize";
+    private static final String JSON_DESERIALIZE = "com.fasterxml.jackson.databind.annotation.JsonDeserialize";
+    private static final String CONTEXTUAL_SERIALIZER = "com.fasterxml.jackson.databind.ser.ContextualSerializer";
+    private static final String RESOLVABLE_SERIALIZER = "com.fasterxml.jackson.databind.ser.ResolvableSerializer";
+    private static final String USER_DATA = "com.arangodb.internal.serde.UserData";
+    private static final String USER_DATA_INSIDE = "com.arangodb.internal.serde.UserDataInside";
+    private static final String JAVA_BEANS_TRANSIENT = "java.beans.Transient";
+
+    private final Elements elements;
+    private final Types types;
+
+    BeanIntrospector(final ProcessingEnvironment env) {
+        elements = env.getElementUtils();
+        types = env.getTypeUtils();
+    }
+
+    /**
+     * @return the model of the class, {@code null} if it has no properties
+     * @throws UnsupportedException if the class uses Jackson features not supported by the generated serializers
+     */
+    BeanModel introspect(final TypeElement type) throws UnsupportedException {
+        final List<TypeElement> hierarchy = hierarchy(type);
+        for (TypeElement t : hierarchy) {
+            for (AnnotationMirror a : t.getAnnotationMirrors()) {
+                final String name = annotationName(a);
+                if (name.startsWith(JACKSON) && !name.equals(JSON_DESERIALIZE)) {
+                    throw new UnsupportedException("@" + simpleName(name) + " on " + t.getQualifiedName());
+                }
+            }
+        }
+
+        final Map<String, Accessors> accessors = new LinkedHashMap<>();
+        // fields first, from the root of the hierarchy
+        final List<TypeElement> classes = new ArrayList<>();
+        for (TypeElement t : hierarchy) {
+            if (t.getKind().isClass()) {
+                classes.add(t);
+            }
+        }
+        Collections.reverse(classes);
+        for (TypeElement c : classes) {
+            for (VariableElement f : ElementFilter.fieldsIn(c.getEnclosedElements())) {
+                if (f.getModifiers().contains(Modifier.STATIC) || f.getModifiers().contains(Modifier.TRANSIENT)) {
+                    continue;
+                }
+                final Accessors a = accessors.computeIfAbsent(f.getSimpleName().toString(), Accessors::new);
+                a.members.add(f);
+                if (f.getModifiers().contains(Modifier.PUBLIC)) {
+                    a.field = f;
+                }
+            }
+        }
+
+        // then methods, from the most derived type, whose declarations override the inherited ones
+        final Set<String> methodNames = new HashSet<>();
+        final Map<String, List<Element>> setters = new HashMap<>();
+        for (TypeElement t : hierarchy) {
+            for (ExecutableElement m : ElementFilter.methodsIn(t.getEnclosedElements())) {
+                if (m.getModifiers().contains(Modifier.STATIC)) {
+                    continue;
+                }
+                final String methodName = m.getSimpleName().toString();
+                if (m.getParameters().isEmpty()) {
+                    final String name = getterName(m);
+                    if (name == null) {
+                        continue;
+                    }
+                    final Accessors a = accessors.computeIfAbsent(name, Accessors::new);
+                    a.members.add(m);
+                    if (methodNames.add(methodName) && m.getModifiers().contains(Modifier.PUBLIC)
+                            && (a.getter == null || (isIsGetter(a.getter) && !isIsGetter(m)))) {
+                        a.getter = m;
+                    }
+                } else if (m.getParameters().size() == 1 && methodName.startsWith("set") && methodName.length() > 3) {
+                    setters.computeIfAbsent(mangle(methodName, 3), k -> new ArrayList<>()).add(m);
+                }
+            }
+        }
+
+        final List<BeanModel.Property> properties = new ArrayList<>();
+        for (Accessors a : accessors.values()) {
+            final List<Element> members = new ArrayList<>(a.members);
+            members.addAll(setters.getOrDefault(a.name, Collections.emptyList()));
+            final BeanModel.Property property = property(type, a, members);
+            if (property != null) {
+                properties.add(property);
+            }
+        }
+        return properties.isEmpty() ? null : new BeanModel(type, properties);
+    }
+
+    /**
+     * @return whether a serializer can be generated for the type and referenced from generated code
+     */
+    static boolean isCandidate(final TypeElement type) {
+        if (type.getKind() != ElementKind.CLASS
+                || type.getModifiers().contains(Modifier.ABSTRACT)) {
+            return false;
+        }
+        return isAccessible(type);
+    }
+
+    private static boolean isAccessible(final TypeElement type) {
+        if (!type.getModifiers().contains(Modifier.PUBLIC)) {
+            return false;
+        }
+        if (type.getNestingKind() == NestingKind.TOP_LEVEL) {
+            return true;
+        }
+        return type.getNestingKind() == NestingKind.MEMBER
+                && type.getModifiers().contains(Modifier.STATIC)
+                && isAccessible((TypeElement) type.getEnclosingElement());
+    }
+
+    private BeanModel.Property property(final TypeElement type, final Accessors a, final List<Element> members)
+            throws UnsupportedException {
+        boolean ignored = false;
+        boolean userData = false;
+        boolean userDataInside = false;
+        TypeElement using = null;
+        for (Element m : members) {
+            for (AnnotationMirror am : m.getAnnotationMirrors()) {
+                final String name = annotationName(am);
+                switch (name) {
+                    case JSON_IGNORE:
+                        final AnnotationValue value = value(am, "value");
+                        ignored |= value == null || Boolean.TRUE.equals(value.getValue());
+                        break;
+                    case JSON_SERIALIZE:
+                        using = using(type, a.name, am);
+                        break;
+                    case JSON_DESERIALIZE:
+                        break;
+                    case USER_DATA:
+                        userData = true;
+                        break;
+                    case USER_DATA_INSIDE:
+                        userDataInside = true;
+                        break;
+                    default:
+                        if (name.startsWith(JACKSON) || name.equals(JAVA_BEANS_TRANSIENT)) {
+                            throw new UnsupportedException("@" + simpleName(name) + " on property " + a.name);
+                        }
+                }
+            }
+        }
+        if (ignored) {
+            return null;
+        }
+
+        final DeclaredType declaredType = (DeclaredType) type.asType();
+        final TypeMirror valueType;
+        final String accessor;
+        if (a.getter != null) {
+            valueType = ((ExecutableType) types.asMemberOf(declaredType, a.getter)).getReturnType();
+            accessor = a.getter.getSimpleName() + "()";
+        } else if (a.field != null) {
+            valueType = types.asMemberOf(declaredType, a.field);
+            accessor = a.name;
+        } else {
+            return null;
+        }
+
+        if (valueType.getKind() == TypeKind.DECLARED) {
+            final Element valueElement = types.asElement(valueType);
+            for (AnnotationMirror am : valueElement.getAnnotationMirrors()) {
+                if (annotationName(am).equals(JSON_IGNORE_TYPE)) {
+                    throw new UnsupportedException("@JsonIgnoreType on the type of property " + a.name);
+                }
+            }
+        }
+
+        if (userData) {
+            return new BeanModel.Property(a.name, accessor, Object.class.getName(), false,
+                    BeanModel.Kind.USER_DATA, null);
+        }
+        if (userDataInside) {
+            if (isSubtype(valueType, "java.util.Map")) {
+                final DeclaredType mapType = supertype(valueType, "java.util.Map");
+                if (mapType == null || mapType.getTypeArguments().isEmpty()
+                        || !isType(mapType.getTypeArguments().get(0), String.class.getName())) {
+                    throw new UnsupportedException("@UserDataInside on property " + a.name + " without String keys");
+                }
+                return new BeanModel.Property(a.name, accessor, "java.util.Map<?, ?>", false,
+                        BeanModel.Kind.USER_DATA_MAP, null);
+            }
+            if (isSubtype(valueType, "java.util.Collection")) {
+                return new BeanModel.Property(a.name, accessor, "java.util.Collection<?>", false,
+                        BeanModel.Kind.USER_DATA_COLLECTION, null);
+            }
+            throw new UnsupportedException("@UserDataInside on property " + a.name + " of type " + valueType);
+        }
+        if (using != null) {
+            return new BeanModel.Property(a.name, accessor, Object.class.getName(), false,
+                    BeanModel.Kind.USING, using.getQualifiedName().toString());
+        }
+
+        switch (valueType.getKind()) {
+            case BOOLEAN:
+                return new BeanModel.Property(a.name, accessor, "boolean", true, BeanModel.Kind.BOOLEAN, null);
+            case SHORT:
+                return new BeanModel.Property(a.name, accessor, "short", true, BeanModel.Kind.SHORT, null);
+            case INT:
+                return new BeanModel.Property(a.name, accessor, "int", true, BeanModel.Kind.INT, null);
+            case LONG:
+                return new BeanModel.Property(a.name, accessor, "long", true, BeanModel.Kind.LONG, null);
+            case FLOAT:
+                return new BeanModel.Property(a.name, accessor, "float", true, BeanModel.Kind.FLOAT, null);
+            case DOUBLE:
+                return new BeanModel.Property(a.name, accessor, "double", true, BeanModel.Kind.DOUBLE, null);
+            case DECLARED:
+                final String name = ((TypeElement) types.asElement(valueType)).getQualifiedName().toString();
+                final BeanModel.Kind kind = boxedKind(name);
+                if (kind != null) {
+                    return new BeanModel.Property(a.name, accessor, name, false, kind, null);
+                }
+                return new BeanModel.Property(a.name, accessor, Object.class.getName(), false,
+                        BeanModel.Kind.VALUE, null);
+            default:
+                // byte and char are boxed and left to Jackson
+                return new BeanModel.Property(a.name, accessor, Object.class.getName(), false,
+                        BeanModel.Kind.VALUE, null);
+        }
+    }
+
+    private static BeanModel.Kind boxedKind(final String name) {
+        switch (name) {
+            case "java.lang.String":
+                return BeanModel.Kind.STRING;
+            case "java.lang.Boolean":
+                return BeanModel.Kind.BOOLEAN;
+            case "java.lang.Short":
+                return BeanModel.Kind.SHORT;
+            case "java.lang.Integer":
+                return BeanModel.Kind.INT;
+            case "java.lang.Long":
+                return BeanModel.Kind.LONG;
+            case "java.lang.Float":
+                return BeanModel.Kind.FLOAT;
+            case "java.lang.Double":
+                return BeanModel.Kind.DOUBLE;
+            default:
+                return null;
+        }
+    }
+
+    private TypeElement using(final TypeElement type, final String property, final AnnotationMirror am)
+            throws UnsupportedException {
+        TypeElement using = null;
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> e : am.getElementValues().entrySet()) {
+            if (!e.getKey().getSimpleName().contentEquals("using")) {
+                throw new UnsupportedException("@JsonSerialize(" + e.getKey().getSimpleName() + ") on property "
+                        + property);
+            }
+            using = (TypeElement) types.asElement((TypeMirror) e.getValue().getValue());
+        }
+        if (using == null) {
+            return null;
+        }
+        if (!isCandidate(using) || implementsType(using, CONTEXTUAL_SERIALIZER)
+                || implementsType(using, RESOLVABLE_SERIALIZER) || !hasPublicNoArgConstructor(using)) {
+            throw new UnsupportedException("serializer " + using.getQualifiedName() + " of property " + property
+                    + " in " + type.getQualifiedName());
+        }
+        return using;
+    }
+
+    private boolean implementsType(final TypeElement type, final String name) {
+        final TypeElement other = elements.getTypeElement(name);
+        return other != null && types.isAssignable(types.erasure(type.asType()), types.erasure(other.asType()));
+    }
+
+    private static boolean hasPublicNoArgConstructor(final TypeElement type) {
+        for (ExecutableElement c : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (c.getParameters().isEmpty() && c.getModifiers().contains(Modifier.PUBLIC)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isSubtype(final TypeMirror type, final String name) {
+        final TypeElement other = elements.getTypeElement(name);
+        return types.isAssignable(types.erasure(type), types.erasure(other.asType()));
+    }
+
+    private boolean isType(final TypeMirror type, final String name) {
+        return type.getKind() == TypeKind.DECLARED
+                && ((TypeElement) types.asElement(type)).getQualifiedName().contentEquals(name);
+    }
+
+    /**
+     * @return the parameterization of the supertype {@code name} of {@code type}
+     */
+    private DeclaredType supertype(final TypeMirror type, final String name) {
+        if (isType(type, name)) {
+            return (DeclaredType) type;
+        }
+        for (TypeMirror s : types.directSupertypes(type)) {
+            final DeclaredType found = supertype(s, name);
+            if (found != null) {
+                return found;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the type, its superclasses and then all their interfaces, without {@code java.lang.Object}
+     */
+    private List<TypeElement> hierarchy(final TypeElement type) {
+        final List<TypeElement> hierarchy = new ArrayList<>();
+        for (TypeElement c = type; c != null; c = superclass(c)) {
+            hierarchy.add(c);
+        }
+        for (int i = 0; i < hierarchy.size(); i++) {
+            for (TypeMirror itf : hierarchy.get(i).getInterfaces()) {
+                final TypeElement e = (TypeElement) types.asElement(itf);
+                if (!hierarchy.contains(e)) {
+                    hierarchy.add(e);
+                }
+            }
+        }
+        return hierarchy;
+    }
+
+    private TypeElement superclass(final TypeElement type) {
+        final TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        final TypeElement e = (TypeElement) types.asElement(superclass);
+        return e.getQualifiedName().contentEquals(Object.class.getName()) ? null : e;
+    }
+
+    private String getterName(final ExecutableElement m) {
+        final String name = m.getSimpleName().toString();
+        final TypeMirror returnType = m.getReturnType();
+        if (returnType.getKind() == TypeKind.VOID) {
+            return null;
+        }
+        if (name.startsWith("get") && name.length() > 3) {
+            return mangle(name, 3);
+        }
+        if (name.startsWith("is") && name.length() > 2
+                && (returnType.getKind() == TypeKind.BOOLEAN || isType(returnType, Boolean.class.getName()))) {
+            return mangle(name, 2);
+        }
+        return null;
+    }
+
+    private static boolean isIsGetter(final ExecutableElement m) {
+        return m.getSimpleName().toString().startsWith("is");
+    }
+
+    /**
+     * Jackson default (non standard bean) naming: the leading upper case characters are lower cased.
+     */
+    static String mangle(final String name, final int offset) {
+        final StringBuilder sb = new StringBuilder(name.length() - offset);
+        int i = offset;
+        for (; i < name.length(); i++) {
+            final char c = name.charAt(i);
+            final char lower = Character.toLowerCase(c);
+            if (c == lower) {
+                break;
+            }
+            sb.append(lower);
+        }
+        return sb.append(name, i, name.length()).toString();
+    }
+
+    private static AnnotationValue value(final AnnotationMirror am, final String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> e : am.getElementValues().entrySet()) {
+            if (e.getKey().getSimpleName().contentEquals(name)) {
+                return e.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static String annotationName(final AnnotationMirror am) {
+        return ((TypeElement) am.getAnnotationType().asElement()).getQualifiedName().toString();
+    }
+
+    private static String simpleName(final String name) {
+        return name.substring(name.lastIndexOf('.') + 1);
+    }
+
+    private static final class Accessors {
+        private final String name;
+        private final List<Element> members = new ArrayList<>();
+        private ExecutableElement getter;
+        private VariableElement field;
+
+        private Accessors(final String name) {
+            this.name = name;
+        }
+    }
+
+    static final class UnsupportedException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        UnsupportedException(final String message) {
+            super(message);
+        }
+    }
+
+}
@@ -0,0 +1,139 @@
+package com.arangodb.internal.serde.processor;
+
+import javax.lang.model.element.TypeElement;
+import java.util.List;
+
+/**
+ * Serialized properties of a class, in the order in which Jackson would write them.
+ *
+ * @author Michele Rastelli
+ */
+final class BeanModel {
+
+    private final TypeElement type;
+    private final List<Property> properties;
+
+    BeanModel(final TypeElement type, final List<Property> properties) {
+        this.type = type;
+        this.properties = properties;
+    }
+
+    TypeElement getType() {
+        return type;
+    }
+
+    List<Property> getProperties() {
+        return properties;
+    }
+
+    enum Kind {
+        BOOLEAN("writeBoolean", ""),
+        SHORT("writeNumber", ".shortValue()"),
+        INT("writeNumber", ".intValue()"),
+        LONG("writeNumber", ".longValue()"),
+        FLOAT("writeNumber", ".floatValue()"),
+        DOUBLE("writeNumber", ".doubleValue()"),
+        STRING("writeString", ""),
+        /**
+         * serialized with the serializer that Jackson finds for the runtime class of the value
+         */
+        VALUE(null, null),
+        /**
+         * {@code @JsonSerialize(using = ...)}
+         */
+        USING(null, null),
+        /**
+         * {@code @UserData}
+         */
+        USER_DATA(null, null),
+        /**
+         * {@code @UserDataInside} on a {@code Map<String, ?>}
+         */
+        USER_DATA_MAP(null, null),
+        /**
+         * {@code @UserDataInside} on a {@code Collection}
+         */
+        USER_DATA_COLLECTION(null, null);
+
+        private final String generatorMethod;
+        private final String unboxing;
+
+        Kind(final String generatorMethod, final String unboxing) {
+            this.generatorMethod = generatorMethod;
+            this.unboxing = unboxing;
+        }
+
+        /**
+         * @return the {@code JsonGenerator} method writing the value, {@code null} if not written by the generator
+         */
+        String getGeneratorMethod() {
+            return generatorMethod;
+        }
+
+        /**
+         * @return the expression suffix unboxing the value
+         */
+        String getUnboxing() {
+            return unboxing;
+        }
+    }
+
+    static final class Property {
+        private final String name;
+        private final String accessor;
+        private final String type;
+        private final boolean primitive;
+        private final Kind kind;
+        private final String using;
+
+        Property(final String name, final String accessor, final String type, final boolean primitive, final Kind kind,
+                 final String using) {
+            this.name = name;
+            this.accessor = accessor;
+            this.type = type;
+            this.primitive = primitive;
+            this.kind = kind;
+            this.using = using;
+        }
+
+        /**
+         * @return the serialized name
+         */
+        String getName() {
+            return name;
+        }
+
+        /**
+         * @return the getter invocation or the field name
+         */
+        String getAccessor() {
+            return accessor;
+        }
+
+        /**
+         * @return the source type of the value
+         */
+        String getType() {
+            return type;
+        }
+
+        /**
+         * @return whether the value is a primitive, and therefore always written
+         */
+        boolean isPrimitive() {
+            return primitive;
+        }
+
+        Kind getKind() {
+            return kind;
+        }
+
+        /**
+         * @return the canonical name of the serializer of {@link Kind#USING} properties
+         */
+        String getUsing() {
+            return using;
+        }
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.arangodb.internal.serde.processor;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates, in the package of the annotated type, a {@code com.fasterxml.jackson.databind.ser.Serializers} named
+ * {@link #className()} with the serializers of the public concrete classes of {@link #packages()}. Each serializer
+ * writes the properties that Jackson would discover from the public getters and fields of the class, with the
+ * {@code NON_NULL} inclusion of the internal serde. Classes using Jackson features not supported by the generator are
+ * left to Jackson.
+ *
+ * @author Michele Rastelli
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateSerializers {
+
+    /**
+     * @return the packages whose classes get a generated serializer, subpackages are not included
+     */
+    String[] packages();
+
+    /**
+     * @return the simple name of the generated class
+     */
+    String className();
+
+}
@@ -0,0 +1,92 @@
+package com.arangodb.internal.serde.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Processes {@link GenerateSerializers}.
+ *
+ * @author Michele Rastelli
+ */
+@SupportedAnnotationTypes("com.arangodb.internal.serde.processor.GenerateSerializers")
+public final class SerializersProcessor extends AbstractProcessor {
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        for (TypeElement host : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(GenerateSerializers.class))) {
+            final GenerateSerializers config = host.getAnnotation(GenerateSerializers.class);
+            final List<TypeElement> types = new ArrayList<>();
+            for (String name : config.packages()) {
+                final PackageElement pkg = processingEnv.getElementUtils().getPackageElement(name);
+                if (pkg == null) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Package not found: " + name, host);
+                    return true;
+                }
+                collect(ElementFilter.typesIn(pkg.getEnclosedElements()), types);
+            }
+            types.sort(Comparator.comparing(t -> t.getQualifiedName().toString()));
+
+            final BeanIntrospector introspector = new BeanIntrospector(processingEnv);
+            final List<BeanModel> models = new ArrayList<>();
+            for (TypeElement type : types) {
+                try {
+                    final BeanModel model = introspector.introspect(type);
+                    if (model != null) {
+                        models.add(model);
+                    }
+                } catch (BeanIntrospector.UnsupportedException e) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                            "Serializer not generated, left to Jackson: " + e.getMessage(), type);
+                }
+            }
+
+            final String packageName = processingEnv.getElementUtils().getPackageOf(host).getQualifiedName().toString();
+            final Element[] originatingElements = new Element[types.size() + 1];
+            originatingElements[0] = host;
+            for (int i = 0; i < types.size(); i++) {
+                originatingElements[i + 1] = types.get(i);
+            }
+            try {
+                final JavaFileObject file = processingEnv.getFiler()
+                        .createSourceFile(packageName + "." + config.className(), originatingElements);
+                try (Writer writer = file.openWriter()) {
+                    writer.write(new SerializersWriter().write(packageName, config.className(), config.packages(),
+                            models));
+                }
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Cannot write " + config.className() + ": " + e.getMessage(), host);
+            }
+        }
+        return true;
+    }
+
+    private static void collect(final List<TypeElement> candidates, final List<TypeElement> types) {
+        for (TypeElement type : candidates) {
+            if (BeanIntrospector.isCandidate(type)) {
+                types.add(type);
+            }
+            collect(ElementFilter.typesIn(type.getEnclosedElements()), types);
+        }
+    }
+
+}
@@ -0,0 +1,195 @@
+package com.arangodb.internal.serde.processor;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Writes the source of the generated {@code Serializers}, with a nested serializer class per {@link BeanModel}.
+ * Generated serializers extend {@code GeneratedSerializer}, in the package of the generated class.
+ *
+ * @author Michele Rastelli
+ */
+final class SerializersWriter {
+
+    private final StringBuilder sb = new StringBuilder();
+    private final Set<String> classNames = new HashSet<>();
+
+    String write(final String packageName, final String className, final String[] packages,
+                 final List<BeanModel> models) {
+        line(0, "package " + packageName + ";");
+        line(0, "");
+        line(0, "import com.fasterxml.jackson.core.JsonGenerator;");
+        line(0, "import com.fasterxml.jackson.core.io.SerializedString;");
+        line(0, "import com.fasterxml.jackson.databind.BeanDescription;");
+        line(0, "import com.fasterxml.jackson.databind.JavaType;");
+        line(0, "import com.fasterxml.jackson.databind.JsonSerializer;");
+        line(0, "import com.fasterxml.jackson.databind.SerializationConfig;");
+        line(0, "import com.fasterxml.jackson.databind.SerializerProvider;");
+        line(0, "import com.fasterxml.jackson.databind.ser.Serializers;");
+        line(0, "");
+        line(0, "import java.io.IOException;");
+        line(0, "import java.util.HashMap;");
+        line(0, "import java.util.Map;");
+        line(0, "import java.util.Set;");
+        line(0, "");
+        line(0, "/**");
+        line(0, " * Serializers of the classes in {@code " + String.join("}, {@code ", packages) + "}, generated by");
+        line(0, " * {@code " + SerializersProcessor.class.getName() + "}. Serializers are looked up by exact class,");
+        line(0, " * subclasses are serialized by Jackson.");
+        line(0, " */");
+        line(0, "@SuppressWarnings(\"deprecation\")");
+        line(0, "final class " + className + " extends Serializers.Base {");
+        line(0, "");
+        line(1, "private final Map<Class<?>, JsonSerializer<?>> serializers = new HashMap<>();");
+        line(0, "");
+        line(1, className + "() {");
+        final String[] serializerNames = new String[models.size()];
+        for (int i = 0; i < models.size(); i++) {
+            final TypeElement type = models.get(i).getType();
+            serializerNames[i] = serializerName(type);
+            line(2, "serializers.put(" + rawName(type) + ".class, new " + serializerNames[i] + "());");
+        }
+        line(1, "}");
+        line(0, "");
+        line(1, "@Override");
+        line(1, "public JsonSerializer<?> findSerializer(final SerializationConfig config, final JavaType type,");
+        line(1, "                                        final BeanDescription beanDesc) {");
+        line(2, "return serializers.get(type.getRawClass());");
+        line(1, "}");
+        line(0, "");
+        line(1, "/**");
+        line(1, " * @return the classes with a generated serializer");
+        line(1, " */");
+        line(1, "Set<Class<?>> getTypes() {");
+        line(2, "return serializers.keySet();");
+        line(1, "}");
+        for (int i = 0; i < models.size(); i++) {
+            line(0, "");
+            writeSerializer(serializerNames[i], models.get(i));
+        }
+        line(0, "");
+        line(0, "}");
+        return sb.toString();
+    }
+
+    private void writeSerializer(final String name, final BeanModel model) {
+        final String type = rawName(model.getType());
+        final List<BeanModel.Property> properties = model.getProperties();
+        final Set<String> constants = new HashSet<>();
+        final String[] names = new String[properties.size()];
+        final String[] usingNames = new String[properties.size()];
+        line(1, "static final class " + name + " extends GeneratedSerializer<" + type + "> {");
+        for (int i = 0; i < properties.size(); i++) {
+            final BeanModel.Property p = properties.get(i);
+            names[i] = unique(constants, constantName(p.getName()));
+            line(2, "private static final SerializedString " + names[i] + " = new SerializedString(\""
+                    + p.getName() + "\");");
+            if (p.getKind() == BeanModel.Kind.USING) {
+                usingNames[i] = unique(constants, names[i] + "_SERIALIZER");
+                line(2, "private static final JsonSerializer<Object> " + usingNames[i] + " = using(new "
+                        + p.getUsing() + "());");
+            }
+        }
+        line(0, "");
+        line(2, name + "() {");
+        line(3, "super(" + type + ".class);");
+        line(2, "}");
+        line(0, "");
+        line(2, "@Override");
+        line(2, "protected void serializeFields(final " + type + " value, final JsonGenerator gen,");
+        line(2, "                               final SerializerProvider provider) throws IOException {");
+        line(3, "SerializedString property = null;");
+        line(3, "try {");
+        for (int i = 0; i < properties.size(); i++) {
+            final BeanModel.Property p = properties.get(i);
+            final String v = "v" + i;
+            line(4, "property = " + names[i] + ";");
+            line(4, "final " + p.getType() + " " + v + " = value." + p.getAccessor() + ";");
+            final int indent;
+            if (p.isPrimitive()) {
+                indent = 4;
+            } else {
+                line(4, "if (" + v + " != null) {");
+                indent = 5;
+            }
+            line(indent, "gen.writeFieldName(" + names[i] + ");");
+            switch (p.getKind()) {
+                case VALUE:
+                    line(indent, "writeValue(" + v + ", gen, provider);");
+                    break;
+                case USING:
+                    line(indent, usingNames[i] + ".serialize(" + v + ", gen, provider);");
+                    break;
+                case USER_DATA:
+                    line(indent, "writeUserData(" + v + ", gen, provider);");
+                    break;
+                case USER_DATA_MAP:
+                    line(indent, "writeUserDataMap(" + v + ", gen, provider);");
+                    break;
+                case USER_DATA_COLLECTION:
+                    line(indent, "writeUserDataCollection(" + v + ", gen, provider);");
+                    break;
+                default:
+                    line(indent, "gen." + p.getKind().getGeneratorMethod() + "(" + v
+                            + (p.isPrimitive() ? "" : p.getKind().getUnboxing()) + ");");
+            }
+            if (!p.isPrimitive()) {
+                line(4, "}");
+            }
+        }
+        line(3, "} catch (Exception e) {");
+        line(4, "failed(provider, e, value, property);");
+        line(3, "}");
+        line(2, "}");
+        line(1, "}");
+    }
+
+    private String serializerName(final TypeElement type) {
+        final StringBuilder name = new StringBuilder();
+        for (Element e = type; e instanceof TypeElement; e = e.getEnclosingElement()) {
+            name.insert(0, e.getSimpleName());
+        }
+        return unique(classNames, name.append("Serializer").toString());
+    }
+
+    private static String unique(final Set<String> names, final String name) {
+        String unique = name;
+        for (int i = 2; !names.add(unique); i++) {
+            unique = name + i;
+        }
+        return unique;
+    }
+
+    private static String constantName(final String property) {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < property.length(); i++) {
+            final char c = property.charAt(i);
+            if (Character.isUpperCase(c) && i > 0) {
+                sb.append('_');
+            }
+            sb.append(Character.isJavaIdentifierPart(c) ? c : '_');
+        }
+        return sb.toString().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * @return the canonical name of the type, without type arguments
+     */
+    private static String rawName(final TypeElement type) {
+        return type.getQualifiedName().toString();
+    }
+
+    private void line(final int indent, final String line) {
+        if (!line.isEmpty()) {
+            for (int i = 0; i < indent; i++) {
+                sb.append("    ");
+            }
+        }
+        sb.append(line).append('\n');
+    }
+
+}
@@ -0,0 +1,22 @@
+package graal;
+
+import com.oracle.svm.core.annotate.Substitute;
+import com.oracle.svm.core.annotate.TargetClass;
+
+
+@TargetClass(className = "io.netty.handler.codec.compression.Zstd")
+final class Target_com_arangodb_shaded_netty_handler_codec_compression_Zstd {
+    @Substitute
+    public static boolean isAvailable() {
+        return false;
+    }
+
+    @Substitute
+    public static void ensureAvailability() throws Throwable {
+        throw new UnsupportedOperationException();
+    }
+}
+
+public class ZstdSubstitutions {
+
+}
@@ -0,0 +1,762 @@
+package com.arangodb.testserver;
+
+import com.arangodb.testserver.StandInRequest.Method;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory implementation of the endpoints used on the hot paths of the driver.
+ * <p>
+ * Documents are stored as trees in one map per collection, collections are created on the first write. Queries are
+ * not parsed: only the shapes {@code FOR d IN collection [LIMIT n] RETURN d}, returning the documents of a
+ * collection, and {@code FOR i IN from..to RETURN ...}, returning generated documents with a payload of the
+ * configured size, are supported. Stream transactions are tracked, but the operations within them are applied
+ * immediately.
+ *
+ * @author Michele Rastelli
+ */
+final class Endpoints {
+
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+    private static final String PAYLOAD_CHARS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+
+    private static final Pattern RANGE_QUERY = Pattern.compile(
+            "^\\s*FOR\\s+\\w+\\s+IN\\s+(@?\\w+)\\s*\\.\\.\\s*(@?\\w+)\\s+RETURN\\b.*$",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern COLLECTION_QUERY = Pattern.compile(
+            "^\\s*FOR\\s+(\\w+)\\s+IN\\s+(@?@?\\w+)\\s+(?:LIMIT\\s+(@?\\w+)\\s+)?RETURN\\s+\\1\\s*$",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final int ERROR_HTTP_NOT_FOUND = 404;
+    private static final int ERROR_HTTP_METHOD_NOT_ALLOWED = 405;
+    private static final int ERROR_NOT_IMPLEMENTED = 9;
+    private static final int ERROR_DOCUMENT_NOT_FOUND = 1202;
+    private static final int ERROR_COLLECTION_NOT_FOUND = 1203;
+    private static final int ERROR_UNIQUE_CONSTRAINT_VIOLATED = 1210;
+    private static final int ERROR_QUERY_PARSE = 1501;
+    private static final int ERROR_CURSOR_NOT_FOUND = 1600;
+    private static final int ERROR_TRANSACTION_NOT_FOUND = 1655;
+
+    private final StandInServer server;
+    private final String payload;
+    private final AtomicLong ids = new AtomicLong();
+    private final ConcurrentMap<String, ConcurrentMap<String, ObjectNode>> collections = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Cursor> cursors = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> transactions = new ConcurrentHashMap<>();
+
+    Endpoints(final StandInServer server) {
+        this.server = server;
+        final Random rnd = new Random(server.getSeed());
+        final StringBuilder sb = new StringBuilder(server.getPayloadSize());
+        for (int i = 0; i < server.getPayloadSize(); i++) {
+            sb.append(PAYLOAD_CHARS.charAt(rnd.nextInt(PAYLOAD_CHARS.length())));
+        }
+        payload = sb.toString();
+    }
+
+    StandInResponse handle(final StandInRequest request) {
+        final List<String> path = segments(request.getPath());
+        if (path.size() < 2) {
+            return notFound(request);
+        }
+        final String group = path.get(0) + "/" + path.get(1);
+        final List<String> args = path.subList(2, path.size());
+        switch (group) {
+            case "_api/version":
+                return version(request);
+            case "_api/document":
+                return document(request, args);
+            case "_api/cursor":
+                return cursor(request, args);
+            case "_api/import":
+                return importDocuments(request);
+            case "_api/collection":
+                return collection(request, args);
+            case "_api/transaction":
+                return transaction(request, args);
+            case "_api/database":
+                return database(request, args);
+            case "_api/cluster":
+                return cluster(request, args);
+            case "_admin/server":
+                return serverInfo(request, args);
+            case "_open/auth":
+                return StandInResponse.of(200, NODES.objectNode().put("jwt", "stand-in"));
+            default:
+                return notFound(request);
+        }
+    }
+
+    private StandInResponse version(final StandInRequest request) {
+        final ObjectNode version = NODES.objectNode()
+                .put("server", "arango")
+                .put("version", server.getVersion())
+                .put("license", "community");
+        if (request.isQueryParam("details")) {
+            version.putObject("details")
+                    .put("mode", "server")
+                    .put("role", server.isCoordinator() ? "COORDINATOR" : "SINGLE");
+        }
+        return StandInResponse.of(200, version);
+    }
+
+    // --- documents
+
+    private StandInResponse document(final StandInRequest request, final List<String> args) {
+        if (args.isEmpty()) {
+            return notFound(request);
+        }
+        final String collection = args.get(0);
+        final int writeCode = request.isQueryParam("waitForSync") ? 201 : 202;
+        if (args.size() == 1) {
+            final JsonNode body = request.getBody();
+            switch (request.getMethod()) {
+                case POST:
+                    return multi(body, writeCode, doc -> insert(request, collection, doc));
+                case PUT:
+                    if (request.isQueryParam("onlyget")) {
+                        return multi(body, 200, doc -> get(request, collection, key(doc)));
+                    }
+                    return multi(body, writeCode, doc -> replace(request, collection, key(doc), doc, false));
+                case PATCH:
+                    return multi(body, writeCode, doc -> replace(request, collection, key(doc), doc, true));
+                case DELETE:
+                    return multi(body, 200, doc -> remove(request, collection, key(doc)));
+                default:
+                    return methodNotAllowed(request);
+            }
+        }
+        final String key = args.get(1);
+        switch (request.getMethod()) {
+            case GET:
+                return single(get(request, collection, key), 200);
+            case HEAD:
+                final ObjectNode doc = get(request, collection, key);
+                return StandInResponse.of(isError(doc) ? doc.get("code").asInt() : 200, null);
+            case PUT:
+                return single(replace(request, collection, key, request.getBody(), false), writeCode);
+            case PATCH:
+                return single(replace(request, collection, key, request.getBody(), true), writeCode);
+            case DELETE:
+                return single(remove(request, collection, key), 200);
+            default:
+                return methodNotAllowed(request);
+        }
+    }
+
+    private static StandInResponse single(final ObjectNode result, final int code) {
+        if (isError(result)) {
+            return StandInResponse.of(result.get("code").asInt(), result);
+        }
+        return StandInResponse.of(code, result);
+    }
+
+    /**
+     * Applies the operation to each element of an array body, reporting the errors in the results like the server.
+     */
+    private static StandInResponse multi(final JsonNode body, final int code,
+                                         final Function<JsonNode, ObjectNode> operation) {
+        if (body == null || !body.isArray()) {
+            return single(operation.apply(body), code);
+        }
+        final ArrayNode results = NODES.arrayNode(body.size());
+        for (JsonNode element : body) {
+            final ObjectNode result = operation.apply(element);
+            if (isError(result)) {
+                result.remove("code");
+            }
+            results.add(result);
+        }
+        return StandInResponse.of(code, results);
+    }
+
+    private ObjectNode insert(final StandInRequest request, final String collection, final JsonNode doc) {
+        if (doc == null || !doc.isObject()) {
+            return documentError(400, 600, "invalid document");
+        }
+        final ConcurrentMap<String, ObjectNode> docs = documents(request, collection, true);
+        final String key = doc.hasNonNull("_key") ? doc.get("_key").asText() : String.valueOf(ids.incrementAndGet());
+        final ObjectNode stored = stored(request, collection, key, (ObjectNode) doc);
+        final ObjectNode old = docs.putIfAbsent(key, stored);
+        if (old == null) {
+            return meta(request, stored, null);
+        }
+        final String overwriteMode = request.getQueryParam("overwriteMode") != null
+                ? request.getQueryParam("overwriteMode")
+                : request.isQueryParam("overwrite") ? "replace" : "conflict";
+        switch (overwriteMode) {
+            case "ignore":
+                return meta(request, old, null).without("new");
+            case "replace":
+                docs.put(key, stored);
+                return meta(request, stored, old);
+            case "update":
+                final ObjectNode updated = merge(old, stored);
+                docs.put(key, updated);
+                return meta(request, updated, old);
+            default:
+                return documentError(409, ERROR_UNIQUE_CONSTRAINT_VIOLATED, "unique constraint violated - in index "
+                        + "primary of type primary over '_key'; conflicting key: " + key);
+        }
+    }
+
+    private ObjectNode get(final StandInRequest request, final String collection, final String key) {
+        final ConcurrentMap<String, ObjectNode> docs = documents(request, collection, false);
+        if (docs == null) {
+            return collectionNotFound(collection);
+        }
+        final ObjectNode doc = key != null ? docs.get(key) : null;
+        return doc != null ? doc : documentNotFound();
+    }
+
+    private ObjectNode replace(final StandInRequest request, final String collection, final String key,
+                               final JsonNode doc, final boolean update) {
+        final ConcurrentMap<String, ObjectNode> docs = documents(request, collection, false);
+        if (docs == null) {
+            return collectionNotFound(collection);
+        }
+        if (doc == null || !doc.isObject()) {
+            return documentError(400, 600, "invalid document");
+        }
+        final ObjectNode old = key != null ? docs.get(key) : null;
+        if (old == null) {
+            return documentNotFound();
+        }
+        final ObjectNode stored = stored(request, collection, key, (ObjectNode) doc);
+        final ObjectNode next = update ? merge(old, stored) : stored;
+        docs.put(key, next);
+        return meta(request, next, old);
+    }
+
+    private ObjectNode remove(final StandInRequest request, final String collection, final String key) {
+        final ConcurrentMap<String, ObjectNode> docs = documents(request, collection, false);
+        if (docs == null) {
+            return collectionNotFound(collection);
+        }
+        final ObjectNode old = key != null ? docs.remove(key) : null;
+        if (old == null) {
+            return documentNotFound();
+        }
+        final ObjectNode meta = meta(request, old, old);
+        meta.remove("new");
+        return meta;
+    }
+
+    private ObjectNode stored(final StandInRequest request, final String collection, final String key,
+                              final ObjectNode doc) {
+        final ObjectNode stored = NODES.objectNode();
+        stored.put("_key", key);
+        stored.put("_id", collection + "/" + key);
+        stored.put("_rev", "_" + Long.toString(ids.incrementAndGet(), 36));
+        final Iterator<Map.Entry<String, JsonNode>> fields = doc.fields();
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            if (!field.getKey().startsWith("_") || "_from".equals(field.getKey()) || "_to".equals(field.getKey())) {
+                stored.set(field.getKey(), field.getValue());
+            }
+        }
+        return stored;
+    }
+
+    private static ObjectNode merge(final ObjectNode old, final ObjectNode update) {
+        final ObjectNode merged = old.deepCopy();
+        merged.setAll(update);
+        return merged;
+    }
+
+    private static ObjectNode meta(final StandInRequest request, final ObjectNode doc, final ObjectNode old) {
+        final ObjectNode meta = NODES.objectNode();
+        if (request.isQueryParam("silent")) {
+            return meta;
+        }
+        meta.put("_id", doc.get("_id").asText());
+        meta.put("_key", doc.get("_key").asText());
+        meta.put("_rev", doc.get("_rev").asText());
+        if (old != null) {
+            meta.put("_oldRev", old.get("_rev").asText());
+        }
+        if (request.isQueryParam("returnNew")) {
+            meta.set("new", doc);
+        }
+        if (old != null && request.isQueryParam("returnOld")) {
+            meta.set("old", old);
+        }
+        return meta;
+    }
+
+    private static String key(final JsonNode doc) {
+        if (doc == null) {
+            return null;
+        }
+        if (doc.isTextual()) {
+            return doc.asText();
+        }
+        final JsonNode key = doc.get("_key");
+        return key != null ? key.asText() : null;
+    }
+
+    private ConcurrentMap<String, ObjectNode> documents(final StandInRequest request, final String collection,
+                                                       final boolean create) {
+        final String name = request.getDatabase() + "/" + collection;
+        if (create) {
+            return collections.computeIfAbsent(name, k -> new ConcurrentHashMap<>());
+        }
+        return collections.get(name);
+    }
+
+    // --- cursors
+
+    private StandInResponse cursor(final StandInRequest request, final List<String> args) {
+        if (args.isEmpty()) {
+            if (request.getMethod() != Method.POST) {
+                return methodNotAllowed(request);
+            }
+            return createCursor(request);
+        }
+        final String id = args.get(0);
+        switch (request.getMethod()) {
+            case POST:
+            case PUT:
+                return nextBatch(id, args.size() > 1 ? args.get(1) : null);
+            case DELETE:
+                if (cursors.remove(id) == null) {
+                    return cursorNotFound();
+                }
+                return StandInResponse.result(202, NODES.objectNode().put("id", id));
+            default:
+                return methodNotAllowed(request);
+        }
+    }
+
+    private StandInResponse createCursor(final StandInRequest request) {
+        final JsonNode body = request.getBody();
+        if (body == null || !body.hasNonNull("query")) {
+            return StandInResponse.error(400, 600, "query is empty");
+        }
+        final JsonNode bindVars = body.path("bindVars");
+        final List<JsonNode> rows = query(request, body.get("query").asText(), bindVars);
+        if (rows == null) {
+            return StandInResponse.error(400, ERROR_QUERY_PARSE,
+                    "query not supported by the stand-in server: " + body.get("query").asText());
+        }
+        final int batchSize = body.path("batchSize").asInt(server.getBatchSize());
+        final boolean allowRetry = body.path("options").path("allowRetry").asBoolean();
+        final Cursor cursor = new Cursor(String.valueOf(ids.incrementAndGet()), rows, Math.max(1, batchSize),
+                allowRetry);
+        final ObjectNode result = cursor.next();
+        if (body.path("count").asBoolean()) {
+            result.put("count", rows.size());
+        }
+        result.put("cached", false);
+        final ObjectNode extra = result.putObject("extra");
+        extra.putObject("stats")
+                .put("writesExecuted", 0)
+                .put("writesIgnored", 0)
+                .put("scannedFull", rows.size())
+                .put("scannedIndex", 0)
+                .put("filtered", 0);
+        extra.putArray("warnings");
+        if (result.get("hasMore").asBoolean()) {
+            cursors.put(cursor.id, cursor);
+        }
+        return StandInResponse.result(201, result);
+    }
+
+    private StandInResponse nextBatch(final String id, final String batchId) {
+        final Cursor cursor = cursors.get(id);
+        if (cursor == null) {
+            return cursorNotFound();
+        }
+        final ObjectNode result;
+        synchronized (cursor) {
+            if (batchId != null && cursor.allowRetry && batchId.equals(String.valueOf(cursor.batchId))) {
+                // retry of the last batch
+                result = cursor.last.deepCopy();
+            } else {
+                result = cursor.next();
+            }
+        }
+        if (!result.get("hasMore").asBoolean() && !cursor.allowRetry) {
+            cursors.remove(id);
+        }
+        return StandInResponse.result(200, result);
+    }
+
+    /**
+     * @return the query result, or {@code null} if the query is not supported
+     */
+    private List<JsonNode> query(final StandInRequest request, final String query, final JsonNode bindVars) {
+        final Matcher range = RANGE_QUERY.matcher(query);
+        if (range.matches()) {
+            final long from = bindLong(range.group(1), bindVars);
+            final long to = bindLong(range.group(2), bindVars);
+            final List<JsonNode> rows = new ArrayList<>((int) Math.max(0, to - from + 1));
+            for (long i = from; i <= to; i++) {
+                final ObjectNode row = NODES.objectNode().put("_key", String.valueOf(i)).put("value", i);
+                if (!payload.isEmpty()) {
+                    row.put("payload", payload);
+                }
+                rows.add(row);
+            }
+            return rows;
+        }
+        final Matcher forIn = COLLECTION_QUERY.matcher(query);
+        if (forIn.matches()) {
+            String collection = forIn.group(2);
+            if (collection.startsWith("@@")) {
+                collection = bindVars.path(collection.substring(1)).asText();
+            }
+            final ConcurrentMap<String, ObjectNode> docs = documents(request, collection, false);
+            final long limit = forIn.group(3) != null ? bindLong(forIn.group(3), bindVars) : Long.MAX_VALUE;
+            if (docs == null) {
+                return Collections.emptyList();
+            }
+            final List<JsonNode> rows = new ArrayList<>();
+            for (ObjectNode doc : docs.values()) {
+                if (rows.size() >= limit) {
+                    break;
+                }
+                rows.add(doc);
+            }
+            return rows;
+        }
+        return null;
+    }
+
+    private static long bindLong(final String value, final JsonNode bindVars) {
+        if (value.startsWith("@")) {
+            return bindVars.path(value.substring(1)).asLong();
+        }
+        return Long.parseLong(value);
+    }
+
+    private final class Cursor {
+        private final String id;
+        private final List<JsonNode> rows;
+        private final int batchSize;
+        private final boolean allowRetry;
+        private int position;
+        private long batchId;
+        private ObjectNode last;
+
+        private Cursor(final String id, final List<JsonNode> rows, final int batchSize, final boolean allowRetry) {
+            this.id = id;
+            this.rows = rows;
+            this.batchSize = batchSize;
+            this.allowRetry = allowRetry;
+        }
+
+        private ObjectNode next() {
+            final int end = Math.min(rows.size(), position + batchSize);
+            final ObjectNode result = NODES.objectNode();
+            final ArrayNode batch = result.putArray("result");
+            for (int i = position; i < end; i++) {
+                batch.add(rows.get(i));
+            }
+            position = end;
+            batchId++;
+            final boolean hasMore = position < rows.size();
+            result.put("hasMore", hasMore);
+            if (hasMore) {
+                result.put("id", id);
+                if (allowRetry) {
+                    result.put("nextBatchId", String.valueOf(batchId + 1));
+                }
+            }
+            last = result;
+            return result;
+        }
+    }
+
+    // --- import
+
+    private StandInResponse importDocuments(final StandInRequest request) {
+        if (request.getMethod() != Method.POST) {
+            return methodNotAllowed(request);
+        }
+        final String collection = request.getQueryParam("collection");
+        final JsonNode body = request.getBody();
+        if (collection == null) {
+            return StandInResponse.error(400, 1204, "collection not specified");
+        }
+        final ConcurrentMap<String, ObjectNode> docs = documents(request, collection, true);
+        final String onDuplicate = request.getQueryParam("onDuplicate") != null
+                ? request.getQueryParam("onDuplicate") : "error";
+        int created = 0;
+        int errors = 0;
+        int empty = 0;
+        int updated = 0;
+        int ignored = 0;
+        final ArrayNode details = NODES.arrayNode();
+        final Iterable<JsonNode> values = body == null ? Collections.emptyList()
+                : body.isArray() ? body : Collections.singletonList(body);
+        int line = 0;
+        for (JsonNode value : values) {
+            line++;
+            if (!value.isObject() || value.size() == 0) {
+                empty++;
+                continue;
+            }
+            final String key = value.hasNonNull("_key") ? value.get("_key").asText()
+                    : String.valueOf(ids.incrementAndGet());
+            final ObjectNode stored = stored(request, collection, key, (ObjectNode) value);
+            final ObjectNode old = docs.putIfAbsent(key, stored);
+            if (old == null) {
+                created++;
+            } else if ("ignore".equals(onDuplicate)) {
+                ignored++;
+            } else if ("replace".equals(onDuplicate)) {
+                docs.put(key, stored);
+                updated++;
+            } else if ("update".equals(onDuplicate)) {
+                docs.put(key, merge(old, stored));
+                updated++;
+            } else {
+                errors++;
+                details.add("at position " + line + ": creating document failed with error 'unique constraint "
+                        + "violated', offending document: " + value);
+            }
+        }
+        if (errors > 0 && request.isQueryParam("complete")) {
+            return StandInResponse.error(409, ERROR_UNIQUE_CONSTRAINT_VIOLATED, "unique constraint violated");
+        }
+        final ObjectNode result = NODES.objectNode()
+                .put("error", false)
+                .put("created", created)
+                .put("errors", errors)
+                .put("empty", empty)
+                .put("updated", updated)
+                .put("ignored", ignored);
+        if (request.isQueryParam("details")) {
+            result.set("details", details);
+        }
+        return StandInResponse.of(201, result);
+    }
+
+    // --- collections, databases and transactions
+
+    private StandInResponse collection(final StandInRequest request, final List<String> args) {
+        if (args.isEmpty()) {
+            if (request.getMethod() != Method.POST || request.getBody() == null) {
+                return methodNotAllowed(request);
+            }
+            final String name = request.getBody().path("name").asText();
+            if (collections.putIfAbsent(request.getDatabase() + "/" + name, new ConcurrentHashMap<>()) != null) {
+                return StandInResponse.error(409, 1207, "duplicate name");
+            }
+            return StandInResponse.result(200, collectionInfo(name, request.getBody().path("type").asInt(2)));
+        }
+        final String name = args.get(0);
+        final String fullName = request.getDatabase() + "/" + name;
+        final ConcurrentMap<String, ObjectNode> docs = collections.get(fullName);
+        if (docs == null) {
+            return StandInResponse.error(404, ERROR_COLLECTION_NOT_FOUND, "collection or view not found: " + name);
+        }
+        switch (request.getMethod()) {
+            case GET:
+                if (args.size() > 1 && "count".equals(args.get(1))) {
+                    return StandInResponse.result(200, collectionInfo(name, 2).put("count", docs.size()));
+                }
+                return StandInResponse.result(200, collectionInfo(name, 2));
+            case PUT:
+                if (args.size() > 1 && "truncate".equals(args.get(1))) {
+                    docs.clear();
+                }
+                return StandInResponse.result(200, collectionInfo(name, 2));
+            case DELETE:
+                collections.remove(fullName);
+                return StandInResponse.result(200, NODES.objectNode().put("id", id(name)));
+            default:
+                return methodNotAllowed(request);
+        }
+    }
+
+    private static ObjectNode collectionInfo(final String name, final int type) {
+        return NODES.objectNode()
+                .put("id", id(name))
+                .put("name", name)
+                .put("type", type)
+                .put("status", 3)
+                .put("isSystem", name.startsWith("_"))
+                .put("globallyUniqueId", "h" + id(name));
+    }
+
+    private static String id(final String name) {
+        return String.valueOf(name.hashCode() & Integer.MAX_VALUE);
+    }
+
+    private StandInResponse database(final StandInRequest request, final List<String> args) {
+        if (!args.isEmpty() && "current".equals(args.get(0))) {
+            final ObjectNode result = NODES.objectNode()
+                    .put("name", request.getDatabase())
+                    .put("id", id(request.getDatabase()))
+                    .put("path", "")
+                    .put("isSystem", "_system".equals(request.getDatabase()));
+            final ObjectNode body = NODES.objectNode();
+            body.set("result", result);
+            return StandInResponse.result(200, body);
+        }
+        switch (request.getMethod()) {
+            case POST:
+                return StandInResponse.result(201, NODES.objectNode().put("result", true));
+            case DELETE:
+                final String prefix = args.isEmpty() ? "" : args.get(0) + "/";
+                collections.keySet().removeIf(k -> k.startsWith(prefix));
+                return StandInResponse.result(200, NODES.objectNode().put("result", true));
+            default:
+                return methodNotAllowed(request);
+        }
+    }
+
+    private StandInResponse transaction(final StandInRequest request, final List<String> args) {
+        if (args.size() == 1 && "begin".equals(args.get(0)) && request.getMethod() == Method.POST) {
+            final String id = String.valueOf(ids.incrementAndGet());
+            transactions.put(id, "running");
+            return StandInResponse.result(201, transactionResult(id, "running"));
+        }
+        if (args.size() != 1) {
+            return notFound(request);
+        }
+        final String id = args.get(0);
+        final String status;
+        switch (request.getMethod()) {
+            case GET:
+                status = transactions.get(id);
+                break;
+            case PUT:
+                status = transactions.remove(id) != null ? "committed" : null;
+                break;
+            case DELETE:
+                status = transactions.remove(id) != null ? "aborted" : null;
+                break;
+            default:
+                return methodNotAllowed(request);
+        }
+        if (status == null) {
+            return StandInResponse.error(404, ERROR_TRANSACTION_NOT_FOUND, "transaction '" + id + "' not found");
+        }
+        return StandInResponse.result(200, transactionResult(id, status));
+    }
+
+    private static ObjectNode transactionResult(final String id, final String status) {
+        final ObjectNode body = NODES.objectNode();
+        body.putObject("result").put("id", id).put("status", status);
+        return body;
+    }
+
+    private StandInResponse cluster(final StandInRequest request, final List<String> args) {
+        if (args.size() != 1 || !"endpoints".equals(args.get(0))) {
+            return notFound(request);
+        }
+        if (!server.isCoordinator()) {
+            return StandInResponse.error(501, ERROR_NOT_IMPLEMENTED, "this API is only available in a cluster");
+        }
+        final ObjectNode body = NODES.objectNode();
+        final ArrayNode endpoints = body.putArray("endpoints");
+        for (String endpoint : server.getEndpoints()) {
+            endpoints.addObject().put("endpoint", endpoint);
+        }
+        return StandInResponse.result(200, body);
+    }
+
+    private StandInResponse serverInfo(final StandInRequest request, final List<String> args) {
+        if (args.size() != 1) {
+            return notFound(request);
+        }
+        switch (args.get(0)) {
+            case "role":
+                return StandInResponse.result(200, NODES.objectNode()
+                        .put("role", server.isCoordinator() ? "COORDINATOR" : "SINGLE")
+                        .put("mode", "default"));
+            case "id":
+                if (!server.isCoordinator()) {
+                    return StandInResponse.error(500, ERROR_NOT_IMPLEMENTED, "only available in a cluster");
+                }
+                return StandInResponse.result(200, NODES.objectNode().put("id", "CRDN-" + server.getHttpPort()));
+            case "availability":
+                return StandInResponse.result(200, NODES.objectNode().put("mode", "default"));
+            default:
+                return notFound(request);
+        }
+    }
+
+    // --- errors
+
+    private static StandInResponse notFound(final StandInRequest request) {
+        return StandInResponse.error(404, ERROR_HTTP_NOT_FOUND, "unknown path '" + request.getPath() + "'");
+    }
+
+    private static StandInResponse methodNotAllowed(final StandInRequest request) {
+        return StandInResponse.error(405, ERROR_HTTP_METHOD_NOT_ALLOWED,
+                "method " + request.getMethod() + " not supported for '" + request.getPath() + "'");
+    }
+
+    private static StandInResponse cursorNotFound() {
+        return StandInResponse.error(404, ERROR_CURSOR_NOT_FOUND, "cursor not found");
+    }
+
+    private static ObjectNode documentNotFound() {
+        return documentError(404, ERROR_DOCUMENT_NOT_FOUND, "document not found");
+    }
+
+    private static ObjectNode collectionNotFound(final String collection) {
+        return documentError(404, ERROR_COLLECTION_NOT_FOUND, "collection or view not found: " + collection);
+    }
+
+    /**
+     * @return whether the result of a document operation is an error, rather than a document or its metadata
+     */
+    private static boolean isError(final ObjectNode result) {
+        return result.path("error").asBoolean() && result.has("errorNum");
+    }
+
+    private static ObjectNode documentError(final int code, final int errorNum, final String errorMessage) {
+        return NODES.objectNode()
+                .put("error", true)
+                .put("code", code)
+                .put("errorNum", errorNum)
+                .put("errorMessage", errorMessage);
+    }
+
+    /**
+     * @return the decoded path segments
+     */
+    static List<String> segments(final String path) {
+        final List<String> segments = new ArrayList<>();
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty()) {
+                segments.add(decode(segment));
+            }
+        }
+        return segments;
+    }
+
+    static String decode(final String segment) {
+        if (segment.indexOf('%') < 0) {
+            return segment;
+        }
+        try {
+            return URLDecoder.decode(segment.replace("+", "%2B"), "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.arangodb.testserver;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Decodes the HTTP/1.1 and HTTP/2 requests and encodes the responses in the content type accepted by the client.
+ *
+ * @author Michele Rastelli
+ */
+final class HttpTransport implements Handler<HttpServerRequest> {
+
+    private static final String DB_PREFIX = "/_db/";
+    private static final String SYSTEM = "_system";
+
+    private final StandInServer server;
+
+    HttpTransport(final StandInServer server) {
+        this.server = server;
+    }
+
+    @Override
+    public void handle(final HttpServerRequest req) {
+        req.body()
+                .onSuccess(body -> handle(req, body))
+                .onFailure(e -> req.response().setStatusCode(400).end());
+    }
+
+    private void handle(final HttpServerRequest req, final Buffer body) {
+        final boolean vpackRequest = StandInSerde.isVPack(req.getHeader(HttpHeaders.CONTENT_TYPE));
+        final String accept = req.getHeader(HttpHeaders.ACCEPT);
+        final boolean vpackResponse = accept != null ? StandInSerde.isVPack(accept) : vpackRequest;
+        final StandInRequest request;
+        try {
+            final byte[] bytes = body.getBytes();
+            final JsonNode content = StandInSerde.read(bytes, 0, bytes.length, vpackRequest);
+            request = createRequest(req, content);
+        } catch (RuntimeException e) {
+            write(req.response(), StandInResponse.error(400, 600, "cannot parse request: " + e.getMessage()),
+                    vpackResponse, false);
+            return;
+        }
+        final boolean head = request.getMethod() == StandInRequest.Method.HEAD;
+        server.handle(request, response -> write(req.response(), response, vpackResponse, head));
+    }
+
+    private static StandInRequest createRequest(final HttpServerRequest req, final JsonNode body) {
+        String path = req.path();
+        String database = SYSTEM;
+        if (path.startsWith(DB_PREFIX)) {
+            final int end = path.indexOf('/', DB_PREFIX.length());
+            database = Endpoints.decode(path.substring(DB_PREFIX.length(), end < 0 ? path.length() : end));
+            path = end < 0 ? "/" : path.substring(end);
+        }
+        return new StandInRequest(
+                StandInRequest.Method.valueOf(req.method().name()),
+                database,
+                path,
+                toMap(req.params(), false),
+                toMap(req.headers(), true),
+                body);
+    }
+
+    private static Map<String, String> toMap(final MultiMap entries, final boolean lowerCase) {
+        final Map<String, String> map = new HashMap<>();
+        for (Map.Entry<String, String> e : entries) {
+            map.put(lowerCase ? e.getKey().toLowerCase(Locale.ROOT) : e.getKey(), e.getValue());
+        }
+        return map;
+    }
+
+    private static void write(final HttpServerResponse res, final StandInResponse response, final boolean vpack,
+                              final boolean head) {
+        res.setStatusCode(response.getCode());
+        for (Map.Entry<String, String> header : response.getHeaders().entrySet()) {
+            res.putHeader(header.getKey(), header.getValue());
+        }
+        if (response.getBody() == null || head) {
+            res.end();
+            return;
+        }
+        res.putHeader(HttpHeaders.CONTENT_TYPE, vpack ? StandInSerde.CONTENT_TYPE_VPACK : StandInSerde.CONTENT_TYPE_JSON);
+        res.end(Buffer.buffer(StandInSerde.write(response.getBody(), vpack)));
+    }
+
+}
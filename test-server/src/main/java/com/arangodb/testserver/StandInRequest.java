@@ -0,0 +1,72 @@
+package com.arangodb.testserver;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Map;
+
+/**
+ * Request received by the stand-in server, decoded from either HTTP or VST.
+ *
+ * @author Michele Rastelli
+ */
+final class StandInRequest {
+
+    enum Method {
+        DELETE, GET, POST, PUT, HEAD, PATCH, OPTIONS
+    }
+
+    private final Method method;
+    private final String database;
+    private final String path;
+    private final Map<String, String> queryParams;
+    private final Map<String, String> headers;
+    private final JsonNode body;
+
+    /**
+     * @param headers header names in lower case
+     */
+    StandInRequest(final Method method, final String database, final String path, final Map<String, String> queryParams,
+                   final Map<String, String> headers, final JsonNode body) {
+        this.method = method;
+        this.database = database;
+        this.path = path;
+        this.queryParams = queryParams;
+        this.headers = headers;
+        this.body = body;
+    }
+
+    Method getMethod() {
+        return method;
+    }
+
+    String getDatabase() {
+        return database;
+    }
+
+    /**
+     * @return the request path, without the {@code /_db/<database>} prefix
+     */
+    String getPath() {
+        return path;
+    }
+
+    String getQueryParam(final String name) {
+        return queryParams.get(name);
+    }
+
+    boolean isQueryParam(final String name) {
+        return Boolean.parseBoolean(queryParams.get(name));
+    }
+
+    String getHeader(final String name) {
+        return headers.get(name);
+    }
+
+    /**
+     * @return the request body, or {@code null} if the request has no body
+     */
+    JsonNode getBody() {
+        return body;
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.arangodb.testserver;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Response of the stand-in server, encoded as HTTP or VST by the transport the request was received from.
+ *
+ * @author Michele Rastelli
+ */
+final class StandInResponse {
+
+    private final int code;
+    private final JsonNode body;
+    private final Map<String, String> headers = new LinkedHashMap<>();
+
+    StandInResponse(final int code, final JsonNode body) {
+        this.code = code;
+        this.body = body;
+    }
+
+    static StandInResponse of(final int code, final JsonNode body) {
+        return new StandInResponse(code, body);
+    }
+
+    /**
+     * @return response with the {@code error} and {@code code} attributes added to the given result object
+     */
+    static StandInResponse result(final int code, final ObjectNode result) {
+        result.put("error", false);
+        result.put("code", code);
+        return new StandInResponse(code, result);
+    }
+
+    static StandInResponse error(final int code, final int errorNum, final String errorMessage) {
+        final ObjectNode body = JsonNodeFactory.instance.objectNode();
+        body.put("error", true);
+        body.put("code", code);
+        body.put("errorNum", errorNum);
+        body.put("errorMessage", errorMessage);
+        return new StandInResponse(code, body);
+    }
+
+    StandInResponse header(final String name, final String value) {
+        headers.put(name, value);
+        return this;
+    }
+
+    int getCode() {
+        return code;
+    }
+
+    /**
+     * @return the response body, or {@code null} if the response has no body
+     */
+    JsonNode getBody() {
+        return body;
+    }
+
+    Map<String, String> getHeaders() {
+        return headers;
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.arangodb.testserver;
+
+import com.arangodb.jackson.dataformat.velocypack.VPackMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Encoding and decoding of the request and response bodies, as JSON or VelocyPack trees.
+ *
+ * @author Michele Rastelli
+ */
+final class StandInSerde {
+
+    static final String CONTENT_TYPE_JSON = "application/json; charset=utf-8";
+    static final String CONTENT_TYPE_VPACK = "application/x-velocypack";
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final ObjectMapper VPACK = new VPackMapper();
+
+    private StandInSerde() {
+    }
+
+    /**
+     * @return the decoded value, or {@code null} if empty. Multiple JSON values separated by whitespace, like in a
+     * {@code /_api/import} request of type {@code documents}, are decoded as an array.
+     */
+    static JsonNode read(final byte[] bytes, final int offset, final int length, final boolean vpack) {
+        if (length == 0) {
+            return null;
+        }
+        try {
+            if (vpack) {
+                return VPACK.readTree(bytes, offset, length);
+            }
+            try (MappingIterator<JsonNode> it = JSON.readerFor(JsonNode.class).readValues(bytes, offset, length)) {
+                if (!it.hasNext()) {
+                    return null;
+                }
+                final JsonNode first = it.next();
+                if (!it.hasNext()) {
+                    return first;
+                }
+                final ArrayNode values = JSON.createArrayNode().add(first);
+                while (it.hasNext()) {
+                    values.add(it.next());
+                }
+                return values;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static byte[] write(final JsonNode value, final boolean vpack) {
+        try {
+            return (vpack ? VPACK : JSON).writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static boolean isVPack(final String contentType) {
+        return contentType != null && contentType.startsWith(CONTENT_TYPE_VPACK);
+    }
+
+}
@@ -0,0 +1,448 @@
+package com.arangodb.testserver;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.net.NetServer;
+import io.vertx.core.net.NetServerOptions;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Lightweight in-process stand-in for an ArangoDB server, to test and benchmark the driver transports without any
+ * external service.
+ * <p>
+ * The server accepts HTTP/1.1 and HTTP/2 (cleartext, with prior knowledge or upgrade) on the HTTP port and
+ * VelocyStream on the VST port, with JSON and VelocyPack content types. It implements in memory the endpoints on the
+ * hot paths of the driver, see {@link Endpoints}, and can inject latency, queue time and errors:
+ * <pre>{@code
+ * StandInServer server = StandInServer.builder()
+ *         .latency(Duration.ofMillis(1))
+ *         .errorRate(0.01)
+ *         .start();
+ * ArangoDB adb = new ArangoDB.Builder()
+ *         .host("127.0.0.1", server.getHttpPort())
+ *         .build();
+ * }</pre>
+ * The injected latency and errors are drawn from a random generator with a fixed seed, so that runs with the same
+ * sequence of requests are reproducible.
+ *
+ * @author Michele Rastelli
+ */
+public final class StandInServer implements AutoCloseable {
+
+    static final String QUEUE_TIME_HEADER = "x-arango-queue-time-seconds";
+    private static final int ERROR_QUEUE_TIME_VIOLATED = 21004;
+    private static final long START_TIMEOUT_SECONDS = 30;
+
+    private final String host;
+    private final int eventLoops;
+    private final long latencyNanos;
+    private final long latencyJitterNanos;
+    private final double queueTime;
+    private final double errorRate;
+    private final int errorCode;
+    private final String errorPathPrefix;
+    private final int payloadSize;
+    private final int batchSize;
+    private final int chunkSize;
+    private final boolean coordinator;
+    private final List<String> endpoints;
+    private final boolean compression;
+    private final long seed;
+    private final String version;
+
+    private final Random random;
+    private final Endpoints handlers;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+    private final Vertx vertx;
+    private volatile int httpPort;
+    private volatile int vstPort;
+
+    private StandInServer(final Builder builder) {
+        host = builder.host;
+        eventLoops = builder.eventLoops;
+        latencyNanos = builder.latency.toNanos();
+        latencyJitterNanos = builder.latencyJitter.toNanos();
+        queueTime = builder.queueTime;
+        errorRate = builder.errorRate;
+        errorCode = builder.errorCode;
+        errorPathPrefix = builder.errorPathPrefix;
+        payloadSize = builder.payloadSize;
+        batchSize = builder.batchSize;
+        chunkSize = builder.chunkSize;
+        coordinator = builder.coordinator;
+        endpoints = builder.endpoints;
+        compression = builder.compression;
+        seed = builder.seed;
+        version = builder.version;
+        random = new Random(seed);
+        handlers = new Endpoints(this);
+        httpPort = builder.httpPort;
+        vstPort = builder.vstPort;
+        vertx = Vertx.vertx(new VertxOptions().setEventLoopPoolSize(eventLoops));
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private StandInServer start() {
+        try {
+            // the first listener binds the ports, the others share them
+            await(vertx.deployVerticle(new Listener()));
+            if (eventLoops > 1) {
+                await(vertx.deployVerticle(Listener::new, new DeploymentOptions().setInstances(eventLoops - 1)));
+            }
+        } catch (RuntimeException e) {
+            vertx.close();
+            throw e;
+        }
+        return this;
+    }
+
+    private static <T> T await(final Future<T> future) {
+        try {
+            return future.toCompletionStage().toCompletableFuture().get(START_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Cannot start the stand-in server", e);
+        }
+    }
+
+    /**
+     * Stops the server, closing all the connections.
+     */
+    @Override
+    public void close() {
+        await(vertx.close());
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public int getHttpPort() {
+        return httpPort;
+    }
+
+    public int getVstPort() {
+        return vstPort;
+    }
+
+    /**
+     * @return the number of requests received, including the ones failed with injected errors
+     */
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    /**
+     * @return the number of requests failed with injected errors
+     */
+    public long getInjectedErrorCount() {
+        return injectedErrors.get();
+    }
+
+    int getPayloadSize() {
+        return payloadSize;
+    }
+
+    int getBatchSize() {
+        return batchSize;
+    }
+
+    int getChunkSize() {
+        return chunkSize;
+    }
+
+    boolean isCoordinator() {
+        return coordinator;
+    }
+
+    /**
+     * @return the endpoints returned by {@code /_api/cluster/endpoints}, by default the HTTP endpoint of this server
+     */
+    List<String> getEndpoints() {
+        if (!endpoints.isEmpty()) {
+            return endpoints;
+        }
+        return Collections.singletonList("tcp://" + host + ":" + httpPort);
+    }
+
+    long getSeed() {
+        return seed;
+    }
+
+    String getVersion() {
+        return version;
+    }
+
+    /**
+     * Handles the request on the calling event loop, passing the response to the given consumer after the
+     * configured latency.
+     */
+    void handle(final StandInRequest request, final Consumer<StandInResponse> responder) {
+        requests.incrementAndGet();
+        final StandInResponse response = respond(request);
+        response.header(QUEUE_TIME_HEADER, String.format(Locale.ROOT, "%.6f", queueTime));
+        final long delay = delayNanos();
+        if (delay < TimeUnit.MILLISECONDS.toNanos(1)) {
+            responder.accept(response);
+        } else {
+            vertx.setTimer(TimeUnit.NANOSECONDS.toMillis(delay), t -> responder.accept(response));
+        }
+    }
+
+    private StandInResponse respond(final StandInRequest request) {
+        if (errorRate > 0 && request.getPath().startsWith(errorPathPrefix) && random.nextDouble() < errorRate) {
+            injectedErrors.incrementAndGet();
+            return StandInResponse.error(errorCode, errorCode, "error injected by the stand-in server");
+        }
+        final String maxQueueTime = request.getHeader(QUEUE_TIME_HEADER);
+        if (maxQueueTime != null && queueTime > 0 && queueTime > Double.parseDouble(maxQueueTime)) {
+            return StandInResponse.error(412, ERROR_QUEUE_TIME_VIOLATED,
+                    "request was queued for longer than the allowed " + maxQueueTime + "s");
+        }
+        try {
+            return handlers.handle(request);
+        } catch (RuntimeException e) {
+            return StandInResponse.error(500, 4, String.valueOf(e.getMessage()));
+        }
+    }
+
+    private long delayNanos() {
+        if (latencyJitterNanos == 0) {
+            return latencyNanos;
+        }
+        return latencyNanos + (long) (random.nextDouble() * latencyJitterNanos);
+    }
+
+    /**
+     * Binds the HTTP and VST servers on the event loop of the verticle.
+     */
+    private final class Listener extends AbstractVerticle {
+        @Override
+        public void start(final Promise<Void> startPromise) {
+            final Future<HttpServer> http = vertx
+                    .createHttpServer(new HttpServerOptions()
+                            .setHost(host)
+                            .setCompressionSupported(compression)
+                            .setDecompressionSupported(true))
+                    .requestHandler(new HttpTransport(StandInServer.this))
+                    .listen(httpPort);
+            final Future<NetServer> vst = vertx
+                    .createNetServer(new NetServerOptions().setHost(host).setTcpNoDelay(true))
+                    .connectHandler(socket -> new VstTransport(StandInServer.this, socket))
+                    .listen(vstPort);
+            Future.all(http, vst)
+                    .onSuccess(f -> {
+                        httpPort = http.result().actualPort();
+                        vstPort = vst.result().actualPort();
+                        startPromise.complete();
+                    })
+                    .onFailure(startPromise::fail);
+        }
+    }
+
+    public static final class Builder {
+        private String host = "127.0.0.1";
+        private int httpPort;
+        private int vstPort;
+        private int eventLoops = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        private Duration latency = Duration.ZERO;
+        private Duration latencyJitter = Duration.ZERO;
+        private double queueTime;
+        private double errorRate;
+        private int errorCode = 503;
+        private String errorPathPrefix = "";
+        private int payloadSize;
+        private int batchSize = 1000;
+        private int chunkSize = 30_000;
+        private boolean coordinator;
+        private List<String> endpoints = Collections.emptyList();
+        private boolean compression;
+        private long seed;
+        private String version = "3.12.0";
+
+        private Builder() {
+        }
+
+        /**
+         * @param host address to bind to (default: {@code 127.0.0.1})
+         */
+        public Builder host(final String host) {
+            this.host = host;
+            return this;
+        }
+
+        /**
+         * @param port HTTP port, {@code 0} to pick a free one (default: {@code 0})
+         */
+        public Builder httpPort(final int port) {
+            httpPort = port;
+            return this;
+        }
+
+        /**
+         * @param port VST port, {@code 0} to pick a free one (default: {@code 0})
+         */
+        public Builder vstPort(final int port) {
+            vstPort = port;
+            return this;
+        }
+
+        /**
+         * @param eventLoops number of event loop threads serving the requests (default: half the processors)
+         */
+        public Builder eventLoops(final int eventLoops) {
+            if (eventLoops < 1) {
+                throw new IllegalArgumentException("eventLoops: " + eventLoops + " (expected: > 0)");
+            }
+            this.eventLoops = eventLoops;
+            return this;
+        }
+
+        /**
+         * @param latency delay added to each response (default: none)
+         */
+        public Builder latency(final Duration latency) {
+            this.latency = latency;
+            return this;
+        }
+
+        /**
+         * @param jitter upper bound of a uniformly distributed random delay added to the latency (default: none)
+         */
+        public Builder latencyJitter(final Duration jitter) {
+            latencyJitter = jitter;
+            return this;
+        }
+
+        /**
+         * @param seconds value of the {@code x-arango-queue-time-seconds} response header. Requests with a lower
+         *                maximum queue time fail with error {@code 21004}, like in the server. (default: {@code 0})
+         */
+        public Builder queueTime(final double seconds) {
+            queueTime = seconds;
+            return this;
+        }
+
+        /**
+         * @param rate fraction of the requests to fail with the {@link #errorCode(int)} (default: {@code 0})
+         */
+        public Builder errorRate(final double rate) {
+            if (rate < 0 || rate > 1) {
+                throw new IllegalArgumentException("errorRate: " + rate + " (expected: 0-1)");
+            }
+            errorRate = rate;
+            return this;
+        }
+
+        /**
+         * @param code response code and error number of the injected errors (default: {@code 503})
+         */
+        public Builder errorCode(final int code) {
+            errorCode = code;
+            return this;
+        }
+
+        /**
+         * @param prefix inject errors only into the requests whose path, without the database prefix, starts with
+         *               the given one, e.g. {@code /_api/cursor} (default: all the requests)
+         */
+        public Builder errorPathPrefix(final String prefix) {
+            errorPathPrefix = prefix;
+            return this;
+        }
+
+        /**
+         * @param bytes size of the {@code payload} attribute of the documents returned by range queries, like
+         *              {@code FOR i IN 1..1000 RETURN i} (default: {@code 0}, no payload)
+         */
+        public Builder payloadSize(final int bytes) {
+            payloadSize = bytes;
+            return this;
+        }
+
+        /**
+         * @param batchSize default cursor batch size, if not set in the request (default: {@code 1000})
+         */
+        public Builder batchSize(final int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * @param chunkSize maximum size of the VST response chunks (default: {@code 30000})
+         */
+        public Builder chunkSize(final int chunkSize) {
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        /**
+         * @param endpoints endpoints returned by {@code /_api/cluster/endpoints}, e.g. {@code tcp://127.0.0.1:8529},
+         *                  the server then acts as a cluster coordinator. If empty, the server returns its own
+         *                  endpoint only.
+         */
+        public Builder coordinator(final String... endpoints) {
+            coordinator = true;
+            this.endpoints = new ArrayList<>();
+            Collections.addAll(this.endpoints, endpoints);
+            return this;
+        }
+
+        /**
+         * @param compression whether to compress the HTTP responses, if accepted by the client (default:
+         *                    {@code false}). Compressed requests are always accepted.
+         */
+        public Builder compression(final boolean compression) {
+            this.compression = compression;
+            return this;
+        }
+
+        /**
+         * @param seed seed of the random generator for the injected latency and errors and for the generated
+         *             payloads (default: {@code 0})
+         */
+        public Builder seed(final long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * @param version server version returned by {@code /_api/version} (default: {@code 3.12.0})
+         */
+        public Builder version(final String version) {
+            this.version = version;
+            return this;
+        }
+
+        /**
+         * @return the started server
+         */
+        public StandInServer start() {
+            return new StandInServer(this).start();
+        }
+    }
+
+}
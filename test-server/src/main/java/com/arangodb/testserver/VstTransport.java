@@ -0,0 +1,221 @@
+package com.arangodb.testserver;
+
+import com.arangodb.velocypack.VPackSlice;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.net.NetSocket;
+import io.vertx.core.parsetools.RecordParser;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * VelocyStream session of a connected socket: decodes the chunks of the received messages, which can be interleaved,
+ * and splits the responses into chunks of the configured size.
+ * <p>
+ * Each message is a VelocyPack head, followed by an optional VelocyPack body. Request heads are
+ * {@code [version, 1, database, requestType, path, parameters, meta]}, authentication heads are
+ * {@code [version, 1000, encryption, ...]} and response heads are {@code [version, 2, responseCode, meta]}.
+ *
+ * @author Michele Rastelli
+ */
+final class VstTransport {
+
+    private static final String PROTOCOL_HEADER = "VST/1.";
+    private static final int PROTOCOL_HEADER_SIZE = 11;
+    private static final int CHUNK_HEADER_SIZE = 16;
+    private static final int MESSAGE_LENGTH_SIZE = 8;
+    private static final int TYPE_REQUEST = 1;
+    private static final int TYPE_RESPONSE = 2;
+    private static final int TYPE_AUTHENTICATION = 1000;
+    private static final StandInRequest.Method[] METHODS = {
+            StandInRequest.Method.DELETE, StandInRequest.Method.GET, StandInRequest.Method.POST,
+            StandInRequest.Method.PUT, StandInRequest.Method.HEAD, StandInRequest.Method.PATCH,
+            StandInRequest.Method.OPTIONS
+    };
+
+    private enum State {
+        PROTOCOL_HEADER, CHUNK_HEADER, MESSAGE_LENGTH, CONTENT
+    }
+
+    private final StandInServer server;
+    private final NetSocket socket;
+    private final RecordParser parser;
+    private final Map<Long, PendingMessage> pending = new HashMap<>();
+    private State state = State.PROTOCOL_HEADER;
+    private long messageId;
+    private int contentLength;
+    private PendingMessage message;
+
+    VstTransport(final StandInServer server, final NetSocket socket) {
+        this.server = server;
+        this.socket = socket;
+        parser = RecordParser.newFixed(PROTOCOL_HEADER_SIZE, this::record);
+        socket.handler(parser);
+    }
+
+    private void record(final Buffer record) {
+        switch (state) {
+            case PROTOCOL_HEADER:
+                if (!record.getString(0, PROTOCOL_HEADER.length(), "US-ASCII").equals(PROTOCOL_HEADER)) {
+                    socket.close();
+                    return;
+                }
+                readChunkHeader();
+                break;
+            case CHUNK_HEADER:
+                final int length = record.getIntLE(0);
+                final int chunkX = record.getIntLE(4);
+                messageId = record.getLongLE(8);
+                final boolean first = (chunkX & 0x1) == 1;
+                final int chunks = chunkX >> 1;
+                contentLength = length - CHUNK_HEADER_SIZE;
+                if (first) {
+                    message = new PendingMessage(chunks);
+                    pending.put(messageId, message);
+                } else {
+                    message = pending.get(messageId);
+                }
+                if (first && chunks > 1) {
+                    contentLength -= MESSAGE_LENGTH_SIZE;
+                    state = State.MESSAGE_LENGTH;
+                    parser.fixedSizeMode(MESSAGE_LENGTH_SIZE);
+                } else {
+                    readContent();
+                }
+                break;
+            case MESSAGE_LENGTH:
+                readContent();
+                break;
+            case CONTENT:
+                completeChunk(record);
+                break;
+            default:
+                throw new IllegalStateException(String.valueOf(state));
+        }
+    }
+
+    private void readChunkHeader() {
+        state = State.CHUNK_HEADER;
+        parser.fixedSizeMode(CHUNK_HEADER_SIZE);
+    }
+
+    private void readContent() {
+        if (contentLength == 0) {
+            completeChunk(Buffer.buffer());
+            return;
+        }
+        state = State.CONTENT;
+        parser.fixedSizeMode(contentLength);
+    }
+
+    private void completeChunk(final Buffer content) {
+        final long id = messageId;
+        final PendingMessage m = message;
+        message = null;
+        readChunkHeader();
+        if (m == null) {
+            // chunk of an unknown message
+            return;
+        }
+        m.data.appendBuffer(content);
+        if (++m.received == m.chunks) {
+            pending.remove(id);
+            handleMessage(id, m.data.getBytes());
+        }
+    }
+
+    private void handleMessage(final long id, final byte[] bytes) {
+        final int headSize = new VPackSlice(bytes).getByteSize();
+        final JsonNode head = StandInSerde.read(bytes, 0, headSize, true);
+        final int type = head.path(1).asInt();
+        if (type == TYPE_AUTHENTICATION) {
+            write(id, StandInResponse.of(200, null));
+            return;
+        }
+        if (type != TYPE_REQUEST) {
+            write(id, StandInResponse.error(400, 600, "unexpected message type: " + type));
+            return;
+        }
+        final StandInRequest request;
+        try {
+            final JsonNode body = StandInSerde.read(bytes, headSize, bytes.length - headSize, true);
+            request = new StandInRequest(
+                    METHODS[head.path(3).asInt()],
+                    head.path(2).asText(),
+                    head.path(4).asText(),
+                    toMap(head.path(5), false),
+                    toMap(head.path(6), true),
+                    body);
+        } catch (RuntimeException e) {
+            write(id, StandInResponse.error(400, 600, "cannot parse request: " + e.getMessage()));
+            return;
+        }
+        server.handle(request, response -> write(id, response));
+    }
+
+    private static Map<String, String> toMap(final JsonNode object, final boolean lowerCase) {
+        final Map<String, String> map = new HashMap<>();
+        final Iterator<Map.Entry<String, JsonNode>> fields = object.fields();
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            map.put(lowerCase ? field.getKey().toLowerCase(Locale.ROOT) : field.getKey(), field.getValue().asText());
+        }
+        return map;
+    }
+
+    private void write(final long id, final StandInResponse response) {
+        final JsonNodeFactory nodes = JsonNodeFactory.instance;
+        final ArrayNode head = nodes.arrayNode()
+                .add(1)
+                .add(TYPE_RESPONSE)
+                .add(response.getCode());
+        final ObjectNode meta = head.addObject();
+        for (Map.Entry<String, String> header : response.getHeaders().entrySet()) {
+            meta.put(header.getKey(), header.getValue());
+        }
+        final Buffer content = Buffer.buffer(StandInSerde.write(head, true));
+        if (response.getBody() != null) {
+            content.appendBytes(StandInSerde.write(response.getBody(), true));
+        }
+        socket.write(chunks(id, content, server.getChunkSize()));
+    }
+
+    /**
+     * Splits the message into the minimum number of chunks of at most the given size.
+     */
+    static Buffer chunks(final long id, final Buffer content, final int chunkSize) {
+        final int size = content.length();
+        final int n = Math.max(1, (size + chunkSize - 1) / chunkSize);
+        final Buffer out = Buffer.buffer(size + n * CHUNK_HEADER_SIZE + MESSAGE_LENGTH_SIZE);
+        for (int i = 0, off = 0; i < n; i++) {
+            final int len = Math.min(chunkSize, size - off);
+            final boolean withLength = i == 0 && n > 1;
+            out.appendIntLE(len + CHUNK_HEADER_SIZE + (withLength ? MESSAGE_LENGTH_SIZE : 0));
+            out.appendIntLE(n == 1 ? 3 : i == 0 ? (n << 1) | 1 : i << 1);
+            out.appendLongLE(id);
+            if (withLength) {
+                out.appendLongLE(size);
+            }
+            out.appendBuffer(content, off, len);
+            off += len;
+        }
+        return out;
+    }
+
+    private static final class PendingMessage {
+        private final int chunks;
+        private final Buffer data = Buffer.buffer();
+        private int received;
+
+        private PendingMessage(final int chunks) {
+            this.chunks = chunks;
+        }
+    }
+
+}
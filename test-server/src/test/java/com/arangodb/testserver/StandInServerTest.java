@@ -0,0 +1,325 @@
+package com.arangodb.testserver;
+
+import com.arangodb.ArangoCollection;
+import com.arangodb.ArangoCursor;
+import com.arangodb.ArangoDB;
+import com.arangodb.ArangoDBException;
+import com.arangodb.ArangoDatabase;
+import com.arangodb.Protocol;
+import com.arangodb.entity.ArangoDBVersion;
+import com.arangodb.entity.BaseDocument;
+import com.arangodb.entity.DocumentCreateEntity;
+import com.arangodb.entity.DocumentImportEntity;
+import com.arangodb.entity.MultiDocumentEntity;
+import com.arangodb.entity.StreamTransactionEntity;
+import com.arangodb.entity.StreamTransactionStatus;
+import com.arangodb.model.AqlQueryOptions;
+import com.arangodb.model.DocumentCreateOptions;
+import com.arangodb.model.StreamTransactionOptions;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.vertx.core.buffer.Buffer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+/**
+ * @author Michele Rastelli
+ */
+class StandInServerTest {
+
+    private static ArangoDB driver(final StandInServer server, final Protocol protocol) {
+        return new ArangoDB.Builder()
+                .host(server.getHost(), protocol == Protocol.VST ? server.getVstPort() : server.getHttpPort())
+                .protocol(protocol)
+                .password("test")
+                .build();
+    }
+
+    @ParameterizedTest
+    @EnumSource(Protocol.class)
+    void version(Protocol protocol) {
+        try (StandInServer server = StandInServer.builder().version("3.11.7").start()) {
+            ArangoDB adb = driver(server, protocol);
+            try {
+                ArangoDBVersion version = adb.getVersion();
+                assertThat(version.getServer()).isEqualTo("arango");
+                assertThat(version.getVersion()).isEqualTo("3.11.7");
+            } finally {
+                adb.shutdown();
+            }
+            assertThat(server.getRequestCount()).isEqualTo(1);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(Protocol.class)
+    void documents(Protocol protocol) {
+        try (StandInServer server = StandInServer.builder().start()) {
+            ArangoDB adb = driver(server, protocol);
+            try {
+                ArangoCollection col = adb.db().collection("docs");
+                BaseDocument doc = new BaseDocument("a");
+                doc.addAttribute("value", 1);
+                DocumentCreateEntity<BaseDocument> created = col.insertDocument(doc,
+                        new DocumentCreateOptions().returnNew(true));
+                assertThat(created.getKey()).isEqualTo("a");
+                assertThat(created.getId()).isEqualTo("docs/a");
+                assertThat(created.getRev()).isNotNull();
+                assertThat(created.getNew().getAttribute("value")).isEqualTo(1);
+
+                assertThat(col.getDocument("a", BaseDocument.class).getAttribute("value")).isEqualTo(1);
+                assertThat(col.documentExists("a")).isTrue();
+                assertThat(col.documentExists("b")).isFalse();
+                assertThat(col.getDocument("b", BaseDocument.class)).isNull();
+
+                doc.updateAttribute("value", 2);
+                col.replaceDocument("a", doc);
+                assertThat(col.getDocument("a", BaseDocument.class).getAttribute("value")).isEqualTo(2);
+
+                ArangoDBException conflict = catchThrowableOfType(() -> col.insertDocument(doc),
+                        ArangoDBException.class);
+                assertThat(conflict.getResponseCode()).isEqualTo(409);
+                assertThat(conflict.getErrorNum()).isEqualTo(1210);
+
+                MultiDocumentEntity<DocumentCreateEntity<Void>> multi = col.insertDocuments(Arrays.asList(
+                        new BaseDocument("b"), new BaseDocument("a"), new BaseDocument("c")));
+                assertThat(multi.getDocuments()).hasSize(2);
+                assertThat(multi.getErrors()).hasSize(1);
+                assertThat(multi.getErrors().iterator().next().getErrorNum()).isEqualTo(1210);
+                assertThat(col.count().getCount()).isEqualTo(3);
+
+                col.deleteDocument("a");
+                assertThat(col.documentExists("a")).isFalse();
+                assertThat(col.count().getCount()).isEqualTo(2);
+            } finally {
+                adb.shutdown();
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(Protocol.class)
+    void cursorBatches(Protocol protocol) {
+        try (StandInServer server = StandInServer.builder().payloadSize(100).start()) {
+            ArangoDB adb = driver(server, protocol);
+            try {
+                ArangoCursor<JsonNode> cursor = adb.db().query("FOR i IN 1..2500 RETURN i", JsonNode.class,
+                        new AqlQueryOptions().batchSize(1000).count(true));
+                assertThat(cursor.getCount()).isEqualTo(2500);
+                List<JsonNode> values = cursor.asListRemaining();
+                assertThat(values).hasSize(2500);
+                assertThat(values.get(0).get("value").asInt()).isEqualTo(1);
+                assertThat(values.get(2499).get("value").asInt()).isEqualTo(2500);
+                assertThat(values.get(0).get("payload").asText()).hasSize(100);
+                // initial request and two more batches
+                assertThat(server.getRequestCount()).isEqualTo(3);
+            } finally {
+                adb.shutdown();
+            }
+        }
+    }
+
+    @Test
+    void collectionQuery() {
+        try (StandInServer server = StandInServer.builder().start()) {
+            ArangoDB adb = driver(server, Protocol.HTTP_JSON);
+            try {
+                ArangoDatabase db = adb.db();
+                List<BaseDocument> docs = new ArrayList<>();
+                for (int i = 0; i < 10; i++) {
+                    docs.add(new BaseDocument(String.valueOf(i)));
+                }
+                DocumentImportEntity imported = db.collection("imported").importDocuments(docs);
+                assertThat(imported.getCreated()).isEqualTo(10);
+                assertThat(imported.getErrors()).isZero();
+
+                Map<String, Object> bindVars = new HashMap<>();
+                bindVars.put("@c", "imported");
+                List<BaseDocument> read = db.query("FOR d IN @@c LIMIT 4 RETURN d", BaseDocument.class, bindVars,
+                        new AqlQueryOptions().batchSize(3)).asListRemaining();
+                assertThat(read).extracting(BaseDocument::getKey).containsExactly("0", "1", "2", "3");
+            } finally {
+                adb.shutdown();
+            }
+        }
+    }
+
+    @Test
+    void streamTransaction() {
+        try (StandInServer server = StandInServer.builder().start()) {
+            ArangoDB adb = driver(server, Protocol.HTTP2_VPACK);
+            try {
+                ArangoDatabase db = adb.db();
+                StreamTransactionEntity tx = db.beginStreamTransaction(
+                        new StreamTransactionOptions().writeCollections("docs"));
+                assertThat(tx.getStatus()).isEqualTo(StreamTransactionStatus.running);
+                assertThat(db.commitStreamTransaction(tx.getId()).getStatus())
+                        .isEqualTo(StreamTransactionStatus.committed);
+                ArangoDBException notFound = catchThrowableOfType(() -> db.getStreamTransaction(tx.getId()),
+                        ArangoDBException.class);
+                assertThat(notFound.getErrorNum()).isEqualTo(1655);
+            } finally {
+                adb.shutdown();
+            }
+        }
+    }
+
+    @Test
+    void injectedErrors() {
+        try (StandInServer server = StandInServer.builder()
+                .errorRate(1)
+                .errorCode(500)
+                .errorPathPrefix("/_api/version")
+                .start()) {
+            ArangoDB adb = driver(server, Protocol.HTTP_JSON);
+            try {
+                ArangoDBException e = catchThrowableOfType(adb::getVersion, ArangoDBException.class);
+                assertThat(e.getResponseCode()).isEqualTo(500);
+                assertThat(adb.db().collection("c").documentExists("k")).isFalse();
+            } finally {
+                adb.shutdown();
+            }
+            assertThat(server.getInjectedErrorCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void latency() {
+        try (StandInServer server = StandInServer.builder().latency(Duration.ofMillis(50)).start()) {
+            ArangoDB adb = driver(server, Protocol.HTTP_JSON);
+            try {
+                adb.getVersion();
+                long start = System.nanoTime();
+                adb.getVersion();
+                assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(50));
+            } finally {
+                adb.shutdown();
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = Protocol.class, names = {"HTTP_JSON", "VST"})
+    void queueTime(Protocol protocol) {
+        try (StandInServer server = StandInServer.builder().queueTime(0.5).start()) {
+            ArangoDB adb = driver(server, protocol);
+            try {
+                adb.getVersion();
+                assertThat(adb.metrics().getQueueTime().getAvg()).isEqualTo(0.5);
+            } finally {
+                adb.shutdown();
+            }
+        }
+    }
+
+    @Test
+    void queueTimeViolated() {
+        try (StandInServer server = StandInServer.builder().queueTime(5).start()) {
+            ArangoDB adb = new ArangoDB.Builder()
+                    .host(server.getHost(), server.getHttpPort())
+                    .timeout(2_000)
+                    .build();
+            try {
+                ArangoDBException e = catchThrowableOfType(adb::getVersion, ArangoDBException.class);
+                assertThat(e.getCause()).isInstanceOf(TimeoutException.class);
+                ArangoDBException cause = (ArangoDBException) e.getCause().getCause();
+                assertThat(cause.getResponseCode()).isEqualTo(412);
+                assertThat(cause.getErrorNum()).isEqualTo(21004);
+            } finally {
+                adb.shutdown();
+            }
+        }
+    }
+
+    @Test
+    void coordinator() {
+        try (StandInServer server = StandInServer.builder().coordinator().start()) {
+            ArangoDB adb = new ArangoDB.Builder()
+                    .host(server.getHost(), server.getHttpPort())
+                    .acquireHostList(true)
+                    .build();
+            try {
+                assertThat(adb.getVersion().getVersion()).isEqualTo("3.12.0");
+                assertThat(adb.getRole().name()).isEqualTo("COORDINATOR");
+            } finally {
+                adb.shutdown();
+            }
+        }
+    }
+
+    @Test
+    void vstChunks() {
+        try (StandInServer server = StandInServer.builder().chunkSize(100).payloadSize(50).start()) {
+            ArangoDB adb = new ArangoDB.Builder()
+                    .host(server.getHost(), server.getVstPort())
+                    .protocol(Protocol.VST)
+                    .chunkSize(64)
+                    .build();
+            try {
+                List<JsonNode> values = adb.db().query("FOR i IN 1..100 RETURN i", JsonNode.class)
+                        .asListRemaining();
+                assertThat(values).hasSize(100);
+                BaseDocument doc = new BaseDocument("big");
+                doc.addAttribute("text", String.join("", Collections.nCopies(500, "x")));
+                adb.db().collection("c").insertDocument(doc);
+                assertThat(adb.db().collection("c").getDocument("big", BaseDocument.class).getAttribute("text"))
+                        .isEqualTo(doc.getAttribute("text"));
+            } finally {
+                adb.shutdown();
+            }
+        }
+    }
+
+    @Test
+    void vstConnectOnEventLoop() throws Exception {
+        try (StandInServer unavailable = StandInServer.builder().errorRate(1).start();
+             StandInServer available = StandInServer.builder().start()) {
+            ArangoDB adb = new ArangoDB.Builder()
+                    .host(unavailable.getHost(), unavailable.getVstPort())
+                    .host(available.getHost(), available.getVstPort())
+                    .protocol(Protocol.VST)
+                    .password("test")
+                    .build();
+            try {
+                // the retry on the second host connects and authenticates from the event loop of the first one
+                String version = adb.async().getVersion().get(10, TimeUnit.SECONDS).getVersion();
+                assertThat(version).isNotNull();
+                assertThat(unavailable.getInjectedErrorCount()).isEqualTo(1);
+            } finally {
+                adb.shutdown();
+            }
+        }
+    }
+
+    @Test
+    void chunks() {
+        Buffer content = Buffer.buffer(new byte[250]);
+        Buffer single = VstTransport.chunks(7, content, 1000);
+        assertThat(single.length()).isEqualTo(16 + 250);
+        assertThat(single.getIntLE(4)).isEqualTo(3);
+        assertThat(single.getLongLE(8)).isEqualTo(7);
+
+        Buffer multi = VstTransport.chunks(7, content, 100);
+        assertThat(multi.length()).isEqualTo(3 * 16 + 8 + 250);
+        assertThat(multi.getIntLE(0)).isEqualTo(16 + 8 + 100);
+        assertThat(multi.getIntLE(4)).isEqualTo((3 << 1) | 1);
+        assertThat(multi.getLongLE(16)).isEqualTo(250);
+        assertThat(multi.getIntLE(124 + 4)).isEqualTo(1 << 1);
+        assertThat(multi.getIntLE(124 + 116 + 4)).isEqualTo(2 << 1);
+        assertThat(multi.getIntLE(124 + 116)).isEqualTo(16 + 50);
+    }
+
+}
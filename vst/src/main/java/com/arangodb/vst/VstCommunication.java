@@ -34,7 +34,8 @@ import com.arangodb.vst.internal.JwtAuthenticationRequest;
 import com.arangodb.vst.internal.VstConnectionAsync;
 
 import java.io.IOException;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * @author Mark Vollmary
@@ -56,26 +57,14 @@ public final class VstCommunication extends Communication {
     }
 
     @Override
-    protected void connect(@UnstableApi Connection conn) throws IOException {
+    protected CompletableFuture<Void> connect(@UnstableApi Connection conn) {
         VstConnectionAsync connection = (VstConnectionAsync) conn;
-        if (!connection.isOpen()) {
-            connection.open();
-            if (jwt != null || user != null) {
-                tryAuthenticate(connection);
-            }
-        }
-    }
-
-    private void tryAuthenticate(final VstConnectionAsync connection) throws IOException {
-        try {
-            authenticate(connection);
-        } catch (final ArangoDBException authException) {
-            connection.close();
-            throw authException;
-        }
+        return connection.open(() -> jwt != null || user != null
+                ? authenticate(connection)
+                : CompletableFuture.completedFuture(null));
     }
 
-    private void authenticate(final VstConnectionAsync connection) throws IOException {
+    private CompletableFuture<Void> authenticate(final VstConnectionAsync connection) {
         InternalRequest authRequest;
         if (jwt != null) {
             authRequest = new JwtAuthenticationRequest(jwt, ENCRYPTION_JWT);
@@ -83,19 +72,15 @@ public final class VstCommunication extends Communication {
             authRequest = new AuthenticationRequest(user, password != null ? password : "", ENCRYPTION_PLAIN);
         }
 
-        InternalResponse response;
-        try {
-            response = connection.executeAsync(authRequest).get();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw ArangoDBException.of(e);
-        } catch (ExecutionException e) {
-            throw new IOException(e.getCause());
-        }
-        checkError(response);
+        return connection.executeAsync(authRequest).handle((response, e) -> {
+            if (e != null) {
+                throw new CompletionException(new IOException(e instanceof CompletionException ? e.getCause() : e));
+            }
+            checkError(response);
+            return null;
+        });
     }
 
-
     private void checkError(final InternalResponse response) {
         ArangoDBException e = ResponseUtils.translateError(serde, response);
         if (e != null) throw e;
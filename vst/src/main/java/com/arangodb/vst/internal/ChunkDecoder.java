@@ -0,0 +1,122 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+
+package com.arangodb.vst.internal;
+
+import com.arangodb.internal.ArangoDefaults;
+import io.vertx.core.buffer.Buffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Decodes the chunks from the data received on the socket. The chunk headers are read into a reusable buffer, while the
+ * chunk contents are copied straight from the received buffers into the message buffers of the {@link ChunkStore}.
+ * <p>
+ * Not thread safe, the received buffers have to be decoded in order by the same thread.
+ *
+ * @author Michele Rastelli
+ */
+public class ChunkDecoder {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChunkDecoder.class);
+
+    private final ChunkStore chunkStore;
+    private final ByteBuffer header = ByteBuffer.allocate(ArangoDefaults.CHUNK_MAX_HEADER_SIZE)
+            .order(ByteOrder.LITTLE_ENDIAN);
+    private int headerLength = ArangoDefaults.CHUNK_MIN_HEADER_SIZE;
+    private Chunk chunk;
+    private ByteBuffer content;
+    private int remaining;
+
+    public ChunkDecoder(final ChunkStore chunkStore) {
+        super();
+        this.chunkStore = chunkStore;
+    }
+
+    public void decode(final Buffer buffer) {
+        final int length = buffer.length();
+        int position = 0;
+        while (position < length) {
+            if (chunk == null) {
+                final int n = Math.min(headerLength - header.position(), length - position);
+                buffer.getBytes(position, position + n, header.array(), header.position());
+                header.position(header.position() + n);
+                position += n;
+                if (header.position() == headerLength) {
+                    readHeader();
+                }
+            } else {
+                final int n = Math.min(remaining, length - position);
+                if (content != null) {
+                    buffer.getBytes(position, position + n, content.array(), content.position());
+                    content.position(content.position() + n);
+                }
+                position += n;
+                remaining -= n;
+                if (remaining == 0) {
+                    completeChunk();
+                }
+            }
+        }
+    }
+
+    private void readHeader() {
+        final int length = header.getInt(0);
+        final int chunkX = header.getInt(ArangoDefaults.INTEGER_BYTES);
+        final long messageId = header.getLong(ArangoDefaults.INTEGER_BYTES * 2);
+        final long messageLength;
+        if ((1 == (chunkX & 0x1)) && ((chunkX >> 1) > 1)) {
+            if (headerLength == ArangoDefaults.CHUNK_MIN_HEADER_SIZE) {
+                // first chunk of a multi-chunk message, the header also contains the message length
+                headerLength = ArangoDefaults.CHUNK_MAX_HEADER_SIZE;
+                return;
+            }
+            messageLength = header.getLong(ArangoDefaults.CHUNK_MIN_HEADER_SIZE);
+        } else {
+            messageLength = -1L;
+        }
+        chunk = new Chunk(messageId, chunkX, messageLength, 0, length - headerLength);
+        header.clear();
+        headerLength = ArangoDefaults.CHUNK_MIN_HEADER_SIZE;
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(String.format("Received chunk %s:%s from message %s", chunk.getChunk(),
+                    chunk.isFirstChunk() ? 1 : 0, chunk.getMessageId()));
+        }
+
+        content = chunkStore.storeChunk(chunk);
+        remaining = chunk.getContentLength();
+        if (remaining == 0) {
+            completeChunk();
+        }
+    }
+
+    private void completeChunk() {
+        if (content != null) {
+            chunkStore.checkCompleteness(chunk.getMessageId());
+        }
+        chunk = null;
+        content = null;
+    }
+
+}
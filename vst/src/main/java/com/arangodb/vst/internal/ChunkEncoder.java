@@ -0,0 +1,128 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+
+package com.arangodb.vst.internal;
+
+import com.arangodb.internal.ArangoDefaults;
+import com.arangodb.velocypack.VPackSlice;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Encodes messages into chunks. The headers of all the chunks of a message are written into a single pooled buffer,
+ * while the message head and body are not copied: the encoded message is a composite buffer of slices of the headers
+ * buffer and of the head and body arrays, written to the socket with gathering writes.
+ *
+ * @author Michele Rastelli
+ */
+public final class ChunkEncoder {
+
+    private static final ByteBufAllocator ALLOCATOR = PooledByteBufAllocator.DEFAULT;
+
+    private ChunkEncoder() {
+    }
+
+    /**
+     * @param chunkSize maximum size of the chunk contents, the message is split into the minimum number of chunks of
+     *                  this size, each holding a similar part of the message
+     */
+    public static List<Chunk> buildChunks(final Message message, final int chunkSize) {
+        final VPackSlice head = message.getHead();
+        int size = head.getByteSize();
+        final VPackSlice body = message.getBody();
+        if (body != null) {
+            size += body.getByteSize();
+        }
+        final int numberOfChunks = (size + chunkSize - 1) / chunkSize;
+        final List<Chunk> chunks = new ArrayList<>(numberOfChunks);
+        final long messageLength = numberOfChunks > 1 ? size : -1L;
+        int off = 0;
+        for (int i = 0; i < numberOfChunks; i++) {
+            final int remaining = numberOfChunks - i;
+            final int len = (size - off + remaining - 1) / remaining;
+            chunks.add(new Chunk(message.getId(), i, numberOfChunks, i == 0 ? messageLength : -1L, off, len));
+            off += len;
+        }
+        return chunks;
+    }
+
+    /**
+     * @return the encoded chunks, which have to be released once written
+     */
+    public static CompositeByteBuf encode(final Message message, final Collection<Chunk> chunks) {
+        final VPackSlice head = message.getHead();
+        final VPackSlice body = message.getBody();
+        final int headLength = head.getByteSize();
+        int headersLength = 0;
+        for (final Chunk chunk : chunks) {
+            headersLength += headerLength(chunk);
+        }
+        final ByteBuf headers = ALLOCATOR.buffer(headersLength, headersLength);
+        final CompositeByteBuf buffer = ALLOCATOR.compositeBuffer(chunks.size() * 3);
+        try {
+            for (final Chunk chunk : chunks) {
+                final int start = headers.writerIndex();
+                writeHeader(headers, chunk);
+                buffer.addComponent(true, headers.retainedSlice(start, headers.writerIndex() - start));
+                final int contentOffset = chunk.getContentOffset();
+                final int contentLength = chunk.getContentLength();
+                int written = 0;
+                if (contentOffset < headLength) {
+                    written = Math.min(contentLength, headLength - contentOffset);
+                    buffer.addComponent(true, Unpooled.wrappedBuffer(head.getBuffer(), head.getStart() + contentOffset, written));
+                }
+                if (written < contentLength) {
+                    buffer.addComponent(true, Unpooled.wrappedBuffer(body.getBuffer(),
+                            body.getStart() + contentOffset + written - headLength, contentLength - written));
+                }
+            }
+        } catch (final RuntimeException e) {
+            buffer.release();
+            throw e;
+        } finally {
+            headers.release();
+        }
+        return buffer;
+    }
+
+    private static int headerLength(final Chunk chunk) {
+        return chunk.getMessageLength() > -1L ? ArangoDefaults.CHUNK_MAX_HEADER_SIZE
+                : ArangoDefaults.CHUNK_MIN_HEADER_SIZE;
+    }
+
+    private static void writeHeader(final ByteBuf buffer, final Chunk chunk) {
+        final long messageLength = chunk.getMessageLength();
+        buffer.writeIntLE(chunk.getContentLength() + headerLength(chunk));
+        buffer.writeIntLE(chunk.getChunkX());
+        buffer.writeLongLE(chunk.getMessageId());
+        if (messageLength > -1L) {
+            buffer.writeLongLE(messageLength);
+        }
+    }
+
+}
@@ -20,18 +20,29 @@
 
 package com.arangodb.vst.internal;
 
+import com.arangodb.velocypack.VPackSlice;
+
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
+ * Assembles the received chunks into messages. Once the first chunk has been received, the message head is split from
+ * the body and the following chunks are read directly into the body buffer, so that both can be used without further
+ * copies. The first chunks are received into a reusable buffer, since their content is always moved to the head and
+ * body buffers.
+ *
  * @author Mark Vollmary
  */
 public class ChunkStore {
 
+    private static final int MAX_RETAINED_FIRST_CHUNK_SIZE = 1024 * 1024;
+
     private final MessageStore messageStore;
-    private final Map<Long, ByteBuffer> data;
+    private final Map<Long, PendingMessage> data;
+    private ByteBuffer firstChunkBuffer = ByteBuffer.allocate(0);
 
     public ChunkStore(final MessageStore messageStore) {
         super();
@@ -39,31 +50,96 @@ public class ChunkStore {
         data = new HashMap<>();
     }
 
+    /**
+     * @return the buffer to read the chunk content into, or {@code null} if the chunk has to be discarded
+     */
     public ByteBuffer storeChunk(final Chunk chunk) throws BufferUnderflowException, IndexOutOfBoundsException {
         final long messageId = chunk.getMessageId();
-        ByteBuffer chunkBuffer = data.get(messageId);
-        if (chunkBuffer == null) {
+        PendingMessage message = data.get(messageId);
+        if (message == null) {
             if (!chunk.isFirstChunk()) {
                 messageStore.cancel(messageId);
                 return null;
             }
             final int length = (int) (chunk.getMessageLength() > 0 ? chunk.getMessageLength()
                     : chunk.getContentLength());
-            chunkBuffer = ByteBuffer.allocate(length);
-            data.put(messageId, chunkBuffer);
+            message = new PendingMessage(length, firstChunkBuffer(chunk.getContentLength()));
+            data.put(messageId, message);
         }
-        return chunkBuffer;
+        return message.buffer;
+    }
+
+    /**
+     * Chunks are received one at a time and the first chunk of a message is split as soon as it is complete, so a
+     * single buffer can be reused for the first chunks of all the messages.
+     */
+    private ByteBuffer firstChunkBuffer(final int length) {
+        if (length > MAX_RETAINED_FIRST_CHUNK_SIZE) {
+            return ByteBuffer.allocate(length);
+        }
+        if (firstChunkBuffer.capacity() < length) {
+            firstChunkBuffer = ByteBuffer.allocate(Math.max(length, firstChunkBuffer.capacity() * 2));
+        }
+        firstChunkBuffer.clear().limit(length);
+        return firstChunkBuffer;
     }
 
     public void checkCompleteness(final long messageId) {
         checkCompleteness(messageId, data.get(messageId));
     }
 
-    private void checkCompleteness(final long messageId, final ByteBuffer chunkBuffer)
+    private void checkCompleteness(final long messageId, final PendingMessage message)
             throws BufferUnderflowException, IndexOutOfBoundsException {
-        if (chunkBuffer.position() == chunkBuffer.limit()) {
-            messageStore.consume(new Message(messageId, chunkBuffer.array()));
-            data.remove(messageId);
+        if (message.buffer.hasRemaining()) {
+            return;
+        }
+        if (message.firstChunk) {
+            message.splitHead();
+            if (message.buffer.hasRemaining()) {
+                return;
+            }
+        }
+        final byte[] buffer = message.buffer.array();
+        if (message.head == null) {
+            messageStore.consume(new Message(messageId, buffer));
+        } else {
+            messageStore.consume(new Message(messageId, message.head, buffer.length > 0 ? buffer : null));
+        }
+        data.remove(messageId);
+    }
+
+    private static final class PendingMessage {
+        private final int length;
+        private boolean firstChunk = true;
+        private ByteBuffer buffer;
+        private byte[] head;
+
+        /**
+         * @param length     message length
+         * @param firstChunk buffer to receive the content of the first chunk into, up to its limit
+         */
+        private PendingMessage(final int length, final ByteBuffer firstChunk) {
+            this.length = length;
+            buffer = firstChunk;
+        }
+
+        /**
+         * Splits the head from the content of the first chunk, moving the remaining bytes to a new body buffer. If the
+         * head does not fit in the first chunk, the buffer is resized to hold the whole message instead.
+         */
+        private void splitHead() {
+            firstChunk = false;
+            final byte[] first = buffer.array();
+            final int firstLength = buffer.limit();
+            final int headSize = new VPackSlice(first).getByteSize();
+            if (headSize > firstLength) {
+                buffer = ByteBuffer.allocate(length);
+                buffer.put(first, 0, firstLength);
+            } else {
+                head = Arrays.copyOf(first, headSize);
+                buffer = ByteBuffer.allocate(length - headSize);
+                buffer.put(first, headSize, firstLength - headSize);
+            }
         }
     }
 
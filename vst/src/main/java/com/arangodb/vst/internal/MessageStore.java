@@ -18,81 +18,186 @@
  * Copyright holder is ArangoDB GmbH, Cologne, Germany
  */
 
+
 package com.arangodb.vst.internal;
 
-import com.arangodb.ArangoDBException;
+import com.arangodb.internal.net.TimerWheel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.FutureTask;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
+ * Correlates the pending requests with the received responses, completing the caller futures directly.
+ * <p>
+ * Message ids are sequential, so the pending requests are stored in a lock-free table indexed by the low bits of the
+ * id. Only when more than {@link #CAPACITY} requests are pending at the same time, the colliding ones are stored in an
+ * overflow map. Completion, cancellation, timeout and clearing race for removing a request from the table, which
+ * guarantees that each future is completed once.
+ *
  * @author Mark Vollmary
+ * @author Michele Rastelli
  */
 public class MessageStore {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MessageStore.class);
+    private static final int CAPACITY = 1024;
+    private static final int MASK = CAPACITY - 1;
 
-    private final Map<Long, FutureTask<Message>> task;
-    private final Map<Long, Message> response;
-    private final Map<Long, Exception> error;
+    private final AtomicReferenceArray<Pending> table = new AtomicReferenceArray<>(CAPACITY);
+    private final Map<Long, Pending> overflow = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final Executor timeoutExecutor;
 
     public MessageStore() {
-        super();
-        task = new ConcurrentHashMap<>();
-        response = new ConcurrentHashMap<>();
-        error = new ConcurrentHashMap<>();
+        this(Runnable::run);
     }
 
-    public void storeMessage(final long messageId, final FutureTask<Message> future) {
-        task.put(messageId, future);
+    /**
+     * @param timeoutExecutor executor completing the timed out requests, e.g. the event loop of the connection, since
+     *                        the timeouts fire on the {@link TimerWheel} thread
+     */
+    public MessageStore(final Executor timeoutExecutor) {
+        super();
+        this.timeoutExecutor = timeoutExecutor;
     }
 
-    public void consume(final Message message) {
-        final FutureTask<Message> future = task.remove(message.getId());
-        if (future != null) {
-            response.put(message.getId(), message);
-            future.run();
+    /**
+     * @param messageId     id of the sent message
+     * @param future        future to complete with the response message
+     * @param timeoutMillis time after which the future is completed with a {@link TimeoutException}, or {@code 0} for
+     *                      no timeout
+     */
+    public void storeMessage(final long messageId, final CompletableFuture<Message> future, final long timeoutMillis) {
+        final Pending pending = new Pending(messageId, future);
+        size.incrementAndGet();
+        if (!table.compareAndSet(index(messageId), null, pending)) {
+            overflow.put(messageId, pending);
+        }
+        if (timeoutMillis > 0) {
+            pending.timeout = TimerWheel.INSTANCE.schedule(() -> timeoutExecutor.execute(() -> {
+                if (remove(pending)) {
+                    future.completeExceptionally(new TimeoutException());
+                }
+            }), timeoutMillis, TimeUnit.MILLISECONDS);
         }
     }
 
-    public Message get(final long messageId) {
-        final Message result = response.remove(messageId);
-        if (result == null) {
-            final Exception e = error.remove(messageId);
-            if (e != null) {
-                throw ArangoDBException.of(e);
-            }
+    public void consume(final Message message) {
+        final Pending pending = remove(message.getId());
+        if (pending != null) {
+            pending.cancelTimeout();
+            pending.future.complete(message);
         }
-        return result;
     }
 
     public void cancel(final long messageId) {
-        final FutureTask<Message> future = task.remove(messageId);
-        if (future != null) {
+        final Pending pending = remove(messageId);
+        if (pending != null) {
             LOGGER.error("Cancel Message unexpected (id={}).", messageId);
-            future.cancel(true);
+            pending.cancelTimeout();
+            pending.future.cancel(true);
+        }
+    }
+
+    /**
+     * Completes the future of the given message exceptionally, e.g. because the message could not be sent.
+     */
+    public void fail(final long messageId, final Throwable e) {
+        final Pending pending = remove(messageId);
+        if (pending != null) {
+            pending.cancelTimeout();
+            pending.future.completeExceptionally(e);
         }
     }
 
-    public synchronized void clear(final Exception e) {
-        if (!task.isEmpty()) {
+    public void clear(final Exception e) {
+        if (!isEmpty()) {
             LOGGER.error(e.getMessage(), e);
         }
-        for (final Entry<Long, FutureTask<Message>> entry : task.entrySet()) {
-            if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug(String.format("Exceptionally complete Message (id=%s).", entry.getKey()));
+        for (int i = 0; i < CAPACITY; i++) {
+            final Pending pending = table.get(i);
+            if (pending != null && remove(pending)) {
+                clear(pending, e);
+            }
+        }
+        for (final Pending pending : overflow.values()) {
+            if (remove(pending)) {
+                clear(pending, e);
             }
-            error.put(entry.getKey(), e);
-            entry.getValue().run();
         }
-        task.clear();
+    }
+
+    private static void clear(final Pending pending, final Exception e) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(String.format("Exceptionally complete Message (id=%s).", pending.messageId));
+        }
+        pending.cancelTimeout();
+        pending.future.completeExceptionally(e);
     }
 
     public boolean isEmpty() {
-        return task.isEmpty();
+        return size.get() == 0;
+    }
+
+    /**
+     * @return the number of pending requests
+     */
+    public int size() {
+        return size.get();
     }
+
+    private Pending remove(final long messageId) {
+        final Pending pending = table.get(index(messageId));
+        if (pending != null && pending.messageId == messageId) {
+            return remove(pending) ? pending : null;
+        }
+        if (overflow.isEmpty()) {
+            return null;
+        }
+        final Pending overflowing = overflow.get(messageId);
+        return overflowing != null && remove(overflowing) ? overflowing : null;
+    }
+
+    /**
+     * @return {@code true} if the request was removed by this call
+     */
+    private boolean remove(final Pending pending) {
+        final boolean removed = table.compareAndSet(index(pending.messageId), pending, null)
+                || overflow.remove(pending.messageId, pending);
+        if (removed) {
+            size.decrementAndGet();
+        }
+        return removed;
+    }
+
+    private static int index(final long messageId) {
+        return (int) messageId & MASK;
+    }
+
+    private static final class Pending {
+        private final long messageId;
+        private final CompletableFuture<Message> future;
+        private volatile TimerWheel.Timeout timeout;
+
+        private Pending(final long messageId, final CompletableFuture<Message> future) {
+            this.messageId = messageId;
+            this.future = future;
+        }
+
+        private void cancelTimeout() {
+            final TimerWheel.Timeout t = timeout;
+            if (t != null) {
+                t.cancel();
+            }
+        }
+    }
+
 }
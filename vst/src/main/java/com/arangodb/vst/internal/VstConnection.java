@@ -18,56 +18,65 @@
  * Copyright holder is ArangoDB GmbH, Cologne, Germany
  */
 
+
 package com.arangodb.vst.internal;
 
 import com.arangodb.ArangoDBException;
 import com.arangodb.config.HostDescription;
-import com.arangodb.internal.ArangoDefaults;
 import com.arangodb.internal.config.ArangoConfig;
 import com.arangodb.internal.net.Connection;
+import com.arangodb.internal.net.TimerWheel;
+import com.arangodb.internal.util.TimeUtils;
 import com.arangodb.velocypack.VPackBuilder;
-import com.arangodb.velocypack.VPackSlice;
 import com.arangodb.velocypack.ValueType;
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.ssl.ClientAuth;
+import io.netty.handler.ssl.JdkSslContext;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.net.JdkSSLEngineOptions;
+import io.vertx.core.net.NetClient;
+import io.vertx.core.net.NetClientOptions;
+import io.vertx.core.net.NetSocket;
+import io.vertx.core.spi.tls.SslContextFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.net.SocketFactory;
 import javax.net.ssl.SSLContext;
-import javax.net.ssl.SSLSocket;
-import javax.net.ssl.SSLSocketFactory;
-import java.io.BufferedOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
-import java.net.InetSocketAddress;
-import java.net.Socket;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
+import java.security.NoSuchAlgorithmException;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Date;
-import java.util.Map;
-import java.util.concurrent.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 /**
+ * Non-blocking VST connection, also opened and authenticated without blocking. All the connections share the event
+ * loop threads of the same {@link Vertx} instance, while keep-alive probes and ttl expiry are scheduled on the
+ * driver-wide {@link TimerWheel} and run on the event loop of the connection.
+ *
  * @author Mark Vollmary
+ * @author Michele Rastelli
  */
 public abstract class VstConnection<T> implements Connection {
     private static final Logger LOGGER = LoggerFactory.getLogger(VstConnection.class);
-    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
     private static final byte[] PROTOCOL_HEADER = "VST/1.0\r\n\r\n".getBytes();
-    protected final MessageStore messageStore = new MessageStore();
+    protected final MessageStore messageStore = new MessageStore(this::runOnContext);
     protected final Integer timeout;
     private final AtomicLong keepAliveId = new AtomicLong();
+    private final AtomicInteger keepAliveFailCounter = new AtomicInteger();
     private final Long ttl;
     private final Integer keepAliveInterval;
     private final Boolean useSsl;
     private final SSLContext sslContext;
     private final HostDescription host;
-    private final Map<Long, Long> sendTimestamps = new ConcurrentHashMap<>();
     private final String connectionName;
+    private final int maxChunkSize;
     private final byte[] keepAliveRequest = new VPackBuilder()
             .add(ValueType.ARRAY)
             .add(1)
@@ -82,12 +91,16 @@ public abstract class VstConnection<T> implements Connection {
             .close()
             .slice()
             .toByteArray();
-    private ExecutorService executor;
-    private ScheduledExecutorService keepAliveScheduler;
-    private int keepAliveFailCounter = 0;
-    private Socket socket;
-    private OutputStream outputStream;
-    private InputStream inputStream;
+    private Vertx vertx;
+    private NetClient client;
+    private volatile NetSocket socket;
+    private volatile WriteQueue writeQueue;
+    private volatile Context context;
+    private volatile boolean connected;
+    private TimerWheel.Timeout keepAliveTimer;
+    private TimerWheel.Timeout ttlTimer;
+    private volatile boolean expired;
+    private volatile CompletableFuture<Void> opening;
 
     protected VstConnection(final ArangoConfig config, final HostDescription host) {
         super();
@@ -96,6 +109,7 @@ public abstract class VstConnection<T> implements Connection {
         keepAliveInterval = config.getKeepAliveInterval();
         useSsl = config.getUseSsl();
         sslContext = config.getSslContext();
+        maxChunkSize = config.getChunkSize();
         this.host = host;
 
         connectionName = "connection_" + System.currentTimeMillis() + "_" + Math.random();
@@ -118,226 +132,344 @@ public abstract class VstConnection<T> implements Connection {
 
     public abstract T write(final Message message, final Collection<Chunk> chunks);
 
-    protected abstract void doKeepAlive();
+    /**
+     * @return future completed when the keep-alive response is received, it must not block the calling event loop
+     */
+    protected abstract CompletableFuture<?> doKeepAlive();
 
     private void keepAlive() {
+        if (!isOpen()) {
+            return;
+        }
+        final CompletableFuture<?> response;
         try {
-            doKeepAlive();
-            keepAliveFailCounter = 0;
+            response = doKeepAlive();
         } catch (Exception e) {
-            LOGGER.error("Got exception while performing keepAlive request:", e);
-            keepAliveFailCounter++;
-            if (keepAliveFailCounter >= 3) {
-                LOGGER.error("KeepAlive request failed consecutively for 3 times, closing connection now...");
-                messageStore.clear(new IOException("Connection unresponsive!"));
-                close();
+            keepAliveFailed(e);
+            return;
+        }
+        response.whenComplete((r, e) -> {
+            if (e == null) {
+                keepAliveFailCounter.set(0);
+            } else {
+                keepAliveFailed(e);
             }
+        });
+    }
+
+    private void keepAliveFailed(final Throwable e) {
+        LOGGER.error("Got exception while performing keepAlive request:", e);
+        if (keepAliveFailCounter.incrementAndGet() >= 3) {
+            LOGGER.error("KeepAlive request failed consecutively for 3 times, closing connection now...");
+            messageStore.clear(new IOException("Connection unresponsive!"));
+            closeSocket();
         }
     }
 
     public boolean isOpen() {
-        return socket != null && socket.isConnected() && !socket.isClosed();
+        return connected;
     }
 
-    public synchronized void open() throws IOException {
-        if (isOpen()) {
-            return;
+    /**
+     * Opens the connection, unless it is already open or being opened, without blocking the calling thread, which can
+     * be an event loop thread.
+     *
+     * @param initializer invoked once the socket is connected, e.g. to authenticate, before the connection is
+     *                    considered open
+     * @return future completed once the connection is open and initialized, shared by the concurrent callers
+     */
+    public CompletableFuture<Void> open(final Supplier<CompletableFuture<?>> initializer) {
+        CompletableFuture<Void> f = opening;
+        if (f != null && (!f.isDone() || isOpen())) {
+            return f;
         }
-        if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug(String.format("[%s]: Open connection to %s", connectionName, host));
+        synchronized (this) {
+            f = opening;
+            if (f != null && (!f.isDone() || isOpen())) {
+                return f;
+            }
+            f = new CompletableFuture<>();
+            opening = f;
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug(String.format("[%s]: Open connection to %s", connectionName, host));
+            }
+            // acquired before releasing the resources of a closed socket, to keep the shared instance alive
+            final Vertx v = VstVertx.acquire();
+            releaseResources();
+            vertx = v;
+            try {
+                client = vertx.createNetClient(createClientOptions());
+            } catch (Exception e) {
+                releaseResources();
+                f.completeExceptionally(e);
+                return f;
+            }
+            final CompletableFuture<Void> result = f;
+            client.connect(host.getPort(), host.getHost()).onComplete(ar -> {
+                if (ar.failed()) {
+                    failOpen(result, new IOException(ar.cause()));
+                } else if (connected(result, ar.result())) {
+                    initialize(result, initializer);
+                }
+            });
+            return f;
         }
-        if (Boolean.TRUE.equals(useSsl)) {
-            if (sslContext != null) {
-                socket = sslContext.getSocketFactory().createSocket();
+    }
+
+    private void initialize(final CompletableFuture<Void> result,
+                            final Supplier<CompletableFuture<?>> initializer) {
+        final CompletableFuture<?> init;
+        try {
+            init = initializer.get();
+        } catch (Exception e) {
+            failOpen(result, e);
+            return;
+        }
+        init.whenComplete((r, e) -> {
+            if (e != null) {
+                failOpen(result, e instanceof CompletionException ? e.getCause() : e);
             } else {
-                socket = SSLSocketFactory.getDefault().createSocket();
+                result.complete(null);
             }
-        } else {
-            socket = SocketFactory.getDefault().createSocket();
+        });
+    }
+
+    private synchronized void failOpen(final CompletableFuture<Void> result, final Throwable e) {
+        if (opening == result) {
+            messageStore.clear(e instanceof Exception ? (Exception) e : new IOException(e));
+            releaseResources();
+        }
+        result.completeExceptionally(e);
+    }
+
+    /**
+     * Sets up the connected socket, on its event loop.
+     *
+     * @return whether the socket can be used, i.e. the connection has not been closed while connecting
+     */
+    private synchronized boolean connected(final CompletableFuture<Void> result, final NetSocket s) {
+        if (opening != result) {
+            s.close();
+            result.completeExceptionally(new IOException("Connection closed"));
+            return false;
         }
-        socket.connect(new InetSocketAddress(host.getHost(), host.getPort()), timeout);
-        socket.setKeepAlive(true);
-        socket.setTcpNoDelay(true);
         if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug(String.format("[%s]: Connected to %s", connectionName, socket));
+            LOGGER.debug(String.format("[%s]: Connected to %s", connectionName, s.remoteAddress()));
         }
+        // context of the event loop handling the socket
+        context = Vertx.currentContext();
 
-        outputStream = new BufferedOutputStream(socket.getOutputStream());
-        inputStream = socket.getInputStream();
-
-        if (Boolean.TRUE.equals(useSsl)) {
-            if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug(String.format("[%s]: Start Handshake on %s", connectionName, socket));
+        final ChunkDecoder decoder = new ChunkDecoder(new ChunkStore(messageStore));
+        s.handler(buffer -> {
+            try {
+                decoder.decode(buffer);
+            } catch (final Exception e) {
+                messageStore.clear(e);
+                s.close();
+                return;
+            }
+            if (expired && messageStore.isEmpty()) {
+                s.close();
             }
-            ((SSLSocket) socket).startHandshake();
-        }
-        sendProtocolHeader();
-
-        executor = Executors.newSingleThreadExecutor(r -> {
-            Thread t = Executors.defaultThreadFactory().newThread(r);
-            t.setDaemon(true);
-            t.setName("adb-vst-" + THREAD_COUNT.getAndIncrement());
-            return t;
         });
-        executor.submit((Callable<Void>) () -> {
-            LOGGER.debug("[" + connectionName + "]: Start Callable");
+        s.exceptionHandler(e -> {
+            LOGGER.error("Error on Connection " + connectionName, e);
+            messageStore.clear(e instanceof Exception ? (Exception) e : new IOException(e));
+            s.close();
+        });
+        s.closeHandler(v -> {
+            LOGGER.debug("[" + connectionName + "]: Socket closed");
+            // ignore sockets already replaced by a reopened one
+            if (socket == s) {
+                connected = false;
+                messageStore.clear(new IOException("The socket is closed."));
+            }
+        });
+        writeQueue = new WriteQueue(maxChunkSize);
+        expired = false;
+        socket = s;
+        connected = true;
+        sendProtocolHeader();
 
-            final long openTime = new Date().getTime();
-            final Long ttlTime = ttl != null && ttl > 0 ? openTime + ttl : null;
-            final ChunkStore chunkStore = new ChunkStore(messageStore);
-            while (true) {
-                if (ttlTime != null && new Date().getTime() > ttlTime && messageStore.isEmpty()) {
-                    close();
-                    break;
-                }
-                if (!isOpen()) {
-                    messageStore.clear(new IOException("The socket is closed."));
-                    close();
-                    break;
+        final Context ctx = context;
+        if (keepAliveInterval != null) {
+            keepAliveTimer = TimerWheel.INSTANCE.schedulePeriodic(() -> ctx.runOnContext(v -> keepAlive()),
+                    0L, keepAliveInterval, TimeUnit.SECONDS);
+        }
+        if (ttl != null && ttl > 0) {
+            // jitter spreads the reconnections of the connections opened together
+            ttlTimer = TimerWheel.INSTANCE.schedule(() -> ctx.runOnContext(v -> {
+                expired = true;
+                if (messageStore.isEmpty()) {
+                    s.close();
                 }
+            }), TimeUtils.withJitter(ttl), TimeUnit.MILLISECONDS);
+        }
+        return true;
+    }
+
+    private NetClientOptions createClientOptions() {
+        final NetClientOptions options = new NetClientOptions()
+                .setTcpKeepAlive(true)
+                .setTcpNoDelay(true);
+        if (timeout != null) {
+            options.setConnectTimeout(timeout);
+        }
+        if (Boolean.TRUE.equals(useSsl)) {
+            final SSLContext ctx;
+            if (sslContext != null) {
+                ctx = sslContext;
+            } else {
                 try {
-                    final Chunk chunk = readChunk();
-                    final ByteBuffer chunkBuffer = chunkStore.storeChunk(chunk);
-                    if (chunkBuffer != null) {
-                        final byte[] buf = new byte[chunk.getContentLength()];
-                        readBytesIntoBuffer(buf, 0, buf.length);
-                        chunkBuffer.put(buf);
-                        chunkStore.checkCompleteness(chunk.getMessageId());
-                    }
-                } catch (final Exception e) {
-                    messageStore.clear(e);
-                    close();
-                    break;
+                    ctx = SSLContext.getDefault();
+                } catch (NoSuchAlgorithmException e) {
+                    throw ArangoDBException.of(e);
                 }
             }
+            options
+                    .setSsl(true)
+                    .setJdkSslEngineOptions(new JdkSSLEngineOptions() {
+                        @Override
+                        public JdkSSLEngineOptions copy() {
+                            return this;
+                        }
 
-            LOGGER.debug("[" + connectionName + "]: Stop Callable");
-
-            return null;
-        });
-
-        if (keepAliveInterval != null) {
-            keepAliveScheduler = Executors.newScheduledThreadPool(1);
-            keepAliveScheduler.scheduleAtFixedRate(this::keepAlive, 0, keepAliveInterval, TimeUnit.SECONDS);
+                        @Override
+                        public SslContextFactory sslContextFactory() {
+                            return () -> new JdkSslContext(ctx, true, ClientAuth.NONE);
+                        }
+                    });
         }
-
+        return options;
     }
 
     @Override
     public synchronized void close() {
-        if (keepAliveScheduler != null) {
-            keepAliveScheduler.shutdown();
+        final CompletableFuture<Void> f = opening;
+        opening = null;
+        if (f != null && !f.isDone()) {
+            f.completeExceptionally(new IOException("Connection closed"));
         }
         messageStore.clear(new IOException("Connection closed"));
-        if (executor != null && !executor.isShutdown()) {
-            executor.shutdown();
-        }
-        if (socket != null && !socket.isClosed()) {
-            try {
-                if (LOGGER.isDebugEnabled()) {
-                    LOGGER.debug(String.format("[%s]: Close connection %s", connectionName, socket));
-                }
-                socket.close();
-            } catch (final IOException e) {
-                throw ArangoDBException.of(e);
-            }
+        if (socket != null && connected && LOGGER.isDebugEnabled()) {
+            LOGGER.debug(String.format("[%s]: Close connection %s", connectionName, socket.remoteAddress()));
         }
+        releaseResources();
     }
 
-    private synchronized void sendProtocolHeader() throws IOException {
-        if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug(String.format("[%s]: Send velocystream protocol header to %s", connectionName, socket));
+    /**
+     * Runs the task on the event loop of the connection, or on the calling thread if the connection was never opened.
+     */
+    private void runOnContext(final Runnable task) {
+        final Context ctx = context;
+        if (ctx != null) {
+            ctx.runOnContext(v -> task.run());
+        } else {
+            task.run();
         }
-        outputStream.write(PROTOCOL_HEADER);
-        outputStream.flush();
     }
 
-    protected synchronized void writeIntern(final Message message, final Collection<Chunk> chunks) {
-        for (final Chunk chunk : chunks) {
-            try {
-                if (LOGGER.isDebugEnabled()) {
-                    LOGGER.debug(String.format("[%s]: Send chunk %s:%s from message %s", connectionName,
-                            chunk.getChunk(),
-                            chunk.isFirstChunk() ? 1 : 0, chunk.getMessageId()));
-                    sendTimestamps.put(chunk.getMessageId(), System.currentTimeMillis());
-                }
-                writeChunkHead(chunk);
-                final int contentOffset = chunk.getContentOffset();
-                final int contentLength = chunk.getContentLength();
-                final VPackSlice head = message.getHead();
-                final int headLength = head.getByteSize();
-                int written = 0;
-                if (contentOffset < headLength) {
-                    written = Math.min(contentLength, headLength - contentOffset);
-                    outputStream.write(head.getBuffer(), contentOffset, written);
-                }
-                if (written < contentLength) {
-                    final VPackSlice body = message.getBody();
-                    outputStream.write(body.getBuffer(), contentOffset + written - headLength, contentLength - written);
-                }
-                outputStream.flush();
-            } catch (final IOException e) {
-                LOGGER.error("Error on Connection " + connectionName);
-                throw ArangoDBException.of(e);
-            }
+    private void closeSocket() {
+        final NetSocket s = socket;
+        if (s != null) {
+            s.close();
         }
     }
 
-    private synchronized void writeChunkHead(final Chunk chunk) throws IOException {
-        final long messageLength = chunk.getMessageLength();
-        final int headLength = messageLength > -1L ? ArangoDefaults.CHUNK_MAX_HEADER_SIZE
-                : ArangoDefaults.CHUNK_MIN_HEADER_SIZE;
-        final int length = chunk.getContentLength() + headLength;
-        final ByteBuffer buffer = ByteBuffer.allocate(headLength).order(ByteOrder.LITTLE_ENDIAN);
-        buffer.putInt(length);
-        buffer.putInt(chunk.getChunkX());
-        buffer.putLong(chunk.getMessageId());
-        if (messageLength > -1L) {
-            buffer.putLong(messageLength);
+    private void releaseResources() {
+        connected = false;
+        if (keepAliveTimer != null) {
+            keepAliveTimer.cancel();
+            keepAliveTimer = null;
         }
-        outputStream.write(buffer.array());
-    }
-
-    protected Chunk readChunk() throws IOException {
-        final ByteBuffer chunkHeadBuffer = readBytes(ArangoDefaults.CHUNK_MIN_HEADER_SIZE);
-        final int length = chunkHeadBuffer.getInt();
-        final int chunkX = chunkHeadBuffer.getInt();
-        final long messageId = chunkHeadBuffer.getLong();
-        final long messageLength;
-        final int contentLength;
-        if ((1 == (chunkX & 0x1)) && ((chunkX >> 1) > 1)) {
-            messageLength = readBytes(ArangoDefaults.LONG_BYTES).getLong();
-            contentLength = length - ArangoDefaults.CHUNK_MAX_HEADER_SIZE;
-        } else {
-            messageLength = -1L;
-            contentLength = length - ArangoDefaults.CHUNK_MIN_HEADER_SIZE;
+        if (ttlTimer != null) {
+            ttlTimer.cancel();
+            ttlTimer = null;
+        }
+        if (vertx == null) {
+            return;
         }
-        final Chunk chunk = new Chunk(messageId, chunkX, messageLength, 0, contentLength);
+        closeSocket();
+        socket = null;
+        writeQueue = null;
+        client.close();
+        client = null;
+        VstVertx.release();
+        vertx = null;
+    }
 
+    private void sendProtocolHeader() {
         if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug(String.format("[%s]: Received chunk %s:%s from message %s", connectionName, chunk.getChunk()
-                    , chunk.isFirstChunk() ? 1 : 0, chunk.getMessageId()));
-            LOGGER.debug("[" + connectionName + "]: Responsetime for Message " + chunk.getMessageId() + " is " + (System.currentTimeMillis() - sendTimestamps.get(chunk.getMessageId())));
+            LOGGER.debug(String.format("[%s]: Send velocystream protocol header to %s", connectionName, host));
         }
+        socket.write(Buffer.buffer(PROTOCOL_HEADER));
+    }
 
-        return chunk;
+    /**
+     * @return the size to use for splitting new messages into chunks, adapted to the throughput of the socket
+     */
+    protected int chunkSize() {
+        final WriteQueue q = writeQueue;
+        return q != null ? q.chunkSize() : maxChunkSize;
     }
 
-    private ByteBuffer readBytes(final int len) throws IOException {
-        final byte[] buf = new byte[len];
-        readBytesIntoBuffer(buf, 0, len);
-        return ByteBuffer.wrap(buf).order(ByteOrder.LITTLE_ENDIAN);
+    @Override
+    public int pendingRequests() {
+        return messageStore.size();
     }
 
-    protected void readBytesIntoBuffer(final byte[] buf, final int off, final int len) throws IOException {
-        for (int readed = 0; readed < len; ) {
-            final int read = inputStream.read(buf, off + readed, len - readed);
-            if (read == -1) {
-                throw new IOException("Reached the end of the stream.");
-            } else {
-                readed += read;
+    /**
+     * Enqueues the message for writing. The messages enqueued while the event loop is writing are written together
+     * in the next batch, interleaving the chunks of the large ones with the others.
+     */
+    protected void writeIntern(final Message message, final Collection<Chunk> chunks) {
+        final NetSocket s = socket;
+        final WriteQueue q = writeQueue;
+        if (s == null || q == null || !connected) {
+            throw ArangoDBException.of(new IOException("Connection closed"));
+        }
+        if (LOGGER.isDebugEnabled()) {
+            for (final Chunk chunk : chunks) {
+                LOGGER.debug(String.format("[%s]: Send chunk %s:%s from message %s", connectionName,
+                        chunk.getChunk(),
+                        chunk.isFirstChunk() ? 1 : 0, chunk.getMessageId()));
             }
         }
+        if (q.add(message, chunks)) {
+            context.runOnContext(v -> flush(s, q));
+        }
+    }
+
+    private void flush(final NetSocket s, final WriteQueue q) {
+        final ByteBuf batch;
+        try {
+            batch = q.nextBatch();
+        } catch (final Exception e) {
+            LOGGER.error("Error on Connection " + connectionName, e);
+            messageStore.clear(e);
+            s.close();
+            return;
+        }
+        if (batch == null) {
+            return;
+        }
+        final int bytes = batch.readableBytes();
+        final long start = System.nanoTime();
+        // wraps the batch without copying it
+        @SuppressWarnings("deprecation") final Buffer buffer = Buffer.buffer(batch);
+        s.write(buffer).onComplete(ar -> {
+            // Vert.x does not release the written buffers
+            batch.release();
+            if (ar.failed()) {
+                final Throwable e = ar.cause();
+                LOGGER.error("Error on Connection " + connectionName, e);
+                messageStore.clear(e instanceof Exception ? (Exception) e : new IOException(e));
+                s.close();
+                return;
+            }
+            q.written(bytes, System.nanoTime() - start);
+            flush(s, q);
+        });
     }
 
     @Override
@@ -28,16 +28,12 @@ import com.arangodb.internal.config.ArangoConfig;
 import com.arangodb.internal.serde.InternalSerde;
 import com.arangodb.velocypack.VPackSlice;
 import com.arangodb.velocypack.exception.VPackParserException;
-import com.arangodb.vst.internal.utils.CompletableFutureUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
-import java.util.concurrent.FutureTask;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -47,39 +43,29 @@ public class VstConnectionAsync extends VstConnection<CompletableFuture<Message>
     private final static Logger LOGGER = LoggerFactory.getLogger(VstConnectionAsync.class);
     private static final AtomicLong mId = new AtomicLong(0L);
     private static final String X_ARANGO_DRIVER = "JavaDriver/" + PackageVersion.VERSION + " (JVM/" + System.getProperty("java.specification.version") + ")";
-    private final Integer chunkSize;
     private final InternalSerde serde;
 
 
     public VstConnectionAsync(final ArangoConfig config, final HostDescription host) {
         super(config, host);
-        chunkSize = config.getChunkSize();
         serde = config.getInternalSerde();
     }
 
     @Override
-    public synchronized CompletableFuture<Message> write(final Message message, final Collection<Chunk> chunks) {
+    public CompletableFuture<Message> write(final Message message, final Collection<Chunk> chunks) {
         final CompletableFuture<Message> future = new CompletableFuture<>();
-        final FutureTask<Message> task = new FutureTask<>(() -> {
-            try {
-                future.complete(messageStore.get(message.getId()));
-            } catch (final Exception e) {
-                future.completeExceptionally(e);
-            }
-            return null;
-        });
-        messageStore.storeMessage(message.getId(), task);
-        super.writeIntern(message, chunks);
-        if (timeout == null || timeout == 0L) {
-            return future;
-        } else {
-            return CompletableFutureUtils.orTimeout(future, timeout, TimeUnit.MILLISECONDS);
+        messageStore.storeMessage(message.getId(), future, timeout != null ? timeout : 0L);
+        try {
+            super.writeIntern(message, chunks);
+        } catch (final Exception e) {
+            messageStore.fail(message.getId(), e);
         }
+        return future;
     }
 
     @Override
-    protected void doKeepAlive() {
-        sendKeepAlive().join();
+    protected CompletableFuture<Message> doKeepAlive() {
+        return sendKeepAlive();
     }
 
     @Override
@@ -125,36 +111,25 @@ public class VstConnectionAsync extends VstConnection<CompletableFuture<Message>
                     serde.toJsonString(message.getHead().toByteArray()),
                     message.getBody() != null ? serde.toJsonString(message.getBody().toByteArray()) : "{}"));
         }
-        return write(message, buildChunks(message));
-    }
-
-    private Collection<Chunk> buildChunks(final Message message) {
-        final Collection<Chunk> chunks = new ArrayList<>();
-        final VPackSlice head = message.getHead();
-        int size = head.getByteSize();
-        final VPackSlice body = message.getBody();
-        if (body != null) {
-            size += body.getByteSize();
-        }
-        final int n = size / chunkSize;
-        final int numberOfChunks = (size % chunkSize != 0) ? (n + 1) : n;
-        int off = 0;
-        for (int i = 0; size > 0; i++) {
-            final int len = Math.min(chunkSize, size);
-            final long messageLength = (i == 0 && numberOfChunks > 1) ? size : -1L;
-            final Chunk chunk = new Chunk(message.getId(), i, numberOfChunks, messageLength, off, len);
-            size -= len;
-            off += len;
-            chunks.add(chunk);
-        }
-        return chunks;
+        return write(message, ChunkEncoder.buildChunks(message, chunkSize()));
     }
 
     private InternalResponse createResponse(final Message message) throws VPackParserException {
-        InternalResponse response = serde.deserialize(message.getHead().toByteArray(), InternalResponse.class);
+        InternalResponse response = serde.deserialize(toByteArray(message.getHead()), InternalResponse.class);
         if (message.getBody() != null) {
-            response.setBody(message.getBody().toByteArray());
+            response.setBody(toByteArray(message.getBody()));
         }
         return response;
     }
+
+    /**
+     * @return the underlying buffer if the slice spans all of it, otherwise a copy of the slice bytes
+     */
+    private static byte[] toByteArray(final VPackSlice slice) {
+        final byte[] buffer = slice.getBuffer();
+        if (slice.getStart() == 0 && slice.getByteSize() == buffer.length) {
+            return buffer;
+        }
+        return slice.toByteArray();
+    }
 }
@@ -0,0 +1,167 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+
+package com.arangodb.vst.internal;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Outgoing messages of a VST socket. Messages can be added from any thread, while the batches to write are built on
+ * the event loop of the socket, one at a time: each batch takes in turn the next chunks of every message, so that the
+ * chunks of large messages are interleaved with the ones of the messages added later, which do not wait for the large
+ * ones to be completely written.
+ * <p>
+ * The chunk size adapts to the write throughput of the socket, so that writing a chunk takes about
+ * {@link #TARGET_CHUNK_WRITE_NANOS}, within {@link #MIN_CHUNK_SIZE} and the configured chunk size.
+ *
+ * @author Michele Rastelli
+ */
+public final class WriteQueue {
+
+    static final int MIN_CHUNK_SIZE = 4 * 1024;
+    static final int CHUNKS_PER_BATCH = 4;
+    private static final long TARGET_CHUNK_WRITE_NANOS = 1_000_000L;
+    private static final double THROUGHPUT_WEIGHT = 0.2;
+
+    private final Queue<Outgoing> incoming = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final int maxChunkSize;
+    private final int minChunkSize;
+    private volatile int chunkSize;
+
+    // accessed only by the event loop
+    private final Deque<Outgoing> active = new ArrayDeque<>();
+    private boolean writing;
+    private double throughput;
+
+    public WriteQueue(final int maxChunkSize) {
+        this.maxChunkSize = maxChunkSize;
+        minChunkSize = Math.min(MIN_CHUNK_SIZE, maxChunkSize);
+        chunkSize = maxChunkSize;
+    }
+
+    /**
+     * @return the size to use for splitting new messages into chunks
+     */
+    public int chunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * @return {@code true} if the caller has to schedule {@link #nextBatch()} on the event loop
+     */
+    public boolean add(final Message message, final Collection<Chunk> chunks) {
+        incoming.add(new Outgoing(message, chunks instanceof List ? (List<Chunk>) chunks : new ArrayList<>(chunks)));
+        return flushScheduled.compareAndSet(false, true);
+    }
+
+    /**
+     * Must be called on the event loop. Once written, the batch must be released and {@link #written(int, long)} must
+     * be invoked before building the next one.
+     *
+     * @return the next batch to write, or {@code null} if there is nothing to write or a batch is being written
+     */
+    public ByteBuf nextBatch() {
+        flushScheduled.set(false);
+        if (writing) {
+            return null;
+        }
+        Outgoing next;
+        while ((next = incoming.poll()) != null) {
+            active.add(next);
+        }
+        if (active.isEmpty()) {
+            return null;
+        }
+        final int quantum = chunkSize;
+        final int budget = quantum * CHUNKS_PER_BATCH;
+        final CompositeByteBuf batch = Unpooled.compositeBuffer(Integer.MAX_VALUE);
+        while (batch.readableBytes() < budget && (next = active.poll()) != null) {
+            try {
+                batch.addComponent(true, next.encode(quantum));
+            } catch (final RuntimeException e) {
+                batch.release();
+                throw e;
+            }
+            if (next.hasMore()) {
+                active.add(next);
+            }
+        }
+        writing = true;
+        return batch;
+    }
+
+    /**
+     * Must be called on the event loop once the last batch has been written.
+     *
+     * @param bytes size of the batch
+     * @param nanos time taken to write the batch
+     */
+    public void written(final int bytes, final long nanos) {
+        writing = false;
+        if (bytes < minChunkSize || nanos <= 0) {
+            // too small to tell the throughput
+            return;
+        }
+        final double sample = (double) bytes / nanos;
+        throughput = throughput == 0 ? sample : throughput + THROUGHPUT_WEIGHT * (sample - throughput);
+        chunkSize = (int) Math.max(minChunkSize, Math.min(maxChunkSize, throughput * TARGET_CHUNK_WRITE_NANOS));
+    }
+
+    private static final class Outgoing {
+        private final Message message;
+        private final List<Chunk> chunks;
+        private int next;
+
+        private Outgoing(final Message message, final List<Chunk> chunks) {
+            this.message = message;
+            this.chunks = chunks;
+        }
+
+        /**
+         * @return the next chunks, at least one, up to the given size
+         */
+        private ByteBuf encode(final int quantum) {
+            final int from = next;
+            int size = chunks.get(next++).getContentLength();
+            while (next < chunks.size() && size + chunks.get(next).getContentLength() <= quantum) {
+                size += chunks.get(next++).getContentLength();
+            }
+            return ChunkEncoder.encode(message, chunks.subList(from, next));
+        }
+
+        private boolean hasMore() {
+            return next < chunks.size();
+        }
+    }
+
+}